@@ -1,7 +1,12 @@
 package com.rdlab.universityregistrar.configuration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rdlab.universityregistrar.configuration.datasource.ReplicaRoutingDataSource;
+import com.rdlab.universityregistrar.configuration.datasource.ReplicaStickiness;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
 import org.flywaydb.core.Flyway;
 import org.flywaydb.core.api.configuration.ClassicConfiguration;
 import org.hibernate.SessionFactory;
@@ -10,9 +15,15 @@ import org.springframework.context.EnvironmentAware;
 import org.springframework.context.annotation.*;
 import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
 import org.springframework.core.env.Environment;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.orm.hibernate5.HibernateTransactionManager;
 import org.springframework.orm.hibernate5.LocalSessionFactoryBean;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.util.StringUtils;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import springfox.documentation.builders.ApiInfoBuilder;
 import springfox.documentation.builders.PathSelectors;
@@ -26,16 +37,19 @@ import springfox.documentation.swagger2.annotations.EnableSwagger2;
 import javax.sql.DataSource;
 import javax.validation.Validation;
 import javax.validation.Validator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Properties;
 
 /**
  * Spring application configuration. Contains rest controller, service implementation
  * DAO implementation and mapper beans, Flyway database version control tool bean,
- * bean validator and placeholder configurer beans
+ * bean validator, placeholder configurer, metrics registry, task scheduler and object mapper beans
  */
 @Configuration
 @EnableWebMvc
 @EnableTransactionManagement
+@EnableScheduling
 @EnableSwagger2
 @ComponentScan(basePackages = {"com.rdlab.universityregistrar.controller",
         "com.rdlab.universityregistrar.service.implementation",
@@ -45,7 +59,8 @@ import java.util.Properties;
         @PropertySource("classpath:/db/hikaricp.properties"),
         @PropertySource("classpath:/db/hibernate.properties")
 })
-public class AppConfiguration implements EnvironmentAware {
+@Import(MetricsConfiguration.class)
+public class AppConfiguration implements EnvironmentAware, SchedulingConfigurer {
     private Environment env;
 
     @Override
@@ -53,6 +68,32 @@ public class AppConfiguration implements EnvironmentAware {
         this.env = environment;
     }
 
+    /**
+     * Scheduled workers run on their own threads, so long refresh of analytics views
+     * does not delay audit flushes and waitlist promotion
+     */
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.setTaskScheduler(getTaskScheduler());
+    }
+
+    @Bean
+    public ThreadPoolTaskScheduler getTaskScheduler() {
+        ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+        taskScheduler.setPoolSize(env.getProperty("scheduling.poolSize", Integer.class, 3));
+        taskScheduler.setThreadNamePrefix("registrar-scheduler-");
+        return taskScheduler;
+    }
+
+    /**
+     * Object mapper of services writing json themselves, built with the same defaults as json message converter
+     * of Spring MVC, so streamed responses are serialized the same way as other responses
+     */
+    @Bean
+    public ObjectMapper getObjectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
     @Bean
     public PropertySourcesPlaceholderConfigurer getPlaceholderConfigurer() {
         return new PropertySourcesPlaceholderConfigurer();
@@ -71,7 +112,10 @@ public class AppConfiguration implements EnvironmentAware {
                         new Tag("Students API", "Interface to manage students"),
                         new Tag("Semesters API", "Interface to manage semesters"),
                         new Tag("Schedule of classes API", "Interface to manage schedule of classes"),
-                        new Tag("Users API", "Interface to manage users")
+                        new Tag("Enrollment API", "Interface to enroll students to courses with limited number of seats and manage waitlists"),
+                        new Tag("Users API", "Interface to manage users"),
+                        new Tag("Search API", "Interface to search across students, lecturers, courses and semesters"),
+                        new Tag("Metrics API", "Interface to scrape application metrics")
                 )
                 .apiInfo(apiInfo())
                 .useDefaultResponseMessages(false);
@@ -85,25 +129,67 @@ public class AppConfiguration implements EnvironmentAware {
                 .build();
     }
 
+    @Bean
+    public PrometheusMeterRegistry getMeterRegistry() {
+        return new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    }
+
     @Bean
     public HikariConfig getHikariConfig() {
+        return createHikariConfig("", env.getProperty("poolName"));
+    }
+
+    /**
+     * Create configuration of connection pool. Pool settings prefixed with replica name override
+     * settings of primary pool, so replica pools only need their own server settings.
+     *
+     * @param prefix   setting prefix, empty for primary pool
+     * @param poolName name of pool
+     * @return connection pool configuration
+     */
+    private HikariConfig createHikariConfig(String prefix, String poolName) {
         HikariConfig config = new HikariConfig();
-        config.setPoolName(env.getProperty("poolName"));
-        config.setDataSourceClassName(env.getProperty("dataSourceClassName"));
-        config.setMaximumPoolSize(Integer.parseInt(env.getProperty("maximumPoolSize")));
-        config.setIdleTimeout(Integer.parseInt(env.getProperty("idleTimeout")));
-        config.addDataSourceProperty("serverName", env.getProperty("dataSource.serverName"));
-        config.addDataSourceProperty("portNumber", env.getProperty("dataSource.portNumber"));
-        config.addDataSourceProperty("databaseName", env.getProperty("dataSource.databaseName"));
-        config.setUsername(env.getProperty("dataSource.user"));
-        config.setPassword(env.getProperty("dataSource.password"));
+        config.setPoolName(poolName);
+        config.setDataSourceClassName(getPoolProperty(prefix, "dataSourceClassName", null));
+        config.setMaximumPoolSize(Integer.parseInt(getPoolProperty(prefix, "maximumPoolSize", null)));
+        config.setIdleTimeout(Integer.parseInt(getPoolProperty(prefix, "idleTimeout", null)));
+        config.setConnectionTimeout(Long.parseLong(getPoolProperty(prefix, "connectionTimeout", "30000")));
+        config.addDataSourceProperty("serverName", getPoolProperty(prefix, "dataSource.serverName", null));
+        config.addDataSourceProperty("portNumber", getPoolProperty(prefix, "dataSource.portNumber", null));
+        config.addDataSourceProperty("databaseName", getPoolProperty(prefix, "dataSource.databaseName", null));
+        config.setUsername(getPoolProperty(prefix, "dataSource.user", null));
+        config.setPassword(getPoolProperty(prefix, "dataSource.password", null));
+        config.addDataSourceProperty("reWriteBatchedInserts", getPoolProperty(prefix, "dataSource.reWriteBatchedInserts", "false"));
+        config.addDataSourceProperty("readOnlyMode", getPoolProperty(prefix, "dataSource.readOnlyMode", "transaction"));
+        config.setMetricRegistry(getMeterRegistry());
         return config;
     }
 
+    private String getPoolProperty(String prefix, String key, String defaultValue) {
+        return env.getProperty(prefix + key, env.getProperty(key, defaultValue));
+    }
+
+    /**
+     * Data source of primary pool, or data source routing read only transactions to replica pools
+     * and everything else to primary pool if replicas are configured
+     */
     @Bean
     @DependsOn("getHikariConfig")
     public DataSource getDataSource() {
-        return new HikariDataSource(getHikariConfig());
+        HikariDataSource primary = new HikariDataSource(getHikariConfig());
+        String[] replicaNames = StringUtils.tokenizeToStringArray(env.getProperty("replicas", ""), ",");
+        if (replicaNames.length == 0) {
+            return primary;
+        }
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String replicaName : replicaNames) {
+            replicas.put(replicaName, new HikariDataSource(createHikariConfig(replicaName + ".",
+                    env.getProperty(replicaName + ".poolName", env.getProperty("poolName") + "-" + replicaName))));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas,
+                new ReplicaStickiness(Long.parseLong(env.getProperty("replicaStickiness", "5000"))),
+                Long.parseLong(env.getProperty("replicaMaxLag", "10000")),
+                Long.parseLong(env.getProperty("replicaHealthCheckInterval", "5000")));
     }
 
     @Bean
@@ -121,11 +207,44 @@ public class AppConfiguration implements EnvironmentAware {
         return new Flyway(getFlywayConfig());
     }
 
+    /**
+     * Audit migrations dropping logging triggers are applied after main migrations only when audit is enabled.
+     * They are kept in their own schema history table, so history of main migrations stays the same
+     * whether audit is enabled or not, and is validated against migrations of db/migration only.
+     */
+    @Bean
+    @DependsOn("getFlyway")
+    public Flyway getAuditFlyway() {
+        ClassicConfiguration configuration = new ClassicConfiguration();
+        configuration.setDataSource(getDataSource());
+        configuration.setLocationsAsStrings("classpath:db/audit");
+        configuration.setTable("flyway_audit_history");
+        // history of audit migrations starts on schema already created by main migrations
+        configuration.setBaselineOnMigrate(true);
+        Flyway auditFlyway = new Flyway(configuration);
+        if (Boolean.parseBoolean(env.getProperty("audit.enabled", "false"))) {
+            auditFlyway.migrate();
+        }
+        return auditFlyway;
+    }
+
     private Properties getHibernateProperties() {
         Properties props = new Properties();
 
         props.setProperty("hibernate.dialect", env.getProperty("hibernate.dialect"));
         props.setProperty("hibernate.show_sql", env.getProperty("hibernate.show_sql"));
+        props.setProperty("hibernate.jdbc.batch_size", env.getProperty("hibernate.jdbc.batch_size", "50"));
+        props.setProperty("hibernate.order_inserts", env.getProperty("hibernate.order_inserts", "true"));
+        props.setProperty("hibernate.generate_statistics", env.getProperty("hibernate.generate_statistics", "false"));
+        // statistics also turn on logging of session metrics at the end of every session
+        props.setProperty("hibernate.session.events.log", env.getProperty("hibernate.session.events.log", "false"));
+        props.setProperty("hibernate.cache.use_second_level_cache", env.getProperty("hibernate.cache.use_second_level_cache", "false"));
+        props.setProperty("hibernate.cache.use_query_cache", env.getProperty("hibernate.cache.use_query_cache", "false"));
+        if (Boolean.parseBoolean(props.getProperty("hibernate.cache.use_second_level_cache"))) {
+            props.setProperty("hibernate.cache.region.factory_class", env.getProperty("hibernate.cache.region.factory_class"));
+            props.setProperty("hibernate.javax.cache.provider", env.getProperty("hibernate.javax.cache.provider"));
+            props.setProperty("hibernate.javax.cache.uri", env.getProperty("hibernate.javax.cache.uri"));
+        }
 
         return props;
     }
@@ -0,0 +1,46 @@
+package com.rdlab.universityregistrar.configuration;
+
+import com.rdlab.universityregistrar.configuration.metrics.MethodTimingBeanPostProcessor;
+import com.rdlab.universityregistrar.configuration.metrics.RequestTimingInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jpa.HibernateMetrics;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Collections;
+
+/**
+ * Metrics configuration. Times controller requests, service and DAO method calls and binds
+ * Hibernate statistics to {@link MeterRegistry} bean, which must be provided by importing configuration.
+ */
+@Configuration
+public class MetricsConfiguration implements WebMvcConfigurer {
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Bean
+    public static MethodTimingBeanPostProcessor getMethodTimingBeanPostProcessor(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        return new MethodTimingBeanPostProcessor(meterRegistryProvider);
+    }
+
+    /**
+     * Statistics are published only if "hibernate.generate_statistics" property is enabled, it is disabled by default
+     */
+    @Bean
+    @Autowired
+    public HibernateMetrics getHibernateMetrics(SessionFactory sessionFactory) {
+        HibernateMetrics hibernateMetrics = new HibernateMetrics(sessionFactory, "universityRegistrar", Collections.emptyList());
+        hibernateMetrics.bindTo(meterRegistry);
+        return hibernateMetrics;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestTimingInterceptor(meterRegistry));
+    }
+}
@@ -0,0 +1,15 @@
+package com.rdlab.universityregistrar.configuration;
+
+import org.hibernate.dialect.PostgreSQL95Dialect;
+import org.hibernate.dialect.function.StandardSQLFunction;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * PostgreSQL dialect with pg_trgm functions registered, so they can be used in criteria queries
+ */
+public class PostgreSQLTrigramDialect extends PostgreSQL95Dialect {
+    public PostgreSQLTrigramDialect() {
+        super();
+        registerFunction("similarity", new StandardSQLFunction("similarity", StandardBasicTypes.FLOAT));
+    }
+}
@@ -0,0 +1,186 @@
+package com.rdlab.universityregistrar.configuration.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource sending read only transactions to replica pools and everything else to primary pool.
+ * Physical connection is taken when the first statement is executed, after transaction manager marked
+ * transaction as read only. Replicas are used round robin. Unreachable replicas and replicas lagging more
+ * than allowed are skipped until health check finds them healthy again, reads fall back to primary when
+ * no replica is healthy or when client has to read its own recent writes.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+    /**
+     * Replication lag in seconds, zero on primary and on replica which replayed everything it received
+     */
+    private static final String REPLICATION_LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() " +
+            "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReplicaStickiness stickiness;
+    private final long maxReplicationLagMillis;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final ScheduledExecutorService healthCheckExecutor;
+
+    /**
+     * @param primary                   pool of primary database
+     * @param replicas                  pools of replicas by replica name
+     * @param stickiness                read-your-writes stickiness of clients, null if reads never stick to primary
+     * @param maxReplicationLagMillis   replication lag above which replica is not used
+     * @param healthCheckIntervalMillis interval of replica health checks, no periodic checks if not positive
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, ReplicaStickiness stickiness,
+                                    long maxReplicationLagMillis, long healthCheckIntervalMillis) {
+        this.primary = primary;
+        this.replicas = new ArrayList<>(replicas.size());
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.stickiness = stickiness;
+        this.maxReplicationLagMillis = maxReplicationLagMillis;
+        setTargetDataSource(new RoutingTargetDataSource());
+        afterPropertiesSet();
+        if (healthCheckIntervalMillis > 0) {
+            healthCheckExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "replica-health-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+            healthCheckExecutor.scheduleWithFixedDelay(this::checkReplicas, healthCheckIntervalMillis, healthCheckIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            healthCheckExecutor = null;
+        }
+    }
+
+    /**
+     * Check every replica for availability and replication lag, replicas failing the check stop serving reads
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(REPLICATION_LAG_QUERY)) {
+                resultSet.next();
+                double lagSeconds = resultSet.getDouble(1);
+                healthy = lagSeconds * 1000 <= maxReplicationLagMillis;
+                if (!healthy && replica.healthy) {
+                    log.warn("Replica {} lags {} s behind primary, reads are routed to other pools", replica.name, lagSeconds);
+                }
+            } catch (SQLException e) {
+                healthy = false;
+                if (replica.healthy) {
+                    log.warn("Replica {} is unavailable, reads are routed to other pools: {}", replica.name, e.getMessage());
+                }
+            }
+            if (healthy && !replica.healthy) {
+                log.info("Replica {} is healthy again", replica.name);
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    /**
+     * @return names of replicas currently serving reads
+     */
+    public List<String> getHealthyReplicas() {
+        List<String> healthyReplicas = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            if (replica.healthy) {
+                healthyReplicas.add(replica.name);
+            }
+        }
+        return healthyReplicas;
+    }
+
+    @Override
+    public void close() {
+        if (healthCheckExecutor != null) {
+            healthCheckExecutor.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            closePool(replica.dataSource);
+        }
+        closePool(primary);
+    }
+
+    private Connection getRoutedConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (stickiness != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                    @Override
+                    public void afterCommit() {
+                        stickiness.writeCommitted();
+                    }
+                });
+            }
+            return primary.getConnection();
+        }
+        if (stickiness == null || !stickiness.isStickyToPrimary()) {
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get(Math.floorMod(nextReplica.getAndIncrement(), replicas.size()));
+                if (replica.healthy) {
+                    try {
+                        return replica.dataSource.getConnection();
+                    } catch (SQLException e) {
+                        replica.healthy = false;
+                        log.warn("Replica {} is unavailable, reads are routed to other pools: {}", replica.name, e.getMessage());
+                    }
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    private static void closePool(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) dataSource).close();
+            } catch (Exception e) {
+                log.error(e.getMessage());
+            }
+        }
+    }
+
+    private static class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    private class RoutingTargetDataSource extends AbstractDataSource {
+        @Override
+        public Connection getConnection() throws SQLException {
+            return getRoutedConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new SQLException("Routed connections use credentials of their pools");
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.rdlab.universityregistrar.configuration.datasource;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Read-your-writes stickiness of HTTP clients to primary database. After read-write transaction of client
+ * commits, its read only transactions go to primary for configured time, so client reads its own writes
+ * even if replicas lag behind. Deadline is kept in cookie, so stickiness works across application instances.
+ */
+public class ReplicaStickiness {
+    public static final String COOKIE_NAME = "registrar-primary-until";
+    private static final String DEADLINE_ATTRIBUTE = ReplicaStickiness.class.getName() + ".deadline";
+
+    private final long stickinessMillis;
+
+    public ReplicaStickiness(long stickinessMillis) {
+        this.stickinessMillis = stickinessMillis;
+    }
+
+    /**
+     * @return true if current request comes from client whose recent write may not be replicated yet
+     */
+    public boolean isStickyToPrimary() {
+        ServletRequestAttributes requestAttributes = getCurrentRequestAttributes();
+        if (requestAttributes == null) {
+            return false;
+        }
+        HttpServletRequest request = requestAttributes.getRequest();
+        Long deadline = (Long) request.getAttribute(DEADLINE_ATTRIBUTE);
+        if (deadline == null) {
+            deadline = readDeadlineCookie(request);
+            request.setAttribute(DEADLINE_ATTRIBUTE, deadline);
+        }
+        return deadline > System.currentTimeMillis();
+    }
+
+    /**
+     * Makes client of current request stick to primary, called after its read-write transaction commits
+     */
+    public void writeCommitted() {
+        ServletRequestAttributes requestAttributes = getCurrentRequestAttributes();
+        if (requestAttributes == null || stickinessMillis <= 0) {
+            return;
+        }
+        long deadline = System.currentTimeMillis() + stickinessMillis;
+        requestAttributes.getRequest().setAttribute(DEADLINE_ATTRIBUTE, deadline);
+        HttpServletResponse response = requestAttributes.getResponse();
+        if (response != null && !response.isCommitted()) {
+            Cookie cookie = new Cookie(COOKIE_NAME, String.valueOf(deadline));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (stickinessMillis + 999) / 1000));
+            response.addCookie(cookie);
+        }
+    }
+
+    private static ServletRequestAttributes getCurrentRequestAttributes() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        return requestAttributes instanceof ServletRequestAttributes ? (ServletRequestAttributes) requestAttributes : null;
+    }
+
+    private static long readDeadlineCookie(HttpServletRequest request) {
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (COOKIE_NAME.equals(cookie.getName())) {
+                    try {
+                        return Long.parseLong(cookie.getValue());
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+}
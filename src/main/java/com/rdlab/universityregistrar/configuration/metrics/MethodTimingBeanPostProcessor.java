@@ -0,0 +1,87 @@
+package com.rdlab.universityregistrar.configuration.metrics;
+
+import com.rdlab.universityregistrar.model.dao.AnalyticsDAO;
+import com.rdlab.universityregistrar.model.dao.AuditDAO;
+import com.rdlab.universityregistrar.model.dao.DAO;
+import com.rdlab.universityregistrar.model.dao.EnrollmentDAO;
+import com.rdlab.universityregistrar.model.dao.SearchDAO;
+import com.rdlab.universityregistrar.service.AnalyticsFunctionality;
+import com.rdlab.universityregistrar.service.EnrollmentFunctionality;
+import com.rdlab.universityregistrar.service.SearchFunctionality;
+import com.rdlab.universityregistrar.service.ServiceFunctionality;
+import com.rdlab.universityregistrar.service.TimetableFunctionality;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.StaticMethodMatcherPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Wraps service and DAO beans into proxies timing their public methods. Service methods are recorded
+ * into "registrar.service.calls" timer, DAO methods into "registrar.dao.calls" timer. Existing proxies
+ * (e.g. transactional service proxies) are advised in place, timing advice goes first so measured time
+ * includes transaction handling. New proxies are created by class because services call implementation
+ * specific DAO methods.
+ */
+public class MethodTimingBeanPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+    public static final String SERVICE_TIMER_NAME = "registrar.service.calls";
+    public static final String DAO_TIMER_NAME = "registrar.dao.calls";
+    private static final List<Class<?>> SERVICE_TYPES = Arrays.asList(ServiceFunctionality.class, SearchFunctionality.class, EnrollmentFunctionality.class,
+            AnalyticsFunctionality.class, TimetableFunctionality.class);
+    private static final List<Class<?>> TIMED_TYPES = Arrays.asList(ServiceFunctionality.class, SearchFunctionality.class, EnrollmentFunctionality.class,
+            AnalyticsFunctionality.class, TimetableFunctionality.class,
+            DAO.class, SearchDAO.class, EnrollmentDAO.class, AuditDAO.class, AnalyticsDAO.class);
+
+    public MethodTimingBeanPostProcessor(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        MethodTimingInterceptor interceptor = new MethodTimingInterceptor(MethodTimingBeanPostProcessor::getTimerName, meterRegistryProvider);
+        this.advisor = new StaticMethodMatcherPointcutAdvisor(interceptor) {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return isTimedMethod(method, targetClass);
+            }
+        };
+        setBeforeExistingAdvisors(true);
+        setProxyTargetClass(true);
+    }
+
+    private static String getTimerName(Class<?> targetClass) {
+        return isAnyAssignableFrom(SERVICE_TYPES, targetClass) ? SERVICE_TIMER_NAME : DAO_TIMER_NAME;
+    }
+
+    /**
+     * Method is timed if it is declared by one of timed interfaces or if it is public method of timed
+     * class that is not a property accessor
+     */
+    private static boolean isTimedMethod(Method method, Class<?> targetClass) {
+        if (!Modifier.isPublic(method.getModifiers()) || method.getDeclaringClass() == Object.class) {
+            return false;
+        }
+        for (Class<?> timedType : TIMED_TYPES) {
+            if (timedType.isAssignableFrom(targetClass) && ClassUtils.hasMethod(timedType, method.getName(), method.getParameterTypes())) {
+                return true;
+            }
+        }
+        return isAnyAssignableFrom(TIMED_TYPES, method.getDeclaringClass()) && !isPropertyAccessor(method);
+    }
+
+    private static boolean isPropertyAccessor(Method method) {
+        String name = method.getName();
+        int parameterCount = method.getParameterCount();
+        return (parameterCount == 0 && (name.startsWith("get") || name.startsWith("is")))
+                || (parameterCount == 1 && name.startsWith("set"));
+    }
+
+    private static boolean isAnyAssignableFrom(List<Class<?>> types, Class<?> clazz) {
+        for (Class<?> type : types) {
+            if (type.isAssignableFrom(clazz)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
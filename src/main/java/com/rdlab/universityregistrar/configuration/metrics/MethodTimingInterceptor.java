@@ -0,0 +1,65 @@
+package com.rdlab.universityregistrar.configuration.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Records execution time of intercepted method into timer tagged with class name, method name
+ * and simple name of thrown exception ("none" if method completed normally). Timer name is
+ * resolved from class of invoked bean.
+ */
+public class MethodTimingInterceptor implements MethodInterceptor {
+    private final Function<Class<?>, String> timerNameResolver;
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private volatile MeterRegistry meterRegistry;
+
+    public MethodTimingInterceptor(Function<Class<?>, String> timerNameResolver, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.timerNameResolver = timerNameResolver;
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long startNanos = System.nanoTime();
+        String exception = "none";
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            getTimer(invocation, exception).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer getTimer(MethodInvocation invocation, String exception) {
+        Class<?> targetClass = ClassUtils.getUserClass(invocation.getThis());
+        return Timer.builder(timerNameResolver.apply(targetClass))
+                .tag("class", targetClass.getSimpleName())
+                .tag("method", invocation.getMethod().getName())
+                .tag("exception", exception)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(getMeterRegistry());
+    }
+
+    /**
+     * Registry is resolved on first invocation, so post processor creating this interceptor does not
+     * force early initialization of registry bean
+     */
+    private MeterRegistry getMeterRegistry() {
+        if (meterRegistry == null) {
+            meterRegistry = meterRegistryProvider.getObject();
+        }
+        return meterRegistry;
+    }
+}
@@ -0,0 +1,51 @@
+package com.rdlab.universityregistrar.configuration.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records handling time of every request mapped to controller into "http.server.requests" timer
+ * tagged with HTTP method, matched URI pattern, response status and simple name of unhandled exception
+ */
+public class RequestTimingInterceptor implements HandlerInterceptor {
+    public static final String REQUEST_TIMER_NAME = "http.server.requests";
+    private static final String START_NANOS_ATTRIBUTE = RequestTimingInterceptor.class.getName() + ".startNanos";
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestTimingInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(START_NANOS_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object startNanos = request.getAttribute(START_NANOS_ATTRIBUTE);
+        if (startNanos == null) {
+            return;
+        }
+        Object uriPattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Timer.builder(REQUEST_TIMER_NAME)
+                .tag("method", request.getMethod())
+                .tag("uri", uriPattern == null ? "UNKNOWN" : uriPattern.toString())
+                .tag("status", String.valueOf(response.getStatus()))
+                .tag("exception", ex == null ? "none" : ex.getClass().getSimpleName())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry)
+                .record(System.nanoTime() - (Long) startNanos, TimeUnit.NANOSECONDS);
+    }
+}
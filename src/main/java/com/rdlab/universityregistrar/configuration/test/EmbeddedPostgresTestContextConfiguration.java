@@ -0,0 +1,99 @@
+package com.rdlab.universityregistrar.configuration.test;
+
+import com.opentable.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.ClassicConfiguration;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.*;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.core.env.Environment;
+import org.springframework.orm.hibernate5.HibernateTransactionManager;
+import org.springframework.orm.hibernate5.LocalSessionFactoryBean;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Properties;
+
+/**
+ * Configuration class used in tests that need real PostgreSQL (execution plans, PostgreSQL specific SQL).
+ * Starts embedded PostgreSQL server, migrates it with production Flyway migrations
+ * and contains DAO layer beans working on it.
+ */
+@Configuration
+@ComponentScan(basePackages = {"com.rdlab.universityregistrar.model.dao.implementation"})
+@PropertySource("classpath:test/db/embeddedPostgres.properties")
+@EnableTransactionManagement
+public class EmbeddedPostgresTestContextConfiguration implements EnvironmentAware {
+    private Environment env;
+
+    @Override
+    public void setEnvironment(final Environment environment) {
+        this.env = environment;
+    }
+
+    @Bean
+    public PropertySourcesPlaceholderConfigurer getPlaceholderConfigurer() {
+        return new PropertySourcesPlaceholderConfigurer();
+    }
+
+    @Bean(destroyMethod = "close")
+    public EmbeddedPostgres getEmbeddedPostgres() throws IOException {
+        return EmbeddedPostgres.start();
+    }
+
+    @Bean
+    public DataSource getTestDataSource() throws IOException {
+        // batches are rewritten to multi-row inserts, as in production configuration
+        return getEmbeddedPostgres().getPostgresDatabase(Collections.singletonMap("reWriteBatchedInserts", "true"));
+    }
+
+    @Bean(initMethod = "migrate")
+    public Flyway getFlyway() throws IOException {
+        ClassicConfiguration configuration = new ClassicConfiguration();
+        configuration.setDataSource(getTestDataSource());
+        return new Flyway(configuration);
+    }
+
+    @Bean
+    public SqlCapturingStatementInspector getStatementInspector() {
+        return new SqlCapturingStatementInspector();
+    }
+
+    private Properties getHibernateProperties() {
+        Properties props = new Properties();
+
+        props.setProperty("hibernate.dialect", env.getProperty("hibernate.dialect"));
+        props.setProperty("hibernate.show_sql", env.getProperty("hibernate.show_sql"));
+        props.setProperty("hibernate.jdbc.batch_size", env.getProperty("hibernate.jdbc.batch_size", "50"));
+        props.setProperty("hibernate.order_inserts", env.getProperty("hibernate.order_inserts", "true"));
+        props.put("hibernate.session_factory.statement_inspector", getStatementInspector());
+
+        return props;
+    }
+
+    @Bean
+    @DependsOn("getFlyway")
+    public LocalSessionFactoryBean sessionFactory() throws IOException {
+
+        LocalSessionFactoryBean sessionFactory = new LocalSessionFactoryBean();
+
+        sessionFactory.setDataSource(getTestDataSource());
+        sessionFactory.setPackagesToScan(env.getProperty("hibernate.packagesToScan"));
+        sessionFactory.setHibernateProperties(getHibernateProperties());
+
+        return sessionFactory;
+    }
+
+    @Bean
+    @Autowired
+    public HibernateTransactionManager transactionManager(SessionFactory sessionFactory) {
+        HibernateTransactionManager txManager = new HibernateTransactionManager();
+        txManager.setSessionFactory(sessionFactory);
+
+        return txManager;
+    }
+}
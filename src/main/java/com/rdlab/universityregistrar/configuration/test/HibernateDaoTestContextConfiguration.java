@@ -49,6 +49,19 @@ public class HibernateDaoTestContextConfiguration implements EnvironmentAware {
         props.setProperty("javax.persistence.schema-generation.create-script-source", env.getProperty("javax.persistence.schema-generation.create-script-source"));
         props.setProperty("javax.persistence.schema-generation.drop-source", env.getProperty("javax.persistence.schema-generation.drop-source"));
         props.setProperty("javax.persistence.schema-generation.drop-script-source", env.getProperty("javax.persistence.schema-generation.drop-script-source"));
+        props.setProperty("hibernate.jdbc.batch_size", env.getProperty("hibernate.jdbc.batch_size", "50"));
+        props.setProperty("hibernate.order_inserts", env.getProperty("hibernate.order_inserts", "true"));
+        // caches are disabled unless enabled by test property source, as in production configuration
+        props.setProperty("hibernate.generate_statistics", env.getProperty("hibernate.generate_statistics", "false"));
+        // statistics also turn on logging of session metrics at the end of every session
+        props.setProperty("hibernate.session.events.log", env.getProperty("hibernate.session.events.log", "false"));
+        props.setProperty("hibernate.cache.use_second_level_cache", env.getProperty("hibernate.cache.use_second_level_cache", "false"));
+        props.setProperty("hibernate.cache.use_query_cache", env.getProperty("hibernate.cache.use_query_cache", "false"));
+        if (Boolean.parseBoolean(props.getProperty("hibernate.cache.use_second_level_cache"))) {
+            props.setProperty("hibernate.cache.region.factory_class", env.getProperty("hibernate.cache.region.factory_class"));
+            props.setProperty("hibernate.javax.cache.provider", env.getProperty("hibernate.javax.cache.provider"));
+            props.setProperty("hibernate.javax.cache.uri", env.getProperty("hibernate.javax.cache.uri"));
+        }
 
         return props;
     }
@@ -1,11 +1,16 @@
 package com.rdlab.universityregistrar.configuration.test;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rdlab.universityregistrar.configuration.MetricsConfiguration;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
 import org.hibernate.SessionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.EnvironmentAware;
 import org.springframework.context.annotation.*;
 import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
 import org.springframework.core.env.Environment;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.DriverManagerDataSource;
 import org.springframework.orm.hibernate5.HibernateTransactionManager;
@@ -20,7 +25,7 @@ import java.util.Properties;
 
 /**
  * Configuration class used in integration tests. Contains controller,
- * service, dao layer beans, mapper beans
+ * service, dao layer beans, mapper beans, metrics beans, object mapper
  * and H2 in-memory database data source.
  */
 @Configuration
@@ -30,6 +35,16 @@ import java.util.Properties;
         "com.rdlab.universityregistrar.service.mapper"})
 @PropertySource("classpath:test/db/hibernateTest.properties")
 @EnableTransactionManagement
-@Import(HibernateDaoTestContextConfiguration.class)
+@Import({HibernateDaoTestContextConfiguration.class, MetricsConfiguration.class})
 public class IntegrationTestContextConfiguration {
+
+    @Bean
+    public PrometheusMeterRegistry getMeterRegistry() {
+        return new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    }
+
+    @Bean
+    public ObjectMapper getObjectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
 }
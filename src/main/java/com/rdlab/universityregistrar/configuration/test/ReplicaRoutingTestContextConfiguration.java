@@ -0,0 +1,107 @@
+package com.rdlab.universityregistrar.configuration.test;
+
+import com.opentable.db.postgres.embedded.EmbeddedPostgres;
+import com.rdlab.universityregistrar.configuration.datasource.ReplicaRoutingDataSource;
+import com.rdlab.universityregistrar.configuration.datasource.ReplicaStickiness;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.ClassicConfiguration;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.*;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.core.env.Environment;
+import org.springframework.orm.hibernate5.HibernateTransactionManager;
+import org.springframework.orm.hibernate5.LocalSessionFactoryBean;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Properties;
+
+/**
+ * Configuration class used in tests of read/write splitting. Starts two embedded PostgreSQL servers standing for
+ * primary and replica, migrates both with production Flyway migrations and contains DAO layer beans working on
+ * data source routing between them. Replicas are checked by tests only, there is no periodic health check.
+ */
+@Configuration
+@ComponentScan(basePackages = {"com.rdlab.universityregistrar.model.dao.implementation"})
+@PropertySource("classpath:test/db/embeddedPostgres.properties")
+@EnableTransactionManagement
+public class ReplicaRoutingTestContextConfiguration implements EnvironmentAware {
+    public static final long STICKINESS_MILLIS = 60000;
+
+    private Environment env;
+
+    @Override
+    public void setEnvironment(final Environment environment) {
+        this.env = environment;
+    }
+
+    @Bean
+    public PropertySourcesPlaceholderConfigurer getPlaceholderConfigurer() {
+        return new PropertySourcesPlaceholderConfigurer();
+    }
+
+    @Bean(destroyMethod = "close")
+    public EmbeddedPostgres getPrimaryPostgres() throws IOException {
+        return EmbeddedPostgres.start();
+    }
+
+    @Bean(destroyMethod = "close")
+    public EmbeddedPostgres getReplicaPostgres() throws IOException {
+        return EmbeddedPostgres.start();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource getRoutingDataSource() throws IOException {
+        return new ReplicaRoutingDataSource(getPrimaryPostgres().getPostgresDatabase(),
+                Collections.singletonMap("replica", getReplicaPostgres().getPostgresDatabase()),
+                new ReplicaStickiness(STICKINESS_MILLIS), 10000, 0);
+    }
+
+    @Bean(initMethod = "migrate")
+    public Flyway getPrimaryFlyway() throws IOException {
+        ClassicConfiguration configuration = new ClassicConfiguration();
+        configuration.setDataSource(getPrimaryPostgres().getPostgresDatabase());
+        return new Flyway(configuration);
+    }
+
+    @Bean(initMethod = "migrate")
+    public Flyway getReplicaFlyway() throws IOException {
+        ClassicConfiguration configuration = new ClassicConfiguration();
+        configuration.setDataSource(getReplicaPostgres().getPostgresDatabase());
+        return new Flyway(configuration);
+    }
+
+    private Properties getHibernateProperties() {
+        Properties props = new Properties();
+
+        props.setProperty("hibernate.dialect", env.getProperty("hibernate.dialect"));
+        props.setProperty("hibernate.show_sql", env.getProperty("hibernate.show_sql"));
+
+        return props;
+    }
+
+    @Bean
+    @DependsOn({"getPrimaryFlyway", "getReplicaFlyway"})
+    public LocalSessionFactoryBean sessionFactory() throws IOException {
+
+        LocalSessionFactoryBean sessionFactory = new LocalSessionFactoryBean();
+
+        sessionFactory.setDataSource(getRoutingDataSource());
+        sessionFactory.setPackagesToScan(env.getProperty("hibernate.packagesToScan"));
+        sessionFactory.setHibernateProperties(getHibernateProperties());
+
+        return sessionFactory;
+    }
+
+    @Bean
+    @Autowired
+    public HibernateTransactionManager transactionManager(SessionFactory sessionFactory) {
+        HibernateTransactionManager txManager = new HibernateTransactionManager();
+        txManager.setSessionFactory(sessionFactory);
+
+        return txManager;
+    }
+}
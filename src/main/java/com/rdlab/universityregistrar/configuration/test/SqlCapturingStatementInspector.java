@@ -0,0 +1,33 @@
+package com.rdlab.universityregistrar.configuration.test;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Hibernate statement inspector remembering SQL of all prepared statements,
+ * lets tests inspect execution plans of queries generated by DAOs.
+ */
+public class SqlCapturingStatementInspector implements StatementInspector {
+    private final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        statements.add(sql);
+        return sql;
+    }
+
+    public List<String> getStatements() {
+        return new ArrayList<>(statements);
+    }
+
+    public String getLastStatement() {
+        return statements.isEmpty() ? null : statements.get(statements.size() - 1);
+    }
+
+    public void clear() {
+        statements.clear();
+    }
+}
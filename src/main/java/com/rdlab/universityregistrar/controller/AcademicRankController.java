@@ -10,6 +10,7 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.util.List;
 
 /**
  * REST Api controller implementation for operation with {@link AcademicRankDTO}.
@@ -24,7 +25,7 @@ public class AcademicRankController {
     ServiceFunctionality<AcademicRankDTO> service;
 
     @GetMapping("/ranks")
-    @ApiOperation(value = "Get list of all academic ranks", produces = "application/json")
+    @ApiOperation(value = "Get list of all academic ranks", notes = "Academic ranks are returned page by page ordered by numeric rank, provide nextCursor of previous response as \"after\" parameter to fetch next page", produces = "application/json")
     @ApiResponses({
             @ApiResponse(
                     code = 200,
@@ -33,7 +34,8 @@ public class AcademicRankController {
                     examples = @Example({
                             @ExampleProperty(value = "list of all available items of requested type", mediaType = "message"),
                             @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
-                            @ExampleProperty(value = "[#/definitions/Academic rank]", mediaType = "responseBody")
+                            @ExampleProperty(value = "[#/definitions/Academic rank]", mediaType = "responseBody"),
+                            @ExampleProperty(value = "3", mediaType = "nextCursor")
                     })
             ),
             @ApiResponse(
@@ -47,8 +49,14 @@ public class AcademicRankController {
                     })
             )
     })
-    public ResponseEntity<Response> getAllEntities() {
-        return service.getAllEntities();
+    public ResponseEntity<Response> getAllEntities(
+            @ApiParam(value = "Numeric rank of the last item of previous page (nextCursor of previous response)", type = "int32")
+            @RequestParam(required = false) String after,
+            @ApiParam(value = "Maximum number of items in page", type = "int32")
+            @RequestParam(required = false) Integer limit,
+            @ApiParam(value = "Comma separated properties to return (rankId, numericRank, rankName), identifier is always returned, all properties are returned if omitted", type = "string")
+            @RequestParam(required = false) String fields) {
+        return service.getEntitiesPage(after, limit, fields, null);
     }
 
     @GetMapping("/ranks/{rankId}")
@@ -87,8 +95,10 @@ public class AcademicRankController {
     })
     public ResponseEntity<Response> getEntity(
             @ApiParam(value = "Numeric rank value for the academic rank you need to retrieve", required = true, type = "int32")
-            @PathVariable Integer rankId) {
-        return service.getEntity(String.valueOf(rankId));
+            @PathVariable Integer rankId,
+            @ApiParam(value = "Comma separated properties to return (rankId, numericRank, rankName), identifier is always returned, all properties are returned if omitted", type = "string")
+            @RequestParam(required = false) String fields) {
+        return service.getEntity(String.valueOf(rankId), fields, null);
     }
 
     @PostMapping("/ranks")
@@ -147,6 +157,56 @@ public class AcademicRankController {
         return service.addEntity(academicRankToAdd, bindingResult);
     }
 
+    @PostMapping("/ranks/batch")
+    @ApiOperation(value = "Add list of academic ranks", notes = "Provide list of academic ranks in json format, academic ranks are added in single transaction only if all of them are valid", produces = "application/json", consumes = "application/json")
+    @ApiResponses({
+            @ApiResponse(
+                    code = 201,
+                    message = "Academic ranks added successfully",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "item successfully added", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[{rowIndex: 0, status: CREATED, generatedId: 6}]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 409,
+                    message = "One or more of provided academic ranks already exist or violate other constraint of database",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "some items are rejected, no items are added", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[{rowIndex: 0, status: SKIPPED}, {rowIndex: 1, status: REJECTED, errors: [item duplicates existing item or breaks other database constraint]}]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 400,
+                    message = "One or more of provided academic ranks violate validation constraints",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "invalid input", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[{rowIndex: 0, status: INVALID, errors: [rank name cannot be empty]}, {rowIndex: 1, status: SKIPPED}]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 500,
+                    message = "Internal server or db error occurred",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "internal server error occurred", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "null", mediaType = "responseBody")
+                    })
+            )
+    })
+    public ResponseEntity<Response> addEntities(
+            @ApiParam(value = "List of academic ranks in json format", required = true, type = "[#/definitions/Academic rank]")
+            @RequestBody List<AcademicRankDTO> entitiesToAdd) {
+        return service.addEntities(entitiesToAdd);
+    }
+
     @PutMapping("/ranks")
     @ApiOperation(value = "Update an academic rank", notes = "Provide an academic rank in json format", produces = "application/json", consumes = "application/json")
     @ApiResponses({
@@ -269,7 +329,9 @@ public class AcademicRankController {
     })
     public ResponseEntity<Response> searchForAcademicRanks(
             @ApiParam(value = "Search criterion (numeric rank or rank name)", required = true, type = "string/int32")
-            @RequestParam String param) {
-        return service.searchForEntities(param);
+            @RequestParam String param,
+            @ApiParam(value = "Comma separated properties to return (rankId, numericRank, rankName), identifier is always returned, all properties are returned if omitted", type = "string")
+            @RequestParam(required = false) String fields) {
+        return service.searchForEntities(param, fields, null);
     }
 }
@@ -0,0 +1,78 @@
+package com.rdlab.universityregistrar.controller;
+
+import com.rdlab.universityregistrar.controller.response.Response;
+import com.rdlab.universityregistrar.service.AnalyticsFunctionality;
+import io.swagger.annotations.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Api controller implementation for course analytics.
+ * Analytics are refreshed periodically, so responses may lag behind schedule by one refresh interval.
+ */
+@RestController
+@RequestMapping("/api")
+@Api(tags = "Analytics API")
+public class AnalyticsController {
+    @Autowired
+    AnalyticsFunctionality service;
+
+    @GetMapping("/analytics/courses")
+    @ApiOperation(value = "Get statistics of all courses", notes = "Number of students and lecturers, highest lecturer rank, number of inactive users and most picked semester of every course", produces = "application/json")
+    @ApiResponses({
+            @ApiResponse(
+                    code = 200,
+                    message = "Course statistics fetched successfully",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "statistics of all courses", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[#/definitions/Course statistics]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 500,
+                    message = "Internal server or db error occurred",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "internal server error occurred", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "null", mediaType = "responseBody")
+                    })
+            )
+    })
+    public ResponseEntity<Response> getCourseStatistics() {
+        return service.getCourseStatistics();
+    }
+
+    @GetMapping("/analytics/most-picked-semesters")
+    @ApiOperation(value = "Get most picked semester of every course", notes = "Semester in which course was taken most times, ties are resolved by semester id", produces = "application/json")
+    @ApiResponses({
+            @ApiResponse(
+                    code = 200,
+                    message = "Most picked semesters fetched successfully",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "semesters in which courses were taken most times", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[#/definitions/Most picked semester]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 500,
+                    message = "Internal server or db error occurred",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "internal server error occurred", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "null", mediaType = "responseBody")
+                    })
+            )
+    })
+    public ResponseEntity<Response> getMostPickedSemesters() {
+        return service.getMostPickedSemesters();
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.util.List;
 
 /**
  * REST Api controller implementation for operation with {@link CourseDTO}.
@@ -25,7 +26,7 @@ public class CourseController {
     ServiceFunctionality<CourseDTO> service;
 
     @GetMapping("/courses")
-    @ApiOperation(value = "Get list of all courses", produces = "application/json")
+    @ApiOperation(value = "Get list of all courses", notes = "Courses are returned page by page ordered by course id, provide nextCursor of previous response as \"after\" parameter to fetch next page", produces = "application/json")
     @ApiResponses({
             @ApiResponse(
                     code = 200,
@@ -34,7 +35,8 @@ public class CourseController {
                     examples = @Example({
                             @ExampleProperty(value = "list of all available items of requested type", mediaType = "message"),
                             @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
-                            @ExampleProperty(value = "[#/definitions/Course]", mediaType = "responseBody")
+                            @ExampleProperty(value = "[#/definitions/Course]", mediaType = "responseBody"),
+                            @ExampleProperty(value = "10", mediaType = "nextCursor")
                     })
             ),
             @ApiResponse(
@@ -48,8 +50,14 @@ public class CourseController {
                     })
             )
     })
-    public ResponseEntity<Response> getAllEntities() {
-        return service.getAllEntities();
+    public ResponseEntity<Response> getAllEntities(
+            @ApiParam(value = "Course id of the last item of previous page (nextCursor of previous response)", type = "int32")
+            @RequestParam(required = false) String after,
+            @ApiParam(value = "Maximum number of items in page", type = "int32")
+            @RequestParam(required = false) Integer limit,
+            @ApiParam(value = "Comma separated properties to return (courseId, courseTitle, courseDescription), identifier is always returned, all properties are returned if omitted", type = "string")
+            @RequestParam(required = false) String fields) {
+        return service.getEntitiesPage(after, limit, fields, null);
     }
 
     @GetMapping("/courses/{courseId}")
@@ -88,8 +96,10 @@ public class CourseController {
     })
     public ResponseEntity<Response> getEntity(
             @ApiParam(value = "ID value for the course you need to retrieve", required = true, type = "int32")
-            @PathVariable Integer courseId) {
-        return service.getEntity(String.valueOf(courseId));
+            @PathVariable Integer courseId,
+            @ApiParam(value = "Comma separated properties to return (courseId, courseTitle, courseDescription), identifier is always returned, all properties are returned if omitted", type = "string")
+            @RequestParam(required = false) String fields) {
+        return service.getEntity(String.valueOf(courseId), fields, null);
     }
 
     @PostMapping("/courses")
@@ -148,6 +158,56 @@ public class CourseController {
         return service.addEntity(courseToAdd, bindingResult);
     }
 
+    @PostMapping("/courses/batch")
+    @ApiOperation(value = "Add list of courses", notes = "Provide list of courses in json format, courses are added in single transaction only if all of them are valid", produces = "application/json", consumes = "application/json")
+    @ApiResponses({
+            @ApiResponse(
+                    code = 201,
+                    message = "Courses added successfully",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "item successfully added", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[{rowIndex: 0, status: CREATED, generatedId: 6}]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 409,
+                    message = "One or more of provided courses already exist or violate other constraint of database",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "some items are rejected, no items are added", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[{rowIndex: 0, status: SKIPPED}, {rowIndex: 1, status: REJECTED, errors: [item duplicates existing item or breaks other database constraint]}]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 400,
+                    message = "One or more of provided courses violate validation constraints",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "invalid input", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[{rowIndex: 0, status: INVALID, errors: [course title cannot be empty]}, {rowIndex: 1, status: SKIPPED}]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 500,
+                    message = "Internal server or db error occurred",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "internal server error occurred", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "null", mediaType = "responseBody")
+                    })
+            )
+    })
+    public ResponseEntity<Response> addEntities(
+            @ApiParam(value = "List of courses in json format", required = true, type = "[#/definitions/Course]")
+            @RequestBody List<CourseDTO> entitiesToAdd) {
+        return service.addEntities(entitiesToAdd);
+    }
+
     @PutMapping("/courses")
     @ApiOperation(value = "Update a course", notes = "Provide a course in json format", produces = "application/json", consumes = "application/json")
     @ApiResponses({
@@ -271,7 +331,9 @@ public class CourseController {
     })
     public ResponseEntity<Response> searchForCourses(
             @ApiParam(value = "Search criterion (course title or course description)", required = true, type = "string")
-            @RequestParam String param) {
-        return service.searchForEntities(param);
+            @RequestParam String param,
+            @ApiParam(value = "Comma separated properties to return (courseId, courseTitle, courseDescription), identifier is always returned, all properties are returned if omitted", type = "string")
+            @RequestParam(required = false) String fields) {
+        return service.searchForEntities(param, fields, null);
     }
 }
@@ -0,0 +1,257 @@
+package com.rdlab.universityregistrar.controller;
+
+import com.rdlab.universityregistrar.controller.response.Response;
+import com.rdlab.universityregistrar.service.EnrollmentFunctionality;
+import com.rdlab.universityregistrar.service.dto.CourseCapacityDTO;
+import com.rdlab.universityregistrar.service.dto.ScheduleEntryDTO;
+import io.swagger.annotations.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+
+/**
+ * REST Api controller implementation for enrollment of students to courses with limited number of seats.
+ * Performs input data basic (JSR-303) validation, puts existing validation constraints to {@link BindingResult} instance
+ * and calls corresponding service methods necessary to perform requested operations.
+ */
+@RestController
+@RequestMapping("/api")
+@Api(tags = "Enrollment API")
+public class EnrollmentController {
+    @Autowired
+    EnrollmentFunctionality service;
+
+    @PostMapping("/enrollments")
+    @ApiOperation(value = "Enroll student to course", notes = "Provide requested schedule entry in json format, student is put to waitlist of course if there are no free seats", produces = "application/json", consumes = "application/json")
+    @ApiResponses({
+            @ApiResponse(
+                    code = 201,
+                    message = "Student got a seat, schedule entry added successfully",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "item successfully added", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "#/definitions/Schedule entry", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 202,
+                    message = "No free seats left, student is put to waitlist",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "no free seats left, student is put to waitlist of course", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "#/definitions/Waitlist entry", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 400,
+                    message = "Provided schedule entry parameters violate one or more validation constraints",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "invalid input", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[studentId must not be empty, location cannot be empty]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 409,
+                    message = "Student has already taken maximum number of courses in semester",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "student has already taken maximum number of courses in this semester", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "#/definitions/Schedule entry", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 500,
+                    message = "Internal server or db error occurred",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "internal server error occurred", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "null", mediaType = "responseBody")
+                    })
+            )
+    })
+    public ResponseEntity<Response> enroll(
+            @ApiParam(value = "Requested schedule entry in json format",
+                    required = true,
+                    type = "#/definitions/Schedule entry",
+                    examples = @Example({
+                            @ExampleProperty(value = "1", mediaType = "studentId"),
+                            @ExampleProperty(value = "3", mediaType = "courseId"),
+                            @ExampleProperty(value = "1", mediaType = "lecturerId"),
+                            @ExampleProperty(value = "FAL2020", mediaType = "semesterId"),
+                            @ExampleProperty(value = "Room A1", mediaType = "location"),
+                            @ExampleProperty(value = "2020-05-05 09:10:00", mediaType = "time")
+                    }))
+            @RequestBody @Valid ScheduleEntryDTO scheduleEntryToAdd, BindingResult bindingResult) {
+        return service.enroll(scheduleEntryToAdd, bindingResult);
+    }
+
+    @GetMapping("/enrollments/capacities/{courseId}/{semesterId}")
+    @ApiOperation(value = "Get capacity of course in semester", notes = "Provide course id and semester id to look up number of seats, enrolled and waitlisted students", produces = "application/json")
+    @ApiResponses({
+            @ApiResponse(
+                    code = 200,
+                    message = "Course capacity fetched successfully",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "capacity of course in semester", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "#/definitions/Course capacity", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 404,
+                    message = "Course has unlimited number of seats in semester",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "item of requested type with such id not found", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 500,
+                    message = "Internal server or db error occurred",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "internal server error occurred", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "null", mediaType = "responseBody")
+                    })
+            )
+    })
+    public ResponseEntity<Response> getCourseCapacity(
+            @ApiParam(value = "Course id", required = true, type = "int32")
+            @PathVariable Integer courseId,
+            @ApiParam(value = "Semester id", required = true, type = "string")
+            @PathVariable String semesterId) {
+        return service.getCourseCapacity(courseId, semesterId);
+    }
+
+    @PutMapping("/enrollments/capacities")
+    @ApiOperation(value = "Set capacity of course in semester", notes = "Provide course capacity in json format, waitlisted students are promoted if capacity is increased", produces = "application/json", consumes = "application/json")
+    @ApiResponses({
+            @ApiResponse(
+                    code = 200,
+                    message = "Course capacity updated successfully",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "capacity of course in semester updated successfully", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "#/definitions/Course capacity", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 400,
+                    message = "Provided course capacity parameters violate one or more validation constraints",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "invalid input", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[capacity cannot be negative]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 500,
+                    message = "Internal server or db error occurred",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "internal server error occurred", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "null", mediaType = "responseBody")
+                    })
+            )
+    })
+    public ResponseEntity<Response> updateCourseCapacity(
+            @ApiParam(value = "Course capacity parameters in json format",
+                    required = true,
+                    type = "#/definitions/Course capacity",
+                    examples = @Example({
+                            @ExampleProperty(value = "3", mediaType = "courseId"),
+                            @ExampleProperty(value = "FAL2020", mediaType = "semesterId"),
+                            @ExampleProperty(value = "30", mediaType = "capacity")
+                    }))
+            @RequestBody @Valid CourseCapacityDTO courseCapacity, BindingResult bindingResult) {
+        return service.updateCourseCapacity(courseCapacity, bindingResult);
+    }
+
+    @GetMapping("/enrollments/waitlists/{courseId}/{semesterId}")
+    @ApiOperation(value = "Get waitlist of course in semester", notes = "Waitlisted students are returned in order of promotion", produces = "application/json")
+    @ApiResponses({
+            @ApiResponse(
+                    code = 200,
+                    message = "Waitlist fetched successfully",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "list of students waiting for a seat in order of promotion", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[#/definitions/Waitlist entry]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 500,
+                    message = "Internal server or db error occurred",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "internal server error occurred", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "null", mediaType = "responseBody")
+                    })
+            )
+    })
+    public ResponseEntity<Response> getWaitlist(
+            @ApiParam(value = "Course id", required = true, type = "int32")
+            @PathVariable Integer courseId,
+            @ApiParam(value = "Semester id", required = true, type = "string")
+            @PathVariable String semesterId) {
+        return service.getWaitlist(courseId, semesterId);
+    }
+
+    @DeleteMapping("/enrollments/waitlists/{waitlistEntryId}")
+    @ApiOperation(value = "Remove student from waitlist", notes = "Provide an id of waitlist entry to remove", produces = "application/json")
+    @ApiResponses({
+            @ApiResponse(
+                    code = 200,
+                    message = "Waitlist entry deleted successfully",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "item deleted successfully", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 404,
+                    message = "Waitlist entry with such id not found",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "item of requested type with such id not found", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 500,
+                    message = "Internal server or db error occurred",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "internal server error occurred", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "null", mediaType = "responseBody")
+                    })
+            )
+    })
+    public ResponseEntity<Response> leaveWaitlist(
+            @ApiParam(value = "ID value for the waitlist entry you need to delete", required = true, type = "int32")
+            @PathVariable Integer waitlistEntryId) {
+        return service.leaveWaitlist(waitlistEntryId);
+    }
+}
@@ -2,6 +2,7 @@ package com.rdlab.universityregistrar.controller;
 
 import com.rdlab.universityregistrar.controller.response.Response;
 import com.rdlab.universityregistrar.service.ServiceFunctionality;
+import com.rdlab.universityregistrar.service.TimetableFunctionality;
 import com.rdlab.universityregistrar.service.dto.LecturerDTO;
 import io.swagger.annotations.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +11,7 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.util.List;
 
 /**
  * REST Api controller implementation for operation with {@link LecturerDTO}.
@@ -22,9 +24,11 @@ import javax.validation.Valid;
 public class LecturerController {
     @Autowired
     ServiceFunctionality<LecturerDTO> service;
+    @Autowired
+    TimetableFunctionality timetableService;
 
     @GetMapping("/lecturers")
-    @ApiOperation(value = "Get list of all lecturers", produces = "application/json")
+    @ApiOperation(value = "Get list of all lecturers", notes = "Lecturers are returned page by page ordered by lecturer id, provide nextCursor of previous response as \"after\" parameter to fetch next page", produces = "application/json")
     @ApiResponses({
             @ApiResponse(
                     code = 200,
@@ -33,7 +37,8 @@ public class LecturerController {
                     examples = @Example({
                             @ExampleProperty(value = "list of all available items of requested type", mediaType = "message"),
                             @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
-                            @ExampleProperty(value = "[#/definitions/Lecturer]", mediaType = "responseBody")
+                            @ExampleProperty(value = "[#/definitions/Lecturer]", mediaType = "responseBody"),
+                            @ExampleProperty(value = "10", mediaType = "nextCursor")
                     })
             ),
             @ApiResponse(
@@ -47,8 +52,16 @@ public class LecturerController {
                     })
             )
     })
-    public ResponseEntity<Response> getAllEntities() {
-        return service.getAllEntities();
+    public ResponseEntity<Response> getAllEntities(
+            @ApiParam(value = "Lecturer id of the last item of previous page (nextCursor of previous response)", type = "int32")
+            @RequestParam(required = false) String after,
+            @ApiParam(value = "Maximum number of items in page", type = "int32")
+            @RequestParam(required = false) Integer limit,
+            @ApiParam(value = "Comma separated properties to return (lecturerId, lecturerName, dateOfBirth, numericAcademicRank), identifier is always returned, all properties are returned if omitted", type = "string")
+            @RequestParam(required = false) String fields,
+            @ApiParam(value = "Comma separated related entities to embed (academicRank)", type = "string")
+            @RequestParam(required = false) String expand) {
+        return service.getEntitiesPage(after, limit, fields, expand);
     }
 
     @GetMapping("/lecturers/{lecturerId}")
@@ -87,8 +100,64 @@ public class LecturerController {
     })
     public ResponseEntity<Response> getLecturer(
             @ApiParam(value = "ID value for the lecturer you need to retrieve", required = true, type = "int32")
-            @PathVariable Integer lecturerId) {
-        return service.getEntity(String.valueOf(lecturerId));
+            @PathVariable Integer lecturerId,
+            @ApiParam(value = "Comma separated properties to return (lecturerId, lecturerName, dateOfBirth, numericAcademicRank), identifier is always returned, all properties are returned if omitted", type = "string")
+            @RequestParam(required = false) String fields,
+            @ApiParam(value = "Comma separated related entities to embed (academicRank)", type = "string")
+            @RequestParam(required = false) String expand) {
+        return service.getEntity(String.valueOf(lecturerId), fields, expand);
+    }
+
+    @GetMapping("/lecturers/{lecturerId}/schedule")
+    @ApiOperation(value = "Get timetable of lecturer", notes = "Schedule entries of lecturer are returned ordered by time with course, lecturer and semester details embedded. " +
+            "Response carries ETag and Cache-Control headers, provide ETag of previous response as If-None-Match header to revalidate cached timetable", produces = "application/json")
+    @ApiResponses({
+            @ApiResponse(
+                    code = 200,
+                    message = "Timetable of lecturer fetched successfully",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "timetable fetched successfully", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[#/definitions/Timetable entry]", mediaType = "responseBody")
+                    }
+                    )
+            ),
+            @ApiResponse(
+                    code = 304,
+                    message = "Timetable of lecturer has not changed since response with ETag provided in If-None-Match header"
+            ),
+            @ApiResponse(
+                    code = 404,
+                    message = "Lecturer with such id is not found",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "item of requested type with such id not found", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "", mediaType = "responseBody")
+                    }
+                    )
+            ),
+            @ApiResponse(
+                    code = 500,
+                    message = "Internal server or db error occurred",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "internal server error occurred", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "null", mediaType = "responseBody")
+                    }
+                    )
+            )
+    })
+    public ResponseEntity<Response> getSchedule(
+            @ApiParam(value = "ID value of the lecturer whose timetable you need to retrieve", required = true, type = "int32")
+            @PathVariable Integer lecturerId,
+            @ApiParam(value = "ID value of the semester to limit timetable to", type = "string")
+            @RequestParam(required = false) String semesterId,
+            @ApiParam(value = "ETag of previously fetched timetable", type = "string")
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        return timetableService.getLecturerSchedule(lecturerId, semesterId, ifNoneMatch);
     }
 
 
@@ -139,6 +208,56 @@ public class LecturerController {
         return service.addEntity(lecturerToAdd, bindingResult);
     }
 
+    @PostMapping("/lecturers/batch")
+    @ApiOperation(value = "Add list of lecturers", notes = "Provide list of lecturers in json format, lecturers are added in single transaction only if all of them are valid", produces = "application/json", consumes = "application/json")
+    @ApiResponses({
+            @ApiResponse(
+                    code = 201,
+                    message = "Lecturers added successfully",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "item successfully added", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[{rowIndex: 0, status: CREATED, generatedId: 6}]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 409,
+                    message = "One or more of provided lecturers already exist or violate other constraint of database",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "some items are rejected, no items are added", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[{rowIndex: 0, status: SKIPPED}, {rowIndex: 1, status: REJECTED, errors: [item duplicates existing item or breaks other database constraint]}]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 400,
+                    message = "One or more of provided lecturers violate validation constraints",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "invalid input", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[{rowIndex: 0, status: INVALID, errors: [lecturer name cannot be empty]}, {rowIndex: 1, status: SKIPPED}]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 500,
+                    message = "Internal server or db error occurred",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "internal server error occurred", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "null", mediaType = "responseBody")
+                    })
+            )
+    })
+    public ResponseEntity<Response> addEntities(
+            @ApiParam(value = "List of lecturers in json format", required = true, type = "[#/definitions/Lecturer]")
+            @RequestBody List<LecturerDTO> entitiesToAdd) {
+        return service.addEntities(entitiesToAdd);
+    }
+
     @PutMapping("/lecturers")
     @ApiOperation(value = "Update a lecturer", notes = "Provide a lecturer in json format", produces = "application/json", consumes = "application/json")
     @ApiResponses({
@@ -263,7 +382,11 @@ public class LecturerController {
     })
     public ResponseEntity<Response> searchForLecturers(
             @ApiParam(value = "Search criterion (lecturer's name or lecturer's numeric academic rank)", required = true, type = "string/int32")
-            @RequestParam String param) {
-        return service.searchForEntities(param);
+            @RequestParam String param,
+            @ApiParam(value = "Comma separated properties to return (lecturerId, lecturerName, dateOfBirth, numericAcademicRank), identifier is always returned, all properties are returned if omitted", type = "string")
+            @RequestParam(required = false) String fields,
+            @ApiParam(value = "Comma separated related entities to embed (academicRank)", type = "string")
+            @RequestParam(required = false) String expand) {
+        return service.searchForEntities(param, fields, expand);
     }
 }
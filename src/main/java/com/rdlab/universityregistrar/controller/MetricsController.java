@@ -0,0 +1,41 @@
+package com.rdlab.universityregistrar.controller;
+
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.prometheus.client.exporter.common.TextFormat;
+import io.swagger.annotations.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Api controller publishing request, service, DAO, connection pool and Hibernate metrics
+ * in Prometheus text exposition format
+ */
+@RestController
+@RequestMapping("/api")
+@Api(tags = "Metrics API")
+public class MetricsController {
+
+    @Autowired
+    PrometheusMeterRegistry meterRegistry;
+
+    @GetMapping(value = "/metrics", produces = TextFormat.CONTENT_TYPE_004)
+    @ApiOperation(value = "Get application metrics", notes = "Metrics are rendered in Prometheus text exposition format 0.0.4", produces = TextFormat.CONTENT_TYPE_004)
+    @ApiResponses({
+            @ApiResponse(
+                    code = 200,
+                    message = "Metrics scraped successfully",
+                    response = String.class
+            ),
+            @ApiResponse(
+                    code = 500,
+                    message = "Internal server error occurred",
+                    response = String.class
+            )
+    })
+    public ResponseEntity<String> scrapeMetrics() {
+        return ResponseEntity.ok(meterRegistry.scrape());
+    }
+}
@@ -1,15 +1,20 @@
 package com.rdlab.universityregistrar.controller;
 
 import com.rdlab.universityregistrar.controller.response.Response;
+import com.rdlab.universityregistrar.model.dao.ScheduleEntryFilter;
 import com.rdlab.universityregistrar.service.ServiceFunctionality;
+import com.rdlab.universityregistrar.service.TimetableFunctionality;
 import com.rdlab.universityregistrar.service.dto.ScheduleEntryDTO;
 import io.swagger.annotations.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.util.List;
 
 /**
  * REST Api controller implementation for operation with {@link ScheduleEntryDTO}.
@@ -22,9 +27,12 @@ import javax.validation.Valid;
 public class ScheduleEntryController {
     @Autowired
     ServiceFunctionality<ScheduleEntryDTO> service;
+    @Autowired
+    TimetableFunctionality timetableService;
 
-    @GetMapping("/schedules")
-    @ApiOperation(value = "Get list of all schedule entries", produces = "application/json")
+    @GetMapping(value = "/schedules", params = {"!from", "!to", "!location", "!lecturerId"})
+    @ApiOperation(value = "Get list of all schedule entries", notes = "Schedule entries are returned page by page ordered by schedule entry id, provide nextCursor of previous response as \"after\" parameter to fetch next page. " +
+            "If any of from, to, location or lecturerId filters is provided, all matching entries are streamed in order of time instead of paging", produces = "application/json")
     @ApiResponses({
             @ApiResponse(
                     code = 200,
@@ -33,7 +41,8 @@ public class ScheduleEntryController {
                     examples = @Example({
                             @ExampleProperty(value = "list of all available items of requested type", mediaType = "message"),
                             @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
-                            @ExampleProperty(value = "[#/definitions/Schedule entry]", mediaType = "responseBody")
+                            @ExampleProperty(value = "[#/definitions/Schedule entry]", mediaType = "responseBody"),
+                            @ExampleProperty(value = "50", mediaType = "nextCursor")
                     })
             ),
             @ApiResponse(
@@ -47,8 +56,75 @@ public class ScheduleEntryController {
                     })
             )
     })
-    public ResponseEntity<Response> getAllEntities() {
-        return service.getAllEntities();
+    public ResponseEntity<Response> getAllEntities(
+            @ApiParam(value = "Schedule entry id of the last item of previous page (nextCursor of previous response)", type = "int32")
+            @RequestParam(required = false) String after,
+            @ApiParam(value = "Maximum number of items in page", type = "int32")
+            @RequestParam(required = false) Integer limit,
+            @ApiParam(value = "Comma separated properties to return (entryId, studentId, lecturerId, courseId, time, location, semesterId), identifier is always returned, all properties are returned if omitted", type = "string")
+            @RequestParam(required = false) String fields,
+            @ApiParam(value = "Comma separated related entities to embed (course, lecturer, student, semester)", type = "string")
+            @RequestParam(required = false) String expand) {
+        return service.getEntitiesPage(after, limit, fields, expand);
+    }
+
+    /**
+     * Requests of schedule entries carrying any of filter parameters are not matched by paging handler above,
+     * which excludes them by its params condition, so they fall through to this handler. Body type must be
+     * declared as {@link StreamingResponseBody} for the response to be written asynchronously.
+     */
+    @GetMapping("/schedules")
+    @ApiOperation(value = "Get schedule entries matching filters", notes = "All schedule entries matching provided from, to, location or lecturerId filters are streamed in order of time, then of schedule entry id", produces = "application/json")
+    @ApiResponses({
+            @ApiResponse(
+                    code = 200,
+                    message = "List of schedule entries streamed successfully",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "list of all available items of requested type", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[#/definitions/Schedule entry]", mediaType = "responseBody")
+                    })
+            )
+    })
+    public ResponseEntity<StreamingResponseBody> getFilteredEntities(
+            @ApiParam(value = "Classes beginning at or after this time, epoch milliseconds", type = "int64")
+            @RequestParam(required = false) Long from,
+            @ApiParam(value = "Classes beginning before this time, epoch milliseconds", type = "int64")
+            @RequestParam(required = false) Long to,
+            @ApiParam(value = "Location of classes, case insensitive")
+            @RequestParam(required = false) String location,
+            @ApiParam(value = "ID of lecturer of classes", type = "int32")
+            @RequestParam(required = false) Integer lecturerId) {
+        ScheduleEntryFilter filter = ScheduleEntryFilter.builder()
+                .from(from)
+                .to(to)
+                .location(location)
+                .lecturerId(lecturerId)
+                .build();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(outputStream -> timetableService.writeScheduleEntries(filter, outputStream));
+    }
+
+    @GetMapping("/schedules/export")
+    @ApiOperation(value = "Export all schedule entries", notes = "Schedule entries are streamed to client as they are read from database", produces = "application/json")
+    @ApiResponses({
+            @ApiResponse(
+                    code = 200,
+                    message = "List of schedule entries streamed successfully",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "list of all available items of requested type", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[#/definitions/Schedule entry]", mediaType = "responseBody")
+                    })
+            )
+    })
+    public ResponseEntity<StreamingResponseBody> exportEntities() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(service::writeAllEntities);
     }
 
     @GetMapping("/schedules/{scheduleId}")
@@ -87,8 +163,12 @@ public class ScheduleEntryController {
     })
     public ResponseEntity<Response> getEntity(
             @ApiParam(value = "ID value for the schedule entry you need to retrieve", required = true, type = "int32")
-            @PathVariable Integer scheduleId) {
-        return service.getEntity(String.valueOf(scheduleId));
+            @PathVariable Integer scheduleId,
+            @ApiParam(value = "Comma separated properties to return (entryId, studentId, lecturerId, courseId, time, location, semesterId), identifier is always returned, all properties are returned if omitted", type = "string")
+            @RequestParam(required = false) String fields,
+            @ApiParam(value = "Comma separated related entities to embed (course, lecturer, student, semester)", type = "string")
+            @RequestParam(required = false) String expand) {
+        return service.getEntity(String.valueOf(scheduleId), fields, expand);
     }
 
     @PostMapping("/schedules")
@@ -101,7 +181,8 @@ public class ScheduleEntryController {
                     examples = @Example({
                             @ExampleProperty(value = "item successfully added", mediaType = "message"),
                             @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
-                            @ExampleProperty(value = "#/definitions/Schedule entry", mediaType = "responseBody")
+                            @ExampleProperty(value = "#/definitions/Schedule entry", mediaType = "responseBody"),
+                            @ExampleProperty(value = "[Student has taken more than 5 courses in single semester!]", mediaType = "warnings")
                     })
             ),
             @ApiResponse(
@@ -124,6 +205,16 @@ public class ScheduleEntryController {
                             @ExampleProperty(value = "[studentId must not be empty, location cannot be empty]", mediaType = "responseBody")
                     })
             ),
+            @ApiResponse(
+                    code = 409,
+                    message = "Student has already taken maximum number of courses in semester, or lecturer, location or student is already booked at this time",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "student has already taken maximum number of courses in this semester", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "#/definitions/Schedule entry", mediaType = "responseBody")
+                    })
+            ),
             @ApiResponse(
                     code = 500,
                     message = "Internal server or db error occurred",
@@ -151,6 +242,66 @@ public class ScheduleEntryController {
         return service.addEntity(scheduleEntryToAdd, bindingResult);
     }
 
+    @PostMapping("/schedules/batch")
+    @ApiOperation(value = "Add list of schedule entries", notes = "Provide list of schedule entries in json format, schedule entries are added in single transaction only if all of them are valid and none of them is rejected", produces = "application/json", consumes = "application/json")
+    @ApiResponses({
+            @ApiResponse(
+                    code = 201,
+                    message = "Schedule entries added successfully",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "item successfully added", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[{rowIndex: 0, status: CREATED, generatedId: 6}]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 409,
+                    message = "One or more of provided schedule entries already exist or violate other constraint of database",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "some items are rejected, no items are added", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[{rowIndex: 0, status: SKIPPED}, {rowIndex: 1, status: REJECTED, errors: [item duplicates existing item or breaks other database constraint]}]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 400,
+                    message = "One or more of provided schedule entries violate validation constraints",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "invalid input", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[{rowIndex: 0, status: INVALID, errors: [studentId must not be empty, location cannot be empty]}, {rowIndex: 1, status: SKIPPED}]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 409,
+                    message = "One or more of provided schedule entries exceed course load of student or double-book lecturer, location or student",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "some items are rejected, no items are added", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[{rowIndex: 0, status: SKIPPED}, {rowIndex: 1, status: REJECTED, errors: [student has already taken maximum number of courses in this semester]}]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 500,
+                    message = "Internal server or db error occurred",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "internal server error occurred", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "null", mediaType = "responseBody")
+                    })
+            )
+    })
+    public ResponseEntity<Response> addEntities(
+            @ApiParam(value = "List of schedule entries in json format", required = true, type = "[#/definitions/Schedule entry]")
+            @RequestBody List<ScheduleEntryDTO> entitiesToAdd) {
+        return service.addEntities(entitiesToAdd);
+    }
+
     @PutMapping("/schedules")
     @ApiOperation(value = "Update a schedule entry", notes = "Provide a schedule entry in json format", produces = "application/json", consumes = "application/json")
     @ApiResponses({
@@ -161,7 +312,8 @@ public class ScheduleEntryController {
                     examples = @Example({
                             @ExampleProperty(value = "item updated successfully", mediaType = "message"),
                             @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
-                            @ExampleProperty(value = "#/definitions/Schedule entry", mediaType = "responseBody")
+                            @ExampleProperty(value = "#/definitions/Schedule entry", mediaType = "responseBody"),
+                            @ExampleProperty(value = "[Student has taken more than 5 courses in single semester!]", mediaType = "warnings")
                     }
                     )
             ),
@@ -187,6 +339,16 @@ public class ScheduleEntryController {
                     }
                     )
             ),
+            @ApiResponse(
+                    code = 409,
+                    message = "Student has already taken maximum number of courses in semester, or lecturer, location or student is already booked at this time",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "student has already taken maximum number of courses in this semester", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "#/definitions/Schedule entry", mediaType = "responseBody")
+                    })
+            ),
             @ApiResponse(
                     code = 500,
                     message = "Internal server or db error occurred",
@@ -287,7 +449,41 @@ public class ScheduleEntryController {
     })
     public ResponseEntity<Response> searchForLecturers(
             @ApiParam(value = "Search criterion (course id, semester id or location)", required = true, type = "string/int32")
-            @RequestParam String param) {
-        return service.searchForEntities(param);
+            @RequestParam String param,
+            @ApiParam(value = "Comma separated properties to return (entryId, studentId, lecturerId, courseId, time, location, semesterId), identifier is always returned, all properties are returned if omitted", type = "string")
+            @RequestParam(required = false) String fields,
+            @ApiParam(value = "Comma separated related entities to embed (course, lecturer, student, semester)", type = "string")
+            @RequestParam(required = false) String expand) {
+        return service.searchForEntities(param, fields, expand);
+    }
+
+    @GetMapping("/schedules/conflicts")
+    @ApiOperation(value = "Get timetable conflicts of semester", notes = "Provide semester id to look up schedule entries overlapping in time that book the same lecturer, location or student", produces = "application/json")
+    @ApiResponses({
+            @ApiResponse(
+                    code = 200,
+                    message = "List of conflicts fetched successfully",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "schedule entries booking the same lecturer, location or student at the same time", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[#/definitions/Schedule conflict]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 500,
+                    message = "Internal server or db error occurred",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "internal server error occurred", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "null", mediaType = "responseBody")
+                    })
+            )
+    })
+    public ResponseEntity<Response> getConflicts(
+            @ApiParam(value = "Semester id", required = true, type = "string")
+            @RequestParam String semesterId) {
+        return timetableService.getSemesterConflicts(semesterId);
     }
 }
@@ -0,0 +1,67 @@
+package com.rdlab.universityregistrar.controller;
+
+import com.rdlab.universityregistrar.controller.response.Response;
+import com.rdlab.universityregistrar.service.SearchFunctionality;
+import com.rdlab.universityregistrar.service.dto.SearchHitDTO;
+import io.swagger.annotations.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Api controller implementation for unified search returning {@link SearchHitDTO} instances
+ * of all searchable types (students, lecturers, courses and semesters) in single request.
+ */
+@RestController
+@RequestMapping("/api")
+@Api(tags = "Search API")
+public class SearchController {
+
+    @Autowired
+    SearchFunctionality service;
+
+    @GetMapping("/search")
+    @ApiOperation(value = "Get students, lecturers, courses and semesters that meet the provided search criterion", notes = "Every word of search criterion is matched as word prefix, hits are ordered by relevance", produces = "application/json")
+    @ApiResponses({
+            @ApiResponse(
+                    code = 200,
+                    message = "List of search hits fetched successfully",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "list of items of all searchable types matching search criterion", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[#/definitions/SearchHit]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 400,
+                    message = "Search criterion contains no words or limit is not positive",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "invalid input", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 500,
+                    message = "Internal server or db error occurred",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "internal server error occurred", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "null", mediaType = "responseBody")
+                    })
+            )
+    })
+    public ResponseEntity<Response> searchAllEntities(
+            @ApiParam(value = "Search criterion (student or lecturer name, course title or description, semester id or name)", required = true, type = "string")
+            @RequestParam String q,
+            @ApiParam(value = "Maximum number of hits", type = "int32")
+            @RequestParam(required = false) Integer limit) {
+        return service.searchAllEntities(q, limit);
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.util.List;
 
 
 /**
@@ -25,7 +26,7 @@ public class SemesterController {
     ServiceFunctionality<SemesterDTO> service;
 
     @GetMapping("/semesters")
-    @ApiOperation(value = "Get list of all semesters", produces = "application/json")
+    @ApiOperation(value = "Get list of all semesters", notes = "Semesters are returned page by page ordered by semester id, provide nextCursor of previous response as \"after\" parameter to fetch next page", produces = "application/json")
     @ApiResponses({
             @ApiResponse(
                     code = 200,
@@ -34,7 +35,8 @@ public class SemesterController {
                     examples = @Example({
                             @ExampleProperty(value = "list of all available items of requested type", mediaType = "message"),
                             @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
-                            @ExampleProperty(value = "[#/definitions/Semester]", mediaType = "responseBody")
+                            @ExampleProperty(value = "[#/definitions/Semester]", mediaType = "responseBody"),
+                            @ExampleProperty(value = "FAL2020", mediaType = "nextCursor")
                     }
                     )
             ),
@@ -50,8 +52,14 @@ public class SemesterController {
                     )
             )
     })
-    public ResponseEntity<Response> getAllEntities() {
-        return service.getAllEntities();
+    public ResponseEntity<Response> getAllEntities(
+            @ApiParam(value = "Semester id of the last item of previous page (nextCursor of previous response)", type = "string")
+            @RequestParam(required = false) String after,
+            @ApiParam(value = "Maximum number of items in page", type = "int32")
+            @RequestParam(required = false) Integer limit,
+            @ApiParam(value = "Comma separated properties to return (entryId, semesterId, semesterName, semesterYear, semesterStartTime, semesterEndTime), identifier is always returned, all properties are returned if omitted", type = "string")
+            @RequestParam(required = false) String fields) {
+        return service.getEntitiesPage(after, limit, fields, null);
     }
 
     @GetMapping("/semesters/{semesterId}")
@@ -93,8 +101,10 @@ public class SemesterController {
     })
     public ResponseEntity<Response> getEntity(
             @ApiParam(value = "ID value for the semester you need to retrieve", required = true, type = "string")
-            @PathVariable String semesterId) {
-        return service.getEntity(semesterId);
+            @PathVariable String semesterId,
+            @ApiParam(value = "Comma separated properties to return (entryId, semesterId, semesterName, semesterYear, semesterStartTime, semesterEndTime), identifier is always returned, all properties are returned if omitted", type = "string")
+            @RequestParam(required = false) String fields) {
+        return service.getEntity(semesterId, fields, null);
     }
 
     @PostMapping("/semesters")
@@ -160,6 +170,56 @@ public class SemesterController {
         return service.addEntity(semesterToAdd, bindingResult);
     }
 
+    @PostMapping("/semesters/batch")
+    @ApiOperation(value = "Add list of semesters", notes = "Provide list of semesters in json format, semesters are added in single transaction only if all of them are valid", produces = "application/json", consumes = "application/json")
+    @ApiResponses({
+            @ApiResponse(
+                    code = 201,
+                    message = "Semesters added successfully",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "item successfully added", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[{rowIndex: 0, status: CREATED, generatedId: 6}]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 409,
+                    message = "One or more of provided semesters already exist or violate other constraint of database",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "some items are rejected, no items are added", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[{rowIndex: 0, status: SKIPPED}, {rowIndex: 1, status: REJECTED, errors: [item duplicates existing item or breaks other database constraint]}]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 400,
+                    message = "One or more of provided semesters violate validation constraints",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "invalid input", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[{rowIndex: 0, status: INVALID, errors: [semesterId cannot be empty]}, {rowIndex: 1, status: SKIPPED}]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 500,
+                    message = "Internal server or db error occurred",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "internal server error occurred", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "null", mediaType = "responseBody")
+                    })
+            )
+    })
+    public ResponseEntity<Response> addEntities(
+            @ApiParam(value = "List of semesters in json format", required = true, type = "[#/definitions/Semester]")
+            @RequestBody List<SemesterDTO> entitiesToAdd) {
+        return service.addEntities(entitiesToAdd);
+    }
+
     @PutMapping("/semesters")
     @ApiOperation(value = "Update a semester", notes = "Provide a semester in json format", produces = "application/json", consumes = "application/json")
     @ApiResponses({
@@ -294,7 +354,9 @@ public class SemesterController {
     })
     public ResponseEntity<Response> searchForSemesters(
             @ApiParam(value = "Search criterion (login or student id)", required = true, type = "string/int32")
-            @RequestParam String param) {
-        return service.searchForEntities(param);
+            @RequestParam String param,
+            @ApiParam(value = "Comma separated properties to return (entryId, semesterId, semesterName, semesterYear, semesterStartTime, semesterEndTime), identifier is always returned, all properties are returned if omitted", type = "string")
+            @RequestParam(required = false) String fields) {
+        return service.searchForEntities(param, fields, null);
     }
 }
@@ -2,6 +2,7 @@ package com.rdlab.universityregistrar.controller;
 
 import com.rdlab.universityregistrar.controller.response.Response;
 import com.rdlab.universityregistrar.service.ServiceFunctionality;
+import com.rdlab.universityregistrar.service.TimetableFunctionality;
 import com.rdlab.universityregistrar.service.dto.StudentDTO;
 import io.swagger.annotations.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +11,7 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.util.List;
 
 /**
  * REST Api controller implementation for operation with {@link StudentDTO}.
@@ -22,9 +24,11 @@ import javax.validation.Valid;
 public class StudentController {
     @Autowired
     ServiceFunctionality<StudentDTO> service;
+    @Autowired
+    TimetableFunctionality timetableService;
 
     @GetMapping("/students")
-    @ApiOperation(value = "Get list of all students", produces = "application/json")
+    @ApiOperation(value = "Get list of all students", notes = "Students are returned page by page ordered by student id, provide nextCursor of previous response as \"after\" parameter to fetch next page", produces = "application/json")
     @ApiResponses({
             @ApiResponse(
                     code = 200,
@@ -33,7 +37,8 @@ public class StudentController {
                     examples = @Example({
                             @ExampleProperty(value = "list of all available items of requested type", mediaType = "message"),
                             @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
-                            @ExampleProperty(value = "[#/definitions/Student]", mediaType = "responseBody")
+                            @ExampleProperty(value = "[#/definitions/Student]", mediaType = "responseBody"),
+                            @ExampleProperty(value = "50", mediaType = "nextCursor")
                     }
                     )
             ),
@@ -49,8 +54,14 @@ public class StudentController {
                     )
             )
     })
-    public ResponseEntity<Response> getAllEntities() {
-        return service.getAllEntities();
+    public ResponseEntity<Response> getAllEntities(
+            @ApiParam(value = "Student id of the last item of previous page (nextCursor of previous response)", type = "int32")
+            @RequestParam(required = false) String after,
+            @ApiParam(value = "Maximum number of items in page", type = "int32")
+            @RequestParam(required = false) Integer limit,
+            @ApiParam(value = "Comma separated properties to return (studentId, studentName, dateOfBirth), identifier is always returned, all properties are returned if omitted", type = "string")
+            @RequestParam(required = false) String fields) {
+        return service.getEntitiesPage(after, limit, fields, null);
     }
 
     @GetMapping("/students/{studentId}")
@@ -92,8 +103,62 @@ public class StudentController {
     })
     public ResponseEntity<Response> getEntity(
             @ApiParam(value = "ID value for the student you need to retrieve", required = true, type = "int32")
-            @PathVariable Integer studentId) {
-        return service.getEntity(String.valueOf(studentId));
+            @PathVariable Integer studentId,
+            @ApiParam(value = "Comma separated properties to return (studentId, studentName, dateOfBirth), identifier is always returned, all properties are returned if omitted", type = "string")
+            @RequestParam(required = false) String fields) {
+        return service.getEntity(String.valueOf(studentId), fields, null);
+    }
+
+    @GetMapping("/students/{studentId}/schedule")
+    @ApiOperation(value = "Get timetable of student", notes = "Schedule entries of student are returned ordered by time with course, lecturer and semester details embedded. " +
+            "Response carries ETag and Cache-Control headers, provide ETag of previous response as If-None-Match header to revalidate cached timetable", produces = "application/json")
+    @ApiResponses({
+            @ApiResponse(
+                    code = 200,
+                    message = "Timetable of student fetched successfully",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "timetable fetched successfully", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[#/definitions/Timetable entry]", mediaType = "responseBody")
+                    }
+                    )
+            ),
+            @ApiResponse(
+                    code = 304,
+                    message = "Timetable of student has not changed since response with ETag provided in If-None-Match header"
+            ),
+            @ApiResponse(
+                    code = 404,
+                    message = "Student with such id is not found",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "item of requested type with such id not found", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "", mediaType = "responseBody")
+                    }
+                    )
+            ),
+            @ApiResponse(
+                    code = 500,
+                    message = "Internal server or db error occurred",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "internal server error occurred", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "null", mediaType = "responseBody")
+                    }
+                    )
+            )
+    })
+    public ResponseEntity<Response> getSchedule(
+            @ApiParam(value = "ID value of the student whose timetable you need to retrieve", required = true, type = "int32")
+            @PathVariable Integer studentId,
+            @ApiParam(value = "ID value of the semester to limit timetable to", type = "string")
+            @RequestParam(required = false) String semesterId,
+            @ApiParam(value = "ETag of previously fetched timetable", type = "string")
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        return timetableService.getStudentSchedule(studentId, semesterId, ifNoneMatch);
     }
 
     @PostMapping("/students")
@@ -156,6 +221,56 @@ public class StudentController {
         return service.addEntity(studentToAdd, bindingResult);
     }
 
+    @PostMapping("/students/batch")
+    @ApiOperation(value = "Add list of students", notes = "Provide list of students in json format, students are added in single transaction only if all of them are valid", produces = "application/json", consumes = "application/json")
+    @ApiResponses({
+            @ApiResponse(
+                    code = 201,
+                    message = "Students added successfully",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "item successfully added", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[{rowIndex: 0, status: CREATED, generatedId: 6}]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 409,
+                    message = "One or more of provided students already exist or violate other constraint of database",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "some items are rejected, no items are added", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[{rowIndex: 0, status: SKIPPED}, {rowIndex: 1, status: REJECTED, errors: [item duplicates existing item or breaks other database constraint]}]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 400,
+                    message = "One or more of provided students violate validation constraints",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "invalid input", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[{rowIndex: 0, status: INVALID, errors: [student name name cannot be empty]}, {rowIndex: 1, status: SKIPPED}]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 500,
+                    message = "Internal server or db error occurred",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "internal server error occurred", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "null", mediaType = "responseBody")
+                    })
+            )
+    })
+    public ResponseEntity<Response> addEntities(
+            @ApiParam(value = "List of students in json format", required = true, type = "[#/definitions/Student]")
+            @RequestBody List<StudentDTO> entitiesToAdd) {
+        return service.addEntities(entitiesToAdd);
+    }
+
     @PutMapping("/students")
     @ApiOperation(value = "Update a student information", notes = "Provide a student information in json format", produces = "application/json", consumes = "application/json")
     @ApiResponses({
@@ -288,7 +403,9 @@ public class StudentController {
     })
     public ResponseEntity<Response> searchForStudents(
             @ApiParam(value = "Search criterion (student name)", required = true, type = "string")
-            @RequestParam String param) {
-        return service.searchForEntities(param);
+            @RequestParam String param,
+            @ApiParam(value = "Comma separated properties to return (studentId, studentName, dateOfBirth), identifier is always returned, all properties are returned if omitted", type = "string")
+            @RequestParam(required = false) String fields) {
+        return service.searchForEntities(param, fields, null);
     }
 }
@@ -10,6 +10,7 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.util.List;
 
 /**
  * REST Api controller implementation for operation with {@link UserDTO}.
@@ -24,7 +25,7 @@ public class UserController {
     ServiceFunctionality<UserDTO> service;
 
     @GetMapping("/users")
-    @ApiOperation(value = "Get list of all users", produces = "application/json")
+    @ApiOperation(value = "Get list of all users", notes = "Users are returned page by page ordered by login, provide nextCursor of previous response as \"after\" parameter to fetch next page", produces = "application/json")
     @ApiResponses({
             @ApiResponse(
                     code = 200,
@@ -33,7 +34,8 @@ public class UserController {
                     examples = @Example({
                             @ExampleProperty(value = "list of all available items of requested type", mediaType = "message"),
                             @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
-                            @ExampleProperty(value = "[#/definitions/User]", mediaType = "responseBody")
+                            @ExampleProperty(value = "[#/definitions/User]", mediaType = "responseBody"),
+                            @ExampleProperty(value = "johndoe", mediaType = "nextCursor")
                     }
                     )
             ),
@@ -49,8 +51,16 @@ public class UserController {
                     )
             )
     })
-    public ResponseEntity<Response> getAllEntities() {
-        return service.getAllEntities();
+    public ResponseEntity<Response> getAllEntities(
+            @ApiParam(value = "Login of the last item of previous page (nextCursor of previous response)", type = "string")
+            @RequestParam(required = false) String after,
+            @ApiParam(value = "Maximum number of items in page", type = "int32")
+            @RequestParam(required = false) Integer limit,
+            @ApiParam(value = "Comma separated properties to return (userId, login, password, isActive, studentId), identifier is always returned, all properties are returned if omitted", type = "string")
+            @RequestParam(required = false) String fields,
+            @ApiParam(value = "Comma separated related entities to embed (student)", type = "string")
+            @RequestParam(required = false) String expand) {
+        return service.getEntitiesPage(after, limit, fields, expand);
     }
 
     @GetMapping("/users/{userId}")
@@ -92,8 +102,12 @@ public class UserController {
     })
     public ResponseEntity<Response> getEntity(
             @ApiParam(value = "Login value for the user you need to retrieve", required = true, type = "string")
-            @PathVariable String userId) {
-        return service.getEntity(userId);
+            @PathVariable String userId,
+            @ApiParam(value = "Comma separated properties to return (userId, login, password, isActive, studentId), identifier is always returned, all properties are returned if omitted", type = "string")
+            @RequestParam(required = false) String fields,
+            @ApiParam(value = "Comma separated related entities to embed (student)", type = "string")
+            @RequestParam(required = false) String expand) {
+        return service.getEntity(userId, fields, expand);
     }
 
     @PostMapping("/users")
@@ -158,6 +172,56 @@ public class UserController {
         return service.addEntity(userToAdd, bindingResult);
     }
 
+    @PostMapping("/users/batch")
+    @ApiOperation(value = "Add list of users", notes = "Provide list of users in json format, users are added in single transaction only if all of them are valid", produces = "application/json", consumes = "application/json")
+    @ApiResponses({
+            @ApiResponse(
+                    code = 201,
+                    message = "Users added successfully",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "item successfully added", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[{rowIndex: 0, status: CREATED, generatedId: 6}]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 409,
+                    message = "One or more of provided users already exist or violate other constraint of database",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "some items are rejected, no items are added", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[{rowIndex: 0, status: SKIPPED}, {rowIndex: 1, status: REJECTED, errors: [item duplicates existing item or breaks other database constraint]}]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 400,
+                    message = "One or more of provided users violate validation constraints",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "invalid input", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "[{rowIndex: 0, status: INVALID, errors: [login cannot be empty]}, {rowIndex: 1, status: SKIPPED}]", mediaType = "responseBody")
+                    })
+            ),
+            @ApiResponse(
+                    code = 500,
+                    message = "Internal server or db error occurred",
+                    response = Response.class,
+                    examples = @Example({
+                            @ExampleProperty(value = "internal server error occurred", mediaType = "message"),
+                            @ExampleProperty(value = "1600682630711", mediaType = "timeStamp"),
+                            @ExampleProperty(value = "null", mediaType = "responseBody")
+                    })
+            )
+    })
+    public ResponseEntity<Response> addEntities(
+            @ApiParam(value = "List of users in json format", required = true, type = "[#/definitions/User]")
+            @RequestBody List<UserDTO> entitiesToAdd) {
+        return service.addEntities(entitiesToAdd);
+    }
+
     @PutMapping("/users")
     @ApiOperation(value = "Update an user", notes = "Provide an user in json format", produces = "application/json", consumes = "application/json")
     @ApiResponses({
@@ -291,7 +355,11 @@ public class UserController {
     })
     public ResponseEntity<Response> searchForUsers(
             @ApiParam(value = "Search criterion (semester name or semester year)", required = true, type = "string/int32")
-            @RequestParam String param) {
-        return service.searchForEntities(param);
+            @RequestParam String param,
+            @ApiParam(value = "Comma separated properties to return (userId, login, password, isActive, studentId), identifier is always returned, all properties are returned if omitted", type = "string")
+            @RequestParam(required = false) String fields,
+            @ApiParam(value = "Comma separated related entities to embed (student)", type = "string")
+            @RequestParam(required = false) String expand) {
+        return service.searchForEntities(param, fields, expand);
     }
 }
@@ -1,11 +1,15 @@
 package com.rdlab.universityregistrar.controller.exception.handler;
 
 import com.rdlab.universityregistrar.controller.response.Response;
+import com.rdlab.universityregistrar.service.dto.ScheduleConflictDTO;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.TransientObjectException;
 import org.hibernate.exception.ConstraintViolationException;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -17,6 +21,12 @@ import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import javax.persistence.NoResultException;
 import javax.persistence.OptimisticLockException;
 import javax.persistence.PersistenceException;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 /**
  * {@link ControllerAdvice} implementation. Class for intercepting and
@@ -28,6 +38,9 @@ import javax.persistence.PersistenceException;
 @PropertySource("classpath:responseMessages.properties")
 @Slf4j
 public class GlobalControllerExceptionHandler {
+    private static final String EXCLUSION_VIOLATION_SQL_STATE = "23P01";
+    private static final String LECTURER_EXCLUSION_CONSTRAINT_SUFFIX = "_lecturer_excl";
+
     @Value("${entity.internalServerErrorMessage}")
     private String internalServerErrorMessage;
     @Value("${entity.invalidInputMessage}")
@@ -36,6 +49,8 @@ public class GlobalControllerExceptionHandler {
     private String duplicateEntryMessage;
     @Value("${entity.entityNotFoundMessage}")
     private String entityNotFoundMessage;
+    @Value("${scheduleEntry.timetableConflictMessage}")
+    private String timetableConflictMessage;
 
     @ExceptionHandler
     public ResponseEntity<Response> handleGenericException(Exception e) {
@@ -62,6 +77,29 @@ public class GlobalControllerExceptionHandler {
     @ExceptionHandler
     public ResponseEntity<Response> handleDuplicateException(PersistenceException e) {
         log.error(e.getMessage());
+        SQLException exclusionViolation = findExclusionViolation(e);
+        if (exclusionViolation != null) {
+            return createTimetableConflictResponse(exclusionViolation);
+        }
+        return new ResponseEntity<>(Response.builder()
+                .message(duplicateEntryMessage)
+                .timeStamp(System.currentTimeMillis())
+                .responseBody("")
+                .build(),
+                HttpStatus.BAD_REQUEST
+        );
+    }
+
+    /**
+     * Constraint violations of JDBC DAO backend, answered the same way as Hibernate ones
+     */
+    @ExceptionHandler
+    public ResponseEntity<Response> handleDataIntegrityViolationException(DataIntegrityViolationException e) {
+        log.error(e.getMessage());
+        SQLException exclusionViolation = findExclusionViolation(e);
+        if (exclusionViolation != null) {
+            return createTimetableConflictResponse(exclusionViolation);
+        }
         return new ResponseEntity<>(Response.builder()
                 .message(duplicateEntryMessage)
                 .timeStamp(System.currentTimeMillis())
@@ -94,4 +132,65 @@ public class GlobalControllerExceptionHandler {
                 HttpStatus.BAD_REQUEST
         );
     }
+
+    /**
+     * Schedule entry double-booking lecturer or location of overlapping class was rejected
+     * by exclusion constraint of schedule partition. Conflicting entry is not reported by database.
+     */
+    private ResponseEntity<Response> createTimetableConflictResponse(SQLException exclusionViolation) {
+        return new ResponseEntity<>(Response.builder()
+                .message(timetableConflictMessage)
+                .timeStamp(System.currentTimeMillis())
+                .responseBody(Collections.singletonList(ScheduleConflictDTO.builder()
+                        .conflictType(getConflictType(exclusionViolation))
+                        .build()))
+                .build(),
+                HttpStatus.CONFLICT
+        );
+    }
+
+    /**
+     * Find exclusion violation among causes of exception and their next exceptions. Batched statements fail with
+     * {@link java.sql.BatchUpdateException} carrying the same SQL state, so the search goes on to
+     * {@link PSQLException} reporting name of violated constraint.
+     */
+    private static SQLException findExclusionViolation(Throwable e) {
+        SQLException exclusionViolation = null;
+        Set<Throwable> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Throwable> causes = new ArrayDeque<>(Collections.singletonList(e));
+        while (!causes.isEmpty()) {
+            Throwable cause = causes.poll();
+            if (!visited.add(cause)) {
+                continue;
+            }
+            if (cause instanceof SQLException) {
+                SQLException sqlException = (SQLException) cause;
+                if (EXCLUSION_VIOLATION_SQL_STATE.equals(sqlException.getSQLState())) {
+                    if (sqlException instanceof PSQLException) {
+                        return sqlException;
+                    }
+                    if (exclusionViolation == null) {
+                        exclusionViolation = sqlException;
+                    }
+                }
+                if (sqlException.getNextException() != null) {
+                    causes.add(sqlException.getNextException());
+                }
+            }
+            if (cause.getCause() != null) {
+                causes.add(cause.getCause());
+            }
+        }
+        return exclusionViolation;
+    }
+
+    private static ScheduleConflictDTO.Type getConflictType(SQLException exclusionViolation) {
+        ServerErrorMessage serverErrorMessage = exclusionViolation instanceof PSQLException
+                ? ((PSQLException) exclusionViolation).getServerErrorMessage()
+                : null;
+        String constraint = serverErrorMessage == null ? null : serverErrorMessage.getConstraint();
+        return constraint != null && constraint.endsWith(LECTURER_EXCLUSION_CONSTRAINT_SUFFIX)
+                ? ScheduleConflictDTO.Type.LECTURER
+                : ScheduleConflictDTO.Type.LOCATION;
+    }
 }
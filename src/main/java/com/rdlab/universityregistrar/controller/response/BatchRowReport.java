@@ -0,0 +1,39 @@
+package com.rdlab.universityregistrar.controller.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Result of processing single row of batch insert request
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class BatchRowReport {
+    private int rowIndex;
+    private Status status;
+    private Integer generatedId;
+    private List<String> errors;
+
+    public enum Status {
+        /**
+         * Row is inserted to database
+         */
+        CREATED,
+        /**
+         * Row violates one or more validation constraints
+         */
+        INVALID,
+        /**
+         * Row is valid, but breaks rule of service (e.g. course load of student or timetable conflict)
+         */
+        REJECTED,
+        /**
+         * Row is valid, but is not inserted because other rows of batch are invalid
+         */
+        SKIPPED
+    }
+}
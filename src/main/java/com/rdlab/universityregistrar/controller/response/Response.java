@@ -1,8 +1,11 @@
 package com.rdlab.universityregistrar.controller.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 import lombok.Data;
 
+import java.util.List;
+
 /**
  * Formalized server return message POJO
  */
@@ -12,4 +15,14 @@ public class Response {
     private String message;
     private long timeStamp;
     private Object responseBody;
+    /**
+     * Key to pass as "after" parameter to fetch next page, present only for paged list responses with more records
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+    /**
+     * Non-blocking problems found while processing request, present only if there are any
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<String> warnings;
 }
@@ -1,21 +1,51 @@
 package com.rdlab.universityregistrar.model.dao;
 
 import lombok.Setter;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
 import org.hibernate.query.Query;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
+import javax.persistence.PersistenceException;
+import javax.persistence.Tuple;
 import javax.persistence.criteria.*;
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Setter
 public abstract class AbstractDAO<T> implements DAO<T> {
+    private static final char LIKE_ESCAPE_CHARACTER = '\\';
+
     @Autowired
     private SessionFactory sessionFactory;
 
     private Class<T> clazz;
     private String primaryKey;
+    private int scrollFetchSize = 500;
+    @Value("${hibernate.jdbc.batch_size:50}")
+    private int batchSize = 50;
+    /**
+     * Query cache region for queries of this DAO, queries are not cached if null
+     */
+    private String queryCacheRegion;
+    /**
+     * Order search results by trigram similarity to search criterion, requires pg_trgm similarity function
+     */
+    @Value("${search.rankBySimilarity:false}")
+    private boolean rankBySimilarity = false;
 
     @Override
     public List<T> getAllRecords() throws RuntimeException {
@@ -28,6 +58,7 @@ public abstract class AbstractDAO<T> implements DAO<T> {
         criteriaQuery.orderBy(criteriaBuilder.asc(root.get(primaryKey)));
 
         Query<T> query = session.createQuery(criteriaQuery);
+        applyQueryCache(query);
         return query.getResultList();
     }
 
@@ -35,12 +66,60 @@ public abstract class AbstractDAO<T> implements DAO<T> {
     public Integer addRecord(T record) throws RuntimeException {
         Session session = sessionFactory.getCurrentSession();
         Integer generatedId = (Integer) session.save(record);
+        // ids are taken from sequence, so row is inserted only on flush and must be flushed to be refreshed
+        session.flush();
         session.refresh(record);
         return generatedId;
     }
 
+    /**
+     * Add records to database in JDBC batches. Session is flushed and cleared after every batch,
+     * so inserts are sent to database in groups of configured batch size and persistence context does not grow.
+     * Ids of all entities are generated by pooled sequences, so inserts are not sent to database one by one.
+     *
+     * @param records records to be added
+     * @return generated ids of added records in the same order as records
+     * @throws BatchInsertException if record violates constraint of database, records of previous batches
+     *                              are already sent to database and transaction must be rolled back
+     */
+    @Override
+    public List<Integer> addRecords(List<T> records) throws RuntimeException {
+        Session session = sessionFactory.getCurrentSession();
+        List<Integer> generatedIds = new ArrayList<>(records.size());
+        int batchStart = 0;
+        for (int i = 0; i < records.size(); i++) {
+            generatedIds.add((Integer) session.save(records.get(i)));
+            if ((i + 1) % batchSize == 0 || i == records.size() - 1) {
+                flushBatch(session, records.subList(batchStart, i + 1), batchStart);
+                batchStart = i + 1;
+            }
+        }
+        return generatedIds;
+    }
+
     @Override
     public T getRecord(String recordId) throws RuntimeException {
+        return createRecordQuery(recordId).getSingleResult();
+    }
+
+    /**
+     * Get single record without throwing {@link javax.persistence.NoResultException} if it does not exist.
+     *
+     * @param recordId primary key of record
+     * @return {@link Optional} containing record or empty {@link Optional} if record does not exist
+     */
+    @Override
+    public Optional<T> findRecord(String recordId) throws RuntimeException {
+        return createRecordQuery(recordId).uniqueResultOptional();
+    }
+
+    /**
+     * Create query selecting single record by primary key
+     *
+     * @param recordId primary key of record
+     * @return query returning single record
+     */
+    protected Query<T> createRecordQuery(String recordId) {
         Session session = sessionFactory.getCurrentSession();
 
         CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
@@ -49,7 +128,8 @@ public abstract class AbstractDAO<T> implements DAO<T> {
         criteriaQuery.select(root).where(criteriaBuilder.equal(root.get(primaryKey), Integer.parseInt(recordId)));
 
         Query<T> query = session.createQuery(criteriaQuery);
-        return query.getSingleResult();
+        applyQueryCache(query);
+        return query;
     }
 
     @Override
@@ -71,6 +151,364 @@ public abstract class AbstractDAO<T> implements DAO<T> {
 
     @Override
     public List<T> searchRecords(String searchCriterion) throws RuntimeException {
+        Session session = sessionFactory.getCurrentSession();
+
+        CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+        CriteriaQuery<T> criteriaQuery = criteriaBuilder.createQuery(clazz);
+        Root<T> root = criteriaQuery.from(clazz);
+        criteriaQuery.select(root).where(getSearchPredicate(criteriaBuilder, root, searchCriterion));
+        criteriaQuery.orderBy(getSearchOrders(criteriaBuilder, root, searchCriterion));
+
+        Query<T> query = session.createQuery(criteriaQuery);
+        applyQueryCache(query);
+        return query.getResultList();
+    }
+
+    /**
+     * Get DTO columns of all records ordered by primary key. Only projected columns are selected,
+     * no entities are instantiated and nothing is put to persistence context.
+     *
+     * @return list of {@link Tuple} instances with elements aliased by DTO property names
+     */
+    @Override
+    public List<Tuple> getAllRecordProjections() throws RuntimeException {
+        Session session = sessionFactory.getCurrentSession();
+
+        CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteriaQuery = criteriaBuilder.createTupleQuery();
+        Root<T> root = criteriaQuery.from(clazz);
+        criteriaQuery.multiselect(toSelections(getProjection(root)));
+        criteriaQuery.orderBy(criteriaBuilder.asc(root.get(primaryKey)));
+
+        Query<Tuple> query = session.createQuery(criteriaQuery);
+        applyQueryCache(query);
+        return query.getResultList();
+    }
+
+    /**
+     * Pass projections of all records ordered by primary key to provided consumer one by one.
+     * Projections are read through forward-only cursor fetching rows in chunks. They select columns of related
+     * entities directly and are not kept in persistence context, so memory consumption does not depend
+     * on number of records.
+     *
+     * @param recordConsumer consumer of fetched projections aliased by DTO property names
+     */
+    @Override
+    public void scrollAllRecordProjections(Consumer<Tuple> recordConsumer) throws RuntimeException {
+        Session session = sessionFactory.getCurrentSession();
+
+        CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteriaQuery = criteriaBuilder.createTupleQuery();
+        Root<T> root = criteriaQuery.from(clazz);
+        criteriaQuery.multiselect(toSelections(getProjection(root)));
+        criteriaQuery.orderBy(criteriaBuilder.asc(root.get(primaryKey)));
+
+        Query<Tuple> query = session.createQuery(criteriaQuery);
+        query.setFetchSize(scrollFetchSize);
+        query.setCacheMode(CacheMode.IGNORE);
+        try (ScrollableResults results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                recordConsumer.accept((Tuple) results.get(0));
+            }
+        }
+    }
+
+    /**
+     * Fetch page of projections ordered by primary key, starting right after provided key.
+     * Uses seek predicate on primary key instead of offset, so cost of the query does not depend on page position.
+     *
+     * @param afterKey primary key of the last record of previous page, null or empty for the first page
+     * @param limit    maximum number of records in page
+     * @return {@link RecordsPage} instance with fetched projections and key of the last one if more records exist
+     */
+    @Override
+    public RecordsPage<Tuple> getRecordProjectionsPage(String afterKey, int limit) throws RuntimeException {
+        return getRecordProjectionsPage(afterKey, limit, ProjectionShape.defaultShape());
+    }
+
+    /**
+     * Page of projections of requested shape, see {@link #getRecordProjectionsPage(String, int)}.
+     *
+     * @param afterKey primary key of the last record of previous page, null or empty for the first page
+     * @param limit    maximum number of records in page
+     * @param shape    requested DTO properties and expansions
+     * @return {@link RecordsPage} instance with fetched projections and key of the last one if more records exist
+     */
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public RecordsPage<Tuple> getRecordProjectionsPage(String afterKey, int limit, ProjectionShape shape) throws RuntimeException {
+        Session session = sessionFactory.getCurrentSession();
+
+        CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteriaQuery = criteriaBuilder.createTupleQuery();
+        Root<T> root = criteriaQuery.from(clazz);
+        Path<Comparable> primaryKeyPath = root.get(primaryKey);
+        criteriaQuery.multiselect(getShapedSelections(root, shape));
+        if (afterKey != null && !afterKey.isEmpty()) {
+            criteriaQuery.where(criteriaBuilder.greaterThan(primaryKeyPath, toPrimaryKeyValue(primaryKeyPath, afterKey)));
+        }
+        criteriaQuery.orderBy(criteriaBuilder.asc(primaryKeyPath));
+
+        Query<Tuple> query = session.createQuery(criteriaQuery);
+        query.setMaxResults(limit + 1);
+        applyQueryCache(query);
+        List<Tuple> records = query.getResultList();
+
+        String nextKey = null;
+        if (records.size() > limit) {
+            records = records.subList(0, limit);
+            nextKey = String.valueOf(records.get(limit - 1).get(primaryKey));
+        }
+        return RecordsPage.<Tuple>builder()
+                .records(records)
+                .nextKey(nextKey)
+                .build();
+    }
+
+    /**
+     * Get DTO columns of single record.
+     *
+     * @param recordId primary key of record
+     * @return {@link Tuple} instance with elements aliased by DTO property names
+     */
+    @Override
+    public Tuple getRecordProjection(String recordId) throws RuntimeException {
+        return createRecordProjectionQuery(recordId, ProjectionShape.defaultShape()).getSingleResult();
+    }
+
+    /**
+     * Get DTO columns of single record without throwing {@link javax.persistence.NoResultException}
+     * if it does not exist, so missing records cost neither stack trace nor error log line.
+     *
+     * @param recordId primary key of record
+     * @return {@link Optional} containing {@link Tuple} with elements aliased by DTO property names
+     * or empty {@link Optional} if record does not exist
+     */
+    @Override
+    public Optional<Tuple> findRecordProjection(String recordId) throws RuntimeException {
+        return findRecordProjection(recordId, ProjectionShape.defaultShape());
+    }
+
+    @Override
+    public Optional<Tuple> findRecordProjection(String recordId, ProjectionShape shape) throws RuntimeException {
+        return createRecordProjectionQuery(recordId, shape).uniqueResultOptional();
+    }
+
+    private Query<Tuple> createRecordProjectionQuery(String recordId, ProjectionShape shape) {
+        Session session = sessionFactory.getCurrentSession();
+
+        CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteriaQuery = criteriaBuilder.createTupleQuery();
+        Root<T> root = criteriaQuery.from(clazz);
+        Path<?> primaryKeyPath = root.get(primaryKey);
+        criteriaQuery.multiselect(getShapedSelections(root, shape))
+                .where(criteriaBuilder.equal(primaryKeyPath, toPrimaryKeyValue(primaryKeyPath, recordId)));
+
+        Query<Tuple> query = session.createQuery(criteriaQuery);
+        applyQueryCache(query);
+        return query;
+    }
+
+    /**
+     * Get DTO columns of records meeting provided search criterion.
+     *
+     * @param searchCriterion search criterion
+     * @return list of {@link Tuple} instances with elements aliased by DTO property names
+     */
+    @Override
+    public List<Tuple> searchRecordProjections(String searchCriterion) throws RuntimeException {
+        return searchRecordProjections(searchCriterion, ProjectionShape.defaultShape());
+    }
+
+    @Override
+    public List<Tuple> searchRecordProjections(String searchCriterion, ProjectionShape shape) throws RuntimeException {
+        Session session = sessionFactory.getCurrentSession();
+
+        CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteriaQuery = criteriaBuilder.createTupleQuery();
+        Root<T> root = criteriaQuery.from(clazz);
+        criteriaQuery.multiselect(getShapedSelections(root, shape))
+                .where(getSearchPredicate(criteriaBuilder, root, searchCriterion));
+        criteriaQuery.orderBy(getSearchOrders(criteriaBuilder, root, searchCriterion));
+
+        Query<Tuple> query = session.createQuery(criteriaQuery);
+        applyQueryCache(query);
+        return query.getResultList();
+    }
+
+    /**
+     * Expressions selected by projection queries, keyed by names of corresponding DTO properties.
+     * Associations are read through foreign key columns or joins, so no proxies are created.
+     *
+     * @param root query root
+     * @return ordered map of DTO property names to expressions
+     */
+    protected abstract Map<String, Expression<?>> getProjection(Root<T> root);
+
+    /**
+     * Projection of related entity embedded into records, keyed by DTO property names of related entity.
+     * Related entity is joined only when this method is called, so only requested expansions cost a join.
+     *
+     * @param root      query root
+     * @param expansion name of related entity
+     * @return ordered map of DTO property names to expressions or null if there is no such related entity
+     */
+    protected Map<String, Expression<?>> getExpansionProjection(Root<T> root, String expansion) {
+        return null;
+    }
+
+    /**
+     * Selections of requested shape. Primary key is selected in any case, so pages of sparse projections
+     * still have cursor and records can be told apart.
+     *
+     * @param root  query root
+     * @param shape requested DTO properties and expansions
+     * @return selections aliased by DTO property names, properties of related entities are prefixed by expansion name
+     */
+    protected List<Selection<?>> getShapedSelections(Root<T> root, ProjectionShape shape) {
+        Map<String, Expression<?>> projection = new LinkedHashMap<>(getProjection(root));
+        Set<String> fields = shape.getFields();
+        if (!fields.isEmpty()) {
+            for (String field : fields) {
+                if (!projection.containsKey(field)) {
+                    throw new IllegalArgumentException("Unknown field " + field + " of " + clazz.getSimpleName());
+                }
+            }
+            projection.keySet().removeIf(property -> !property.equals(primaryKey) && !fields.contains(property));
+        }
+        for (String expansion : shape.getExpansions()) {
+            Map<String, Expression<?>> expansionProjection = getExpansionProjection(root, expansion);
+            if (expansionProjection == null) {
+                throw new IllegalArgumentException("Unknown expansion " + expansion + " of " + clazz.getSimpleName());
+            }
+            expansionProjection.forEach((property, expression) -> projection.put(expansion + "." + property, expression));
+        }
+        return toSelections(projection);
+    }
+
+    /**
+     * Text columns searched by {@link #searchRecords(String)}. Every column is matched as
+     * lower(column) LIKE '%criterion%', the same expression trigram indexes are built on.
+     *
+     * @param root query root
+     * @return searched columns
+     */
+    protected abstract List<Expression<String>> getSearchColumns(Root<T> root);
+
+    /**
+     * Predicate matching records that contain provided search criterion in any of search columns.
+     * LIKE wildcards in search criterion are escaped, so they are matched literally.
+     *
+     * @param criteriaBuilder criteria builder of current session
+     * @param root            query root
+     * @param searchCriterion search criterion
+     * @return search predicate
+     */
+    protected Predicate getSearchPredicate(CriteriaBuilder criteriaBuilder, Root<T> root, String searchCriterion) {
+        String pattern = "%" + escapeLikePattern(searchCriterion.toLowerCase()) + "%";
+        return criteriaBuilder.or(getSearchColumns(root).stream()
+                .map(column -> criteriaBuilder.like(criteriaBuilder.lower(column), pattern, LIKE_ESCAPE_CHARACTER))
+                .toArray(Predicate[]::new));
+    }
+
+    /**
+     * Order of search results, by primary key unless overridden
+     *
+     * @param criteriaBuilder criteria builder of current session
+     * @param root            query root
+     * @return order of search results
+     */
+    protected Order getSearchOrder(CriteriaBuilder criteriaBuilder, Root<T> root) {
+        return criteriaBuilder.asc(root.get(primaryKey));
+    }
+
+    private List<Order> getSearchOrders(CriteriaBuilder criteriaBuilder, Root<T> root, String searchCriterion) {
+        List<Order> orders = new ArrayList<>();
+        if (rankBySimilarity) {
+            orders.add(criteriaBuilder.desc(getSimilarity(criteriaBuilder, root, searchCriterion)));
+        }
+        orders.add(getSearchOrder(criteriaBuilder, root));
+        return orders;
+    }
+
+    private Expression<Float> getSimilarity(CriteriaBuilder criteriaBuilder, Root<T> root, String searchCriterion) {
+        Expression<Float> similarity = null;
+        for (Expression<String> column : getSearchColumns(root)) {
+            Expression<Float> columnSimilarity = criteriaBuilder.function("similarity", Float.class,
+                    criteriaBuilder.lower(column), criteriaBuilder.literal(searchCriterion.toLowerCase()));
+            similarity = similarity == null ? columnSimilarity : criteriaBuilder.sum(similarity, columnSimilarity);
+        }
+        return similarity;
+    }
+
+    private String escapeLikePattern(String searchCriterion) {
+        return searchCriterion
+                .replace(String.valueOf(LIKE_ESCAPE_CHARACTER), LIKE_ESCAPE_CHARACTER + String.valueOf(LIKE_ESCAPE_CHARACTER))
+                .replace("%", LIKE_ESCAPE_CHARACTER + "%")
+                .replace("_", LIKE_ESCAPE_CHARACTER + "_");
+    }
+
+    private void flushBatch(Session session, List<T> batch, int batchStart) {
+        Savepoint savepoint = session.doReturningWork(Connection::setSavepoint);
+        try {
+            session.flush();
+        } catch (PersistenceException e) {
+            Integer failedRecordIndex = findFailedRecordIndex(session, batch, savepoint);
+            throw new BatchInsertException(failedRecordIndex == null ? null : batchStart + failedRecordIndex, e);
+        }
+        session.doWork(connection -> connection.releaseSavepoint(savepoint));
+        session.clear();
+    }
+
+    /**
+     * Index of record of failed batch violating constraint of database. Update counts of failed batch can not
+     * be relied on, as driver rewriting batch to multi-row inserts reports every row of failed insert as failed,
+     * so batch is rolled back to savepoint taken before it and its records are inserted one by one
+     * until one of them fails. Session that failed to flush must not be used for inserts any more, so records are
+     * inserted by stateless session sharing connection and transaction of the failed one.
+     *
+     * @return index of failed record in batch, null if none of records fails alone
+     */
+    private Integer findFailedRecordIndex(Session session, List<T> batch, Savepoint savepoint) {
+        Connection connection = session.doReturningWork(sessionConnection -> {
+            sessionConnection.rollback(savepoint);
+            return sessionConnection;
+        });
+        try (StatelessSession replaySession = sessionFactory.withStatelessOptions().connection(connection).openStatelessSession()) {
+            // each insert is executed on its own to fail on its record
+            replaySession.setJdbcBatchSize(1);
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    replaySession.insert(batch.get(i));
+                } catch (PersistenceException e) {
+                    return i;
+                }
+            }
+        }
         return null;
     }
+
+    protected List<Selection<?>> toSelections(Map<String, Expression<?>> projection) {
+        return projection.entrySet().stream()
+                .<Selection<?>>map(selection -> selection.getValue().alias(selection.getKey()))
+                .collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Comparable toPrimaryKeyValue(Path<?> primaryKeyPath, String key) {
+        return Integer.class.equals(primaryKeyPath.getJavaType()) ? Integer.valueOf(key) : key;
+    }
+
+    /**
+     * Mark query as cacheable in query cache region of this DAO if such region is set.
+     * Cached results are invalidated by Hibernate whenever underlying table is modified through session.
+     *
+     * @param query query to be cached
+     */
+    protected void applyQueryCache(Query<?> query) {
+        if (queryCacheRegion != null) {
+            query.setCacheable(true);
+            query.setCacheRegion(queryCacheRegion);
+        }
+    }
 }
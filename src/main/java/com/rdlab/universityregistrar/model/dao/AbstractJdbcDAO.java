@@ -0,0 +1,553 @@
+package com.rdlab.universityregistrar.model.dao;
+
+import lombok.Setter;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.support.DataAccessUtils;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.NoResultException;
+import javax.persistence.Tuple;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * DAO implementation on plain JDBC, alternative backend to Hibernate based {@link AbstractDAO}.
+ * SQL of every DAO method is loaded from queries file of entity, where queries are named by entity
+ * (getAllCoursesQuery, addCourseQuery, searchCoursesQuery, ...) and take positional parameters.
+ * Entities are mapped from table columns, {@link Tuple} projections select the same columns aliased
+ * by DTO property names, without session, persistence context or proxies. Statements take part in transactions of
+ * {@link org.springframework.orm.hibernate5.HibernateTransactionManager}, which exposes its connection to JDBC code.
+ *
+ * @param <T> entity type of DAO
+ */
+@Setter
+public abstract class AbstractJdbcDAO<T> implements DAO<T> {
+    private static final char LIKE_ESCAPE_CHARACTER = '\\';
+
+    private JdbcTemplate jdbcTemplate;
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private JdbcTemplate scrollJdbcTemplate;
+    /**
+     * Used only to evict second level and query caches of entity after JDBC writes
+     */
+    @Autowired(required = false)
+    private SessionFactory sessionFactory;
+    /**
+     * Publishes {@link RecordInsertedEvent} of added records, as Hibernate DAOs do when audit is enabled
+     */
+    @Autowired(required = false)
+    private ApplicationEventPublisher eventPublisher;
+
+    private Class<T> clazz;
+    private Properties queries;
+    /**
+     * Entity name in query names, e.g. Course for getCourseQuery
+     */
+    private String recordName;
+    /**
+     * Plural entity name in query names, e.g. Courses for getAllCoursesQuery
+     */
+    private String recordsName;
+    /**
+     * DTO property names of table columns in order of selection
+     */
+    private final Map<String, String> recordColumns = new LinkedHashMap<>();
+    /**
+     * Entity property and projection alias of the key that records are looked up, paged and deleted by
+     */
+    private String primaryKey;
+    private Class<?> primaryKeyType = Integer.class;
+    /**
+     * Entity property and column of database generated id
+     */
+    private String generatedKey;
+    private String generatedKeyColumn;
+    /**
+     * Properties of {@link #getRecordParameters(Object)} in order of parameters of add and update queries
+     */
+    private String[] addQueryParameters;
+    private String[] updateQueryParameters;
+    /**
+     * Query cache region of Hibernate DAO of the same entity, evicted together with entity cache after JDBC writes
+     */
+    private String queryCacheRegion;
+    private int scrollFetchSize = 500;
+    @Value("${hibernate.jdbc.batch_size:50}")
+    private int batchSize = 50;
+
+    @Autowired
+    public void setDataSource(DataSource dataSource) {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        scrollJdbcTemplate = new JdbcTemplate(dataSource);
+        scrollJdbcTemplate.setFetchSize(scrollFetchSize);
+    }
+
+    /**
+     * Load queries of DAO from properties file
+     *
+     * @param resourceName classpath location of queries file
+     */
+    protected void loadQueries(String resourceName) {
+        try {
+            queries = PropertiesLoaderUtils.loadProperties(new ClassPathResource(resourceName));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load queries from " + resourceName, e);
+        }
+    }
+
+    protected String getQuery(String name) {
+        String query = queries.getProperty(name);
+        if (query == null) {
+            throw new IllegalStateException("Query " + name + " is not defined for " + getClass().getSimpleName());
+        }
+        return query;
+    }
+
+    /**
+     * Map table column to DTO property it is aliased by in projections
+     *
+     * @param column   column of table
+     * @param property DTO property
+     */
+    protected void addRecordColumn(String column, String property) {
+        recordColumns.put(column, property);
+    }
+
+    public void setAddQueryParameters(String... addQueryParameters) {
+        this.addQueryParameters = addQueryParameters;
+    }
+
+    public void setUpdateQueryParameters(String... updateQueryParameters) {
+        this.updateQueryParameters = updateQueryParameters;
+    }
+
+    protected JdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    /**
+     * Template of DAO specific queries taking named parameters
+     */
+    protected NamedParameterJdbcTemplate getNamedParameterJdbcTemplate() {
+        return namedParameterJdbcTemplate;
+    }
+
+    /**
+     * Template reading results in chunks of scrollFetchSize rows, rows are fetched lazily only in transaction
+     */
+    protected JdbcTemplate getScrollJdbcTemplate() {
+        return scrollJdbcTemplate;
+    }
+
+    /**
+     * Map current row of result set to entity, columns are read by their names in table
+     *
+     * @param resultSet result set positioned at the row
+     * @return entity
+     * @throws SQLException if column cannot be read
+     */
+    protected abstract T mapRecord(ResultSet resultSet) throws SQLException;
+
+    /**
+     * Parameters of insert and update queries, named by entity properties
+     *
+     * @param record entity being saved
+     * @return query parameters
+     */
+    protected abstract MapSqlParameterSource getRecordParameters(T record);
+
+    @Override
+    public List<T> getAllRecords() throws RuntimeException {
+        return jdbcTemplate.query(getOrderedQuery(getQuery("getAll" + recordsName + "Query"), getColumn(primaryKey)),
+                (resultSet, rowNum) -> mapRecord(resultSet));
+    }
+
+    /**
+     * Insert record and set database generated id to it
+     *
+     * @param record record to be added
+     * @return generated id
+     */
+    @Override
+    public Integer addRecord(T record) throws RuntimeException {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        MapSqlParameterSource recordParameters = getRecordParameters(record);
+        PreparedStatementSetter parametersSetter = getParametersSetter(recordParameters, addQueryParameters);
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(getQuery("add" + recordName + "Query"), new String[]{generatedKeyColumn});
+            parametersSetter.setValues(statement);
+            return statement;
+        }, keyHolder);
+        Integer generatedId = keyHolder.getKey() == null ? null : keyHolder.getKey().intValue();
+        new BeanWrapperImpl(record).setPropertyValue(generatedKey, generatedId);
+        evictCaches();
+        publishRecordInsertedEvent(recordParameters, generatedId);
+        return generatedId;
+    }
+
+    /**
+     * Add records by JDBC batches of batchSize records, generated ids are set to records
+     *
+     * @param records records to be added
+     * @return generated ids of added records in the same order as records
+     * @throws BatchInsertException if record violates constraint of database, transaction must be rolled back
+     */
+    @Override
+    public List<Integer> addRecords(List<T> records) throws RuntimeException {
+        List<Integer> generatedIds = new ArrayList<>(records.size());
+        for (int batchStart = 0; batchStart < records.size(); batchStart += batchSize) {
+            List<T> batch = records.subList(batchStart, Math.min(batchStart + batchSize, records.size()));
+            List<MapSqlParameterSource> batchParameters = new ArrayList<>(batch.size());
+            for (T record : batch) {
+                batchParameters.add(getRecordParameters(record));
+            }
+            List<Integer> batchIds = insertBatch(batchParameters, batchStart);
+            for (int i = 0; i < batch.size(); i++) {
+                new BeanWrapperImpl(batch.get(i)).setPropertyValue(generatedKey, batchIds.get(i));
+                publishRecordInsertedEvent(batchParameters.get(i), batchIds.get(i));
+            }
+            generatedIds.addAll(batchIds);
+        }
+        evictCaches();
+        return generatedIds;
+    }
+
+    /**
+     * Execute insert query as single JDBC batch and read generated ids of inserted rows. Batch is preceded by savepoint,
+     * so batch violating constraint is rolled back and its rows are inserted one by one to find the failed one.
+     */
+    private List<Integer> insertBatch(List<MapSqlParameterSource> batchParameters, int batchStart) {
+        String query = getQuery("add" + recordName + "Query");
+        return jdbcTemplate.execute((ConnectionCallback<List<Integer>>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            List<Integer> batchIds = new ArrayList<>(batchParameters.size());
+            try (PreparedStatement statement = connection.prepareStatement(query, new String[]{generatedKeyColumn})) {
+                for (MapSqlParameterSource recordParameters : batchParameters) {
+                    getParametersSetter(recordParameters, addQueryParameters).setValues(statement);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                    while (generatedKeys.next()) {
+                        batchIds.add(generatedKeys.getInt(1));
+                    }
+                }
+            } catch (SQLException e) {
+                if (!(jdbcTemplate.getExceptionTranslator().translate("addRecords", query, e) instanceof DataIntegrityViolationException)) {
+                    throw e;
+                }
+                Integer failedRecordIndex = findFailedRecordIndex(connection, query, batchParameters, savepoint);
+                throw new BatchInsertException(failedRecordIndex == null ? null : batchStart + failedRecordIndex, e);
+            }
+            connection.releaseSavepoint(savepoint);
+            return batchIds;
+        });
+    }
+
+    /**
+     * Index of record of failed batch violating constraint of database. Update counts of failed batch can not
+     * be relied on, as driver rewriting batch to multi-row inserts reports every row of failed insert as failed,
+     * so batch is rolled back to savepoint taken before it and its records are inserted one by one
+     * until one of them fails, as in {@link AbstractDAO}.
+     *
+     * @return index of failed record in batch, null if none of records fails alone
+     */
+    private Integer findFailedRecordIndex(Connection connection, String query, List<MapSqlParameterSource> batchParameters,
+                                          Savepoint savepoint) throws SQLException {
+        connection.rollback(savepoint);
+        for (int i = 0; i < batchParameters.size(); i++) {
+            try (PreparedStatement statement = connection.prepareStatement(query)) {
+                getParametersSetter(batchParameters.get(i), addQueryParameters).setValues(statement);
+                statement.executeUpdate();
+            } catch (SQLException e) {
+                return i;
+            }
+        }
+        return null;
+    }
+
+    private void publishRecordInsertedEvent(MapSqlParameterSource recordParameters, Integer generatedId) {
+        if (eventPublisher != null) {
+            Map<String, Object> values = new LinkedHashMap<>(recordParameters.getValues());
+            values.put(generatedKey, generatedId);
+            eventPublisher.publishEvent(new RecordInsertedEvent(RecordInsertedEvent.getTableName(clazz), String.valueOf(generatedId), values));
+        }
+    }
+
+    @Override
+    public T getRecord(String recordId) throws RuntimeException {
+        return findRecord(recordId).orElseThrow(() -> new NoResultException("No entity found for query"));
+    }
+
+    @Override
+    public Optional<T> findRecord(String recordId) throws RuntimeException {
+        return Optional.ofNullable(DataAccessUtils.singleResult(jdbcTemplate.query(getQuery("get" + recordName + "Query"),
+                (resultSet, rowNum) -> mapRecord(resultSet), toPrimaryKeyValue(recordId))));
+    }
+
+    @Override
+    public int updateRecord(T record) throws RuntimeException {
+        int rowsUpdated = jdbcTemplate.update(getQuery("update" + recordName + "Query"),
+                getParametersSetter(getRecordParameters(record), updateQueryParameters));
+        evictCaches();
+        return rowsUpdated;
+    }
+
+    @Override
+    public int deleteRecord(String recordId) throws RuntimeException {
+        int rowsDeleted = jdbcTemplate.update(getQuery("delete" + recordName + "Query"), toPrimaryKeyValue(recordId));
+        evictCaches();
+        return rowsDeleted;
+    }
+
+    @Override
+    public List<T> searchRecords(String searchCriterion) throws RuntimeException {
+        return jdbcTemplate.query(getOrderedQuery(getSearchQuery(searchCriterion), getColumn(getSearchOrderProperty())),
+                (resultSet, rowNum) -> mapRecord(resultSet), getSearchParameters(searchCriterion));
+    }
+
+    @Override
+    public List<Tuple> getAllRecordProjections() throws RuntimeException {
+        return jdbcTemplate.query(getProjectionQuery(getQuery("getAll" + recordsName + "Query"), getColumn(primaryKey), ProjectionShape.defaultShape()),
+                RecordTuple.rowMapper());
+    }
+
+    @Override
+    public void scrollAllRecordProjections(Consumer<Tuple> recordConsumer) throws RuntimeException {
+        RowMapper<Tuple> rowMapper = RecordTuple.rowMapper();
+        scrollJdbcTemplate.query(getProjectionQuery(getQuery("getAll" + recordsName + "Query"), getColumn(primaryKey), ProjectionShape.defaultShape()),
+                (RowCallbackHandler) resultSet -> recordConsumer.accept(rowMapper.mapRow(resultSet, resultSet.getRow())));
+    }
+
+    @Override
+    public RecordsPage<Tuple> getRecordProjectionsPage(String afterKey, int limit) throws RuntimeException {
+        return getRecordProjectionsPage(afterKey, limit, ProjectionShape.defaultShape());
+    }
+
+    @Override
+    public RecordsPage<Tuple> getRecordProjectionsPage(String afterKey, int limit, ProjectionShape shape) throws RuntimeException {
+        String primaryKeyColumn = getColumn(primaryKey);
+        String pageQuery = "SELECT * FROM (" + getQuery("getAll" + recordsName + "Query") + ") AS records WHERE records.\"" + primaryKeyColumn + "\" > ?";
+        List<Tuple> records = jdbcTemplate.query(getProjectionQuery(pageQuery, primaryKeyColumn, shape) + " LIMIT ?",
+                RecordTuple.rowMapper(), getAfterKeyValue(afterKey), limit + 1);
+
+        String nextKey = null;
+        if (records.size() > limit) {
+            records = records.subList(0, limit);
+            nextKey = String.valueOf(records.get(limit - 1).get(primaryKey));
+        }
+        return RecordsPage.<Tuple>builder()
+                .records(records)
+                .nextKey(nextKey)
+                .build();
+    }
+
+    @Override
+    public Tuple getRecordProjection(String recordId) throws RuntimeException {
+        return findRecordProjection(recordId).orElseThrow(() -> new NoResultException("No entity found for query"));
+    }
+
+    @Override
+    public Optional<Tuple> findRecordProjection(String recordId) throws RuntimeException {
+        return findRecordProjection(recordId, ProjectionShape.defaultShape());
+    }
+
+    @Override
+    public Optional<Tuple> findRecordProjection(String recordId, ProjectionShape shape) throws RuntimeException {
+        return Optional.ofNullable(DataAccessUtils.singleResult(jdbcTemplate.query(
+                getProjectionQuery(getQuery("get" + recordName + "Query"), getColumn(primaryKey), shape),
+                RecordTuple.rowMapper(), toPrimaryKeyValue(recordId))));
+    }
+
+    @Override
+    public List<Tuple> searchRecordProjections(String searchCriterion) throws RuntimeException {
+        return searchRecordProjections(searchCriterion, ProjectionShape.defaultShape());
+    }
+
+    @Override
+    public List<Tuple> searchRecordProjections(String searchCriterion, ProjectionShape shape) throws RuntimeException {
+        return jdbcTemplate.query(getProjectionQuery(getSearchQuery(searchCriterion), getColumn(getSearchOrderProperty()), shape),
+                RecordTuple.rowMapper(), getSearchParameters(searchCriterion));
+    }
+
+    /**
+     * Query of {@link #searchRecords(String)}, search query of entity unless overridden
+     *
+     * @param searchCriterion search criterion
+     * @return search query
+     */
+    protected String getSearchQuery(String searchCriterion) {
+        return getQuery("search" + recordsName + "Query");
+    }
+
+    /**
+     * Property search query orders records by, primary key unless overridden
+     *
+     * @return property of search order column
+     */
+    protected String getSearchOrderProperty() {
+        return primaryKey;
+    }
+
+    /**
+     * Wrap records query into query selecting record columns aliased by DTO properties, only columns of requested
+     * shape are selected. Related entity of expansion is joined to records by {expansion}ExpansionJoin query and
+     * selected by {expansion}ExpansionColumns query, whose columns are aliased as expansion.property. Names from
+     * shape are checked against record properties and defined expansions before they get into SQL.
+     *
+     * @param query        records query selecting all columns of table
+     * @param orderColumns columns of records query projections are ordered by
+     * @param shape        requested DTO properties and expansions
+     * @return query of requested shape
+     */
+    protected String getProjectionQuery(String query, String orderColumns, ProjectionShape shape) {
+        Set<String> fields = shape.getFields();
+        for (String field : fields) {
+            if (!recordColumns.containsValue(field)) {
+                throw new IllegalArgumentException("Unknown field " + field + " of " + clazz.getSimpleName());
+            }
+        }
+        StringJoiner columns = new StringJoiner(", ");
+        for (Map.Entry<String, String> recordColumn : recordColumns.entrySet()) {
+            String property = recordColumn.getValue();
+            if (fields.isEmpty() || property.equals(primaryKey) || fields.contains(property)) {
+                columns.add("records.\"" + recordColumn.getKey() + "\" AS \"" + property + "\"");
+            }
+        }
+        StringBuilder joins = new StringBuilder();
+        for (String expansion : shape.getExpansions()) {
+            String expansionJoin = queries.getProperty(expansion + "ExpansionJoin");
+            if (expansionJoin == null) {
+                throw new IllegalArgumentException("Unknown expansion " + expansion + " of " + clazz.getSimpleName());
+            }
+            columns.add(getQuery(expansion + "ExpansionColumns"));
+            joins.append(' ').append(expansionJoin);
+        }
+        StringJoiner order = new StringJoiner(", ");
+        for (String orderColumn : orderColumns.split(",")) {
+            order.add("records.\"" + orderColumn.trim() + "\"");
+        }
+        return "SELECT " + columns + " FROM (" + query + ") AS records" + joins + " ORDER BY " + order;
+    }
+
+    private String getOrderedQuery(String query, String orderColumn) {
+        return "SELECT * FROM (" + query + ") AS records ORDER BY records.\"" + orderColumn + "\"";
+    }
+
+    private String getColumn(String property) {
+        for (Map.Entry<String, String> recordColumn : recordColumns.entrySet()) {
+            if (recordColumn.getValue().equals(property)) {
+                return recordColumn.getKey();
+            }
+        }
+        throw new IllegalStateException("Property " + property + " is not mapped to column by " + getClass().getSimpleName());
+    }
+
+    /**
+     * Parameters of search query, every parameter of query takes search pattern. LIKE wildcards in search criterion
+     * are escaped by backslash, default escape character of LIKE, so they are matched literally.
+     *
+     * @param searchCriterion search criterion
+     * @return search query parameters
+     */
+    protected Object[] getSearchParameters(String searchCriterion) {
+        Object[] parameters = new Object[StringUtils.countOccurrencesOf(getSearchQuery(searchCriterion), "?")];
+        Arrays.fill(parameters, "%" + escapeLikePattern(searchCriterion.toLowerCase()) + "%");
+        return parameters;
+    }
+
+    private Object getAfterKeyValue(String afterKey) {
+        if (afterKey != null && !afterKey.isEmpty()) {
+            return toPrimaryKeyValue(afterKey);
+        }
+        return Integer.class.equals(primaryKeyType) ? Integer.MIN_VALUE : "";
+    }
+
+    private Object toPrimaryKeyValue(String key) {
+        return Integer.class.equals(primaryKeyType) ? Integer.valueOf(key) : key;
+    }
+
+    /**
+     * Setter of positional query parameters taken from named record parameters, SQL types of parameters are kept
+     */
+    private PreparedStatementSetter getParametersSetter(MapSqlParameterSource recordParameters, String[] parameterNames) {
+        Object[] parameters = new Object[parameterNames.length];
+        for (int i = 0; i < parameterNames.length; i++) {
+            parameters[i] = new SqlParameterValue(recordParameters.getSqlType(parameterNames[i]), recordParameters.getValue(parameterNames[i]));
+        }
+        return new ArgumentPreparedStatementSetter(parameters);
+    }
+
+    private String escapeLikePattern(String searchCriterion) {
+        return searchCriterion
+                .replace(String.valueOf(LIKE_ESCAPE_CHARACTER), LIKE_ESCAPE_CHARACTER + String.valueOf(LIKE_ESCAPE_CHARACTER))
+                .replace("%", LIKE_ESCAPE_CHARACTER + "%")
+                .replace("_", LIKE_ESCAPE_CHARACTER + "_");
+    }
+
+    /**
+     * Writes bypass Hibernate, so cached entities and query results of Hibernate DAO of the same entity
+     * are evicted to avoid serving stale data. Caches are evicted once per transaction after it is committed,
+     * otherwise concurrent transaction could cache records again before the write is committed.
+     */
+    private void evictCaches() {
+        if (sessionFactory == null || queryCacheRegion == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictCachesNow();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, queryCacheRegion);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                evictCachesNow();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(AbstractJdbcDAO.this);
+            }
+        });
+    }
+
+    private void evictCachesNow() {
+        Cache cache = sessionFactory.getCache();
+        cache.evictEntityData(clazz);
+        cache.evictQueryRegion(queryCacheRegion);
+    }
+}
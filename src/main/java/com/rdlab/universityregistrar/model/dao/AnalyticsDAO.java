@@ -0,0 +1,21 @@
+package com.rdlab.universityregistrar.model.dao;
+
+import javax.persistence.Tuple;
+import java.util.List;
+
+/**
+ * DAO reading course analytics from materialized views. Course statistics tuples have courseId, courseTitle,
+ * numberOfStudents, numberOfLecturers, highestNumericRank, highestRankName, inactiveUsers and mostPickedSemester
+ * elements, most picked semester tuples have courseId, semesterId and timesPicked elements.
+ */
+public interface AnalyticsDAO {
+
+    List<Tuple> getCourseStatistics() throws RuntimeException;
+
+    List<Tuple> getMostPickedSemesters() throws RuntimeException;
+
+    /**
+     * Recompute materialized views, reads of views are not blocked while they are refreshed
+     */
+    void refreshViews() throws RuntimeException;
+}
@@ -0,0 +1,17 @@
+package com.rdlab.universityregistrar.model.dao;
+
+import java.util.List;
+
+/**
+ * DAO writing audit events to audit_log table
+ */
+public interface AuditDAO {
+
+    /**
+     * Insert audit events with multi-row inserts, events already present in audit log are skipped
+     *
+     * @param auditEvents events to insert
+     * @return number of inserted events
+     */
+    int addAuditEvents(List<AuditEvent> auditEvents) throws RuntimeException;
+}
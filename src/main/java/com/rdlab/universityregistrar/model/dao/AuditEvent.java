@@ -0,0 +1,25 @@
+package com.rdlab.universityregistrar.model.dao;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Audit record of single inserted database record. Event id makes repeated writes of the same event
+ * (e.g. replay of audit journal after crash) idempotent.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditEvent {
+    private String eventId;
+    /**
+     * Commit time of transaction that inserted the record, epoch milliseconds
+     */
+    private Long occurredAt;
+    private String tableName;
+    private String recordId;
+    private String description;
+}
@@ -0,0 +1,19 @@
+package com.rdlab.universityregistrar.model.dao;
+
+import lombok.Getter;
+
+/**
+ * Record of batch insert violated constraint of database, none of records should be committed.
+ */
+@Getter
+public class BatchInsertException extends RuntimeException {
+    /**
+     * Index of failed record in list of inserted records, null if failed record could not be determined
+     */
+    private final Integer recordIndex;
+
+    public BatchInsertException(Integer recordIndex, Throwable cause) {
+        super(recordIndex == null ? "Record of batch could not be inserted" : "Record " + recordIndex + " of batch could not be inserted", cause);
+        this.recordIndex = recordIndex;
+    }
+}
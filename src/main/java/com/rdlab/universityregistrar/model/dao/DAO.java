@@ -1,6 +1,9 @@
 package com.rdlab.universityregistrar.model.dao;
 
+import javax.persistence.Tuple;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * DAO interface for performing operations with database
@@ -12,11 +15,39 @@ public interface DAO<T> {
 
     Integer addRecord(T record) throws RuntimeException;
 
+    List<Integer> addRecords(List<T> records) throws RuntimeException;
+
     T getRecord(String recordId) throws RuntimeException;
 
+    Optional<T> findRecord(String recordId) throws RuntimeException;
+
     int updateRecord(T record) throws RuntimeException;
 
     int deleteRecord(String recordId) throws RuntimeException;
 
     List<T> searchRecords(String searchCriterion) throws RuntimeException;
+
+    List<Tuple> getAllRecordProjections() throws RuntimeException;
+
+    void scrollAllRecordProjections(Consumer<Tuple> recordConsumer) throws RuntimeException;
+
+    RecordsPage<Tuple> getRecordProjectionsPage(String afterKey, int limit) throws RuntimeException;
+
+    Tuple getRecordProjection(String recordId) throws RuntimeException;
+
+    Optional<Tuple> findRecordProjection(String recordId) throws RuntimeException;
+
+    List<Tuple> searchRecordProjections(String searchCriterion) throws RuntimeException;
+
+    /**
+     * Shaped counterparts of projection queries select only requested DTO properties and join only
+     * related entities whose expansion is requested.
+     *
+     * @throws IllegalArgumentException if shape requests unknown DTO property or expansion
+     */
+    RecordsPage<Tuple> getRecordProjectionsPage(String afterKey, int limit, ProjectionShape shape) throws RuntimeException;
+
+    Optional<Tuple> findRecordProjection(String recordId, ProjectionShape shape) throws RuntimeException;
+
+    List<Tuple> searchRecordProjections(String searchCriterion, ProjectionShape shape) throws RuntimeException;
 }
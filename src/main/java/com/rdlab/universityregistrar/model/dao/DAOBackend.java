@@ -0,0 +1,28 @@
+package com.rdlab.universityregistrar.model.dao;
+
+import org.springframework.context.annotation.Conditional;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks DAO implementation as backend of entity DAO. Implementation is registered only if it matches
+ * "dao.backend.{entity}" property, Hibernate backend is used if property is not set.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Conditional(DAOBackendCondition.class)
+public @interface DAOBackend {
+    String HIBERNATE = "hibernate";
+    String JDBC = "jdbc";
+
+    /**
+     * Entity name used in "dao.backend.{entity}" property
+     */
+    String entity();
+
+    /**
+     * Backend implemented by annotated DAO
+     */
+    String value();
+}
@@ -0,0 +1,24 @@
+package com.rdlab.universityregistrar.model.dao;
+
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import java.util.Map;
+
+/**
+ * Matches DAO implementations annotated with {@link DAOBackend} against configured backend of their entity
+ */
+public class DAOBackendCondition implements Condition {
+    public static final String BACKEND_PROPERTY_PREFIX = "dao.backend.";
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        Map<String, Object> attributes = metadata.getAnnotationAttributes(DAOBackend.class.getName());
+        if (attributes == null) {
+            return true;
+        }
+        String configuredBackend = context.getEnvironment().getProperty(BACKEND_PROPERTY_PREFIX + attributes.get("entity"), DAOBackend.HIBERNATE);
+        return configuredBackend.trim().equalsIgnoreCase((String) attributes.get("value"));
+    }
+}
@@ -0,0 +1,65 @@
+package com.rdlab.universityregistrar.model.dao;
+
+import com.rdlab.universityregistrar.model.entity.ScheduleEntry;
+
+import javax.persistence.Tuple;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * DAO managing seat limits of courses in semesters and FIFO waitlists of students waiting for a seat.
+ * Waitlist tuples have waitlistEntryId, studentId, lecturerId, courseId, time, location, semesterId and
+ * requestedAt elements, capacity tuples have courseId, semesterId, capacity, enrolledCount and waitlistLength elements.
+ */
+public interface EnrollmentDAO {
+
+    /**
+     * Lock capacity of course in semester until the end of current transaction
+     *
+     * @return {@link Tuple} with capacity and enrolledCount elements or empty if course has unlimited number of seats
+     */
+    Optional<Tuple> lockCourseCapacity(Integer courseId, String semesterId) throws RuntimeException;
+
+    boolean isStudentEnrolled(Integer studentId, Integer courseId, String semesterId) throws RuntimeException;
+
+    boolean hasWaitlistedStudents(Integer courseId, String semesterId) throws RuntimeException;
+
+    Optional<Tuple> findCourseCapacity(Integer courseId, String semesterId) throws RuntimeException;
+
+    /**
+     * Set capacity of course in semester, number of enrolled students is counted when capacity is set first time
+     */
+    void saveCourseCapacity(Integer courseId, String semesterId, int capacity) throws RuntimeException;
+
+    /**
+     * Find courses that have free seats and waiting students at the same time
+     *
+     * @return list of {@link Tuple} instances with courseId and semesterId elements
+     */
+    List<Tuple> getCoursesWithFreeSeatsAndWaitlist(int limit) throws RuntimeException;
+
+    /**
+     * Put student to the end of waitlist of requested course. If student is already waitlisted for the course,
+     * original entry keeps its position.
+     *
+     * @param requestedEntry schedule entry that is added when student is promoted
+     * @return id of waitlist entry
+     */
+    Integer addWaitlistEntry(ScheduleEntry requestedEntry) throws RuntimeException;
+
+    /**
+     * @return number of entries in waitlist of the same course up to and including provided one
+     */
+    long getWaitlistPosition(Integer waitlistEntryId) throws RuntimeException;
+
+    List<Tuple> getWaitlist(Integer courseId, String semesterId) throws RuntimeException;
+
+    /**
+     * Remove first entry of waitlist of course, skipping entries locked by concurrent transactions
+     *
+     * @return removed waitlist entry or empty if waitlist is empty
+     */
+    Optional<Tuple> pollWaitlistEntry(Integer courseId, String semesterId) throws RuntimeException;
+
+    int deleteWaitlistEntry(Integer waitlistEntryId) throws RuntimeException;
+}
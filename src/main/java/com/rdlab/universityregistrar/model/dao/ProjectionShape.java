@@ -0,0 +1,68 @@
+package com.rdlab.universityregistrar.model.dao;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Shape of record projections requested by client: DTO properties to select and related entities to embed.
+ * If no fields are requested every DTO property is selected, primary key is selected in any case.
+ * Related entities are joined only if their expansion is requested, their columns are aliased as expansion.property.
+ */
+@Data
+@Builder
+public class ProjectionShape {
+    private static final ProjectionShape DEFAULT_SHAPE = ProjectionShape.builder()
+            .fields(Collections.emptySet())
+            .expansions(Collections.emptySet())
+            .build();
+
+    /**
+     * Names of selected DTO properties, empty to select all of them
+     */
+    private Set<String> fields;
+    /**
+     * Names of embedded related entities
+     */
+    private Set<String> expansions;
+
+    public static ProjectionShape defaultShape() {
+        return DEFAULT_SHAPE;
+    }
+
+    /**
+     * Create shape from comma separated lists of request parameters
+     *
+     * @param fields     comma separated DTO properties, null or empty to select all of them
+     * @param expansions comma separated related entities, null or empty to embed none
+     * @return requested shape
+     */
+    public static ProjectionShape of(String fields, String expansions) {
+        return ProjectionShape.builder()
+                .fields(toNameSet(fields))
+                .expansions(toNameSet(expansions))
+                .build();
+    }
+
+    /**
+     * @return true if all DTO properties and no related entities are requested
+     */
+    public boolean isDefault() {
+        return fields.isEmpty() && expansions.isEmpty();
+    }
+
+    private static Set<String> toNameSet(String names) {
+        if (names == null || names.trim().isEmpty()) {
+            return Collections.emptySet();
+        }
+        return Arrays.stream(names.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+}
@@ -0,0 +1,30 @@
+package com.rdlab.universityregistrar.model.dao;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import javax.persistence.Table;
+import java.util.Map;
+
+/**
+ * Published in transaction that inserted database record. Values are keyed by entity property names
+ * (query parameter names for JDBC DAOs) and associations are represented by their ids. Values are left out
+ * of string representation, as they may contain passwords.
+ */
+@Getter
+@ToString(exclude = "values")
+@AllArgsConstructor
+public class RecordInsertedEvent {
+    private final String tableName;
+    private final String recordId;
+    private final Map<String, Object> values;
+
+    /**
+     * @return name of table mapped by entity class, simple class name if entity does not name its table
+     */
+    public static String getTableName(Class<?> entityClass) {
+        Table table = entityClass.getAnnotation(Table.class);
+        return table == null || table.name().isEmpty() ? entityClass.getSimpleName() : table.name();
+    }
+}
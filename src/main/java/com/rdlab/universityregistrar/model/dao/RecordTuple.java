@@ -0,0 +1,141 @@
+package com.rdlab.universityregistrar.model.dao;
+
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.persistence.Tuple;
+import javax.persistence.TupleElement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * {@link Tuple} holding single row of JDBC result set, elements are aliased by column labels.
+ * Rows of the same result set share their elements, so only row values are allocated per row.
+ */
+public class RecordTuple implements Tuple {
+    private final Elements elements;
+    private final Object[] values;
+
+    private RecordTuple(Elements elements, Object[] values) {
+        this.elements = elements;
+        this.values = values;
+    }
+
+    /**
+     * Create row mapper reading every column of result set row into {@link RecordTuple}.
+     * Row mapper keeps column labels of the first row, so it must be used for single query only.
+     *
+     * @return row mapper of single query
+     */
+    public static RowMapper<Tuple> rowMapper() {
+        return new RowMapper<Tuple>() {
+            private Elements elements;
+
+            @Override
+            public Tuple mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+                if (elements == null) {
+                    elements = new Elements(resultSet.getMetaData());
+                }
+                Object[] values = new Object[elements.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = resultSet.getObject(i + 1);
+                }
+                return new RecordTuple(elements, values);
+            }
+        };
+    }
+
+    @Override
+    public <X> X get(TupleElement<X> tupleElement) {
+        return get(tupleElement.getAlias(), tupleElement.getJavaType());
+    }
+
+    @Override
+    public <X> X get(String alias, Class<X> type) {
+        return checkType(get(alias), type);
+    }
+
+    @Override
+    public Object get(String alias) {
+        Integer index = elements.indexes.get(alias);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown tuple alias: " + alias);
+        }
+        return values[index];
+    }
+
+    @Override
+    public <X> X get(int i, Class<X> type) {
+        return checkType(get(i), type);
+    }
+
+    @Override
+    public Object get(int i) {
+        if (i < 0 || i >= values.length) {
+            throw new IllegalArgumentException("Tuple index out of range: " + i);
+        }
+        return values[i];
+    }
+
+    @Override
+    public Object[] toArray() {
+        return values.clone();
+    }
+
+    @Override
+    public List<TupleElement<?>> getElements() {
+        return elements.list;
+    }
+
+    @Override
+    public String toString() {
+        return "RecordTuple" + Arrays.toString(values);
+    }
+
+    private static <X> X checkType(Object value, Class<X> type) {
+        if (value != null && !type.isInstance(value)) {
+            throw new IllegalArgumentException("Tuple element of type " + value.getClass().getName() + " cannot be read as " + type.getName());
+        }
+        return type.cast(value);
+    }
+
+    private static class Elements {
+        private final List<TupleElement<?>> list;
+        private final Map<String, Integer> indexes;
+
+        private Elements(ResultSetMetaData metaData) throws SQLException {
+            int columnCount = metaData.getColumnCount();
+            List<TupleElement<?>> elementList = new ArrayList<>(columnCount);
+            indexes = new HashMap<>(columnCount * 2);
+            for (int i = 0; i < columnCount; i++) {
+                String alias = metaData.getColumnLabel(i + 1);
+                elementList.add(new Element(alias));
+                indexes.put(alias, i);
+            }
+            list = Collections.unmodifiableList(elementList);
+        }
+
+        private int size() {
+            return list.size();
+        }
+    }
+
+    private static class Element implements TupleElement<Object> {
+        private final String alias;
+
+        private Element(String alias) {
+            this.alias = alias;
+        }
+
+        @Override
+        public Class<Object> getJavaType() {
+            return Object.class;
+        }
+
+        @Override
+        public String getAlias() {
+            return alias;
+        }
+    }
+}
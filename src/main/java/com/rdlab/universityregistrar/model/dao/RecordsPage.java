@@ -0,0 +1,21 @@
+package com.rdlab.universityregistrar.model.dao;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Single page of records fetched with keyset (seek) pagination.
+ *
+ * @param <T> entity type of page records
+ */
+@Data
+@Builder
+public class RecordsPage<T> {
+    private List<T> records;
+    /**
+     * Primary key of the last record of the page, null if there are no more records
+     */
+    private String nextKey;
+}
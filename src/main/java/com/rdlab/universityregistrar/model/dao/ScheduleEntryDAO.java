@@ -0,0 +1,77 @@
+package com.rdlab.universityregistrar.model.dao;
+
+import com.rdlab.universityregistrar.model.entity.ScheduleEntry;
+
+import javax.persistence.Tuple;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * DAO interface of schedule entries, adds course load queries used by schedule entry checks
+ */
+public interface ScheduleEntryDAO extends DAO<ScheduleEntry> {
+    Long getNumberOfTakenCoursesForStudent(Integer studentId, String semesterId) throws RuntimeException;
+
+    /**
+     * Locks capacities of courses of schedule entries in their semesters until the end of current transaction.
+     * Capacity rows are locked in order of course and semester before course loads of students, which is the order
+     * enrollment and triggers maintaining both on schedule_of_classes take them in, so concurrent transactions
+     * do not deadlock. Capacity of every course of entries is locked in every semester of entries.
+     *
+     * @param entries schedule entries being added or updated, entries without course or semester are skipped
+     */
+    void lockCourseCapacities(Collection<ScheduleEntry> entries) throws RuntimeException;
+
+    /**
+     * Locks course load of student in semester until the end of current transaction and checks whether
+     * student may take the course.
+     *
+     * @param studentId       id of student
+     * @param semesterId      id of semester
+     * @param courseId        id of course being taken
+     * @param maxCourseNumber maximum number of distinct courses per student in single semester
+     * @return true if student already takes the course in semester or takes less than maxCourseNumber courses
+     */
+    boolean lockCourseLoad(Integer studentId, String semesterId, Integer courseId, long maxCourseNumber) throws RuntimeException;
+
+    /**
+     * Locks course load of student in semester until the end of current transaction and checks whether
+     * student may take all of courses together, e.g. courses of rows of one batch insert.
+     *
+     * @param studentId       id of student
+     * @param semesterId      id of semester
+     * @param courseIds       ids of courses being taken, courses already taken by student are not counted twice
+     * @param maxCourseNumber maximum number of distinct courses per student in single semester
+     * @return true if student takes at most maxCourseNumber distinct courses with courses being taken
+     */
+    boolean lockCourseLoad(Integer studentId, String semesterId, Collection<Integer> courseIds, long maxCourseNumber) throws RuntimeException;
+
+    /**
+     * Locks course load of student in semester until the end of current transaction and gets DTO columns of
+     * schedule entries of student in semester. Entries are read after the lock is acquired, so they include entries
+     * committed by concurrent transaction that held the lock.
+     *
+     * @param studentId  id of student
+     * @param semesterId id of semester
+     * @return list of {@link Tuple} instances with elements aliased by DTO property names, ordered by time
+     */
+    List<Tuple> lockStudentRecordProjections(Integer studentId, String semesterId) throws RuntimeException;
+
+    /**
+     * Get DTO columns of all schedule entries of semester ordered by time
+     *
+     * @param semesterId id of semester
+     * @return list of {@link Tuple} instances with elements aliased by DTO property names
+     */
+    List<Tuple> getSemesterRecordProjections(String semesterId) throws RuntimeException;
+
+    /**
+     * Pass DTO columns of schedule entries matching filter to consumer ordered by time, then by entry id.
+     * Entries are read in chunks, so they are never held in memory all at once. Must be called in transaction.
+     *
+     * @param filter         conditions of entries, null conditions are not applied
+     * @param recordConsumer consumer of {@link Tuple} instances with elements aliased by DTO property names
+     */
+    void scrollFilteredRecordProjections(ScheduleEntryFilter filter, Consumer<Tuple> recordConsumer) throws RuntimeException;
+}
@@ -0,0 +1,24 @@
+package com.rdlab.universityregistrar.model.dao;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Composable filter of schedule entries, conditions that are null are not applied.
+ * Entries match if their class begins in [from, to) range and takes place at location (case insensitive)
+ * with lecturer.
+ */
+@Data
+@Builder
+public class ScheduleEntryFilter {
+    /**
+     * Inclusive lower bound of class beginning time, epoch milliseconds
+     */
+    private Long from;
+    /**
+     * Exclusive upper bound of class beginning time, epoch milliseconds
+     */
+    private Long to;
+    private String location;
+    private Integer lecturerId;
+}
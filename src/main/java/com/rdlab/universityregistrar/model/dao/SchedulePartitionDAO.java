@@ -0,0 +1,14 @@
+package com.rdlab.universityregistrar.model.dao;
+
+/**
+ * DAO creating partitions of schedule_of_classes. Partition is created in its own transaction, because creation
+ * locks schedule_of_classes exclusively and lock must not be held until the end of transaction adding semester.
+ */
+public interface SchedulePartitionDAO {
+
+    /**
+     * Create partition for schedule entries of semester unless it exists. Gives up when schedule_of_classes
+     * cannot be locked within lock timeout, so waiting creation does not block reads of schedule queued behind it.
+     */
+    void createSchedulePartition(String semesterId) throws RuntimeException;
+}
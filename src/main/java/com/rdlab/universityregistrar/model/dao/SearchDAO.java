@@ -0,0 +1,20 @@
+package com.rdlab.universityregistrar.model.dao;
+
+import javax.persistence.Tuple;
+import java.util.List;
+
+/**
+ * DAO performing full-text search across all searchable entity tables in single query
+ */
+public interface SearchDAO {
+
+    /**
+     * Find records of all searchable types matching provided full-text query.
+     *
+     * @param fullTextQuery text search query in PostgreSQL tsquery syntax
+     * @param limit         maximum number of hits
+     * @return list of {@link Tuple} instances with entityType, entityId, title and rank elements,
+     * ordered by rank descending
+     */
+    List<Tuple> searchAllRecords(String fullTextQuery, int limit) throws RuntimeException;
+}
@@ -0,0 +1,17 @@
+package com.rdlab.universityregistrar.model.dao;
+
+import com.rdlab.universityregistrar.model.entity.Lecturer;
+import com.rdlab.universityregistrar.model.entity.Student;
+
+import java.util.Optional;
+
+/**
+ * DAO reading timetables of students and lecturers. Schedule entries are loaded together with their course,
+ * lecturer with academic rank and semester in single query, so mapping them to DTOs issues no further queries.
+ */
+public interface TimetableDAO {
+
+    Optional<Student> findStudentWithScheduleEntries(Integer studentId) throws RuntimeException;
+
+    Optional<Lecturer> findLecturerWithScheduleEntries(Integer lecturerId) throws RuntimeException;
+}
@@ -0,0 +1,18 @@
+package com.rdlab.universityregistrar.model.dao;
+
+import com.rdlab.universityregistrar.model.entity.User;
+
+/**
+ * DAO interface of users, adds lookup of user by student
+ */
+public interface UserDAO extends DAO<User> {
+
+    /**
+     * Get user of student
+     *
+     * @param studentId id of student
+     * @return user of student
+     * @throws javax.persistence.NoResultException if student has no user
+     */
+    User getUserByStudentId(Integer studentId) throws RuntimeException;
+}
@@ -11,7 +11,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.criteria.*;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * {@link DAO} implementation for {@link AcademicRank} entity type
@@ -26,6 +29,7 @@ public class AcademicRankDAOImpl extends AbstractDAO<AcademicRank> {
     public AcademicRankDAOImpl() {
         super.setClazz(AcademicRank.class);
         super.setPrimaryKey("numericRank");
+        super.setQueryCacheRegion("academicRankQueries");
     }
 
     @Override
@@ -64,17 +68,20 @@ public class AcademicRankDAOImpl extends AbstractDAO<AcademicRank> {
 
     @Override
     public List<AcademicRank> searchRecords(String searchCriterion) throws RuntimeException {
-        Session currentSession = sessionFactory.getCurrentSession();
-
-        CriteriaBuilder criteriaBuilder = currentSession.getCriteriaBuilder();
-        CriteriaQuery<AcademicRank> criteriaQuery = criteriaBuilder.createQuery(AcademicRank.class);
-        Root<AcademicRank> root = criteriaQuery.from(AcademicRank.class);
-        Predicate predicateForRankName = criteriaBuilder.like(criteriaBuilder.lower(root.get("rankName")), "%" + searchCriterion.toLowerCase() + "%");
+        return super.searchRecords(searchCriterion);
+    }
 
-        criteriaQuery.select(root).where(predicateForRankName);
-        criteriaQuery.orderBy(criteriaBuilder.asc(root.get("numericRank")));
+    @Override
+    protected Map<String, Expression<?>> getProjection(Root<AcademicRank> root) {
+        Map<String, Expression<?>> projection = new LinkedHashMap<>();
+        projection.put("rankId", root.get("rankId"));
+        projection.put("numericRank", root.get("numericRank"));
+        projection.put("rankName", root.get("rankName"));
+        return projection;
+    }
 
-        Query<AcademicRank> query = currentSession.createQuery(criteriaQuery);
-        return query.getResultList();
+    @Override
+    protected List<Expression<String>> getSearchColumns(Root<AcademicRank> root) {
+        return Collections.singletonList(root.<String>get("rankName"));
     }
 }
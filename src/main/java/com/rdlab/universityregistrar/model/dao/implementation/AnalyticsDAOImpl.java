@@ -0,0 +1,58 @@
+package com.rdlab.universityregistrar.model.dao.implementation;
+
+import com.rdlab.universityregistrar.model.dao.AnalyticsDAO;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.Tuple;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Character(n) columns are selected as trimmed text, because Hibernate reads character(n) columns of native queries as single character
+ */
+@Repository
+public class AnalyticsDAOImpl implements AnalyticsDAO {
+    private static final String COURSE_STATISTICS_SPACE = "course_statistics";
+    private static final String COURSE_MOST_PICKED_SEMESTERS_SPACE = "course_most_picked_semesters";
+    private static final List<String> MATERIALIZED_VIEWS = Arrays.asList(COURSE_STATISTICS_SPACE, COURSE_MOST_PICKED_SEMESTERS_SPACE);
+
+    private static final String GET_COURSE_STATISTICS_QUERY = "SELECT course_id AS \"courseId\", CAST(rtrim(course_title) AS text) AS \"courseTitle\"," +
+            " number_of_students AS \"numberOfStudents\", number_of_lecturers AS \"numberOfLecturers\"," +
+            " highest_numeric_rank AS \"highestNumericRank\", CAST(rtrim(highest_rank_name) AS text) AS \"highestRankName\"," +
+            " inactive_users AS \"inactiveUsers\", CAST(rtrim(most_picked_semester) AS text) AS \"mostPickedSemester\"" +
+            " FROM course_statistics ORDER BY course_id";
+    private static final String GET_MOST_PICKED_SEMESTERS_QUERY = "SELECT course_id AS \"courseId\", CAST(rtrim(semester_id) AS text) AS \"semesterId\"," +
+            " max_times_in_single_semester AS \"timesPicked\"" +
+            " FROM course_most_picked_semesters ORDER BY course_id";
+    private static final String REFRESH_VIEW_QUERY = "REFRESH MATERIALIZED VIEW CONCURRENTLY ";
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Tuple> getCourseStatistics() throws RuntimeException {
+        return sessionFactory.getCurrentSession().createNativeQuery(GET_COURSE_STATISTICS_QUERY, Tuple.class)
+                .addSynchronizedQuerySpace(COURSE_STATISTICS_SPACE)
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Tuple> getMostPickedSemesters() throws RuntimeException {
+        return sessionFactory.getCurrentSession().createNativeQuery(GET_MOST_PICKED_SEMESTERS_QUERY, Tuple.class)
+                .addSynchronizedQuerySpace(COURSE_MOST_PICKED_SEMESTERS_SPACE)
+                .getResultList();
+    }
+
+    @Override
+    public void refreshViews() throws RuntimeException {
+        for (String materializedView : MATERIALIZED_VIEWS) {
+            sessionFactory.getCurrentSession().createNativeQuery(REFRESH_VIEW_QUERY + materializedView)
+                    .addSynchronizedQuerySpace(materializedView)
+                    .executeUpdate();
+        }
+    }
+}
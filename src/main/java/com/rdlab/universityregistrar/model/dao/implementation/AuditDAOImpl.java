@@ -0,0 +1,64 @@
+package com.rdlab.universityregistrar.model.dao.implementation;
+
+import com.rdlab.universityregistrar.model.dao.AuditDAO;
+import com.rdlab.universityregistrar.model.dao.AuditEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Events are inserted with multi-row INSERT statements of up to {@link #MAX_ROWS_PER_STATEMENT} rows.
+ * Conflicting event ids are skipped, so replayed events are written once (COPY would be faster,
+ * but cannot skip events written before crash).
+ */
+@Repository
+public class AuditDAOImpl implements AuditDAO {
+    private static final int MAX_ROWS_PER_STATEMENT = 500;
+    private static final String INSERT_PREFIX = "INSERT INTO audit_log (event_id, occurred_at, table_name, record_id, description) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?)";
+    private static final String INSERT_SUFFIX = " ON CONFLICT (event_id) DO NOTHING";
+    private static final int COLUMNS = 5;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public void setDataSource(DataSource dataSource) {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public int addAuditEvents(List<AuditEvent> auditEvents) throws RuntimeException {
+        int insertedEvents = 0;
+        for (int from = 0; from < auditEvents.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<AuditEvent> statementEvents = auditEvents.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, auditEvents.size()));
+            Object[] parameters = new Object[statementEvents.size() * COLUMNS];
+            int i = 0;
+            for (AuditEvent auditEvent : statementEvents) {
+                parameters[i++] = UUID.fromString(auditEvent.getEventId());
+                parameters[i++] = new Timestamp(auditEvent.getOccurredAt());
+                parameters[i++] = auditEvent.getTableName();
+                parameters[i++] = auditEvent.getRecordId();
+                parameters[i++] = auditEvent.getDescription();
+            }
+            insertedEvents += jdbcTemplate.update(getInsertQuery(statementEvents.size()), parameters);
+        }
+        return insertedEvents;
+    }
+
+    private static String getInsertQuery(int rows) {
+        StringBuilder query = new StringBuilder(INSERT_PREFIX.length() + rows * (ROW_PLACEHOLDERS.length() + 2) + INSERT_SUFFIX.length());
+        query.append(INSERT_PREFIX);
+        for (int row = 0; row < rows; row++) {
+            if (row > 0) {
+                query.append(", ");
+            }
+            query.append(ROW_PLACEHOLDERS);
+        }
+        return query.append(INSERT_SUFFIX).toString();
+    }
+}
@@ -2,6 +2,7 @@ package com.rdlab.universityregistrar.model.dao.implementation;
 
 import com.rdlab.universityregistrar.model.dao.AbstractDAO;
 import com.rdlab.universityregistrar.model.dao.DAO;
+import com.rdlab.universityregistrar.model.dao.DAOBackend;
 import com.rdlab.universityregistrar.model.entity.Course;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
@@ -10,9 +11,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.criteria.*;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Repository
+@DAOBackend(entity = "course", value = DAOBackend.HIBERNATE)
 public class CourseDAOImpl extends AbstractDAO<Course> {
 
     @Autowired
@@ -21,6 +26,7 @@ public class CourseDAOImpl extends AbstractDAO<Course> {
     public CourseDAOImpl() {
         super.setClazz(Course.class);
         super.setPrimaryKey("courseId");
+        super.setQueryCacheRegion("courseQueries");
     }
 
     @Override
@@ -59,19 +65,20 @@ public class CourseDAOImpl extends AbstractDAO<Course> {
 
     @Override
     public List<Course> searchRecords(String searchCriterion) throws RuntimeException {
-        Session currentSession = sessionFactory.getCurrentSession();
-
-        CriteriaBuilder criteriaBuilder = currentSession.getCriteriaBuilder();
-        CriteriaQuery<Course> criteriaQuery = criteriaBuilder.createQuery(Course.class);
-        Root<Course> root = criteriaQuery.from(Course.class);
-        Predicate predicateForCourseTitle = criteriaBuilder.like(criteriaBuilder.lower(root.get("courseTitle")), "%" + searchCriterion.toLowerCase() + "%");
-        Predicate predicateForCourseDescription = criteriaBuilder.like(criteriaBuilder.lower(root.get("courseDescription")), "%" + searchCriterion.toLowerCase() + "%");
-        Predicate orPredicate = criteriaBuilder.or(predicateForCourseTitle, predicateForCourseDescription);
+        return super.searchRecords(searchCriterion);
+    }
 
-        criteriaQuery.select(root).where(orPredicate);
-        criteriaQuery.orderBy(criteriaBuilder.asc(root.get("courseId")));
+    @Override
+    protected Map<String, Expression<?>> getProjection(Root<Course> root) {
+        Map<String, Expression<?>> projection = new LinkedHashMap<>();
+        projection.put("courseId", root.get("courseId"));
+        projection.put("courseTitle", root.get("courseTitle"));
+        projection.put("courseDescription", root.get("courseDescription"));
+        return projection;
+    }
 
-        Query<Course> query = currentSession.createQuery(criteriaQuery);
-        return query.getResultList();
+    @Override
+    protected List<Expression<String>> getSearchColumns(Root<Course> root) {
+        return Arrays.asList(root.<String>get("courseTitle"), root.<String>get("courseDescription"));
     }
 }
@@ -0,0 +1,47 @@
+package com.rdlab.universityregistrar.model.dao.implementation;
+
+import com.rdlab.universityregistrar.model.dao.AbstractJdbcDAO;
+import com.rdlab.universityregistrar.model.dao.DAOBackend;
+import com.rdlab.universityregistrar.model.entity.Course;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+@Repository
+@DAOBackend(entity = "course", value = DAOBackend.JDBC)
+public class CourseJdbcDAOImpl extends AbstractJdbcDAO<Course> {
+
+    public CourseJdbcDAOImpl() {
+        super.setClazz(Course.class);
+        super.loadQueries("db/HibernateHqlQueries/CourseQueries.properties");
+        super.setRecordName("Course");
+        super.setRecordsName("Courses");
+        super.addRecordColumn("course_id", "courseId");
+        super.addRecordColumn("course_title", "courseTitle");
+        super.addRecordColumn("course_description", "courseDescription");
+        super.setPrimaryKey("courseId");
+        super.setGeneratedKey("courseId");
+        super.setGeneratedKeyColumn("course_id");
+        super.setAddQueryParameters("courseTitle", "courseDescription");
+        super.setUpdateQueryParameters("courseTitle", "courseDescription", "courseId");
+        super.setQueryCacheRegion("courseQueries");
+    }
+
+    @Override
+    protected Course mapRecord(ResultSet resultSet) throws SQLException {
+        return Course.builder()
+                .courseId(resultSet.getObject("course_id", Integer.class))
+                .courseTitle(resultSet.getString("course_title"))
+                .courseDescription(resultSet.getString("course_description"))
+                .build();
+    }
+
+    @Override
+    protected MapSqlParameterSource getRecordParameters(Course record) {
+        return new MapSqlParameterSource("courseId", record.getCourseId())
+                .addValue("courseTitle", record.getCourseTitle())
+                .addValue("courseDescription", record.getCourseDescription());
+    }
+}
@@ -0,0 +1,171 @@
+package com.rdlab.universityregistrar.model.dao.implementation;
+
+import com.rdlab.universityregistrar.model.dao.EnrollmentDAO;
+import com.rdlab.universityregistrar.model.entity.ScheduleEntry;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.Tuple;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Semester ids are selected as text, because Hibernate reads character(n) columns of native queries as single character
+ */
+@Repository
+public class EnrollmentDAOImpl implements EnrollmentDAO {
+    private static final String COURSE_CAPACITIES_SPACE = "course_capacities";
+    private static final String COURSE_WAITLIST_SPACE = "course_waitlist";
+
+    private static final String LOCK_COURSE_CAPACITY_QUERY = "SELECT capacity, enrolled_count AS \"enrolledCount\"" +
+            " FROM course_capacities WHERE course_id = :courseId AND semester_id = :semesterId FOR UPDATE";
+    private static final String STUDENT_ENROLLED_QUERY = "SELECT EXISTS (SELECT 1 FROM schedule_of_classes" +
+            " WHERE student_id = :studentId AND semester_id = :semesterId AND course_id = :courseId)";
+    private static final String HAS_WAITLIST_QUERY = "SELECT EXISTS (SELECT 1 FROM course_waitlist" +
+            " WHERE course_id = :courseId AND semester_id = :semesterId)";
+    private static final String FIND_COURSE_CAPACITY_QUERY = "SELECT c.course_id AS \"courseId\", CAST(rtrim(c.semester_id) AS text) AS \"semesterId\"," +
+            " c.capacity, c.enrolled_count AS \"enrolledCount\"," +
+            " (SELECT count(*) FROM course_waitlist w WHERE w.course_id = c.course_id AND w.semester_id = c.semester_id) AS \"waitlistLength\"" +
+            " FROM course_capacities c WHERE c.course_id = :courseId AND c.semester_id = :semesterId";
+    private static final String SAVE_COURSE_CAPACITY_QUERY = "INSERT INTO course_capacities AS c (course_id, semester_id, capacity, enrolled_count)" +
+            " SELECT :courseId, :semesterId, :capacity, count(DISTINCT student_id) FROM schedule_of_classes" +
+            " WHERE course_id = :courseId AND semester_id = :semesterId" +
+            " ON CONFLICT (course_id, semester_id) DO UPDATE SET capacity = EXCLUDED.capacity";
+    private static final String COURSES_WITH_FREE_SEATS_AND_WAITLIST_QUERY = "SELECT c.course_id AS \"courseId\", CAST(rtrim(c.semester_id) AS text) AS \"semesterId\"" +
+            " FROM course_capacities c WHERE c.enrolled_count < c.capacity" +
+            " AND EXISTS (SELECT 1 FROM course_waitlist w WHERE w.course_id = c.course_id AND w.semester_id = c.semester_id)" +
+            " ORDER BY c.course_id, c.semester_id LIMIT :limit";
+    private static final String ADD_WAITLIST_ENTRY_QUERY = "INSERT INTO course_waitlist AS w" +
+            " (student_id, lecturer_id, course_id, \"time\", location, semester_id, requested_at)" +
+            " VALUES (:studentId, :lecturerId, :courseId, :time, :location, :semesterId, :requestedAt)" +
+            " ON CONFLICT (course_id, semester_id, student_id) DO UPDATE SET requested_at = w.requested_at" +
+            " RETURNING waitlist_entry_id";
+    private static final String WAITLIST_POSITION_QUERY = "SELECT count(*) FROM course_waitlist w" +
+            " JOIN course_waitlist entry ON w.course_id = entry.course_id AND w.semester_id = entry.semester_id" +
+            " WHERE entry.waitlist_entry_id = :waitlistEntryId AND w.waitlist_entry_id <= entry.waitlist_entry_id";
+    private static final String WAITLIST_COLUMNS = "waitlist_entry_id AS \"waitlistEntryId\", student_id AS \"studentId\"," +
+            " lecturer_id AS \"lecturerId\", course_id AS \"courseId\", \"time\", location," +
+            " CAST(rtrim(semester_id) AS text) AS \"semesterId\", requested_at AS \"requestedAt\"";
+    private static final String GET_WAITLIST_QUERY = "SELECT " + WAITLIST_COLUMNS + " FROM course_waitlist" +
+            " WHERE course_id = :courseId AND semester_id = :semesterId ORDER BY waitlist_entry_id";
+    private static final String POLL_WAITLIST_ENTRY_QUERY = "DELETE FROM course_waitlist WHERE waitlist_entry_id = (" +
+            " SELECT waitlist_entry_id FROM course_waitlist WHERE course_id = :courseId AND semester_id = :semesterId" +
+            " ORDER BY waitlist_entry_id LIMIT 1 FOR UPDATE SKIP LOCKED)" +
+            " RETURNING " + WAITLIST_COLUMNS;
+    private static final String DELETE_WAITLIST_ENTRY_QUERY = "DELETE FROM course_waitlist WHERE waitlist_entry_id = :waitlistEntryId";
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<Tuple> lockCourseCapacity(Integer courseId, String semesterId) throws RuntimeException {
+        return sessionFactory.getCurrentSession().createNativeQuery(LOCK_COURSE_CAPACITY_QUERY, Tuple.class)
+                .addSynchronizedQuerySpace(COURSE_CAPACITIES_SPACE)
+                .setParameter("courseId", courseId)
+                .setParameter("semesterId", semesterId)
+                .uniqueResultOptional();
+    }
+
+    @Override
+    public boolean isStudentEnrolled(Integer studentId, Integer courseId, String semesterId) throws RuntimeException {
+        return (Boolean) sessionFactory.getCurrentSession().createNativeQuery(STUDENT_ENROLLED_QUERY)
+                .addSynchronizedQuerySpace("schedule_of_classes")
+                .setParameter("studentId", studentId)
+                .setParameter("courseId", courseId)
+                .setParameter("semesterId", semesterId)
+                .getSingleResult();
+    }
+
+    @Override
+    public boolean hasWaitlistedStudents(Integer courseId, String semesterId) throws RuntimeException {
+        return (Boolean) sessionFactory.getCurrentSession().createNativeQuery(HAS_WAITLIST_QUERY)
+                .addSynchronizedQuerySpace(COURSE_WAITLIST_SPACE)
+                .setParameter("courseId", courseId)
+                .setParameter("semesterId", semesterId)
+                .getSingleResult();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<Tuple> findCourseCapacity(Integer courseId, String semesterId) throws RuntimeException {
+        return sessionFactory.getCurrentSession().createNativeQuery(FIND_COURSE_CAPACITY_QUERY, Tuple.class)
+                .addSynchronizedQuerySpace(COURSE_CAPACITIES_SPACE)
+                .setParameter("courseId", courseId)
+                .setParameter("semesterId", semesterId)
+                .uniqueResultOptional();
+    }
+
+    @Override
+    public void saveCourseCapacity(Integer courseId, String semesterId, int capacity) throws RuntimeException {
+        sessionFactory.getCurrentSession().createNativeQuery(SAVE_COURSE_CAPACITY_QUERY)
+                .addSynchronizedQuerySpace(COURSE_CAPACITIES_SPACE)
+                .setParameter("courseId", courseId)
+                .setParameter("semesterId", semesterId)
+                .setParameter("capacity", capacity)
+                .executeUpdate();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Tuple> getCoursesWithFreeSeatsAndWaitlist(int limit) throws RuntimeException {
+        return sessionFactory.getCurrentSession().createNativeQuery(COURSES_WITH_FREE_SEATS_AND_WAITLIST_QUERY, Tuple.class)
+                .addSynchronizedQuerySpace(COURSE_CAPACITIES_SPACE)
+                .setParameter("limit", limit)
+                .getResultList();
+    }
+
+    @Override
+    public Integer addWaitlistEntry(ScheduleEntry requestedEntry) throws RuntimeException {
+        Session session = sessionFactory.getCurrentSession();
+
+        return (Integer) session.createNativeQuery(ADD_WAITLIST_ENTRY_QUERY)
+                .addSynchronizedQuerySpace(COURSE_WAITLIST_SPACE)
+                .setParameter("studentId", requestedEntry.getStudent().getStudentId())
+                .setParameter("lecturerId", requestedEntry.getLecturer().getLecturerId())
+                .setParameter("courseId", requestedEntry.getCourse().getCourseId())
+                .setParameter("time", requestedEntry.getTime())
+                .setParameter("location", requestedEntry.getLocation())
+                .setParameter("semesterId", requestedEntry.getSemester().getSemesterId())
+                .setParameter("requestedAt", System.currentTimeMillis())
+                .getSingleResult();
+    }
+
+    @Override
+    public long getWaitlistPosition(Integer waitlistEntryId) throws RuntimeException {
+        return ((Number) sessionFactory.getCurrentSession().createNativeQuery(WAITLIST_POSITION_QUERY)
+                .addSynchronizedQuerySpace(COURSE_WAITLIST_SPACE)
+                .setParameter("waitlistEntryId", waitlistEntryId)
+                .getSingleResult()).longValue();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Tuple> getWaitlist(Integer courseId, String semesterId) throws RuntimeException {
+        return sessionFactory.getCurrentSession().createNativeQuery(GET_WAITLIST_QUERY, Tuple.class)
+                .addSynchronizedQuerySpace(COURSE_WAITLIST_SPACE)
+                .setParameter("courseId", courseId)
+                .setParameter("semesterId", semesterId)
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<Tuple> pollWaitlistEntry(Integer courseId, String semesterId) throws RuntimeException {
+        return sessionFactory.getCurrentSession().createNativeQuery(POLL_WAITLIST_ENTRY_QUERY, Tuple.class)
+                .addSynchronizedQuerySpace(COURSE_WAITLIST_SPACE)
+                .setParameter("courseId", courseId)
+                .setParameter("semesterId", semesterId)
+                .uniqueResultOptional();
+    }
+
+    @Override
+    public int deleteWaitlistEntry(Integer waitlistEntryId) throws RuntimeException {
+        return sessionFactory.getCurrentSession().createNativeQuery(DELETE_WAITLIST_ENTRY_QUERY)
+                .addSynchronizedQuerySpace(COURSE_WAITLIST_SPACE)
+                .setParameter("waitlistEntryId", waitlistEntryId)
+                .executeUpdate();
+    }
+}
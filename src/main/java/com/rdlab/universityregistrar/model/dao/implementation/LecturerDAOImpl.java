@@ -2,6 +2,8 @@ package com.rdlab.universityregistrar.model.dao.implementation;
 
 import com.rdlab.universityregistrar.model.dao.AbstractDAO;
 import com.rdlab.universityregistrar.model.dao.DAO;
+import com.rdlab.universityregistrar.model.dao.DAOBackend;
+import com.rdlab.universityregistrar.model.entity.AcademicRank;
 import com.rdlab.universityregistrar.model.entity.Lecturer;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
@@ -10,9 +12,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.criteria.*;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Repository
+@DAOBackend(entity = "lecturer", value = DAOBackend.HIBERNATE)
 public class LecturerDAOImpl extends AbstractDAO<Lecturer> {
 
     @Autowired
@@ -61,17 +67,37 @@ public class LecturerDAOImpl extends AbstractDAO<Lecturer> {
 
     @Override
     public List<Lecturer> searchRecords(String searchCriterion) throws RuntimeException {
-        Session currentSession = sessionFactory.getCurrentSession();
+        return super.searchRecords(searchCriterion);
+    }
 
-        CriteriaBuilder criteriaBuilder = currentSession.getCriteriaBuilder();
-        CriteriaQuery<Lecturer> criteriaQuery = criteriaBuilder.createQuery(Lecturer.class);
-        Root<Lecturer> root = criteriaQuery.from(Lecturer.class);
-        Predicate predicateForLecturerName = criteriaBuilder.like(criteriaBuilder.lower(root.get("lecturerName")), "%" + searchCriterion.toLowerCase() + "%");
+    @Override
+    protected Map<String, Expression<?>> getProjection(Root<Lecturer> root) {
+        Map<String, Expression<?>> projection = new LinkedHashMap<>();
+        projection.put("lecturerId", root.get("lecturerId"));
+        projection.put("lecturerName", root.get("lecturerName"));
+        projection.put("dateOfBirth", root.get("dateOfBirth"));
+        projection.put("numericAcademicRank", root.get("numericRankCode"));
+        return projection;
+    }
 
-        criteriaQuery.select(root).where(predicateForLecturerName);
-        criteriaQuery.orderBy(criteriaBuilder.asc(root.get("lecturerId")));
+    /**
+     * Academic rank of lecturer can be embedded as "academicRank"
+     */
+    @Override
+    protected Map<String, Expression<?>> getExpansionProjection(Root<Lecturer> root, String expansion) {
+        if (!"academicRank".equals(expansion)) {
+            return null;
+        }
+        Join<Lecturer, AcademicRank> academicRank = root.join("numericAcademicRank", JoinType.LEFT);
+        Map<String, Expression<?>> projection = new LinkedHashMap<>();
+        projection.put("rankId", academicRank.get("rankId"));
+        projection.put("numericRank", academicRank.get("numericRank"));
+        projection.put("rankName", academicRank.get("rankName"));
+        return projection;
+    }
 
-        Query<Lecturer> query = currentSession.createQuery(criteriaQuery);
-        return query.getResultList();
+    @Override
+    protected List<Expression<String>> getSearchColumns(Root<Lecturer> root) {
+        return Collections.singletonList(root.<String>get("lecturerName"));
     }
 }
@@ -0,0 +1,55 @@
+package com.rdlab.universityregistrar.model.dao.implementation;
+
+import com.rdlab.universityregistrar.model.dao.AbstractJdbcDAO;
+import com.rdlab.universityregistrar.model.dao.DAOBackend;
+import com.rdlab.universityregistrar.model.entity.AcademicRank;
+import com.rdlab.universityregistrar.model.entity.Lecturer;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+@Repository
+@DAOBackend(entity = "lecturer", value = DAOBackend.JDBC)
+public class LecturerJdbcDAOImpl extends AbstractJdbcDAO<Lecturer> {
+
+    public LecturerJdbcDAOImpl() {
+        super.setClazz(Lecturer.class);
+        super.loadQueries("db/HibernateHqlQueries/LecturerQueries.properties");
+        super.setRecordName("Lecturer");
+        super.setRecordsName("Lecturers");
+        super.addRecordColumn("lecturer_id", "lecturerId");
+        super.addRecordColumn("name", "lecturerName");
+        super.addRecordColumn("date_of_birth", "dateOfBirth");
+        super.addRecordColumn("numeric_academic_rank", "numericAcademicRank");
+        super.setPrimaryKey("lecturerId");
+        super.setGeneratedKey("lecturerId");
+        super.setGeneratedKeyColumn("lecturer_id");
+        super.setAddQueryParameters("lecturerName", "dateOfBirth", "numericAcademicRank");
+        super.setUpdateQueryParameters("lecturerName", "dateOfBirth", "numericAcademicRank", "lecturerId");
+    }
+
+    /**
+     * Academic rank is mapped as reference holding only numeric rank, rank itself is not read
+     */
+    @Override
+    protected Lecturer mapRecord(ResultSet resultSet) throws SQLException {
+        Integer numericAcademicRank = resultSet.getObject("numeric_academic_rank", Integer.class);
+        return Lecturer.builder()
+                .lecturerId(resultSet.getObject("lecturer_id", Integer.class))
+                .lecturerName(resultSet.getString("name"))
+                .dateOfBirth(resultSet.getObject("date_of_birth", Long.class))
+                .numericAcademicRank(numericAcademicRank == null ? null : AcademicRank.builder().numericRank(numericAcademicRank).build())
+                .build();
+    }
+
+    @Override
+    protected MapSqlParameterSource getRecordParameters(Lecturer record) {
+        return new MapSqlParameterSource("lecturerId", record.getLecturerId())
+                .addValue("lecturerName", record.getLecturerName())
+                .addValue("dateOfBirth", record.getDateOfBirth(), Types.BIGINT)
+                .addValue("numericAcademicRank", record.getNumericAcademicRank() == null ? null : record.getNumericAcademicRank().getNumericRank(), Types.INTEGER);
+    }
+}
@@ -0,0 +1,76 @@
+package com.rdlab.universityregistrar.model.dao.implementation;
+
+import com.rdlab.universityregistrar.model.dao.RecordInsertedEvent;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.Type;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Publishes {@link RecordInsertedEvent} for every entity inserted through Hibernate. Registered as Hibernate
+ * insert listener only if audit of inserted records is enabled.
+ */
+@Component
+public class RecordInsertedEventPublisher implements PostInsertEventListener {
+    @Autowired
+    private SessionFactory sessionFactory;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Value("${audit.enabled:false}")
+    private boolean auditEnabled;
+
+    @PostConstruct
+    public void register() {
+        if (auditEnabled) {
+            sessionFactory.unwrap(SessionFactoryImplementor.class).getServiceRegistry()
+                    .getService(EventListenerRegistry.class)
+                    .appendListeners(EventType.POST_INSERT, this);
+        }
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        EntityPersister persister = event.getPersister();
+        String[] propertyNames = persister.getPropertyNames();
+        Type[] propertyTypes = persister.getPropertyTypes();
+        Object[] state = event.getState();
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put(persister.getIdentifierPropertyName(), event.getId());
+        for (int i = 0; i < propertyNames.length; i++) {
+            Object value = state[i];
+            if (value != null && propertyTypes[i].isEntityType()) {
+                value = getAssociatedEntityId(event, (EntityType) propertyTypes[i], value);
+            }
+            values.put(propertyNames[i], value);
+        }
+        eventPublisher.publishEvent(new RecordInsertedEvent(RecordInsertedEvent.getTableName(persister.getMappedClass()), String.valueOf(event.getId()), values));
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private static Object getAssociatedEntityId(PostInsertEvent event, EntityType entityType, Object entity) {
+        if (entity instanceof HibernateProxy) {
+            return ((HibernateProxy) entity).getHibernateLazyInitializer().getIdentifier();
+        }
+        return event.getSession().getFactory().getMetamodel()
+                .entityPersister(entityType.getAssociatedEntityName())
+                .getIdentifier(entity, event.getSession());
+    }
+}
@@ -2,19 +2,52 @@ package com.rdlab.universityregistrar.model.dao.implementation;
 
 import com.rdlab.universityregistrar.model.dao.AbstractDAO;
 import com.rdlab.universityregistrar.model.dao.DAO;
-import com.rdlab.universityregistrar.model.entity.ScheduleEntry;
+import com.rdlab.universityregistrar.model.dao.DAOBackend;
+import com.rdlab.universityregistrar.model.dao.ScheduleEntryDAO;
+import com.rdlab.universityregistrar.model.dao.ScheduleEntryFilter;
+import com.rdlab.universityregistrar.model.entity.*;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.query.Query;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.LongType;
+import org.hibernate.type.StringType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.Tuple;
 import javax.persistence.criteria.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
 
 @Repository
-public class ScheduleEntryDAOImpl extends AbstractDAO<ScheduleEntry> {
+@DAOBackend(entity = "scheduleEntry", value = DAOBackend.HIBERNATE)
+public class ScheduleEntryDAOImpl extends AbstractDAO<ScheduleEntry> implements ScheduleEntryDAO {
+    private static final String LOCK_COURSE_LOAD_QUERY = "INSERT INTO student_course_loads AS loads (student_id, semester_id, course_count)" +
+            " VALUES (:studentId, :semesterId, 0)" +
+            " ON CONFLICT (student_id, semester_id) DO UPDATE SET course_count = loads.course_count" +
+            " RETURNING course_count";
+    private static final String LOCK_COURSE_CAPACITIES_QUERY = "SELECT course_id FROM course_capacities" +
+            " WHERE course_id IN (:courseIds) AND semester_id IN (:semesterIds)" +
+            " ORDER BY course_id, semester_id FOR UPDATE";
+    private static final String COURSE_TAKEN_QUERY = "SELECT EXISTS (SELECT 1 FROM schedule_of_classes" +
+            " WHERE student_id = :studentId AND semester_id = :semesterId AND course_id = :courseId)";
+    private static final String TAKEN_COURSES_COUNT_QUERY = "SELECT count(DISTINCT course_id) FROM schedule_of_classes" +
+            " WHERE student_id = :studentId AND semester_id = :semesterId AND course_id IN (:courseIds)";
+    private static final String MOVE_RECORD_QUERY = "INSERT INTO schedule_of_classes" +
+            " (entry_id, student_id, lecturer_id, course_id, time, location, semester_id)" +
+            " VALUES (:entryId, :studentId, :lecturerId, :courseId, :time, :location, :semesterId)";
+    private static final int FILTERED_RECORDS_CHUNK_SIZE = 500;
+
     @Autowired
     private SessionFactory sessionFactory;
 
@@ -31,7 +64,9 @@ public class ScheduleEntryDAOImpl extends AbstractDAO<ScheduleEntry> {
     @Override
     public Integer addRecord(ScheduleEntry record) throws RuntimeException {
         Session session = sessionFactory.getCurrentSession();
-        return (Integer) session.save(record);
+        Integer generatedId = (Integer) session.save(record);
+        session.flush();
+        return generatedId;
     }
 
     @Override
@@ -39,22 +74,45 @@ public class ScheduleEntryDAOImpl extends AbstractDAO<ScheduleEntry> {
         return super.getRecord(recordId);
     }
 
+    /**
+     * Update entry in place if it stays in its semester. Entry moved to another semester is deleted
+     * and inserted again with the same id, as PostgreSQL 10 can not move updated row to another
+     * partition of schedule_of_classes.
+     *
+     * @param record entry with new values
+     * @return number of updated entries
+     */
     @Override
     public int updateRecord(ScheduleEntry record) throws RuntimeException {
         Session session = sessionFactory.getCurrentSession();
+        String semesterId = record.getSemester() == null ? null : record.getSemester().getSemesterId();
 
         CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
         CriteriaUpdate<ScheduleEntry> criteriaUpdate = criteriaBuilder.createCriteriaUpdate(ScheduleEntry.class);
         Root<ScheduleEntry> root = criteriaUpdate.from(ScheduleEntry.class);
+        Path<String> semesterCode = root.get("semesterCode");
         criteriaUpdate.set("course", record.getCourse());
         criteriaUpdate.set("lecturer", record.getLecturer());
-        criteriaUpdate.set("semester", record.getSemester());
         criteriaUpdate.set("student", record.getStudent());
         criteriaUpdate.set("location", record.getLocation());
         criteriaUpdate.set("time", record.getTime());
-        criteriaUpdate.where(criteriaBuilder.equal(root.get("entryId"), record.getEntryId()));
+        criteriaUpdate.where(criteriaBuilder.equal(root.get("entryId"), record.getEntryId()),
+                semesterId == null ? criteriaBuilder.isNull(semesterCode) : criteriaBuilder.equal(semesterCode, semesterId));
 
-        return session.createQuery(criteriaUpdate).executeUpdate();
+        int rowsUpdated = session.createQuery(criteriaUpdate).executeUpdate();
+        if (rowsUpdated > 0 || super.deleteRecord(String.valueOf(record.getEntryId())) == 0) {
+            return rowsUpdated;
+        }
+        return session.createNativeQuery(MOVE_RECORD_QUERY)
+                .addSynchronizedEntityClass(ScheduleEntry.class)
+                .setParameter("entryId", record.getEntryId())
+                .setParameter("studentId", record.getStudent() == null ? null : record.getStudent().getStudentId(), IntegerType.INSTANCE)
+                .setParameter("lecturerId", record.getLecturer() == null ? null : record.getLecturer().getLecturerId(), IntegerType.INSTANCE)
+                .setParameter("courseId", record.getCourse() == null ? null : record.getCourse().getCourseId(), IntegerType.INSTANCE)
+                .setParameter("time", record.getTime(), LongType.INSTANCE)
+                .setParameter("location", record.getLocation(), StringType.INSTANCE)
+                .setParameter("semesterId", semesterId, StringType.INSTANCE)
+                .executeUpdate();
     }
 
     @Override
@@ -64,54 +122,265 @@ public class ScheduleEntryDAOImpl extends AbstractDAO<ScheduleEntry> {
 
     @Override
     public List<ScheduleEntry> searchRecords(String searchCriterion) throws RuntimeException {
+        return super.searchRecords(searchCriterion);
+    }
+
+    @Override
+    protected Map<String, Expression<?>> getProjection(Root<ScheduleEntry> root) {
+        Map<String, Expression<?>> projection = new LinkedHashMap<>();
+        projection.put("entryId", root.get("entryId"));
+        projection.put("studentId", root.get("student").get("studentId"));
+        projection.put("lecturerId", root.get("lecturer").get("lecturerId"));
+        projection.put("courseId", root.get("course").get("courseId"));
+        projection.put("time", root.get("time"));
+        projection.put("location", root.get("location"));
+        projection.put("semesterId", root.get("semesterCode"));
+        return projection;
+    }
+
+    /**
+     * Course, lecturer, student and semester of entry can be embedded under these names
+     */
+    @Override
+    protected Map<String, Expression<?>> getExpansionProjection(Root<ScheduleEntry> root, String expansion) {
+        Map<String, Expression<?>> projection = new LinkedHashMap<>();
+        switch (expansion) {
+            case "course":
+                Join<ScheduleEntry, Course> course = root.join("course", JoinType.LEFT);
+                projection.put("courseId", course.get("courseId"));
+                projection.put("courseTitle", course.get("courseTitle"));
+                projection.put("courseDescription", course.get("courseDescription"));
+                return projection;
+            case "lecturer":
+                Join<ScheduleEntry, Lecturer> lecturer = root.join("lecturer", JoinType.LEFT);
+                projection.put("lecturerId", lecturer.get("lecturerId"));
+                projection.put("lecturerName", lecturer.get("lecturerName"));
+                projection.put("dateOfBirth", lecturer.get("dateOfBirth"));
+                projection.put("numericAcademicRank", lecturer.get("numericRankCode"));
+                return projection;
+            case "student":
+                Join<ScheduleEntry, Student> student = root.join("student", JoinType.LEFT);
+                projection.put("studentId", student.get("studentId"));
+                projection.put("studentName", student.get("studentName"));
+                projection.put("dateOfBirth", student.get("dateOfBirth"));
+                return projection;
+            case "semester":
+                Join<ScheduleEntry, Semester> semester = root.join("semester", JoinType.LEFT);
+                projection.put("entryId", semester.get("entryId"));
+                projection.put("semesterId", semester.get("semesterId"));
+                projection.put("semesterName", semester.get("semesterName"));
+                projection.put("semesterYear", semester.get("semesterYear"));
+                projection.put("semesterStartTime", semester.get("semesterStartTime"));
+                projection.put("semesterEndTime", semester.get("semesterEndTime"));
+                return projection;
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    protected List<Expression<String>> getSearchColumns(Root<ScheduleEntry> root) {
+        return Arrays.asList(root.<String>get("location"), root.<String>get("semesterCode"));
+    }
+
+    @Override
+    protected Predicate getSearchPredicate(CriteriaBuilder criteriaBuilder, Root<ScheduleEntry> root, String searchCriterion) {
+        if (NumberUtils.isParsable(searchCriterion)) {
+            return criteriaBuilder.equal(root.get("course").get("courseId"), Integer.parseInt(searchCriterion));
+        }
+        return super.getSearchPredicate(criteriaBuilder, root, searchCriterion);
+    }
+
+    @Override
+    public Long getNumberOfTakenCoursesForStudent(Integer studentId, String semesterId) {
         Session currentSession = sessionFactory.getCurrentSession();
 
         CriteriaBuilder criteriaBuilder = currentSession.getCriteriaBuilder();
-        CriteriaQuery<ScheduleEntry> criteriaQuery = criteriaBuilder.createQuery(ScheduleEntry.class);
+        CriteriaQuery<Long> criteriaQuery = criteriaBuilder.createQuery(Long.class);
         Root<ScheduleEntry> root = criteriaQuery.from(ScheduleEntry.class);
 
-        Predicate finalPredicate;
+        Predicate predicateStudentId = criteriaBuilder.equal(root.get("student").get("studentId"), studentId);
+        Predicate predicateSemesterId = criteriaBuilder.equal(root.get("semesterCode"), semesterId);
+        criteriaQuery.select(criteriaBuilder.countDistinct(root.get("course").get("courseId")))
+                .where(criteriaBuilder.and(predicateStudentId, predicateSemesterId));
 
-        if (NumberUtils.isParsable(searchCriterion)) {
-            finalPredicate = criteriaBuilder.equal(root.get("course").get("courseId"), Integer.parseInt(searchCriterion));
-        } else {
-            Predicate predicateForSemesterId = criteriaBuilder.like(criteriaBuilder.lower(root.get("semester").get("semesterId")), "%" + searchCriterion.toLowerCase() + "%");
-            Predicate predicateForLocation = criteriaBuilder.like(criteriaBuilder.lower(root.get("location")), "%" + searchCriterion.toLowerCase() + "%");
-            finalPredicate = criteriaBuilder.or(predicateForLocation, predicateForSemesterId);
+        Query<Long> query = currentSession.createQuery(criteriaQuery);
+        return query.getSingleResult();
+    }
+
+    @Override
+    public void lockCourseCapacities(Collection<ScheduleEntry> entries) {
+        Set<Integer> courseIds = new TreeSet<>();
+        Set<String> semesterIds = new TreeSet<>();
+        for (ScheduleEntry entry : entries) {
+            if (entry.getCourse() != null && entry.getCourse().getCourseId() != null
+                    && entry.getSemester() != null && entry.getSemester().getSemesterId() != null) {
+                courseIds.add(entry.getCourse().getCourseId());
+                semesterIds.add(entry.getSemester().getSemesterId());
+            }
+        }
+        if (courseIds.isEmpty()) {
+            return;
         }
+        sessionFactory.getCurrentSession().createNativeQuery(LOCK_COURSE_CAPACITIES_QUERY)
+                .addSynchronizedQuerySpace("course_capacities")
+                .setParameterList("courseIds", courseIds)
+                .setParameterList("semesterIds", semesterIds)
+                .getResultList();
+    }
 
-        criteriaQuery.select(root).where(finalPredicate);
-        criteriaQuery.orderBy(criteriaBuilder.asc(root.get("entryId")));
+    /**
+     * Locks course load of student in semester until the end of current transaction and checks whether
+     * student may take the course. Course loads are maintained by trigger on schedule_of_classes, so
+     * concurrent registrations of the same student wait for the lock and then see committed course count.
+     * Course is checked by separate statement, so it is read after the lock is acquired.
+     *
+     * @param studentId       id of student
+     * @param semesterId      id of semester
+     * @param courseId        id of course being taken
+     * @param maxCourseNumber maximum number of distinct courses per student in single semester
+     * @return true if student already takes the course in semester or takes less than maxCourseNumber courses
+     */
+    @Override
+    public boolean lockCourseLoad(Integer studentId, String semesterId, Integer courseId, long maxCourseNumber) {
+        Session currentSession = sessionFactory.getCurrentSession();
 
-        Query<ScheduleEntry> query = currentSession.createQuery(criteriaQuery);
-        return query.getResultList();
+        Number courseCount = (Number) currentSession.createNativeQuery(LOCK_COURSE_LOAD_QUERY)
+                .addSynchronizedQuerySpace("student_course_loads")
+                .setParameter("studentId", studentId)
+                .setParameter("semesterId", semesterId)
+                .getSingleResult();
+        if (courseCount.longValue() < maxCourseNumber) {
+            return true;
+        }
+        return (Boolean) currentSession.createNativeQuery(COURSE_TAKEN_QUERY)
+                .addSynchronizedQuerySpace("schedule_of_classes")
+                .setParameter("studentId", studentId)
+                .setParameter("semesterId", semesterId)
+                .setParameter("courseId", courseId)
+                .getSingleResult();
     }
 
-    public Long getNumberOfTakenCoursesForStudent(Integer studentId, String semesterId) {
+    /**
+     * Locks course load of student in semester until the end of current transaction and checks whether
+     * student may take all of courses, courses that are already taken are counted by separate statement
+     * after the lock is acquired.
+     *
+     * @param studentId       id of student
+     * @param semesterId      id of semester
+     * @param courseIds       ids of courses being taken
+     * @param maxCourseNumber maximum number of distinct courses per student in single semester
+     * @return true if student takes at most maxCourseNumber distinct courses with courses being taken
+     */
+    @Override
+    public boolean lockCourseLoad(Integer studentId, String semesterId, Collection<Integer> courseIds, long maxCourseNumber) {
+        Session currentSession = sessionFactory.getCurrentSession();
+
+        Number courseCount = (Number) currentSession.createNativeQuery(LOCK_COURSE_LOAD_QUERY)
+                .addSynchronizedQuerySpace("student_course_loads")
+                .setParameter("studentId", studentId)
+                .setParameter("semesterId", semesterId)
+                .getSingleResult();
+        if (courseCount.longValue() + courseIds.size() <= maxCourseNumber) {
+            return true;
+        }
+        Number takenCourseCount = (Number) currentSession.createNativeQuery(TAKEN_COURSES_COUNT_QUERY)
+                .addSynchronizedQuerySpace("schedule_of_classes")
+                .setParameter("studentId", studentId)
+                .setParameter("semesterId", semesterId)
+                .setParameterList("courseIds", courseIds)
+                .getSingleResult();
+        return courseCount.longValue() + courseIds.size() - takenCourseCount.longValue() <= maxCourseNumber;
+    }
+
+    @Override
+    public List<Tuple> getSemesterRecordProjections(String semesterId) {
         Session currentSession = sessionFactory.getCurrentSession();
 
         CriteriaBuilder criteriaBuilder = currentSession.getCriteriaBuilder();
-        CriteriaQuery<Long> criteriaQuery = criteriaBuilder.createQuery(Long.class);
-        Root<ScheduleEntry> mainRoot = criteriaQuery.from(ScheduleEntry.class);
+        CriteriaQuery<Tuple> criteriaQuery = criteriaBuilder.createTupleQuery();
+        Root<ScheduleEntry> root = criteriaQuery.from(ScheduleEntry.class);
+        criteriaQuery.multiselect(toSelections(getProjection(root)))
+                .where(criteriaBuilder.equal(root.get("semesterCode"), semesterId))
+                .orderBy(criteriaBuilder.asc(root.get("time")), criteriaBuilder.asc(root.get("entryId")));
 
-        Subquery<Long> sub = criteriaQuery.subquery(Long.class);
-        Root<ScheduleEntry> root = sub.from(ScheduleEntry.class);
+        return currentSession.createQuery(criteriaQuery).getResultList();
+    }
 
-        sub.select(criteriaBuilder.countDistinct(root.get("course").get("courseId")));
+    /**
+     * Course load row is locked by the same statement as in {@link #lockCourseLoad(Integer, String, Integer, long)},
+     * entries are read by separate statement, which sees rows committed while it waited for the lock
+     */
+    @Override
+    public List<Tuple> lockStudentRecordProjections(Integer studentId, String semesterId) {
+        Session currentSession = sessionFactory.getCurrentSession();
 
-        Predicate predicateStudentId = criteriaBuilder.equal(root.get("student").get("studentId"), studentId);
-        Predicate predicateSemesterId = criteriaBuilder.equal(root.get("semester").get("semesterId"), semesterId);
-        sub.where(criteriaBuilder.and(predicateStudentId, predicateSemesterId));
+        currentSession.createNativeQuery(LOCK_COURSE_LOAD_QUERY)
+                .addSynchronizedQuerySpace("student_course_loads")
+                .setParameter("studentId", studentId)
+                .setParameter("semesterId", semesterId)
+                .getSingleResult();
+        CriteriaBuilder criteriaBuilder = currentSession.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteriaQuery = criteriaBuilder.createTupleQuery();
+        Root<ScheduleEntry> root = criteriaQuery.from(ScheduleEntry.class);
+        criteriaQuery.multiselect(toSelections(getProjection(root)))
+                .where(criteriaBuilder.equal(root.get("student").get("studentId"), studentId),
+                        criteriaBuilder.equal(root.get("semesterCode"), semesterId))
+                .orderBy(criteriaBuilder.asc(root.get("time")), criteriaBuilder.asc(root.get("entryId")));
 
-        sub.groupBy(root.get("semester").get("semesterId"));
+        return currentSession.createQuery(criteriaQuery).getResultList();
+    }
 
-        CriteriaBuilder.Coalesce<Long> coalesce = criteriaBuilder.coalesce();
-        coalesce.value(sub);
-        coalesce.value((long) 0);
+    /**
+     * Entries are read in chunks seeking past (time, entry id) of the last entry of previous chunk,
+     * so every chunk is a range scan of time index and no cursor is kept open between chunks.
+     */
+    @Override
+    public void scrollFilteredRecordProjections(ScheduleEntryFilter filter, Consumer<Tuple> recordConsumer) {
+        Session currentSession = sessionFactory.getCurrentSession();
+        Tuple lastRecord = null;
+        List<Tuple> chunk;
+        do {
+            CriteriaBuilder criteriaBuilder = currentSession.getCriteriaBuilder();
+            CriteriaQuery<Tuple> criteriaQuery = criteriaBuilder.createTupleQuery();
+            Root<ScheduleEntry> root = criteriaQuery.from(ScheduleEntry.class);
+            List<Predicate> predicates = getFilterPredicates(criteriaBuilder, root, filter);
+            if (lastRecord != null) {
+                Long lastTime = lastRecord.get("time", Long.class);
+                predicates.add(criteriaBuilder.or(
+                        criteriaBuilder.greaterThan(root.<Long>get("time"), lastTime),
+                        criteriaBuilder.and(
+                                criteriaBuilder.equal(root.get("time"), lastTime),
+                                criteriaBuilder.greaterThan(root.<Integer>get("entryId"), lastRecord.get("entryId", Integer.class)))));
+            }
+            criteriaQuery.multiselect(toSelections(getProjection(root)))
+                    .where(predicates.toArray(new Predicate[0]))
+                    .orderBy(criteriaBuilder.asc(root.get("time")), criteriaBuilder.asc(root.get("entryId")));
 
-        criteriaQuery.select(coalesce);
+            chunk = currentSession.createQuery(criteriaQuery)
+                    .setMaxResults(FILTERED_RECORDS_CHUNK_SIZE)
+                    .getResultList();
+            chunk.forEach(recordConsumer);
+            if (!chunk.isEmpty()) {
+                lastRecord = chunk.get(chunk.size() - 1);
+            }
+        } while (chunk.size() == FILTERED_RECORDS_CHUNK_SIZE);
+    }
 
-        Query<Long> query = currentSession.createQuery(criteriaQuery);
-        return query.getSingleResult();
+    private static List<Predicate> getFilterPredicates(CriteriaBuilder criteriaBuilder, Root<ScheduleEntry> root, ScheduleEntryFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getFrom() != null) {
+            predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.<Long>get("time"), filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            predicates.add(criteriaBuilder.lessThan(root.<Long>get("time"), filter.getTo()));
+        }
+        if (filter.getLocation() != null) {
+            predicates.add(criteriaBuilder.equal(criteriaBuilder.lower(root.<String>get("location")), filter.getLocation().trim().toLowerCase(Locale.ROOT)));
+        }
+        if (filter.getLecturerId() != null) {
+            predicates.add(criteriaBuilder.equal(root.get("lecturer").get("lecturerId"), filter.getLecturerId()));
+        }
+        return predicates;
     }
 }
@@ -0,0 +1,234 @@
+package com.rdlab.universityregistrar.model.dao.implementation;
+
+import com.rdlab.universityregistrar.model.dao.AbstractJdbcDAO;
+import com.rdlab.universityregistrar.model.dao.DAOBackend;
+import com.rdlab.universityregistrar.model.dao.ProjectionShape;
+import com.rdlab.universityregistrar.model.dao.RecordTuple;
+import com.rdlab.universityregistrar.model.dao.ScheduleEntryDAO;
+import com.rdlab.universityregistrar.model.dao.ScheduleEntryFilter;
+import com.rdlab.universityregistrar.model.entity.*;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.Tuple;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+@Repository
+@DAOBackend(entity = "scheduleEntry", value = DAOBackend.JDBC)
+public class ScheduleEntryJdbcDAOImpl extends AbstractJdbcDAO<ScheduleEntry> implements ScheduleEntryDAO {
+    private static final String SCHEDULE_ORDER_COLUMNS = "time, entry_id";
+
+    public ScheduleEntryJdbcDAOImpl() {
+        super.setClazz(ScheduleEntry.class);
+        super.loadQueries("db/HibernateHqlQueries/ScheduleEntryQueries.properties");
+        super.setRecordName("ScheduleEntry");
+        super.setRecordsName("ScheduleEntries");
+        super.addRecordColumn("entry_id", "entryId");
+        super.addRecordColumn("student_id", "studentId");
+        super.addRecordColumn("lecturer_id", "lecturerId");
+        super.addRecordColumn("course_id", "courseId");
+        super.addRecordColumn("time", "time");
+        super.addRecordColumn("location", "location");
+        super.addRecordColumn("semester_id", "semesterId");
+        super.setPrimaryKey("entryId");
+        super.setGeneratedKey("entryId");
+        super.setGeneratedKeyColumn("entry_id");
+        super.setAddQueryParameters("studentId", "lecturerId", "courseId", "time", "location", "semesterId");
+        super.setUpdateQueryParameters("studentId", "lecturerId", "courseId", "time", "location", "semesterId", "entryId");
+    }
+
+    /**
+     * Associations are mapped as references holding only ids, referenced records are not read
+     */
+    @Override
+    protected ScheduleEntry mapRecord(ResultSet resultSet) throws SQLException {
+        String semesterId = resultSet.getString("semester_id");
+        return ScheduleEntry.builder()
+                .entryId(resultSet.getObject("entry_id", Integer.class))
+                .student(Student.builder().studentId(resultSet.getObject("student_id", Integer.class)).build())
+                .lecturer(Lecturer.builder().lecturerId(resultSet.getObject("lecturer_id", Integer.class)).build())
+                .course(Course.builder().courseId(resultSet.getObject("course_id", Integer.class)).build())
+                .time(resultSet.getObject("time", Long.class))
+                .location(resultSet.getString("location"))
+                .semester(Semester.builder().semesterId(semesterId).build())
+                .semesterCode(semesterId)
+                .build();
+    }
+
+    @Override
+    protected MapSqlParameterSource getRecordParameters(ScheduleEntry record) {
+        return new MapSqlParameterSource("entryId", record.getEntryId())
+                .addValue("studentId", record.getStudent() == null ? null : record.getStudent().getStudentId(), Types.INTEGER)
+                .addValue("lecturerId", record.getLecturer() == null ? null : record.getLecturer().getLecturerId(), Types.INTEGER)
+                .addValue("courseId", record.getCourse() == null ? null : record.getCourse().getCourseId(), Types.INTEGER)
+                .addValue("time", record.getTime(), Types.BIGINT)
+                .addValue("location", record.getLocation())
+                .addValue("semesterId", record.getSemester() == null ? null : record.getSemester().getSemesterId(), Types.VARCHAR);
+    }
+
+    /**
+     * Update entry in place if it stays in its semester. Entry moved to another semester is deleted and inserted
+     * again with the same id, as update query can not move row to another partition,
+     * see {@link ScheduleEntryDAOImpl#updateRecord(ScheduleEntry)}
+     */
+    @Override
+    public int updateRecord(ScheduleEntry record) throws RuntimeException {
+        Optional<ScheduleEntry> storedRecord = findRecord(String.valueOf(record.getEntryId()));
+        if (!storedRecord.isPresent()) {
+            return 0;
+        }
+        String semesterId = record.getSemester() == null ? null : record.getSemester().getSemesterId();
+        if (Objects.equals(storedRecord.get().getSemester().getSemesterId(), semesterId)) {
+            return super.updateRecord(record);
+        }
+        deleteRecord(String.valueOf(record.getEntryId()));
+        MapSqlParameterSource parameters = getRecordParameters(record);
+        return getJdbcTemplate().update(getQuery("moveScheduleEntryQuery"), new SqlParameterValue(Types.INTEGER, record.getEntryId()),
+                new SqlParameterValue(Types.INTEGER, parameters.getValue("studentId")), new SqlParameterValue(Types.INTEGER, parameters.getValue("lecturerId")),
+                new SqlParameterValue(Types.INTEGER, parameters.getValue("courseId")), new SqlParameterValue(Types.BIGINT, record.getTime()),
+                record.getLocation(), new SqlParameterValue(Types.VARCHAR, semesterId));
+    }
+
+    @Override
+    protected String getSearchQuery(String searchCriterion) {
+        if (NumberUtils.isParsable(searchCriterion)) {
+            return getQuery("searchScheduleEntriesByCourseQuery");
+        }
+        return super.getSearchQuery(searchCriterion);
+    }
+
+    @Override
+    protected Object[] getSearchParameters(String searchCriterion) {
+        if (NumberUtils.isParsable(searchCriterion)) {
+            return new Object[]{Integer.parseInt(searchCriterion)};
+        }
+        return super.getSearchParameters(searchCriterion);
+    }
+
+    @Override
+    public Long getNumberOfTakenCoursesForStudent(Integer studentId, String semesterId) {
+        return getJdbcTemplate().queryForObject(getQuery("numberOfTakenCoursesForStudentQuery"), Long.class, studentId, semesterId);
+    }
+
+    /**
+     * Locks capacities of courses of schedule entries in order of course and semester,
+     * see {@link ScheduleEntryDAOImpl#lockCourseCapacities(Collection)}
+     */
+    @Override
+    public void lockCourseCapacities(Collection<ScheduleEntry> entries) {
+        Set<Integer> courseIds = new TreeSet<>();
+        Set<String> semesterIds = new TreeSet<>();
+        for (ScheduleEntry entry : entries) {
+            if (entry.getCourse() != null && entry.getCourse().getCourseId() != null
+                    && entry.getSemester() != null && entry.getSemester().getSemesterId() != null) {
+                courseIds.add(entry.getCourse().getCourseId());
+                semesterIds.add(entry.getSemester().getSemesterId());
+            }
+        }
+        if (courseIds.isEmpty()) {
+            return;
+        }
+        getNamedParameterJdbcTemplate().queryForList(getQuery("lockCourseCapacitiesQuery"),
+                new MapSqlParameterSource("courseIds", courseIds).addValue("semesterIds", semesterIds), Integer.class);
+    }
+
+    /**
+     * Locks course load of student in semester until the end of current transaction and checks whether
+     * student may take the course, see {@link ScheduleEntryDAOImpl#lockCourseLoad(Integer, String, Integer, long)}
+     */
+    @Override
+    public boolean lockCourseLoad(Integer studentId, String semesterId, Integer courseId, long maxCourseNumber) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("studentId", studentId)
+                .addValue("semesterId", semesterId)
+                .addValue("courseId", courseId);
+        Long courseCount = getNamedParameterJdbcTemplate().queryForObject(getQuery("lockCourseLoadQuery"), parameters, Long.class);
+        if (courseCount != null && courseCount < maxCourseNumber) {
+            return true;
+        }
+        return Boolean.TRUE.equals(getNamedParameterJdbcTemplate().queryForObject(getQuery("courseTakenQuery"), parameters, Boolean.class));
+    }
+
+    /**
+     * Locks course load of student in semester until the end of current transaction and checks whether
+     * student may take all of courses, see {@link ScheduleEntryDAOImpl#lockCourseLoad(Integer, String, Collection, long)}
+     */
+    @Override
+    public boolean lockCourseLoad(Integer studentId, String semesterId, Collection<Integer> courseIds, long maxCourseNumber) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("studentId", studentId)
+                .addValue("semesterId", semesterId)
+                .addValue("courseIds", courseIds);
+        Long courseCount = getNamedParameterJdbcTemplate().queryForObject(getQuery("lockCourseLoadQuery"), parameters, Long.class);
+        long count = courseCount == null ? 0 : courseCount;
+        if (count + courseIds.size() <= maxCourseNumber) {
+            return true;
+        }
+        Long takenCourseCount = getNamedParameterJdbcTemplate().queryForObject(getQuery("takenCoursesCountQuery"), parameters, Long.class);
+        return count + courseIds.size() - (takenCourseCount == null ? 0 : takenCourseCount) <= maxCourseNumber;
+    }
+
+    /**
+     * Locks course load of student in semester until the end of current transaction and gets entries of student,
+     * see {@link ScheduleEntryDAOImpl#lockStudentRecordProjections(Integer, String)}
+     */
+    @Override
+    public List<Tuple> lockStudentRecordProjections(Integer studentId, String semesterId) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("studentId", studentId)
+                .addValue("semesterId", semesterId);
+        getNamedParameterJdbcTemplate().queryForObject(getQuery("lockCourseLoadQuery"), parameters, Long.class);
+        return getNamedParameterJdbcTemplate().query(getProjectionQuery(getQuery("getStudentScheduleEntriesQuery"), SCHEDULE_ORDER_COLUMNS,
+                ProjectionShape.defaultShape()), parameters, RecordTuple.rowMapper());
+    }
+
+    @Override
+    public List<Tuple> getSemesterRecordProjections(String semesterId) {
+        return getNamedParameterJdbcTemplate().query(getProjectionQuery(getQuery("getSemesterScheduleEntriesQuery"), SCHEDULE_ORDER_COLUMNS,
+                ProjectionShape.defaultShape()), new MapSqlParameterSource("semesterId", semesterId), RecordTuple.rowMapper());
+    }
+
+    /**
+     * Query is composed of conditions of filter that are set, so planner sees only conditions that apply
+     * and uses time index for time range. Rows are streamed from single cursor.
+     */
+    @Override
+    public void scrollFilteredRecordProjections(ScheduleEntryFilter filter, Consumer<Tuple> recordConsumer) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        List<String> conditions = new ArrayList<>();
+        if (filter.getFrom() != null) {
+            conditions.add(getQuery("fromCondition"));
+            parameters.addValue("from", filter.getFrom(), Types.BIGINT);
+        }
+        if (filter.getTo() != null) {
+            conditions.add(getQuery("toCondition"));
+            parameters.addValue("to", filter.getTo(), Types.BIGINT);
+        }
+        if (filter.getLocation() != null) {
+            conditions.add(getQuery("locationCondition"));
+            parameters.addValue("location", filter.getLocation().trim().toLowerCase(Locale.ROOT));
+        }
+        if (filter.getLecturerId() != null) {
+            conditions.add(getQuery("lecturerCondition"));
+            parameters.addValue("lecturerId", filter.getLecturerId(), Types.INTEGER);
+        }
+        String query = getQuery("filteredScheduleEntriesQuery")
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions));
+        RowMapper<Tuple> rowMapper = RecordTuple.rowMapper();
+        new NamedParameterJdbcTemplate(getScrollJdbcTemplate()).query(getProjectionQuery(query, SCHEDULE_ORDER_COLUMNS, ProjectionShape.defaultShape()), parameters,
+                (RowCallbackHandler) resultSet -> recordConsumer.accept(rowMapper.mapRow(resultSet, resultSet.getRow())));
+    }
+}
@@ -0,0 +1,32 @@
+package com.rdlab.universityregistrar.model.dao.implementation;
+
+import com.rdlab.universityregistrar.model.dao.SchedulePartitionDAO;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public class SchedulePartitionDAOImpl implements SchedulePartitionDAO {
+    private static final String SET_LOCK_TIMEOUT_QUERY = "SELECT set_config('lock_timeout', :lockTimeout, true)";
+    private static final String CREATE_PARTITION_QUERY = "SELECT CAST(create_schedule_partition(:semesterId) AS text)";
+
+    @Autowired
+    private SessionFactory sessionFactory;
+    @Value("${semester.partitionLockTimeout:2s}")
+    private String lockTimeout = "2s";
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Override
+    public void createSchedulePartition(String semesterId) throws RuntimeException {
+        sessionFactory.getCurrentSession().createNativeQuery(SET_LOCK_TIMEOUT_QUERY)
+                .setParameter("lockTimeout", lockTimeout)
+                .getSingleResult();
+        sessionFactory.getCurrentSession().createNativeQuery(CREATE_PARTITION_QUERY)
+                .setParameter("semesterId", semesterId)
+                .addSynchronizedQuerySpace("schedule_of_classes")
+                .getSingleResult();
+    }
+}
@@ -0,0 +1,56 @@
+package com.rdlab.universityregistrar.model.dao.implementation;
+
+import com.rdlab.universityregistrar.model.dao.SearchDAO;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.Tuple;
+import java.util.List;
+
+@Repository
+public class SearchDAOImpl implements SearchDAO {
+    /**
+     * Every branch matches the same tsvector expression its GIN index is built on (see V1.16 migration),
+     * so each table is searched with bitmap index scan.
+     */
+    private static final String SEARCH_ALL_RECORDS_QUERY =
+            "SELECT hits.\"entityType\", hits.\"entityId\", hits.title, hits.rank FROM (" +
+            " SELECT 'student' AS \"entityType\", CAST(student_id AS text) AS \"entityId\", name AS title," +
+            "  ts_rank(to_tsvector('simple', coalesce(name, '')), to_tsquery('simple', :query)) AS rank" +
+            "  FROM students" +
+            "  WHERE to_tsvector('simple', coalesce(name, '')) @@ to_tsquery('simple', :query)" +
+            " UNION ALL" +
+            " SELECT 'lecturer', CAST(lecturer_id AS text), name," +
+            "  ts_rank(to_tsvector('simple', coalesce(name, '')), to_tsquery('simple', :query))" +
+            "  FROM lecturers" +
+            "  WHERE to_tsvector('simple', coalesce(name, '')) @@ to_tsquery('simple', :query)" +
+            " UNION ALL" +
+            " SELECT 'course', CAST(course_id AS text), course_title," +
+            "  ts_rank(setweight(to_tsvector('simple', coalesce(course_title, '')), 'A') || setweight(to_tsvector('simple', coalesce(course_description, '')), 'B'), to_tsquery('simple', :query))" +
+            "  FROM courses" +
+            "  WHERE (setweight(to_tsvector('simple', coalesce(course_title, '')), 'A') || setweight(to_tsvector('simple', coalesce(course_description, '')), 'B')) @@ to_tsquery('simple', :query)" +
+            " UNION ALL" +
+            " SELECT 'semester', CAST(semester_id AS text), name," +
+            "  ts_rank(setweight(to_tsvector('simple', coalesce(semester_id, '')), 'A') || setweight(to_tsvector('simple', coalesce(name, '')), 'B'), to_tsquery('simple', :query))" +
+            "  FROM semesters" +
+            "  WHERE (setweight(to_tsvector('simple', coalesce(semester_id, '')), 'A') || setweight(to_tsvector('simple', coalesce(name, '')), 'B')) @@ to_tsquery('simple', :query)" +
+            ") hits" +
+            " ORDER BY hits.rank DESC, hits.\"entityType\", hits.\"entityId\"" +
+            " LIMIT :limit";
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Tuple> searchAllRecords(String fullTextQuery, int limit) throws RuntimeException {
+        Session session = sessionFactory.getCurrentSession();
+
+        return session.createNativeQuery(SEARCH_ALL_RECORDS_QUERY, Tuple.class)
+                .setParameter("query", fullTextQuery)
+                .setParameter("limit", limit)
+                .getResultList();
+    }
+}
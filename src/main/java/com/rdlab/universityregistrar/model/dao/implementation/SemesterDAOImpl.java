@@ -2,6 +2,7 @@ package com.rdlab.universityregistrar.model.dao.implementation;
 
 import com.rdlab.universityregistrar.model.dao.AbstractDAO;
 import com.rdlab.universityregistrar.model.dao.DAO;
+import com.rdlab.universityregistrar.model.dao.DAOBackend;
 import com.rdlab.universityregistrar.model.entity.Semester;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
@@ -10,9 +11,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.criteria.*;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Repository
+@DAOBackend(entity = "semester", value = DAOBackend.HIBERNATE)
 public class SemesterDAOImpl extends AbstractDAO<Semester> {
 
     @Autowired
@@ -21,6 +26,7 @@ public class SemesterDAOImpl extends AbstractDAO<Semester> {
     public SemesterDAOImpl() {
         super.setClazz(Semester.class);
         super.setPrimaryKey("semesterId");
+        super.setQueryCacheRegion("semesterQueries");
     }
 
     @Override
@@ -34,7 +40,7 @@ public class SemesterDAOImpl extends AbstractDAO<Semester> {
     }
 
     @Override
-    public Semester getRecord(String recordId) throws RuntimeException {
+    protected Query<Semester> createRecordQuery(String recordId) {
         Session session = sessionFactory.getCurrentSession();
 
         CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
@@ -43,7 +49,8 @@ public class SemesterDAOImpl extends AbstractDAO<Semester> {
         criteriaQuery.select(root).where(criteriaBuilder.equal(root.get("semesterId"), recordId));
 
         Query<Semester> query = session.createQuery(criteriaQuery);
-        return query.getSingleResult();
+        applyQueryCache(query);
+        return query;
     }
 
     @Override
@@ -70,18 +77,28 @@ public class SemesterDAOImpl extends AbstractDAO<Semester> {
 
     @Override
     public List<Semester> searchRecords(String searchCriterion) throws RuntimeException {
-        Session currentSession = sessionFactory.getCurrentSession();
-
-        CriteriaBuilder criteriaBuilder = currentSession.getCriteriaBuilder();
-        CriteriaQuery<Semester> criteriaQuery = criteriaBuilder.createQuery(Semester.class);
-        Root<Semester> root = criteriaQuery.from(Semester.class);
-        Predicate predicateForSemesterName = criteriaBuilder.like(criteriaBuilder.lower(root.get("semesterName")), "%" + searchCriterion.toLowerCase() + "%");
+        return super.searchRecords(searchCriterion);
+    }
 
+    @Override
+    protected Map<String, Expression<?>> getProjection(Root<Semester> root) {
+        Map<String, Expression<?>> projection = new LinkedHashMap<>();
+        projection.put("entryId", root.get("entryId"));
+        projection.put("semesterId", root.get("semesterId"));
+        projection.put("semesterName", root.get("semesterName"));
+        projection.put("semesterYear", root.get("semesterYear"));
+        projection.put("semesterStartTime", root.get("semesterStartTime"));
+        projection.put("semesterEndTime", root.get("semesterEndTime"));
+        return projection;
+    }
 
-        criteriaQuery.select(root).where(predicateForSemesterName);
-        criteriaQuery.orderBy(criteriaBuilder.asc(root.get("entryId")));
+    @Override
+    protected List<Expression<String>> getSearchColumns(Root<Semester> root) {
+        return Collections.singletonList(root.<String>get("semesterName"));
+    }
 
-        Query<Semester> query = currentSession.createQuery(criteriaQuery);
-        return query.getResultList();
+    @Override
+    protected Order getSearchOrder(CriteriaBuilder criteriaBuilder, Root<Semester> root) {
+        return criteriaBuilder.asc(root.get("entryId"));
     }
 }
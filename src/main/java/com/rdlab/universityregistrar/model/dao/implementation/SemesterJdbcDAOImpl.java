@@ -0,0 +1,66 @@
+package com.rdlab.universityregistrar.model.dao.implementation;
+
+import com.rdlab.universityregistrar.model.dao.AbstractJdbcDAO;
+import com.rdlab.universityregistrar.model.dao.DAOBackend;
+import com.rdlab.universityregistrar.model.entity.Semester;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+@Repository
+@DAOBackend(entity = "semester", value = DAOBackend.JDBC)
+public class SemesterJdbcDAOImpl extends AbstractJdbcDAO<Semester> {
+
+    public SemesterJdbcDAOImpl() {
+        super.setClazz(Semester.class);
+        super.loadQueries("db/HibernateHqlQueries/SemesterQueries.properties");
+        super.setRecordName("Semester");
+        super.setRecordsName("Semesters");
+        super.addRecordColumn("entry_id", "entryId");
+        super.addRecordColumn("semester_id", "semesterId");
+        super.addRecordColumn("name", "semesterName");
+        super.addRecordColumn("year", "semesterYear");
+        super.addRecordColumn("start_time", "semesterStartTime");
+        super.addRecordColumn("end_time", "semesterEndTime");
+        super.setPrimaryKey("semesterId");
+        super.setPrimaryKeyType(String.class);
+        super.setGeneratedKey("entryId");
+        super.setGeneratedKeyColumn("entry_id");
+        super.setAddQueryParameters("semesterId", "semesterName", "semesterYear", "semesterStartTime", "semesterEndTime");
+        super.setUpdateQueryParameters("semesterName", "semesterYear", "semesterStartTime", "semesterEndTime", "semesterId");
+        super.setQueryCacheRegion("semesterQueries");
+    }
+
+    @Override
+    protected Semester mapRecord(ResultSet resultSet) throws SQLException {
+        return Semester.builder()
+                .entryId(resultSet.getObject("entry_id", Integer.class))
+                .semesterId(resultSet.getString("semester_id"))
+                .semesterName(resultSet.getString("name"))
+                .semesterYear(resultSet.getObject("year", Integer.class))
+                .semesterStartTime(resultSet.getObject("start_time", Long.class))
+                .semesterEndTime(resultSet.getObject("end_time", Long.class))
+                .build();
+    }
+
+    /**
+     * Search query orders semesters by entry id
+     */
+    @Override
+    protected String getSearchOrderProperty() {
+        return "entryId";
+    }
+
+    @Override
+    protected MapSqlParameterSource getRecordParameters(Semester record) {
+        return new MapSqlParameterSource("entryId", record.getEntryId())
+                .addValue("semesterId", record.getSemesterId())
+                .addValue("semesterName", record.getSemesterName())
+                .addValue("semesterYear", record.getSemesterYear(), Types.INTEGER)
+                .addValue("semesterStartTime", record.getSemesterStartTime(), Types.BIGINT)
+                .addValue("semesterEndTime", record.getSemesterEndTime(), Types.BIGINT);
+    }
+}
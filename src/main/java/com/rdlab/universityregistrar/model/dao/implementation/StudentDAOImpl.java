@@ -2,6 +2,7 @@ package com.rdlab.universityregistrar.model.dao.implementation;
 
 import com.rdlab.universityregistrar.model.dao.AbstractDAO;
 import com.rdlab.universityregistrar.model.dao.DAO;
+import com.rdlab.universityregistrar.model.dao.DAOBackend;
 import com.rdlab.universityregistrar.model.entity.Student;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
@@ -10,9 +11,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.criteria.*;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Repository
+@DAOBackend(entity = "student", value = DAOBackend.HIBERNATE)
 public class StudentDAOImpl extends AbstractDAO<Student> {
 
     @Autowired
@@ -59,18 +64,20 @@ public class StudentDAOImpl extends AbstractDAO<Student> {
 
     @Override
     public List<Student> searchRecords(String searchCriterion) throws RuntimeException {
-        Session currentSession = sessionFactory.getCurrentSession();
-
-        CriteriaBuilder criteriaBuilder = currentSession.getCriteriaBuilder();
-        CriteriaQuery<Student> criteriaQuery = criteriaBuilder.createQuery(Student.class);
-        Root<Student> root = criteriaQuery.from(Student.class);
-        Predicate predicateForStudentName = criteriaBuilder.like(criteriaBuilder.lower(root.get("studentName")), "%" + searchCriterion.toLowerCase() + "%");
-
+        return super.searchRecords(searchCriterion);
+    }
 
-        criteriaQuery.select(root).where(predicateForStudentName);
-        criteriaQuery.orderBy(criteriaBuilder.asc(root.get("studentId")));
+    @Override
+    protected Map<String, Expression<?>> getProjection(Root<Student> root) {
+        Map<String, Expression<?>> projection = new LinkedHashMap<>();
+        projection.put("studentId", root.get("studentId"));
+        projection.put("studentName", root.get("studentName"));
+        projection.put("dateOfBirth", root.get("dateOfBirth"));
+        return projection;
+    }
 
-        Query<Student> query = currentSession.createQuery(criteriaQuery);
-        return query.getResultList();
+    @Override
+    protected List<Expression<String>> getSearchColumns(Root<Student> root) {
+        return Collections.singletonList(root.<String>get("studentName"));
     }
 }
@@ -0,0 +1,47 @@
+package com.rdlab.universityregistrar.model.dao.implementation;
+
+import com.rdlab.universityregistrar.model.dao.AbstractJdbcDAO;
+import com.rdlab.universityregistrar.model.dao.DAOBackend;
+import com.rdlab.universityregistrar.model.entity.Student;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+@Repository
+@DAOBackend(entity = "student", value = DAOBackend.JDBC)
+public class StudentJdbcDAOImpl extends AbstractJdbcDAO<Student> {
+
+    public StudentJdbcDAOImpl() {
+        super.setClazz(Student.class);
+        super.loadQueries("db/HibernateHqlQueries/StudentQueries.properties");
+        super.setRecordName("Student");
+        super.setRecordsName("Students");
+        super.addRecordColumn("student_id", "studentId");
+        super.addRecordColumn("name", "studentName");
+        super.addRecordColumn("date_of_birth", "dateOfBirth");
+        super.setPrimaryKey("studentId");
+        super.setGeneratedKey("studentId");
+        super.setGeneratedKeyColumn("student_id");
+        super.setAddQueryParameters("studentName", "dateOfBirth");
+        super.setUpdateQueryParameters("studentName", "dateOfBirth", "studentId");
+    }
+
+    @Override
+    protected Student mapRecord(ResultSet resultSet) throws SQLException {
+        return Student.builder()
+                .studentId(resultSet.getObject("student_id", Integer.class))
+                .studentName(resultSet.getString("name"))
+                .dateOfBirth(resultSet.getObject("date_of_birth", Long.class))
+                .build();
+    }
+
+    @Override
+    protected MapSqlParameterSource getRecordParameters(Student record) {
+        return new MapSqlParameterSource("studentId", record.getStudentId())
+                .addValue("studentName", record.getStudentName())
+                .addValue("dateOfBirth", record.getDateOfBirth(), Types.BIGINT);
+    }
+}
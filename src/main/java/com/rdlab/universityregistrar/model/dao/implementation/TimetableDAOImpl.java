@@ -0,0 +1,52 @@
+package com.rdlab.universityregistrar.model.dao.implementation;
+
+import com.rdlab.universityregistrar.model.dao.TimetableDAO;
+import com.rdlab.universityregistrar.model.entity.Lecturer;
+import com.rdlab.universityregistrar.model.entity.Student;
+import org.hibernate.SessionFactory;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Schedule entries are fetched through scheduleEntries association of student or lecturer. Academic rank and
+ * semester are referenced by non primary key columns and cannot be proxied, so they are fetched as well instead
+ * of being loaded by separate query per entry.
+ */
+@Repository
+public class TimetableDAOImpl implements TimetableDAO {
+    private static final String STUDENT_WITH_SCHEDULE_ENTRIES_QUERY = "SELECT DISTINCT s FROM Student s" +
+            " LEFT JOIN FETCH s.scheduleEntries e" +
+            " LEFT JOIN FETCH e.course" +
+            " LEFT JOIN FETCH e.lecturer l" +
+            " LEFT JOIN FETCH l.numericAcademicRank" +
+            " LEFT JOIN FETCH e.semester" +
+            " WHERE s.studentId = :studentId";
+    private static final String LECTURER_WITH_SCHEDULE_ENTRIES_QUERY = "SELECT DISTINCT l FROM Lecturer l" +
+            " LEFT JOIN FETCH l.numericAcademicRank" +
+            " LEFT JOIN FETCH l.scheduleEntries e" +
+            " LEFT JOIN FETCH e.course" +
+            " LEFT JOIN FETCH e.semester" +
+            " WHERE l.lecturerId = :lecturerId";
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    @Override
+    public Optional<Student> findStudentWithScheduleEntries(Integer studentId) throws RuntimeException {
+        return sessionFactory.getCurrentSession().createQuery(STUDENT_WITH_SCHEDULE_ENTRIES_QUERY, Student.class)
+                .setParameter("studentId", studentId)
+                .setHint(QueryHints.HINT_PASS_DISTINCT_THROUGH, false)
+                .uniqueResultOptional();
+    }
+
+    @Override
+    public Optional<Lecturer> findLecturerWithScheduleEntries(Integer lecturerId) throws RuntimeException {
+        return sessionFactory.getCurrentSession().createQuery(LECTURER_WITH_SCHEDULE_ENTRIES_QUERY, Lecturer.class)
+                .setParameter("lecturerId", lecturerId)
+                .setHint(QueryHints.HINT_PASS_DISTINCT_THROUGH, false)
+                .uniqueResultOptional();
+    }
+}
@@ -2,6 +2,9 @@ package com.rdlab.universityregistrar.model.dao.implementation;
 
 import com.rdlab.universityregistrar.model.dao.AbstractDAO;
 import com.rdlab.universityregistrar.model.dao.DAO;
+import com.rdlab.universityregistrar.model.dao.DAOBackend;
+import com.rdlab.universityregistrar.model.dao.UserDAO;
+import com.rdlab.universityregistrar.model.entity.Student;
 import com.rdlab.universityregistrar.model.entity.User;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
@@ -10,10 +13,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.criteria.*;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Repository
-public class UserDAOImpl extends AbstractDAO<User> {
+@DAOBackend(entity = "user", value = DAOBackend.HIBERNATE)
+public class UserDAOImpl extends AbstractDAO<User> implements UserDAO {
 
     @Autowired
     private SessionFactory sessionFactory;
@@ -34,7 +41,7 @@ public class UserDAOImpl extends AbstractDAO<User> {
     }
 
     @Override
-    public User getRecord(String recordId) throws RuntimeException {
+    protected Query<User> createRecordQuery(String recordId) {
         Session session = sessionFactory.getCurrentSession();
 
         CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
@@ -42,10 +49,10 @@ public class UserDAOImpl extends AbstractDAO<User> {
         Root<User> root = criteriaQuery.from(User.class);
         criteriaQuery.select(root).where(criteriaBuilder.equal(root.get("login"), recordId));
 
-        Query<User> query = session.createQuery(criteriaQuery);
-        return query.getSingleResult();
+        return session.createQuery(criteriaQuery);
     }
 
+    @Override
     public User getUserByStudentId(Integer studentId) {
         Session session = sessionFactory.getCurrentSession();
 
@@ -81,18 +88,43 @@ public class UserDAOImpl extends AbstractDAO<User> {
 
     @Override
     public List<User> searchRecords(String searchCriterion) throws RuntimeException {
-        Session currentSession = sessionFactory.getCurrentSession();
+        return super.searchRecords(searchCriterion);
+    }
 
-        CriteriaBuilder criteriaBuilder = currentSession.getCriteriaBuilder();
-        CriteriaQuery<User> criteriaQuery = criteriaBuilder.createQuery(User.class);
-        Root<User> root = criteriaQuery.from(User.class);
-        Predicate predicateForLogin = criteriaBuilder.like(criteriaBuilder.lower(root.get("login")), "%" + searchCriterion.toLowerCase() + "%");
+    @Override
+    protected Map<String, Expression<?>> getProjection(Root<User> root) {
+        Map<String, Expression<?>> projection = new LinkedHashMap<>();
+        projection.put("userId", root.get("userId"));
+        projection.put("login", root.get("login"));
+        projection.put("password", root.get("password"));
+        projection.put("isActive", root.get("isActive"));
+        projection.put("studentId", root.get("student").get("studentId"));
+        return projection;
+    }
 
+    /**
+     * Student of user can be embedded as "student"
+     */
+    @Override
+    protected Map<String, Expression<?>> getExpansionProjection(Root<User> root, String expansion) {
+        if (!"student".equals(expansion)) {
+            return null;
+        }
+        Join<User, Student> student = root.join("student", JoinType.LEFT);
+        Map<String, Expression<?>> projection = new LinkedHashMap<>();
+        projection.put("studentId", student.get("studentId"));
+        projection.put("studentName", student.get("studentName"));
+        projection.put("dateOfBirth", student.get("dateOfBirth"));
+        return projection;
+    }
 
-        criteriaQuery.select(root).where(predicateForLogin);
-        criteriaQuery.orderBy(criteriaBuilder.asc(root.get("userId")));
+    @Override
+    protected List<Expression<String>> getSearchColumns(Root<User> root) {
+        return Collections.singletonList(root.<String>get("login"));
+    }
 
-        Query<User> query = currentSession.createQuery(criteriaQuery);
-        return query.getResultList();
+    @Override
+    protected Order getSearchOrder(CriteriaBuilder criteriaBuilder, Root<User> root) {
+        return criteriaBuilder.asc(root.get("userId"));
     }
 }
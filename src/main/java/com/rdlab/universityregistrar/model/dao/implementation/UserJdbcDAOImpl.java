@@ -0,0 +1,76 @@
+package com.rdlab.universityregistrar.model.dao.implementation;
+
+import com.rdlab.universityregistrar.model.dao.AbstractJdbcDAO;
+import com.rdlab.universityregistrar.model.dao.DAOBackend;
+import com.rdlab.universityregistrar.model.dao.UserDAO;
+import com.rdlab.universityregistrar.model.entity.Student;
+import com.rdlab.universityregistrar.model.entity.User;
+import org.springframework.dao.support.DataAccessUtils;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.NoResultException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+@Repository
+@DAOBackend(entity = "user", value = DAOBackend.JDBC)
+public class UserJdbcDAOImpl extends AbstractJdbcDAO<User> implements UserDAO {
+
+    public UserJdbcDAOImpl() {
+        super.setClazz(User.class);
+        super.loadQueries("db/HibernateHqlQueries/UserQueries.properties");
+        super.setRecordName("User");
+        super.setRecordsName("Users");
+        super.addRecordColumn("entry_id", "userId");
+        super.addRecordColumn("login", "login");
+        super.addRecordColumn("password", "password");
+        super.addRecordColumn("is_active", "isActive");
+        super.addRecordColumn("student_id", "studentId");
+        super.setPrimaryKey("login");
+        super.setPrimaryKeyType(String.class);
+        super.setGeneratedKey("userId");
+        super.setGeneratedKeyColumn("entry_id");
+        super.setAddQueryParameters("login", "password", "isActive", "studentId");
+        super.setUpdateQueryParameters("password", "isActive", "studentId", "login");
+    }
+
+    @Override
+    protected User mapRecord(ResultSet resultSet) throws SQLException {
+        return User.builder()
+                .userId(resultSet.getObject("entry_id", Integer.class))
+                .login(resultSet.getString("login"))
+                .password(resultSet.getString("password"))
+                .isActive(resultSet.getObject("is_active", Boolean.class))
+                .student(Student.builder().studentId(resultSet.getObject("student_id", Integer.class)).build())
+                .build();
+    }
+
+    /**
+     * Search query orders users by entry id
+     */
+    @Override
+    protected String getSearchOrderProperty() {
+        return "userId";
+    }
+
+    @Override
+    protected MapSqlParameterSource getRecordParameters(User record) {
+        return new MapSqlParameterSource("userId", record.getUserId())
+                .addValue("login", record.getLogin())
+                .addValue("password", record.getPassword())
+                .addValue("isActive", record.getIsActive(), Types.BOOLEAN)
+                .addValue("studentId", record.getStudent() == null ? null : record.getStudent().getStudentId(), Types.INTEGER);
+    }
+
+    @Override
+    public User getUserByStudentId(Integer studentId) {
+        User user = DataAccessUtils.singleResult(getJdbcTemplate().query(getQuery("getUserByStudentIdQuery"),
+                (resultSet, rowNum) -> mapRecord(resultSet), studentId));
+        if (user == null) {
+            throw new NoResultException("No entity found for query");
+        }
+        return user;
+    }
+}
@@ -1,6 +1,8 @@
 package com.rdlab.universityregistrar.model.entity;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.io.Serializable;
@@ -16,10 +18,13 @@ import java.util.Set;
 @NoArgsConstructor(force = true, access = AccessLevel.PUBLIC)
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "academicRanks")
 @Table(name = "academic_ranks")
 public class AcademicRank implements Serializable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "academic_ranks_entry_id_generator")
+    @SequenceGenerator(name = "academic_ranks_entry_id_generator", sequenceName = "academic_ranks_entry_id_seq", allocationSize = 50)
     @Column(name = "entry_id")
     private Integer rankId;
     @Column(name = "numeric_rank", unique = true)
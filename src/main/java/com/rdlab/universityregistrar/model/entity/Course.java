@@ -1,6 +1,8 @@
 package com.rdlab.universityregistrar.model.entity;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
@@ -17,10 +19,13 @@ import java.util.Set;
 @NoArgsConstructor(force = true, access = AccessLevel.PUBLIC)
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "courses")
 @Table(name = "courses")
 public class Course {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "courses_course_id_generator")
+    @SequenceGenerator(name = "courses_course_id_generator", sequenceName = "courses_course_id_seq", allocationSize = 50)
     @Column(name = "course_id")
     private Integer courseId;
     @Column(name = "course_title", unique = true)
@@ -20,7 +20,8 @@ import java.util.Set;
 @Table(name = "lecturers")
 public class Lecturer {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lecturers_lecturer_id_generator")
+    @SequenceGenerator(name = "lecturers_lecturer_id_generator", sequenceName = "lecturers_lecturer_id_seq", allocationSize = 50)
     @Column(name = "lecturer_id")
     private Integer lecturerId;
     @Column(name = "name")
@@ -34,6 +35,13 @@ public class Lecturer {
     )
     @OnDelete(action = OnDeleteAction.CASCADE)
     private AcademicRank numericAcademicRank;
+    /**
+     * Read-only mapping of numeric_academic_rank foreign key, lets queries use the column without joining academic_ranks table
+     */
+    @Column(name = "numeric_academic_rank", insertable = false, updatable = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Integer numericRankCode;
     @OneToMany(mappedBy = "lecturer", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @OnDelete(action = OnDeleteAction.CASCADE)
     private Set<ScheduleEntry> scheduleEntries;
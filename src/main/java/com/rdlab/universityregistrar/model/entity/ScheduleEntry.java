@@ -23,7 +23,8 @@ import java.util.Objects;
         @UniqueConstraint(columnNames = {"student_id", "course_id", "semester_id", "lecturer_id", "time", "location"}))
 public class ScheduleEntry {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "schedule_of_classes_entry_id_generator")
+    @SequenceGenerator(name = "schedule_of_classes_entry_id_generator", sequenceName = "schedule_of_classes_entry_id_seq", allocationSize = 50)
     @Column(name = "entry_id")
     private Integer entryId;
     @ManyToOne(fetch = FetchType.LAZY)
@@ -39,12 +40,33 @@ public class ScheduleEntry {
     private Long time;
     @Column(name = "location")
     private String location;
+    /**
+     * Semester references non-primary key column, so reference holding only semester id is transient for Hibernate,
+     * which would insert entry without semester and set it by update afterwards. Update can not move row
+     * to partition of semester, so semester_id is written through {@link #semesterCode} instead.
+     */
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(
             name = "semester_id",
-            referencedColumnName = "semester_id")
+            referencedColumnName = "semester_id",
+            insertable = false,
+            updatable = false)
     @OnDelete(action = OnDeleteAction.CASCADE)
     private Semester semester;
+    /**
+     * Mapping of semester_id foreign key, copied from semester before entry is inserted or updated,
+     * lets queries use the column without joining semesters table
+     */
+    @Column(name = "semester_id")
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private String semesterCode;
+
+    @PrePersist
+    @PreUpdate
+    private void copySemesterCode() {
+        semesterCode = semester == null ? null : semester.getSemesterId();
+    }
 
     @Override
     public boolean equals(Object o) {
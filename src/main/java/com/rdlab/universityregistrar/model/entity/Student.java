@@ -20,7 +20,8 @@ import java.util.Set;
 @Table(name = "students")
 public class Student {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "students_student_id_generator")
+    @SequenceGenerator(name = "students_student_id_generator", sequenceName = "students_student_id_seq", allocationSize = 50)
     @Column(name = "student_id")
     private Integer studentId;
     @Column(name = "name")
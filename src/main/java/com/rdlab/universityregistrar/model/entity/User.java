@@ -19,7 +19,8 @@ import java.util.Objects;
 @Table(name = "users")
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_entry_id_generator")
+    @SequenceGenerator(name = "users_entry_id_generator", sequenceName = "users_entry_id_seq", allocationSize = 50)
     @Column(name = "entry_id")
     private Integer userId;
     @Column(name = "login", unique = true)
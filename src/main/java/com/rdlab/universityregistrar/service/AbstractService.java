@@ -1,8 +1,15 @@
 package com.rdlab.universityregistrar.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rdlab.universityregistrar.controller.response.BatchRowReport;
 import com.rdlab.universityregistrar.controller.response.Response;
+import com.rdlab.universityregistrar.model.dao.BatchInsertException;
 import com.rdlab.universityregistrar.model.dao.DAO;
+import com.rdlab.universityregistrar.model.dao.ProjectionShape;
+import com.rdlab.universityregistrar.model.dao.RecordsPage;
 import com.rdlab.universityregistrar.service.mapper.DTOEntityMapper;
+import com.rdlab.universityregistrar.service.mapper.ShapedTuple;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
@@ -14,9 +21,17 @@ import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.BindingResult;
+import org.springframework.validation.Validator;
 
-import java.util.ArrayList;
+import javax.persistence.Tuple;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -35,6 +50,10 @@ public abstract class AbstractService<S, D> implements ServiceFunctionality<D> {
     protected final DAO<S> dao;
     @Autowired
     DTOEntityMapper<S, D> mapper;
+    @Autowired
+    private Validator validator;
+    @Autowired
+    private ObjectMapper objectMapper;
     @Value("${entity.getAllSuccessMessage}")
     private String getAllSuccessMessage;
     @Value("${entity.getEntitySuccessMessage}")
@@ -53,9 +72,18 @@ public abstract class AbstractService<S, D> implements ServiceFunctionality<D> {
     private String invalidInputMessage;
     @Value("${entity.internalServerErrorMessage}")
     private String internalServerErrorMessage;
+    @Value("${entity.batchRejectedMessage}")
+    private String batchRejectedMessage;
+    @Value("${entity.batchConstraintViolationMessage}")
+    private String batchConstraintViolationMessage;
+    @Value("${entity.defaultPageSize:50}")
+    private int defaultPageSize = 50;
+    @Value("${entity.maxPageSize:1000}")
+    private int maxPageSize = 1000;
 
     /**
      * Get all records of corresponding type from database.
+     * Only DTO columns are selected, entities are not instantiated.
      *
      * @return {@link Response} instance containing success message, timestamp and list of
      * all existing entities mapped to DTOs.
@@ -65,12 +93,99 @@ public abstract class AbstractService<S, D> implements ServiceFunctionality<D> {
         return new ResponseEntity<>(Response.builder()
                 .message(getAllSuccessMessage)
                 .timeStamp(System.currentTimeMillis())
-                .responseBody(mapper.entityListToDtoList(dao.getAllRecords()))
+                .responseBody(mapper.tupleListToDtoList(dao.getAllRecordProjections()))
+                .build(),
+                HttpStatus.OK
+        );
+    }
+
+    /**
+     * Get page of records of corresponding type from database using keyset pagination.
+     *
+     * @param afterKey primary key of the last entity of previous page, null for the first page
+     * @param limit    requested page size, default page size is used if null, capped by max page size
+     * @return {@link Response} instance containing success message, timestamp, list of page entities mapped to DTOs
+     * and cursor for the next page if more entities exist
+     */
+    @Override
+    public ResponseEntity<Response> getEntitiesPage(String afterKey, Integer limit) {
+        return getEntitiesPage(afterKey, limit, null, null);
+    }
+
+    /**
+     * Get page of records of requested shape, see {@link #getEntitiesPage(String, Integer)}.
+     *
+     * @param afterKey primary key of the last entity of previous page, null for the first page
+     * @param limit    requested page size, default page size is used if null, capped by max page size
+     * @param fields   comma separated DTO properties to return, all of them if null
+     * @param expand   comma separated related entities to embed, none if null
+     * @return {@link Response} instance containing success message, timestamp, list of page entities
+     * and cursor for the next page if more entities exist
+     */
+    @Override
+    public ResponseEntity<Response> getEntitiesPage(String afterKey, Integer limit, String fields, String expand) {
+        int pageSize = limit == null ? defaultPageSize : Math.min(limit, maxPageSize);
+        if (pageSize <= 0) {
+            return new ResponseEntity<>(Response.builder()
+                    .message(invalidInputMessage)
+                    .timeStamp(System.currentTimeMillis())
+                    .responseBody("")
+                    .build(),
+                    HttpStatus.BAD_REQUEST
+            );
+        }
+        ProjectionShape shape = ProjectionShape.of(fields, expand);
+        RecordsPage<Tuple> page;
+        try {
+            checkExpansions(shape);
+            page = shape.isDefault() ? dao.getRecordProjectionsPage(afterKey, pageSize) : dao.getRecordProjectionsPage(afterKey, pageSize, shape);
+        } catch (IllegalArgumentException e) {
+            // malformed cursor, unknown field or unknown expansion
+            log.debug(e.getMessage());
+            return createInvalidShapeResponse();
+        }
+        return new ResponseEntity<>(Response.builder()
+                .message(getAllSuccessMessage)
+                .timeStamp(System.currentTimeMillis())
+                .responseBody(shape.isDefault() ? mapper.tupleListToDtoList(page.getRecords()) : toShapedRecords(page.getRecords(), shape))
+                .nextCursor(page.getNextKey())
                 .build(),
                 HttpStatus.OK
         );
     }
 
+    /**
+     * Write all records of corresponding type to provided output stream as {@link Response} json.
+     * Records are read as projections, each is mapped to DTO and serialized as soon as it is fetched,
+     * so neither projection list nor DTO list is ever held in memory and no related entity is loaded per record.
+     *
+     * @param outputStream stream to write response json to
+     * @throws IOException if writing to output stream fails
+     */
+    @Override
+    public void writeAllEntities(OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.writeStartObject();
+            generator.writeStringField("message", getAllSuccessMessage);
+            generator.writeNumberField("timeStamp", System.currentTimeMillis());
+            generator.writeArrayFieldStart("responseBody");
+            try {
+                dao.scrollAllRecordProjections(tuple -> {
+                    try {
+                        generator.writeObject(mapper.tupleToDto(tuple));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
     /**
      * Get single record of corresponding type from database
      *
@@ -80,12 +195,53 @@ public abstract class AbstractService<S, D> implements ServiceFunctionality<D> {
      */
     @Override
     public ResponseEntity<Response> getEntity(String entityId) {
-        S fetchedEntity = dao.getRecord(entityId);
-        if (fetchedEntity != null) {
+        Optional<Tuple> fetchedEntity = dao.findRecordProjection(entityId);
+        if (fetchedEntity.isPresent()) {
+            return new ResponseEntity<>(Response.builder()
+                    .message(getEntitySuccessMessage + " " + entityId)
+                    .timeStamp(System.currentTimeMillis())
+                    .responseBody(mapper.tupleToDto(fetchedEntity.get()))
+                    .build(),
+                    HttpStatus.OK
+            );
+        } else {
+            return new ResponseEntity<>(Response.builder()
+                    .message(entityNotFoundMessage)
+                    .timeStamp(System.currentTimeMillis())
+                    .responseBody("")
+                    .build(),
+                    HttpStatus.NOT_FOUND
+            );
+        }
+    }
+
+    /**
+     * Get single record of requested shape, see {@link #getEntity(String)}.
+     *
+     * @param entityId id of requested entity
+     * @param fields   comma separated DTO properties to return, all of them if null
+     * @param expand   comma separated related entities to embed, none if null
+     * @return {@link Response} instance containing success message, timestamp and requested entity
+     */
+    @Override
+    public ResponseEntity<Response> getEntity(String entityId, String fields, String expand) {
+        ProjectionShape shape = ProjectionShape.of(fields, expand);
+        if (shape.isDefault()) {
+            return getEntity(entityId);
+        }
+        Optional<Tuple> fetchedEntity;
+        try {
+            checkExpansions(shape);
+            fetchedEntity = dao.findRecordProjection(entityId, shape);
+        } catch (IllegalArgumentException e) {
+            log.debug(e.getMessage());
+            return createInvalidShapeResponse();
+        }
+        if (fetchedEntity.isPresent()) {
             return new ResponseEntity<>(Response.builder()
                     .message(getEntitySuccessMessage + " " + entityId)
                     .timeStamp(System.currentTimeMillis())
-                    .responseBody(mapper.entityToDto(fetchedEntity))
+                    .responseBody(toShapedRecords(Collections.singletonList(fetchedEntity.get()), shape).get(0))
                     .build(),
                     HttpStatus.OK
             );
@@ -141,6 +297,104 @@ public abstract class AbstractService<S, D> implements ServiceFunctionality<D> {
         }
     }
 
+    /**
+     * Add list of records of corresponding type to database in single transaction.
+     * Every DTO is validated first, then valid DTOs are checked by {@link #checkBatchRows(List)},
+     * records are inserted after {@link #beforeBatchInsert(List)} only if all DTOs are valid and none is rejected. Record violating constraint
+     * of database is reported as rejected and transaction is rolled back.
+     *
+     * @param dtos DTOs representing records that are needed to be added to database
+     * @return {@link ResponseEntity} instance with status code and {@link Response} instance containing
+     * list of {@link BatchRowReport} instances, one per provided DTO
+     */
+    @Override
+    public ResponseEntity<Response> addEntities(List<D> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            return new ResponseEntity<>(Response.builder()
+                    .message(invalidInputMessage)
+                    .timeStamp(System.currentTimeMillis())
+                    .responseBody("")
+                    .build(),
+                    HttpStatus.BAD_REQUEST
+            );
+        }
+        List<BatchRowReport> rowReports = new ArrayList<>(dtos.size());
+        boolean hasInvalidRows = false;
+        for (int i = 0; i < dtos.size(); i++) {
+            BindingResult bindingResult = new BeanPropertyBindingResult(dtos.get(i), "dto");
+            validator.validate(dtos.get(i), bindingResult);
+            if (bindingResult.hasErrors()) {
+                hasInvalidRows = true;
+                rowReports.add(BatchRowReport.builder()
+                        .rowIndex(i)
+                        .status(BatchRowReport.Status.INVALID)
+                        .errors(bindingResult.getAllErrors().stream().map(DefaultMessageSourceResolvable::getDefaultMessage).collect(Collectors.toCollection(ArrayList::new)))
+                        .build());
+            } else {
+                rowReports.add(BatchRowReport.builder()
+                        .rowIndex(i)
+                        .status(BatchRowReport.Status.SKIPPED)
+                        .build());
+            }
+        }
+        if (hasInvalidRows) {
+            return new ResponseEntity<>(Response.builder()
+                    .message(invalidInputMessage)
+                    .timeStamp(System.currentTimeMillis())
+                    .responseBody(rowReports)
+                    .build(),
+                    HttpStatus.BAD_REQUEST
+            );
+        }
+        Map<Integer, List<String>> rejectedRows = checkBatchRows(dtos);
+        if (!rejectedRows.isEmpty()) {
+            rejectedRows.forEach((rowIndex, errors) -> {
+                rowReports.get(rowIndex).setStatus(BatchRowReport.Status.REJECTED);
+                rowReports.get(rowIndex).setErrors(errors);
+            });
+            return new ResponseEntity<>(Response.builder()
+                    .message(batchRejectedMessage)
+                    .timeStamp(System.currentTimeMillis())
+                    .responseBody(rowReports)
+                    .build(),
+                    HttpStatus.CONFLICT
+            );
+        }
+        beforeBatchInsert(dtos);
+        List<Integer> generatedIds;
+        try {
+            generatedIds = dao.addRecords(dtos.stream().map(mapper::dtoToEntity).collect(Collectors.toList()));
+        } catch (BatchInsertException e) {
+            log.error(e.getMessage());
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            }
+            // rows stay skipped if failed row could not be determined
+            if (e.getRecordIndex() != null) {
+                rowReports.get(e.getRecordIndex()).setStatus(BatchRowReport.Status.REJECTED);
+                rowReports.get(e.getRecordIndex()).setErrors(new ArrayList<>(Collections.singletonList(batchConstraintViolationMessage)));
+            }
+            return new ResponseEntity<>(Response.builder()
+                    .message(batchRejectedMessage)
+                    .timeStamp(System.currentTimeMillis())
+                    .responseBody(rowReports)
+                    .build(),
+                    HttpStatus.CONFLICT
+            );
+        }
+        for (int i = 0; i < rowReports.size(); i++) {
+            rowReports.get(i).setStatus(BatchRowReport.Status.CREATED);
+            rowReports.get(i).setGeneratedId(generatedIds.get(i));
+        }
+        return new ResponseEntity<>(Response.builder()
+                .message(addSuccessMessage)
+                .timeStamp(System.currentTimeMillis())
+                .responseBody(rowReports)
+                .build(),
+                HttpStatus.CREATED
+        );
+    }
+
     /**
      * Update record of corresponding type in database
      *
@@ -221,8 +475,121 @@ public abstract class AbstractService<S, D> implements ServiceFunctionality<D> {
         return new ResponseEntity<>(Response.builder()
                 .message(searchSuccessMessage)
                 .timeStamp(System.currentTimeMillis())
-                .responseBody(mapper.entityListToDtoList(dao.searchRecords(searchCriterion)))
+                .responseBody(mapper.tupleListToDtoList(dao.searchRecordProjections(searchCriterion)))
                 .build(),
                 HttpStatus.OK);
     }
+
+    /**
+     * Search for records of requested shape, see {@link #searchForEntities(String)}.
+     *
+     * @param searchCriterion search criterion
+     * @param fields          comma separated DTO properties to return, all of them if null
+     * @param expand          comma separated related entities to embed, none if null
+     * @return {@link Response} instance containing search success message, timestamp and list of found records
+     */
+    @Override
+    public ResponseEntity<Response> searchForEntities(String searchCriterion, String fields, String expand) {
+        ProjectionShape shape = ProjectionShape.of(fields, expand);
+        if (shape.isDefault()) {
+            return searchForEntities(searchCriterion);
+        }
+        List<Tuple> foundRecords;
+        try {
+            checkExpansions(shape);
+            foundRecords = dao.searchRecordProjections(searchCriterion, shape);
+        } catch (IllegalArgumentException e) {
+            log.debug(e.getMessage());
+            return createInvalidShapeResponse();
+        }
+        return new ResponseEntity<>(Response.builder()
+                .message(searchSuccessMessage)
+                .timeStamp(System.currentTimeMillis())
+                .responseBody(toShapedRecords(foundRecords, shape))
+                .build(),
+                HttpStatus.OK);
+    }
+
+    /**
+     * Check valid rows of batch insert against rules that single inserts of this service are checked by.
+     * Rows are checked in order of batch, rejected rows must not be taken into account by checks of later rows.
+     *
+     * @param dtos valid DTOs of batch
+     * @return errors of rejected rows keyed by row index, empty if all rows may be inserted, which is the default
+     */
+    protected Map<Integer, List<String>> checkBatchRows(List<D> dtos) {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Prepare insert of batch rows, called only when all rows are valid and none is rejected by
+     * {@link #checkBatchRows(List)}, right before records are inserted. Does nothing by default.
+     *
+     * @param dtos DTOs of batch about to be inserted
+     */
+    protected void beforeBatchInsert(List<D> dtos) {
+    }
+
+    /**
+     * Mappers of related entities that can be embedded into records of this service, keyed by expansion name.
+     * Expansion names must match expansions of DAO projections.
+     *
+     * @return mappers of related entities, none unless overridden
+     */
+    protected Map<String, DTOEntityMapper<?, ?>> getExpansionMappers() {
+        return Collections.emptyMap();
+    }
+
+    private void checkExpansions(ProjectionShape shape) {
+        Map<String, DTOEntityMapper<?, ?>> expansionMappers = getExpansionMappers();
+        for (String expansion : shape.getExpansions()) {
+            if (!expansionMappers.containsKey(expansion)) {
+                throw new IllegalArgumentException("Unknown expansion " + expansion);
+            }
+        }
+    }
+
+    /**
+     * Map projections of requested shape to json objects. Projections are mapped to DTOs first, so properties are
+     * formatted as in full DTOs, then properties that were not selected are dropped and related entities are
+     * embedded under their expansion names (null if entity has no such related entity).
+     *
+     * @param tuples projections of requested shape
+     * @param shape  requested DTO properties and expansions
+     * @return list of json objects
+     */
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> toShapedRecords(List<Tuple> tuples, ProjectionShape shape) {
+        List<Map<String, Object>> records = new ArrayList<>(tuples.size());
+        if (tuples.isEmpty()) {
+            return records;
+        }
+        Set<String> aliases = ShapedTuple.getAliases(tuples.get(0));
+        Map<String, DTOEntityMapper<?, ?>> expansionMappers = getExpansionMappers();
+        for (Tuple tuple : tuples) {
+            Map<String, Object> record = objectMapper.convertValue(mapper.tupleToDto(new ShapedTuple(tuple, aliases, "")), LinkedHashMap.class);
+            record.keySet().retainAll(aliases);
+            for (String expansion : shape.getExpansions()) {
+                ShapedTuple expansionTuple = new ShapedTuple(tuple, aliases, expansion + ".");
+                record.put(expansion, expansionTuple.isEmpty() ? null
+                        : objectMapper.convertValue(expansionMappers.get(expansion).tupleToDto(expansionTuple), LinkedHashMap.class));
+            }
+            records.add(record);
+        }
+        return records;
+    }
+
+    /**
+     * Response to request with malformed cursor, unknown field or unknown expansion. Such requests are client
+     * errors, so they are logged at debug level only.
+     */
+    private ResponseEntity<Response> createInvalidShapeResponse() {
+        return new ResponseEntity<>(Response.builder()
+                .message(invalidInputMessage)
+                .timeStamp(System.currentTimeMillis())
+                .responseBody("")
+                .build(),
+                HttpStatus.BAD_REQUEST
+        );
+    }
 }
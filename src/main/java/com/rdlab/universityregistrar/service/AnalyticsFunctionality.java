@@ -0,0 +1,19 @@
+package com.rdlab.universityregistrar.service;
+
+import com.rdlab.universityregistrar.controller.response.Response;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Interface representing read only course analytics, which are recomputed periodically
+ */
+public interface AnalyticsFunctionality {
+
+    ResponseEntity<Response> getCourseStatistics();
+
+    ResponseEntity<Response> getMostPickedSemesters();
+
+    /**
+     * Recompute course analytics, responses cached before refresh are discarded when refresh is committed
+     */
+    void refreshViews();
+}
@@ -0,0 +1,21 @@
+package com.rdlab.universityregistrar.service;
+
+import com.rdlab.universityregistrar.model.dao.RecordInsertedEvent;
+
+/**
+ * Interface representing asynchronous audit of inserted database records
+ */
+public interface AuditFunctionality {
+
+    /**
+     * Queue audit event of inserted record, event is queued when transaction that inserted the record commits
+     */
+    void onRecordInserted(RecordInsertedEvent event);
+
+    /**
+     * Write queued audit events to audit log in batches
+     *
+     * @return number of written events
+     */
+    int writeQueuedEvents();
+}
@@ -0,0 +1,41 @@
+package com.rdlab.universityregistrar.service;
+
+import com.rdlab.universityregistrar.controller.response.Response;
+import com.rdlab.universityregistrar.service.dto.CourseCapacityDTO;
+import com.rdlab.universityregistrar.service.dto.ScheduleEntryDTO;
+import com.rdlab.universityregistrar.service.event.SeatReleasedEvent;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+
+import java.util.List;
+
+/**
+ * Interface representing enrollment of students to courses with limited number of seats
+ * and FIFO waitlists of students waiting for a seat
+ */
+public interface EnrollmentFunctionality {
+
+    ResponseEntity<Response> enroll(ScheduleEntryDTO dto, BindingResult bindingResult);
+
+    ResponseEntity<Response> getCourseCapacity(Integer courseId, String semesterId);
+
+    ResponseEntity<Response> updateCourseCapacity(CourseCapacityDTO dto, BindingResult bindingResult);
+
+    ResponseEntity<Response> getWaitlist(Integer courseId, String semesterId);
+
+    ResponseEntity<Response> leaveWaitlist(Integer waitlistEntryId);
+
+    /**
+     * Give free seats of course in semester to waitlisted students in order they were waitlisted
+     *
+     * @return number of promoted students
+     */
+    int promoteWaitlistedStudents(Integer courseId, String semesterId);
+
+    /**
+     * @return courses in semesters that have free seats and waitlisted students at the same time
+     */
+    List<CourseCapacityDTO> getCoursesToPromote();
+
+    void onSeatReleased(SeatReleasedEvent event);
+}
@@ -0,0 +1,12 @@
+package com.rdlab.universityregistrar.service;
+
+import com.rdlab.universityregistrar.controller.response.Response;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Interface representing unified search functionality across all searchable entity types
+ */
+public interface SearchFunctionality {
+
+    ResponseEntity<Response> searchAllEntities(String searchCriterion, Integer limit);
+}
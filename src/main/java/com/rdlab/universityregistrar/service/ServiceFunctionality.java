@@ -4,6 +4,10 @@ import com.rdlab.universityregistrar.controller.response.Response;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
 /**
  * Interface representing main functionality for
  *
@@ -14,13 +18,29 @@ public interface ServiceFunctionality<T> {
 
     ResponseEntity<Response> getAllEntities();
 
+    ResponseEntity<Response> getEntitiesPage(String afterKey, Integer limit);
+
+    /**
+     * Read methods taking fields and expand return only requested DTO properties (comma separated, all if null)
+     * with related entities embedded under requested expansion names (comma separated, none if null)
+     */
+    ResponseEntity<Response> getEntitiesPage(String afterKey, Integer limit, String fields, String expand);
+
+    void writeAllEntities(OutputStream outputStream) throws IOException;
+
     ResponseEntity<Response> getEntity(String entityId);
 
+    ResponseEntity<Response> getEntity(String entityId, String fields, String expand);
+
     ResponseEntity<Response> addEntity(T dto, BindingResult bindingResult);
 
+    ResponseEntity<Response> addEntities(List<T> dtos);
+
     ResponseEntity<Response> updateEntity(T dto, BindingResult bindingResult);
 
     ResponseEntity<Response> deleteEntity(String entityId);
 
     ResponseEntity<Response> searchForEntities(String searchCriterion);
+
+    ResponseEntity<Response> searchForEntities(String searchCriterion, String fields, String expand);
 }
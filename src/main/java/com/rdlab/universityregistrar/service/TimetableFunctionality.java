@@ -0,0 +1,23 @@
+package com.rdlab.universityregistrar.service;
+
+import com.rdlab.universityregistrar.controller.response.Response;
+import com.rdlab.universityregistrar.model.dao.ScheduleEntryFilter;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Interface representing timetable queries and checks of timetable for lecturers, locations and students
+ * booked by overlapping classes
+ */
+public interface TimetableFunctionality {
+
+    ResponseEntity<Response> getSemesterConflicts(String semesterId);
+
+    void writeScheduleEntries(ScheduleEntryFilter filter, OutputStream outputStream) throws IOException;
+
+    ResponseEntity<Response> getStudentSchedule(Integer studentId, String semesterId, String ifNoneMatch);
+
+    ResponseEntity<Response> getLecturerSchedule(Integer lecturerId, String semesterId, String ifNoneMatch);
+}
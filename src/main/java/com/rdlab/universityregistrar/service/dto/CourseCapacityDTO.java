@@ -0,0 +1,40 @@
+package com.rdlab.universityregistrar.service.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.*;
+
+import javax.validation.constraints.*;
+
+/**
+ * Data transfer object representing seat limit of course in semester. Used in
+ *
+ * @Controller and
+ * @Service layers.
+ * Contains basic bean validation rules.
+ */
+@Data
+@Builder
+@NoArgsConstructor(force = true, access = AccessLevel.PRIVATE)
+@AllArgsConstructor
+@ApiModel(value = "Course capacity", description = "Course capacity parameters")
+public class CourseCapacityDTO {
+    @NotNull(message = "courseId must not be empty")
+    @ApiModelProperty(value = "Course id")
+    private Integer courseId;
+    @NotEmpty(message = "semesterId cannot be empty")
+    @Size(max = 7, message = "semesterId cannot be longer than 7 characters")
+    @Pattern(regexp = "^[a-zA-Z0-9]*$", message = "semesterId can " +
+            "contain only letters in range (a-z, A-Z) and " +
+            "numbers from 0 to 9")
+    @ApiModelProperty(value = "Semester id")
+    private String semesterId;
+    @NotNull(message = "capacity must not be empty")
+    @PositiveOrZero(message = "capacity cannot be negative")
+    @ApiModelProperty(value = "Maximum number of students enrolled to course in semester")
+    private Integer capacity;
+    @ApiModelProperty(value = "Number of students enrolled to course in semester", readOnly = true)
+    private Integer enrolledCount;
+    @ApiModelProperty(value = "Number of students waiting for a seat", readOnly = true)
+    private Long waitlistLength;
+}
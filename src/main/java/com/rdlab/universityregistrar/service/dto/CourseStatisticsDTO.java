@@ -0,0 +1,35 @@
+package com.rdlab.universityregistrar.service.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.*;
+
+/**
+ * Data transfer object representing statistics of course over all semesters. Used in
+ *
+ * @Controller and
+ * @Service layers.
+ */
+@Data
+@Builder
+@NoArgsConstructor(force = true, access = AccessLevel.PRIVATE)
+@AllArgsConstructor
+@ApiModel(value = "Course statistics", description = "Statistics of course over all semesters")
+public class CourseStatisticsDTO {
+    @ApiModelProperty(value = "Course id")
+    private Integer courseId;
+    @ApiModelProperty(value = "Course title")
+    private String courseTitle;
+    @ApiModelProperty(value = "Number of distinct students taking course")
+    private Long numberOfStudents;
+    @ApiModelProperty(value = "Number of distinct lecturers teaching course")
+    private Long numberOfLecturers;
+    @ApiModelProperty(value = "Highest numeric academic rank of lecturers teaching course")
+    private Integer highestNumericRank;
+    @ApiModelProperty(value = "Name of highest academic rank of lecturers teaching course")
+    private String highestRankName;
+    @ApiModelProperty(value = "Number of students taking course whose users are inactive")
+    private Long inactiveUsers;
+    @ApiModelProperty(value = "Semester in which course was taken most times")
+    private String mostPickedSemester;
+}
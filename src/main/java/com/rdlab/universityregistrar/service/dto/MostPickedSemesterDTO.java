@@ -0,0 +1,25 @@
+package com.rdlab.universityregistrar.service.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.*;
+
+/**
+ * Data transfer object representing semester in which course was taken most times. Used in
+ *
+ * @Controller and
+ * @Service layers.
+ */
+@Data
+@Builder
+@NoArgsConstructor(force = true, access = AccessLevel.PRIVATE)
+@AllArgsConstructor
+@ApiModel(value = "Most picked semester", description = "Semester in which course was taken most times")
+public class MostPickedSemesterDTO {
+    @ApiModelProperty(value = "Course id")
+    private Integer courseId;
+    @ApiModelProperty(value = "Semester id")
+    private String semesterId;
+    @ApiModelProperty(value = "Number of schedule entries of course in semester")
+    private Long timesPicked;
+}
@@ -0,0 +1,41 @@
+package com.rdlab.universityregistrar.service.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.*;
+
+/**
+ * Data transfer object representing two schedule entries overlapping in time that book the same lecturer,
+ * location or student. Used in
+ *
+ * @Controller and
+ * @Service layers.
+ */
+@Data
+@Builder
+@NoArgsConstructor(force = true, access = AccessLevel.PRIVATE)
+@AllArgsConstructor
+@ApiModel(value = "Schedule conflict", description = "Schedule entries overlapping in time that book the same lecturer, location or student")
+public class ScheduleConflictDTO {
+    @ApiModelProperty(value = "Double-booked lecturer, location or student")
+    private Type conflictType;
+    @ApiModelProperty(value = "Class id, empty for class being added")
+    private Integer entryId;
+    @ApiModelProperty(value = "Id of conflicting class")
+    private Integer conflictingEntryId;
+
+    public enum Type {
+        /**
+         * Lecturer teaches another class at the same time
+         */
+        LECTURER,
+        /**
+         * Another class takes place at the same location at the same time
+         */
+        LOCATION,
+        /**
+         * Student attends another class at the same time
+         */
+        STUDENT
+    }
+}
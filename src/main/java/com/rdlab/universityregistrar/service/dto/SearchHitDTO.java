@@ -0,0 +1,32 @@
+package com.rdlab.universityregistrar.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.*;
+
+/**
+ * Data transfer object representing single hit of unified search. Used in
+ *
+ * @Controller and
+ * @Service layers.
+ */
+@Data
+@Builder
+@NoArgsConstructor(force = true, access = AccessLevel.PRIVATE)
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@ApiModel(value = "SearchHit", description = "Unified search hit parameters")
+public class SearchHitDTO {
+    @ApiModelProperty(value = "Type of found item (student, lecturer, course or semester)")
+    private String entityType;
+
+    @ApiModelProperty(value = "Id of found item, can be used with corresponding item endpoint")
+    private String entityId;
+
+    @ApiModelProperty(value = "Name or title of found item")
+    private String title;
+
+    @ApiModelProperty(value = "Full-text search rank, higher is more relevant")
+    private Float rank;
+}
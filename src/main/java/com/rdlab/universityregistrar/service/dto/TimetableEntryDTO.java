@@ -0,0 +1,39 @@
+package com.rdlab.universityregistrar.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.rdlab.universityregistrar.model.entity.ScheduleEntry;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.*;
+
+import java.util.Date;
+
+/**
+ * Data transfer object representing {@link ScheduleEntry} entity with details of its course, lecturer and semester
+ * embedded. Used in
+ *
+ * @Controller and
+ * @Service layers.
+ */
+@Data
+@Builder
+@NoArgsConstructor(force = true, access = AccessLevel.PRIVATE)
+@AllArgsConstructor
+@ApiModel(value = "Timetable entry", description = "Schedule entry with course, lecturer and semester details")
+public class TimetableEntryDTO {
+    @ApiModelProperty(value = "Class id")
+    private Integer entryId;
+    @ApiModelProperty(value = "Class student id")
+    private Integer studentId;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Almaty")
+    @ApiModelProperty(value = "Class beginning time")
+    private Date time;
+    @ApiModelProperty(value = "Class location")
+    private String location;
+    @ApiModelProperty(value = "Course of class")
+    private CourseDTO course;
+    @ApiModelProperty(value = "Lecturer of class, empty if lecturer was deleted")
+    private LecturerDTO lecturer;
+    @ApiModelProperty(value = "Semester of class")
+    private SemesterDTO semester;
+}
@@ -0,0 +1,44 @@
+package com.rdlab.universityregistrar.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.*;
+
+import java.util.Date;
+
+/**
+ * Data transfer object representing student waiting for a seat of course in semester. Used in
+ *
+ * @Controller and
+ * @Service layers.
+ */
+@Data
+@Builder
+@NoArgsConstructor(force = true, access = AccessLevel.PRIVATE)
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@ApiModel(value = "Waitlist entry", description = "Waitlist entry parameters")
+public class WaitlistEntryDTO {
+    @ApiModelProperty(value = "Waitlist entry id")
+    private Integer waitlistEntryId;
+    @ApiModelProperty(value = "Position in waitlist of course, first student is promoted when seat becomes free")
+    private Long position;
+    @ApiModelProperty(value = "Student id")
+    private Integer studentId;
+    @ApiModelProperty(value = "Lecturer id of requested class")
+    private Integer lecturerId;
+    @ApiModelProperty(value = "Course id")
+    private Integer courseId;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Almaty")
+    @ApiModelProperty(value = "Beginning time of requested class")
+    private Date time;
+    @ApiModelProperty(value = "Location of requested class")
+    private String location;
+    @ApiModelProperty(value = "Semester id")
+    private String semesterId;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Almaty")
+    @ApiModelProperty(value = "Time student was put to waitlist")
+    private Date requestedAt;
+}
@@ -0,0 +1,17 @@
+package com.rdlab.universityregistrar.service.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published in transaction that deleted schedule entry, so seat of its course in semester may be given
+ * to the first waitlisted student once the transaction is committed
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class SeatReleasedEvent {
+    private final Integer courseId;
+    private final String semesterId;
+}
@@ -11,6 +11,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.BindingResult;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
 /**
  * {@link AbstractService} extension for {@link AcademicRank} entity and {@link AcademicRankDTO} DTO
  */
@@ -22,24 +26,54 @@ public class AcademicRankServiceImpl extends AbstractService<AcademicRank, Acade
         super(dao);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
     public ResponseEntity<Response> getAllEntities() {
         return super.getAllEntities();
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<Response> getEntitiesPage(String afterKey, Integer limit) {
+        return super.getEntitiesPage(afterKey, limit);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<Response> getEntitiesPage(String afterKey, Integer limit, String fields, String expand) {
+        return super.getEntitiesPage(afterKey, limit, fields, expand);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void writeAllEntities(OutputStream outputStream) throws IOException {
+        super.writeAllEntities(outputStream);
+    }
+
+    @Transactional(readOnly = true)
     @Override
     public ResponseEntity<Response> getEntity(String entityId) {
         return super.getEntity(entityId);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<Response> getEntity(String entityId, String fields, String expand) {
+        return super.getEntity(entityId, fields, expand);
+    }
+
     @Transactional
     @Override
     public ResponseEntity<Response> addEntity(AcademicRankDTO dto, BindingResult bindingResult) {
         return super.addEntity(dto, bindingResult);
     }
 
+    @Transactional
+    @Override
+    public ResponseEntity<Response> addEntities(List<AcademicRankDTO> dtos) {
+        return super.addEntities(dtos);
+    }
+
     @Transactional
     @Override
     public ResponseEntity<Response> updateEntity(AcademicRankDTO dto, BindingResult bindingResult) {
@@ -52,9 +86,15 @@ public class AcademicRankServiceImpl extends AbstractService<AcademicRank, Acade
         return super.deleteEntity(entityId);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
     public ResponseEntity<Response> searchForEntities(String searchCriterion) {
         return super.searchForEntities(searchCriterion);
     }
+
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<Response> searchForEntities(String searchCriterion, String fields, String expand) {
+        return super.searchForEntities(searchCriterion, fields, expand);
+    }
 }
@@ -0,0 +1,131 @@
+package com.rdlab.universityregistrar.service.implementation;
+
+import com.rdlab.universityregistrar.controller.response.Response;
+import com.rdlab.universityregistrar.model.dao.AnalyticsDAO;
+import com.rdlab.universityregistrar.service.AnalyticsFunctionality;
+import com.rdlab.universityregistrar.service.dto.CourseStatisticsDTO;
+import com.rdlab.universityregistrar.service.dto.MostPickedSemesterDTO;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.Tuple;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Course analytics read from materialized views, which change only when {@link AnalyticsViewRefreshWorker}
+ * refreshes them. Analytics are cached until the next refresh and clients may cache responses
+ * for one refresh interval.
+ */
+@Service
+@Setter
+@PropertySource("classpath:responseMessages.properties")
+public class AnalyticsServiceImpl implements AnalyticsFunctionality {
+    private final AnalyticsDAO analyticsDAO;
+    @Value("${analytics.refreshInterval:300000}")
+    private long refreshInterval = 300000;
+    @Value("${analytics.courseStatisticsSuccessMessage}")
+    private String courseStatisticsSuccessMessage;
+    @Value("${analytics.mostPickedSemestersSuccessMessage}")
+    private String mostPickedSemestersSuccessMessage;
+
+    private volatile List<CourseStatisticsDTO> courseStatistics;
+    private volatile List<MostPickedSemesterDTO> mostPickedSemesters;
+
+    @Autowired
+    public AnalyticsServiceImpl(AnalyticsDAO analyticsDAO) {
+        this.analyticsDAO = analyticsDAO;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<Response> getCourseStatistics() {
+        List<CourseStatisticsDTO> statistics = courseStatistics;
+        if (statistics == null) {
+            statistics = analyticsDAO.getCourseStatistics().stream()
+                    .map(AnalyticsServiceImpl::tupleToCourseStatistics)
+                    .collect(Collectors.toList());
+            courseStatistics = statistics;
+        }
+        return createResponse(courseStatisticsSuccessMessage, statistics);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<Response> getMostPickedSemesters() {
+        List<MostPickedSemesterDTO> semesters = mostPickedSemesters;
+        if (semesters == null) {
+            semesters = analyticsDAO.getMostPickedSemesters().stream()
+                    .map(AnalyticsServiceImpl::tupleToMostPickedSemester)
+                    .collect(Collectors.toList());
+            mostPickedSemesters = semesters;
+        }
+        return createResponse(mostPickedSemestersSuccessMessage, semesters);
+    }
+
+    @Transactional
+    @Override
+    public void refreshViews() {
+        analyticsDAO.refreshViews();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    clearCache();
+                }
+            });
+        } else {
+            clearCache();
+        }
+    }
+
+    private void clearCache() {
+        courseStatistics = null;
+        mostPickedSemesters = null;
+    }
+
+    private ResponseEntity<Response> createResponse(String message, Object responseBody) {
+        return ResponseEntity.status(HttpStatus.OK)
+                .cacheControl(CacheControl.maxAge(refreshInterval, TimeUnit.MILLISECONDS))
+                .body(Response.builder()
+                        .message(message)
+                        .timeStamp(System.currentTimeMillis())
+                        .responseBody(responseBody)
+                        .build());
+    }
+
+    private static CourseStatisticsDTO tupleToCourseStatistics(Tuple tuple) {
+        return CourseStatisticsDTO.builder()
+                .courseId(tuple.get("courseId", Integer.class))
+                .courseTitle(tuple.get("courseTitle", String.class))
+                .numberOfStudents(getLong(tuple, "numberOfStudents"))
+                .numberOfLecturers(getLong(tuple, "numberOfLecturers"))
+                .highestNumericRank(tuple.get("highestNumericRank", Integer.class))
+                .highestRankName(tuple.get("highestRankName", String.class))
+                .inactiveUsers(getLong(tuple, "inactiveUsers"))
+                .mostPickedSemester(tuple.get("mostPickedSemester", String.class))
+                .build();
+    }
+
+    private static MostPickedSemesterDTO tupleToMostPickedSemester(Tuple tuple) {
+        return MostPickedSemesterDTO.builder()
+                .courseId(tuple.get("courseId", Integer.class))
+                .semesterId(tuple.get("semesterId", String.class))
+                .timesPicked(getLong(tuple, "timesPicked"))
+                .build();
+    }
+
+    private static long getLong(Tuple tuple, String alias) {
+        return ((Number) tuple.get(alias)).longValue();
+    }
+}
@@ -0,0 +1,33 @@
+package com.rdlab.universityregistrar.service.implementation;
+
+import com.rdlab.universityregistrar.service.AnalyticsFunctionality;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically refreshes materialized views of course analytics. Views are refreshed concurrently,
+ * so analytics stay readable while they are recomputed.
+ */
+@Component
+@Slf4j
+public class AnalyticsViewRefreshWorker {
+    private final AnalyticsFunctionality analyticsService;
+
+    @Autowired
+    public AnalyticsViewRefreshWorker(AnalyticsFunctionality analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.refreshInterval:300000}", initialDelayString = "${analytics.refreshInterval:300000}")
+    public void refreshViews() {
+        long start = System.currentTimeMillis();
+        try {
+            analyticsService.refreshViews();
+            log.info("Analytics views refreshed in {} ms", System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("Refresh of analytics views failed", e);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.rdlab.universityregistrar.service.implementation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rdlab.universityregistrar.model.dao.AuditEvent;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Append-only journal of audit events waiting to be written to database, one JSON event per line.
+ * Events are appended before they are queued, journal is split into segments and segment is deleted when
+ * all its events are written. Segments left after crash are replayed on startup. Appended events are flushed
+ * to operating system, so they survive crash of application, but not crash of operating system.
+ */
+public class AuditJournal implements Closeable {
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Path directory;
+    private final List<Segment> closedSegments = new ArrayList<>();
+    private final List<Path> leftoverSegments = new ArrayList<>();
+    private Segment currentSegment;
+    private int segmentNumber;
+
+    /**
+     * Open journal in directory, segments already present in directory are left from previous run
+     *
+     * @param directory journal directory, created if missing
+     * @throws IOException if directory cannot be created or listed
+     */
+    public AuditJournal(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            segments.forEach(leftoverSegments::add);
+        }
+        leftoverSegments.sort(null);
+    }
+
+    /**
+     * Replay and delete segments left by previous run, segment is kept if its replay fails
+     *
+     * @param replayer writer of all events of segment, must skip events already written
+     */
+    public void replayLeftoverSegments(SegmentReplayer replayer) throws IOException {
+        for (Iterator<Path> iterator = leftoverSegments.iterator(); iterator.hasNext(); ) {
+            Path segment = iterator.next();
+            replayer.replay(readEvents(segment));
+            Files.deleteIfExists(segment);
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Append events to current segment
+     *
+     * @return segment holding appended events, each event must be reported as written or overflowed
+     */
+    public synchronized Segment append(List<AuditEvent> auditEvents) throws IOException {
+        if (currentSegment == null) {
+            Path path = directory.resolve(String.format("audit-%d-%06d%s", System.currentTimeMillis(), segmentNumber++, SEGMENT_SUFFIX));
+            currentSegment = new Segment(path, Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE_NEW));
+        }
+        for (AuditEvent auditEvent : auditEvents) {
+            currentSegment.writer.write(OBJECT_MAPPER.writeValueAsString(auditEvent));
+            currentSegment.writer.newLine();
+        }
+        currentSegment.writer.flush();
+        currentSegment.pendingEvents.addAndGet(auditEvents.size());
+        return currentSegment;
+    }
+
+    /**
+     * Close current segment, events appended later go to new segment. Closed segment can be deleted
+     * as soon as all its events are written.
+     */
+    public synchronized void rotate() throws IOException {
+        if (currentSegment != null) {
+            currentSegment.writer.close();
+            closedSegments.add(currentSegment);
+            currentSegment = null;
+        }
+    }
+
+    /**
+     * Delete closed segments whose events are written. Events of segment with overflowed events
+     * are passed to replayer first, segment is kept if replay fails.
+     *
+     * @param replayer writer of all events of segment, must skip events already written
+     */
+    public void deleteCompletedSegments(SegmentReplayer replayer) throws IOException {
+        List<Segment> completedSegments = new ArrayList<>();
+        synchronized (this) {
+            for (Iterator<Segment> iterator = closedSegments.iterator(); iterator.hasNext(); ) {
+                Segment segment = iterator.next();
+                if (segment.pendingEvents.get() == 0) {
+                    completedSegments.add(segment);
+                    iterator.remove();
+                }
+            }
+        }
+        for (int i = 0; i < completedSegments.size(); i++) {
+            Segment segment = completedSegments.get(i);
+            try {
+                if (segment.overflowed) {
+                    replayer.replay(readEvents(segment.path));
+                }
+                Files.deleteIfExists(segment.path);
+            } catch (IOException | RuntimeException e) {
+                synchronized (this) {
+                    closedSegments.addAll(completedSegments.subList(i, completedSegments.size()));
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Read events of segment. Last line is skipped if it was cut by crash in the middle of append.
+     */
+    public static List<AuditEvent> readEvents(Path segment) throws IOException {
+        List<String> lines = Files.readAllLines(segment, StandardCharsets.UTF_8);
+        List<AuditEvent> auditEvents = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            try {
+                auditEvents.add(OBJECT_MAPPER.readValue(lines.get(i), AuditEvent.class));
+            } catch (JsonProcessingException e) {
+                if (i < lines.size() - 1) {
+                    throw e;
+                }
+            }
+        }
+        return auditEvents;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        rotate();
+    }
+
+    @FunctionalInterface
+    public interface SegmentReplayer {
+        void replay(List<AuditEvent> auditEvents);
+    }
+
+    /**
+     * Journal file with number of its events not yet written to database
+     */
+    public static class Segment {
+        private final Path path;
+        private final BufferedWriter writer;
+        private final AtomicInteger pendingEvents = new AtomicInteger();
+        private volatile boolean overflowed;
+
+        private Segment(Path path, BufferedWriter writer) {
+            this.path = path;
+            this.writer = writer;
+        }
+
+        /**
+         * Event of segment is written to database
+         */
+        public void eventWritten() {
+            pendingEvents.decrementAndGet();
+        }
+
+        /**
+         * Event of segment was not queued or its write failed, it is written by replay of whole segment
+         */
+        public void eventOverflowed() {
+            overflowed = true;
+            pendingEvents.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.rdlab.universityregistrar.service.implementation;
+
+import com.rdlab.universityregistrar.model.dao.AuditDAO;
+import com.rdlab.universityregistrar.model.dao.AuditEvent;
+import com.rdlab.universityregistrar.model.dao.RecordInsertedEvent;
+import com.rdlab.universityregistrar.service.AuditFunctionality;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Audit of inserted records replacing synchronous logging triggers. Events of transaction are appended to
+ * {@link AuditJournal} and put to bounded queue when transaction commits, background writer drains queue and
+ * writes events to audit_log with multi-row inserts. When queue stays full longer than enqueue timeout,
+ * inserting thread is not blocked any more: events are left in journal and written by replay of their journal
+ * segment, as are events whose write failed. Enqueue timeout bounds wait of whole transaction, not of each event:
+ * once it expires, remaining events of transaction are left in journal without waiting. Journal segments left
+ * after crash are replayed on startup, so journal directory must outlive restart of host (it defaults to
+ * directory in user home, not in temporary directory which may be cleaned on boot).
+ */
+@Service
+@Setter
+@Slf4j
+public class AuditServiceImpl implements AuditFunctionality {
+    private final AuditDAO auditDAO;
+    @Value("${audit.enabled:false}")
+    private boolean enabled;
+    @Value("${audit.queueCapacity:10000}")
+    private int queueCapacity = 10000;
+    @Value("${audit.batchSize:500}")
+    private int batchSize = 500;
+    @Value("${audit.enqueueTimeout:100}")
+    private long enqueueTimeout = 100;
+    @Value("${audit.journalDirectory:${user.home}/registrar-audit}")
+    private String journalDirectory = System.getProperty("user.home") + "/registrar-audit";
+    @Value("${audit.excludedProperties:password}")
+    private String excludedProperties = "password";
+
+    private BlockingQueue<QueuedEvent> queue;
+    private AuditJournal journal;
+    private Set<String> excludedPropertySet;
+    private final AtomicLong overflowedEvents = new AtomicLong();
+
+    @Autowired
+    public AuditServiceImpl(AuditDAO auditDAO) {
+        this.auditDAO = auditDAO;
+    }
+
+    /**
+     * Open audit journal and replay segments left by previous run
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        excludedPropertySet = StringUtils.commaDelimitedListToSet(excludedProperties.replace(" ", ""));
+        journal = new AuditJournal(Paths.get(journalDirectory));
+        replayLeftoverSegments();
+    }
+
+    /**
+     * Write remaining queued events and close audit journal, events that could not be written stay in journal
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        if (enabled) {
+            writeQueuedEvents();
+            journal.close();
+        }
+    }
+
+    @Override
+    @EventListener
+    public void onRecordInserted(RecordInsertedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(Collections.singletonList(event));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<RecordInsertedEvent> transactionEvents = (List<RecordInsertedEvent>) TransactionSynchronizationManager.getResource(this);
+        if (transactionEvents == null) {
+            List<RecordInsertedEvent> events = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, events);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    enqueue(events);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AuditServiceImpl.this);
+                }
+            });
+            transactionEvents = events;
+        }
+        transactionEvents.add(event);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${audit.flushInterval:1000}", initialDelayString = "${audit.flushInterval:1000}")
+    public synchronized int writeQueuedEvents() {
+        if (!enabled) {
+            return 0;
+        }
+        replayLeftoverSegments();
+        try {
+            journal.rotate();
+        } catch (IOException e) {
+            log.error("Audit journal segment could not be closed", e);
+        }
+        long overflowed = overflowedEvents.getAndSet(0);
+        if (overflowed > 0) {
+            log.warn("{} audit events did not fit in queue, they are written from audit journal", overflowed);
+        }
+        int writtenEvents = 0;
+        List<QueuedEvent> batch = new ArrayList<>(batchSize);
+        List<AuditEvent> auditEvents = new ArrayList<>(batchSize);
+        for (int eventsToWrite = queue.size(); eventsToWrite > 0 && queue.drainTo(batch, Math.min(batchSize, eventsToWrite)) > 0; eventsToWrite -= batch.size()) {
+            for (QueuedEvent queuedEvent : batch) {
+                auditEvents.add(queuedEvent.auditEvent);
+            }
+            try {
+                auditDAO.addAuditEvents(auditEvents);
+                writtenEvents += auditEvents.size();
+                batch.forEach(QueuedEvent::written);
+            } catch (RuntimeException e) {
+                log.error("Batch of {} audit events could not be written, events are left in audit journal", batch.size(), e);
+                batch.forEach(QueuedEvent::overflowed);
+            }
+            batch.clear();
+            auditEvents.clear();
+        }
+        try {
+            journal.deleteCompletedSegments(auditDAO::addAuditEvents);
+        } catch (IOException | RuntimeException e) {
+            log.error("Audit journal segment could not be replayed, replay is retried on next write", e);
+        }
+        return writtenEvents;
+    }
+
+    /**
+     * @return number of events waiting in queue
+     */
+    public int getQueuedEvents() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    private void replayLeftoverSegments() {
+        try {
+            journal.replayLeftoverSegments(auditDAO::addAuditEvents);
+        } catch (IOException | RuntimeException e) {
+            log.error("Audit journal left by previous run could not be replayed, replay is retried on next write", e);
+        }
+    }
+
+    private void enqueue(List<RecordInsertedEvent> events) {
+        long occurredAt = System.currentTimeMillis();
+        List<AuditEvent> auditEvents = new ArrayList<>(events.size());
+        for (RecordInsertedEvent event : events) {
+            auditEvents.add(AuditEvent.builder()
+                    .eventId(UUID.randomUUID().toString())
+                    .occurredAt(occurredAt)
+                    .tableName(event.getTableName())
+                    .recordId(event.getRecordId())
+                    .description(getDescription(event.getValues()))
+                    .build());
+        }
+        AuditJournal.Segment segment = null;
+        try {
+            segment = journal.append(auditEvents);
+        } catch (IOException e) {
+            log.error("Audit events could not be appended to audit journal, they are lost if they do not fit in queue", e);
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(enqueueTimeout);
+        boolean queueFull = false;
+        for (AuditEvent auditEvent : auditEvents) {
+            QueuedEvent queuedEvent = new QueuedEvent(auditEvent, segment);
+            if (!queueFull) {
+                try {
+                    queueFull = !queue.offer(queuedEvent, Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    queueFull = true;
+                }
+            }
+            if (queueFull) {
+                overflowedEvents.incrementAndGet();
+                queuedEvent.overflowed();
+            }
+        }
+    }
+
+    /**
+     * Describe inserted values the way logging triggers did, excluded properties are left out
+     */
+    private String getDescription(Map<String, Object> values) {
+        StringJoiner description = new StringJoiner("; ");
+        values.forEach((property, value) -> {
+            if (!excludedPropertySet.contains(property)) {
+                description.add(property + ": \"" + (value instanceof String ? ((String) value).trim() : value) + "\"");
+            }
+        });
+        return description.toString();
+    }
+
+    private static class QueuedEvent {
+        private final AuditEvent auditEvent;
+        private final AuditJournal.Segment segment;
+
+        private QueuedEvent(AuditEvent auditEvent, AuditJournal.Segment segment) {
+            this.auditEvent = auditEvent;
+            this.segment = segment;
+        }
+
+        private void written() {
+            if (segment != null) {
+                segment.eventWritten();
+            }
+        }
+
+        private void overflowed() {
+            if (segment != null) {
+                segment.eventOverflowed();
+            } else {
+                log.error("Audit event {} of table {} is lost", auditEvent.getEventId(), auditEvent.getTableName());
+            }
+        }
+    }
+}
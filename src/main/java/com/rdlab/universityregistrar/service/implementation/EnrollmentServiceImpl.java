@@ -0,0 +1,391 @@
+package com.rdlab.universityregistrar.service.implementation;
+
+import com.rdlab.universityregistrar.controller.response.Response;
+import com.rdlab.universityregistrar.model.dao.EnrollmentDAO;
+import com.rdlab.universityregistrar.model.entity.ScheduleEntry;
+import com.rdlab.universityregistrar.service.EnrollmentFunctionality;
+import com.rdlab.universityregistrar.service.ServiceFunctionality;
+import com.rdlab.universityregistrar.service.dto.CourseCapacityDTO;
+import com.rdlab.universityregistrar.service.dto.ScheduleEntryDTO;
+import com.rdlab.universityregistrar.service.dto.WaitlistEntryDTO;
+import com.rdlab.universityregistrar.service.event.SeatReleasedEvent;
+import com.rdlab.universityregistrar.service.mapper.DTOEntityMapper;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+
+import javax.persistence.Tuple;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Enrollment of students to courses with limited number of seats. Capacity of course in semester is locked
+ * until the end of enrollment transaction, so concurrent enrollments are checked one by one against committed
+ * number of enrolled students. Students that get no seat are put to FIFO waitlist and promoted when seat
+ * becomes free: once deletion of schedule entry or capacity increase is committed, or by {@link WaitlistPromotionWorker}
+ * when seats are freed otherwise (cascade deletes, capacity changes made directly in database).
+ * Courses without capacity have unlimited number of seats.
+ */
+@Service
+@Setter
+@Slf4j
+@PropertySource("classpath:responseMessages.properties")
+public class EnrollmentServiceImpl implements EnrollmentFunctionality {
+    private final EnrollmentDAO enrollmentDAO;
+    private final ServiceFunctionality<ScheduleEntryDTO> scheduleEntryService;
+    @Autowired
+    private DTOEntityMapper<ScheduleEntry, ScheduleEntryDTO> scheduleEntryMapper;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Value("${enrollment.promotionBatchSize:100}")
+    private int promotionBatchSize = 100;
+    /**
+     * Whether seat released by deleted schedule entry is given to waitlisted student once deletion is committed,
+     * disabled where capacity and waitlist tables are not present (left to {@link WaitlistPromotionWorker})
+     */
+    @Value("${enrollment.promotionOnDelete:true}")
+    private boolean promotionOnDelete = true;
+    @Value("${enrollment.waitlistedMessage}")
+    private String waitlistedMessage;
+    @Value("${enrollment.capacitySuccessMessage}")
+    private String capacitySuccessMessage;
+    @Value("${enrollment.capacityUpdateSuccessMessage}")
+    private String capacityUpdateSuccessMessage;
+    @Value("${enrollment.waitlistSuccessMessage}")
+    private String waitlistSuccessMessage;
+    @Value("${entity.deleteSuccessMessage}")
+    private String deleteSuccessMessage;
+    @Value("${entity.entityNotFoundMessage}")
+    private String entityNotFoundMessage;
+    @Value("${entity.invalidInputMessage}")
+    private String invalidInputMessage;
+
+    @Autowired
+    public EnrollmentServiceImpl(EnrollmentDAO enrollmentDAO, ServiceFunctionality<ScheduleEntryDTO> scheduleEntryService) {
+        this.enrollmentDAO = enrollmentDAO;
+        this.scheduleEntryService = scheduleEntryService;
+    }
+
+    /**
+     * Enroll student to course: add requested schedule entry if course has free seat, otherwise put student to
+     * waitlist of course. Student that is already enrolled to course in semester does not take another seat.
+     * Free seats are not taken while there are waitlisted students, they are given to waitlist first.
+     *
+     * @param dto           requested schedule entry
+     * @param bindingResult validation constraints of requested schedule entry
+     * @return response of {@link ScheduleEntryServiceImpl#addEntity(ScheduleEntryDTO, BindingResult)} if student got
+     * a seat, or {@link Response} instance with {@link WaitlistEntryDTO} and status 202 if student is waitlisted
+     */
+    @Transactional
+    @Override
+    public ResponseEntity<Response> enroll(ScheduleEntryDTO dto, BindingResult bindingResult) {
+        if (bindingResult.hasErrors()) {
+            return new ResponseEntity<>(Response.builder()
+                    .message(invalidInputMessage)
+                    .timeStamp(System.currentTimeMillis())
+                    .responseBody(bindingResult.getAllErrors().stream().map(DefaultMessageSourceResolvable::getDefaultMessage).collect(Collectors.toCollection(ArrayList::new)))
+                    .build(),
+                    HttpStatus.BAD_REQUEST
+            );
+        }
+        if (isSeatAvailable(dto)) {
+            return scheduleEntryService.addEntity(dto, bindingResult);
+        }
+        Integer waitlistEntryId = enrollmentDAO.addWaitlistEntry(scheduleEntryMapper.dtoToEntity(dto));
+        return new ResponseEntity<>(Response.builder()
+                .message(waitlistedMessage)
+                .timeStamp(System.currentTimeMillis())
+                .responseBody(WaitlistEntryDTO.builder()
+                        .waitlistEntryId(waitlistEntryId)
+                        .position(enrollmentDAO.getWaitlistPosition(waitlistEntryId))
+                        .studentId(dto.getStudentId())
+                        .lecturerId(dto.getLecturerId())
+                        .courseId(dto.getCourseId())
+                        .time(dto.getTime())
+                        .location(dto.getLocation())
+                        .semesterId(dto.getSemesterId())
+                        .build())
+                .build(),
+                HttpStatus.ACCEPTED
+        );
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<Response> getCourseCapacity(Integer courseId, String semesterId) {
+        Optional<Tuple> courseCapacity = enrollmentDAO.findCourseCapacity(courseId, semesterId);
+        if (!courseCapacity.isPresent()) {
+            return new ResponseEntity<>(Response.builder()
+                    .message(entityNotFoundMessage)
+                    .timeStamp(System.currentTimeMillis())
+                    .responseBody("")
+                    .build(),
+                    HttpStatus.NOT_FOUND
+            );
+        }
+        return new ResponseEntity<>(Response.builder()
+                .message(capacitySuccessMessage)
+                .timeStamp(System.currentTimeMillis())
+                .responseBody(tupleToCourseCapacity(courseCapacity.get()))
+                .build(),
+                HttpStatus.OK
+        );
+    }
+
+    /**
+     * Set capacity of course in semester. If capacity is increased, waitlisted students are promoted once new capacity
+     * is committed, so returned number of enrolled students does not include them yet. Lowering capacity below number of enrolled students does not remove enrolled students.
+     */
+    @Transactional
+    @Override
+    public ResponseEntity<Response> updateCourseCapacity(CourseCapacityDTO dto, BindingResult bindingResult) {
+        if (bindingResult.hasErrors()) {
+            return new ResponseEntity<>(Response.builder()
+                    .message(invalidInputMessage)
+                    .timeStamp(System.currentTimeMillis())
+                    .responseBody(bindingResult.getAllErrors().stream().map(DefaultMessageSourceResolvable::getDefaultMessage).collect(Collectors.toCollection(ArrayList::new)))
+                    .build(),
+                    HttpStatus.BAD_REQUEST
+            );
+        }
+        enrollmentDAO.saveCourseCapacity(dto.getCourseId(), dto.getSemesterId(), dto.getCapacity());
+        promoteWaitlistedStudentsAfterCommit(dto.getCourseId(), dto.getSemesterId());
+        return new ResponseEntity<>(Response.builder()
+                .message(capacityUpdateSuccessMessage)
+                .timeStamp(System.currentTimeMillis())
+                .responseBody(enrollmentDAO.findCourseCapacity(dto.getCourseId(), dto.getSemesterId()).map(this::tupleToCourseCapacity).orElse(dto))
+                .build(),
+                HttpStatus.OK
+        );
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<Response> getWaitlist(Integer courseId, String semesterId) {
+        List<Tuple> waitlist = enrollmentDAO.getWaitlist(courseId, semesterId);
+        List<WaitlistEntryDTO> waitlistEntries = new ArrayList<>(waitlist.size());
+        for (Tuple tuple : waitlist) {
+            WaitlistEntryDTO waitlistEntry = tupleToWaitlistEntry(tuple);
+            waitlistEntry.setPosition(waitlistEntries.size() + 1L);
+            waitlistEntries.add(waitlistEntry);
+        }
+        return new ResponseEntity<>(Response.builder()
+                .message(waitlistSuccessMessage)
+                .timeStamp(System.currentTimeMillis())
+                .responseBody(waitlistEntries)
+                .build(),
+                HttpStatus.OK
+        );
+    }
+
+    @Transactional
+    @Override
+    public ResponseEntity<Response> leaveWaitlist(Integer waitlistEntryId) {
+        if (enrollmentDAO.deleteWaitlistEntry(waitlistEntryId) != 0) {
+            return new ResponseEntity<>(Response.builder()
+                    .message(deleteSuccessMessage)
+                    .timeStamp(System.currentTimeMillis())
+                    .responseBody("")
+                    .build(),
+                    HttpStatus.OK
+            );
+        } else {
+            return new ResponseEntity<>(Response.builder()
+                    .message(entityNotFoundMessage)
+                    .timeStamp(System.currentTimeMillis())
+                    .responseBody("")
+                    .build(),
+                    HttpStatus.NOT_FOUND
+            );
+        }
+    }
+
+    /**
+     * Give free seats to waitlisted students one by one in new transaction, while capacity of course is locked.
+     * Waitlisted student whose schedule entry is rejected (e.g. by course load limit) loses waitlist entry and seat
+     * goes to next student. Schedule entry failing in database (e.g. by exclusion constraint) rolls back the whole
+     * promotion transaction, so waitlist entry of that student is deleted in its own transaction and promotion
+     * is started again.
+     */
+    @Override
+    public int promoteWaitlistedStudents(Integer courseId, String semesterId) {
+        while (true) {
+            AtomicReference<WaitlistEntryDTO> pendingEntry = new AtomicReference<>();
+            try {
+                Integer promotedStudents = newTransaction().execute(status -> promoteWaitlistedStudents(courseId, semesterId, pendingEntry));
+                return promotedStudents == null ? 0 : promotedStudents;
+            } catch (RuntimeException e) {
+                WaitlistEntryDTO failedEntry = pendingEntry.get();
+                if (failedEntry == null) {
+                    throw e;
+                }
+                log.warn("Waitlisted student {} was not promoted to course {} in semester {}: {}", failedEntry.getStudentId(),
+                        courseId, semesterId, e.getMessage());
+                newTransaction().execute(status -> enrollmentDAO.deleteWaitlistEntry(failedEntry.getWaitlistEntryId()));
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<CourseCapacityDTO> getCoursesToPromote() {
+        return enrollmentDAO.getCoursesWithFreeSeatsAndWaitlist(promotionBatchSize).stream()
+                .map(tuple -> CourseCapacityDTO.builder()
+                        .courseId(tuple.get("courseId", Integer.class))
+                        .semesterId(tuple.get("semesterId", String.class))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Seat released by deleted schedule entry is given to waitlisted student once deletion is committed, so failed
+     * promotion does not roll back deletion. New enrollments cannot take the seat ahead of waitlist in the meantime,
+     * because free seats are not taken while there are waitlisted students.
+     */
+    @EventListener
+    @Override
+    public void onSeatReleased(SeatReleasedEvent event) {
+        if (!promotionOnDelete) {
+            return;
+        }
+        promoteWaitlistedStudentsAfterCommit(event.getCourseId(), event.getSemesterId());
+    }
+
+    /**
+     * Promotion runs in new transaction, because transaction that called it is already completed. Failed promotion
+     * is logged and left to {@link WaitlistPromotionWorker}, committed changes of the caller are kept anyway.
+     */
+    private void promoteWaitlistedStudentsAfterCommit(Integer courseId, String semesterId) {
+        Runnable promotion = () -> {
+            try {
+                promoteWaitlistedStudents(courseId, semesterId);
+            } catch (RuntimeException e) {
+                log.error("Waitlist promotion of course {} in semester {} failed", courseId, semesterId, e);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    promotion.run();
+                }
+            });
+        } else {
+            promotion.run();
+        }
+    }
+
+    /**
+     * Waitlist entry whose schedule entry is being added is kept in pending entry, so it is known which entry
+     * failed when exception is thrown
+     */
+    private int promoteWaitlistedStudents(Integer courseId, String semesterId, AtomicReference<WaitlistEntryDTO> pendingEntry) {
+        Optional<Tuple> courseCapacity = enrollmentDAO.lockCourseCapacity(courseId, semesterId);
+        if (!courseCapacity.isPresent()) {
+            return 0;
+        }
+        int freeSeats = getInt(courseCapacity.get(), "capacity") - getInt(courseCapacity.get(), "enrolledCount");
+        int promotedStudents = 0;
+        while (promotedStudents < freeSeats) {
+            Optional<Tuple> waitlistEntry = enrollmentDAO.pollWaitlistEntry(courseId, semesterId);
+            if (!waitlistEntry.isPresent()) {
+                break;
+            }
+            pendingEntry.set(tupleToWaitlistEntry(waitlistEntry.get()));
+            ScheduleEntryDTO requestedEntry = toRequestedScheduleEntry(pendingEntry.get());
+            ResponseEntity<Response> result = scheduleEntryService.addEntity(requestedEntry, new BeanPropertyBindingResult(requestedEntry, "scheduleEntryDTO"));
+            pendingEntry.set(null);
+            if (result.getStatusCode() == HttpStatus.CREATED) {
+                promotedStudents++;
+            } else {
+                log.warn("Waitlisted student {} was not promoted to course {} in semester {}: {}", requestedEntry.getStudentId(),
+                        courseId, semesterId, result.getBody() == null ? result.getStatusCode() : result.getBody().getMessage());
+            }
+        }
+        return promotedStudents;
+    }
+
+    private TransactionTemplate newTransaction() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transactionTemplate;
+    }
+
+    private boolean isSeatAvailable(ScheduleEntryDTO dto) {
+        Optional<Tuple> courseCapacity = enrollmentDAO.lockCourseCapacity(dto.getCourseId(), dto.getSemesterId());
+        if (!courseCapacity.isPresent() || enrollmentDAO.isStudentEnrolled(dto.getStudentId(), dto.getCourseId(), dto.getSemesterId())) {
+            return true;
+        }
+        return getInt(courseCapacity.get(), "enrolledCount") < getInt(courseCapacity.get(), "capacity")
+                && !enrollmentDAO.hasWaitlistedStudents(dto.getCourseId(), dto.getSemesterId());
+    }
+
+    private CourseCapacityDTO tupleToCourseCapacity(Tuple tuple) {
+        return CourseCapacityDTO.builder()
+                .courseId(tuple.get("courseId", Integer.class))
+                .semesterId(tuple.get("semesterId", String.class))
+                .capacity(getInt(tuple, "capacity"))
+                .enrolledCount(getInt(tuple, "enrolledCount"))
+                .waitlistLength(getLong(tuple, "waitlistLength"))
+                .build();
+    }
+
+    private WaitlistEntryDTO tupleToWaitlistEntry(Tuple tuple) {
+        return WaitlistEntryDTO.builder()
+                .waitlistEntryId(tuple.get("waitlistEntryId", Integer.class))
+                .studentId(tuple.get("studentId", Integer.class))
+                .lecturerId(tuple.get("lecturerId", Integer.class))
+                .courseId(tuple.get("courseId", Integer.class))
+                .time(toDate(tuple.get("time")))
+                .location(tuple.get("location", String.class))
+                .semesterId(tuple.get("semesterId", String.class))
+                .requestedAt(toDate(tuple.get("requestedAt")))
+                .build();
+    }
+
+    private static ScheduleEntryDTO toRequestedScheduleEntry(WaitlistEntryDTO waitlistEntry) {
+        return ScheduleEntryDTO.builder()
+                .studentId(waitlistEntry.getStudentId())
+                .lecturerId(waitlistEntry.getLecturerId())
+                .courseId(waitlistEntry.getCourseId())
+                .time(waitlistEntry.getTime())
+                .location(waitlistEntry.getLocation())
+                .semesterId(waitlistEntry.getSemesterId())
+                .build();
+    }
+
+    /**
+     * Numeric columns of native queries are read as {@link Number}, because PostgreSQL bigint is returned
+     * as {@link java.math.BigInteger}
+     */
+    private static int getInt(Tuple tuple, String alias) {
+        return ((Number) tuple.get(alias)).intValue();
+    }
+
+    private static long getLong(Tuple tuple, String alias) {
+        return ((Number) tuple.get(alias)).longValue();
+    }
+
+    private static Date toDate(Object epochMillis) {
+        return epochMillis == null ? null : new Date(((Number) epochMillis).longValue());
+    }
+}
@@ -2,9 +2,12 @@ package com.rdlab.universityregistrar.service.implementation;
 
 import com.rdlab.universityregistrar.controller.response.Response;
 import com.rdlab.universityregistrar.model.dao.DAO;
+import com.rdlab.universityregistrar.model.entity.AcademicRank;
 import com.rdlab.universityregistrar.model.entity.Lecturer;
 import com.rdlab.universityregistrar.service.AbstractService;
+import com.rdlab.universityregistrar.service.dto.AcademicRankDTO;
 import com.rdlab.universityregistrar.service.dto.LecturerDTO;
+import com.rdlab.universityregistrar.service.mapper.DTOEntityMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.http.HttpStatus;
@@ -13,36 +16,73 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.BindingResult;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 
 @Service
 public class LecturerServiceImpl extends AbstractService<Lecturer, LecturerDTO> {
+    @Autowired
+    private DTOEntityMapper<AcademicRank, AcademicRankDTO> academicRankMapper;
 
     @Autowired
     public LecturerServiceImpl(DAO<Lecturer> dao) {
         super(dao);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
     public ResponseEntity<Response> getAllEntities() {
         return super.getAllEntities();
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<Response> getEntitiesPage(String afterKey, Integer limit) {
+        return super.getEntitiesPage(afterKey, limit);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<Response> getEntitiesPage(String afterKey, Integer limit, String fields, String expand) {
+        return super.getEntitiesPage(afterKey, limit, fields, expand);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void writeAllEntities(OutputStream outputStream) throws IOException {
+        super.writeAllEntities(outputStream);
+    }
+
+    @Transactional(readOnly = true)
     @Override
     public ResponseEntity<Response> getEntity(String entityId) {
         return super.getEntity(entityId);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<Response> getEntity(String entityId, String fields, String expand) {
+        return super.getEntity(entityId, fields, expand);
+    }
+
     @Transactional
     @Override
     public ResponseEntity<Response> addEntity(LecturerDTO dto, BindingResult bindingResult) {
         return super.addEntity(dto, bindingResult);
     }
 
+    @Transactional
+    @Override
+    public ResponseEntity<Response> addEntities(List<LecturerDTO> dtos) {
+        return super.addEntities(dtos);
+    }
+
     @Transactional
     @Override
     public ResponseEntity<Response> updateEntity(LecturerDTO dto, BindingResult bindingResult) {
@@ -55,9 +95,20 @@ public class LecturerServiceImpl extends AbstractService<Lecturer, LecturerDTO>
         return super.deleteEntity(entityId);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
     public ResponseEntity<Response> searchForEntities(String searchCriterion) {
         return super.searchForEntities(searchCriterion);
     }
+
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<Response> searchForEntities(String searchCriterion, String fields, String expand) {
+        return super.searchForEntities(searchCriterion, fields, expand);
+    }
+
+    @Override
+    protected Map<String, DTOEntityMapper<?, ?>> getExpansionMappers() {
+        return Collections.singletonMap("academicRank", academicRankMapper);
+    }
 }
@@ -2,28 +2,36 @@ package com.rdlab.universityregistrar.service.implementation;
 
 import com.rdlab.universityregistrar.controller.response.Response;
 import com.rdlab.universityregistrar.model.dao.DAO;
-import com.rdlab.universityregistrar.model.dao.implementation.ScheduleEntryDAOImpl;
-import com.rdlab.universityregistrar.model.dao.implementation.UserDAOImpl;
-import com.rdlab.universityregistrar.model.entity.ScheduleEntry;
-import com.rdlab.universityregistrar.model.entity.User;
+import com.rdlab.universityregistrar.model.dao.ScheduleEntryDAO;
+import com.rdlab.universityregistrar.model.dao.UserDAO;
+import com.rdlab.universityregistrar.model.entity.*;
 import com.rdlab.universityregistrar.service.AbstractService;
-import com.rdlab.universityregistrar.service.dto.ScheduleEntryDTO;
+import com.rdlab.universityregistrar.service.dto.*;
+import com.rdlab.universityregistrar.service.event.SeatReleasedEvent;
+import com.rdlab.universityregistrar.service.mapper.DTOEntityMapper;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.validation.BindingResult;
 
 import javax.persistence.NoResultException;
+import javax.persistence.Tuple;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
+import java.util.*;
 import java.util.stream.Collectors;
 
 
@@ -32,9 +40,32 @@ import java.util.stream.Collectors;
 @Setter
 @Slf4j
 public class ScheduleEntryServiceImpl extends AbstractService<ScheduleEntry, ScheduleEntryDTO> {
+    private static final String STUDENT_NOT_USER_WARNING = "Course begins in less than %d days, but student is not registered as an user!";
+    private static final String STUDENT_NOT_ACTIVE_WARNING = "Course begins in less than %d days, but student is not active!";
+    private static final String TOO_MANY_COURSES_WARNING = "Student has taken more than %d courses in single semester!";
+    private static final String ENTRY_CONFLICT_ERROR = "%s is already booked by schedule entry %d at this time";
+    private static final String ROW_CONFLICT_ERROR = "%s is already booked by row %d of batch at this time";
+
     private long recommendedCourseNumberPerStudent = 5L;
     private int numberOfDaysBeforeStudentNeedsToBeActive = 5;
 
+    /**
+     * If enabled, schedule entries exceeding recommended number of courses per student in semester are rejected
+     * instead of being added with warning
+     */
+    @Value("${schedule.courseLoadEnforced:false}")
+    private boolean courseLoadEnforced;
+    @Value("${scheduleEntry.courseLoadExceededMessage}")
+    private String courseLoadExceededMessage;
+    /**
+     * If enabled, schedule entries booking lecturer, location or student already booked at overlapping time
+     * are rejected
+     */
+    @Value("${schedule.conflictsEnforced:false}")
+    private boolean conflictsEnforced;
+    @Value("${scheduleEntry.timetableConflictMessage}")
+    private String timetableConflictMessage;
+
     @Autowired
     public ScheduleEntryServiceImpl(DAO<ScheduleEntry> dao) {
         super(dao);
@@ -43,31 +74,87 @@ public class ScheduleEntryServiceImpl extends AbstractService<ScheduleEntry, Sch
     @Autowired
     private DAO<User> userDAO;
 
-    @Transactional
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TimetableConflictDetector conflictDetector;
+
+    @Autowired
+    private DTOEntityMapper<Course, CourseDTO> courseMapper;
+
+    @Autowired
+    private DTOEntityMapper<Lecturer, LecturerDTO> lecturerMapper;
+
+    @Autowired
+    private DTOEntityMapper<Student, StudentDTO> studentMapper;
+
+    @Autowired
+    private DTOEntityMapper<Semester, SemesterDTO> semesterMapper;
+
+    @Transactional(readOnly = true)
     @Override
     public ResponseEntity<Response> getAllEntities() {
         return super.getAllEntities();
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<Response> getEntitiesPage(String afterKey, Integer limit) {
+        return super.getEntitiesPage(afterKey, limit);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<Response> getEntitiesPage(String afterKey, Integer limit, String fields, String expand) {
+        return super.getEntitiesPage(afterKey, limit, fields, expand);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void writeAllEntities(OutputStream outputStream) throws IOException {
+        super.writeAllEntities(outputStream);
+    }
+
+    @Transactional(readOnly = true)
     @Override
     public ResponseEntity<Response> getEntity(String entityId) {
         return super.getEntity(entityId);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<Response> getEntity(String entityId, String fields, String expand) {
+        return super.getEntity(entityId, fields, expand);
+    }
+
     @Transactional
     @Override
     public ResponseEntity<Response> addEntity(ScheduleEntryDTO dto, BindingResult bindingResult) {
         if (!bindingResult.hasErrors()) {
+            lockCourseCapacities(Collections.singletonList(dto));
+            if (isCourseLoadExceeded(dto)) {
+                return new ResponseEntity<>(Response.builder()
+                        .message(courseLoadExceededMessage)
+                        .timeStamp(System.currentTimeMillis())
+                        .responseBody(dto)
+                        .build(),
+                        HttpStatus.CONFLICT
+                );
+            }
+            List<ScheduleConflictDTO> conflicts = findConflicts(dto);
+            if (!conflicts.isEmpty()) {
+                return createConflictResponse(conflicts);
+            }
             Integer generatedId = dao.addRecord(getMapper().dtoToEntity(dto));
             if (generatedId != null) {
                 dto.setEntryId(generatedId);
-                checkIfStudentOfCourseIsActive(dto);
-                checkNumberOfTakenCoursesForStudent(dto);
+                afterCommit(() -> conflictDetector.entrySaved(dto));
                 return new ResponseEntity<>(Response.builder()
                         .message(getAddSuccessMessage())
                         .timeStamp(System.currentTimeMillis())
                         .responseBody(dto)
+                        .warnings(getWarnings(dto))
                         .build(),
                         HttpStatus.CREATED
                 );
@@ -91,18 +178,46 @@ public class ScheduleEntryServiceImpl extends AbstractService<ScheduleEntry, Sch
         }
     }
 
+    /**
+     * Add schedule entries, rows are checked by {@link #checkBatchRows(List)}. Timetables of their semesters
+     * are reloaded on next check.
+     */
+    @Transactional
+    @Override
+    public ResponseEntity<Response> addEntities(List<ScheduleEntryDTO> dtos) {
+        ResponseEntity<Response> response = super.addEntities(dtos);
+        if (response.getStatusCode() == HttpStatus.CREATED) {
+            afterCommit(() -> dtos.forEach(dto -> conflictDetector.evictSemester(dto.getSemesterId())));
+        }
+        return response;
+    }
+
     @Transactional
     @Override
     public ResponseEntity<Response> updateEntity(ScheduleEntryDTO dto, BindingResult bindingResult) {
         if (!bindingResult.hasErrors()) {
+            lockUpdatedCourseCapacities(dto);
+            if (isCourseLoadExceeded(dto)) {
+                return new ResponseEntity<>(Response.builder()
+                        .message(courseLoadExceededMessage)
+                        .timeStamp(System.currentTimeMillis())
+                        .responseBody(dto)
+                        .build(),
+                        HttpStatus.CONFLICT
+                );
+            }
+            List<ScheduleConflictDTO> conflicts = findConflicts(dto);
+            if (!conflicts.isEmpty()) {
+                return createConflictResponse(conflicts);
+            }
             int rowsUpdated = dao.updateRecord(getMapper().dtoToEntity(dto));
             if (rowsUpdated != 0) {
-                checkIfStudentOfCourseIsActive(dto);
-                checkNumberOfTakenCoursesForStudent(dto);
+                afterCommit(() -> conflictDetector.entrySaved(dto));
                 return new ResponseEntity<>(Response.builder()
                         .message(getUpdateSuccessMessage())
                         .timeStamp(System.currentTimeMillis())
                         .responseBody(dto)
+                        .warnings(getWarnings(dto))
                         .build(),
                         HttpStatus.OK
                 );
@@ -126,39 +241,249 @@ public class ScheduleEntryServiceImpl extends AbstractService<ScheduleEntry, Sch
         }
     }
 
+    /**
+     * Delete schedule entry and publish {@link SeatReleasedEvent}, so seat of deleted entry course
+     * may be given to waitlisted student once deletion is committed
+     */
     @Transactional
     @Override
     public ResponseEntity<Response> deleteEntity(String entityId) {
-        return super.deleteEntity(entityId);
+        Optional<Tuple> deletedEntry = dao.findRecordProjection(entityId);
+        ResponseEntity<Response> response = super.deleteEntity(entityId);
+        if (response.getStatusCode() == HttpStatus.OK && deletedEntry.isPresent()) {
+            ScheduleEntryDTO deletedEntryDTO = getMapper().tupleToDto(deletedEntry.get());
+            eventPublisher.publishEvent(new SeatReleasedEvent(deletedEntryDTO.getCourseId(), deletedEntryDTO.getSemesterId()));
+            afterCommit(() -> conflictDetector.entryDeleted(deletedEntryDTO.getEntryId()));
+        }
+        return response;
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
     public ResponseEntity<Response> searchForEntities(String searchCriterion) {
         return super.searchForEntities(searchCriterion);
     }
 
-    private void checkIfStudentOfCourseIsActive(ScheduleEntryDTO dtoBeingChecked) {
-        Boolean isCourseStudentActive = null;
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<Response> searchForEntities(String searchCriterion, String fields, String expand) {
+        return super.searchForEntities(searchCriterion, fields, expand);
+    }
+
+    /**
+     * Check course load of students of batch rows, if course load is enforced. Courses of earlier accepted rows
+     * of the same student and semester are counted together with course of checked row, as they are not
+     * in database yet. Course loads stay locked until the end of transaction.
+     * If conflicts are enforced, every row is checked against timetable of its semester and against earlier
+     * accepted rows of batch, which are not in timetable yet.
+     *
+     * @param dtos valid schedule entries of batch
+     * @return errors of rejected rows keyed by row index
+     */
+    @Override
+    protected Map<Integer, List<String>> checkBatchRows(List<ScheduleEntryDTO> dtos) {
+        Map<Integer, List<String>> rejectedRows = new LinkedHashMap<>();
+        Map<List<Object>, Set<Integer>> acceptedCourses = new HashMap<>();
+        List<Integer> acceptedRows = new ArrayList<>();
+        lockCourseCapacities(dtos);
+        for (int i = 0; i < dtos.size(); i++) {
+            ScheduleEntryDTO dto = dtos.get(i);
+            Set<Integer> studentCourses = acceptedCourses.computeIfAbsent(
+                    Arrays.asList(dto.getStudentId(), dto.getSemesterId()), key -> new LinkedHashSet<>());
+            List<String> errors = new ArrayList<>();
+            if (isCourseLoadExceeded(dto, studentCourses)) {
+                errors.add(courseLoadExceededMessage);
+            }
+            if (conflictsEnforced) {
+                for (ScheduleConflictDTO conflict : conflictDetector.findConflicts(dto)) {
+                    errors.add(String.format(ENTRY_CONFLICT_ERROR, getConflictSubject(conflict.getConflictType()), conflict.getConflictingEntryId()));
+                }
+                for (Integer acceptedRow : acceptedRows) {
+                    for (ScheduleConflictDTO.Type conflictType : conflictDetector.findConflictTypes(dto, dtos.get(acceptedRow))) {
+                        errors.add(String.format(ROW_CONFLICT_ERROR, getConflictSubject(conflictType), acceptedRow));
+                    }
+                }
+            }
+            if (errors.isEmpty()) {
+                studentCourses.add(dto.getCourseId());
+                acceptedRows.add(i);
+            } else {
+                rejectedRows.put(i, errors);
+            }
+        }
+        return rejectedRows;
+    }
+
+    @Override
+    protected Map<String, DTOEntityMapper<?, ?>> getExpansionMappers() {
+        Map<String, DTOEntityMapper<?, ?>> expansionMappers = new LinkedHashMap<>();
+        expansionMappers.put("course", courseMapper);
+        expansionMappers.put("lecturer", lecturerMapper);
+        expansionMappers.put("student", studentMapper);
+        expansionMappers.put("semester", semesterMapper);
+        return expansionMappers;
+    }
+
+    /**
+     * Collect warnings about added or updated schedule entry. Warnings belong to current request only,
+     * list is allocated only if there is at least one warning.
+     *
+     * @param dtoBeingChecked added or updated schedule entry
+     * @return list of warnings or null if there are none
+     */
+    private List<String> getWarnings(ScheduleEntryDTO dtoBeingChecked) {
+        List<String> warnings = null;
+        warnings = addWarning(warnings, checkIfStudentOfCourseIsActive(dtoBeingChecked));
+        if (!courseLoadEnforced) {
+            warnings = addWarning(warnings, checkNumberOfTakenCoursesForStudent(dtoBeingChecked));
+        }
+        return warnings;
+    }
+
+    /**
+     * Lock capacities of courses of schedule entries before course loads of students are locked by course load
+     * or timetable checks. Enrollment and triggers of schedule_of_classes lock capacity row before course load row,
+     * so locking course load first could deadlock with them. Nothing is locked before insert if neither check is
+     * enforced, as triggers take both locks in the right order.
+     *
+     * @param dtos schedule entries being added or updated
+     */
+    private void lockCourseCapacities(List<ScheduleEntryDTO> dtos) {
+        if (courseLoadEnforced || conflictsEnforced) {
+            ((ScheduleEntryDAO) dao).lockCourseCapacities(dtos.stream()
+                    .map(getMapper()::dtoToEntity)
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * Lock capacities of course of updated entry and of course it is moved from, which is locked by trigger
+     * on update otherwise, see {@link #lockCourseCapacities(List)}
+     *
+     * @param dto schedule entry being updated
+     */
+    private void lockUpdatedCourseCapacities(ScheduleEntryDTO dto) {
+        if (!courseLoadEnforced && !conflictsEnforced) {
+            return;
+        }
+        List<ScheduleEntryDTO> dtos = new ArrayList<>(Collections.singletonList(dto));
+        if (dto.getEntryId() != null) {
+            dao.findRecordProjection(String.valueOf(dto.getEntryId()))
+                    .map(getMapper()::tupleToDto)
+                    .ifPresent(dtos::add);
+        }
+        lockCourseCapacities(dtos);
+    }
+
+    /**
+     * Check course load of student before schedule entry is saved, if course load is enforced. Course load of student
+     * in semester stays locked until the end of transaction, so concurrent registrations cannot exceed the limit.
+     * Course of updated entry is counted as taken until the update, so moving the only entry of a course
+     * to another course is rejected when student is at the limit.
+     *
+     * @param dtoBeingChecked schedule entry being added or updated
+     * @return true if schedule entry must be rejected
+     */
+    private boolean isCourseLoadExceeded(ScheduleEntryDTO dtoBeingChecked) {
+        return courseLoadEnforced && !((ScheduleEntryDAO) dao).lockCourseLoad(dtoBeingChecked.getStudentId(),
+                dtoBeingChecked.getSemesterId(), dtoBeingChecked.getCourseId(), recommendedCourseNumberPerStudent);
+    }
+
+    /**
+     * Check course load of student before batch row is saved, if course load is enforced
+     *
+     * @param dtoBeingChecked   schedule entry of batch row
+     * @param acceptedCourseIds courses of the same student and semester taken by earlier accepted rows of batch
+     * @return true if schedule entry must be rejected
+     */
+    private boolean isCourseLoadExceeded(ScheduleEntryDTO dtoBeingChecked, Set<Integer> acceptedCourseIds) {
+        if (!courseLoadEnforced || acceptedCourseIds.contains(dtoBeingChecked.getCourseId())) {
+            return false;
+        }
+        Set<Integer> courseIds = new LinkedHashSet<>(acceptedCourseIds);
+        courseIds.add(dtoBeingChecked.getCourseId());
+        return !((ScheduleEntryDAO) dao).lockCourseLoad(dtoBeingChecked.getStudentId(),
+                dtoBeingChecked.getSemesterId(), courseIds, recommendedCourseNumberPerStudent);
+    }
+
+    /**
+     * Check added or updated schedule entry against timetable of its semester, if conflicts are enforced
+     *
+     * @param dtoBeingChecked schedule entry being added or updated
+     * @return conflicts of schedule entry, empty if there are none or conflicts are not enforced
+     */
+    private List<ScheduleConflictDTO> findConflicts(ScheduleEntryDTO dtoBeingChecked) {
+        if (!conflictsEnforced) {
+            return Collections.emptyList();
+        }
+        return conflictDetector.findConflicts(dtoBeingChecked);
+    }
+
+    private static String getConflictSubject(ScheduleConflictDTO.Type conflictType) {
+        return conflictType.name().toLowerCase(Locale.ROOT);
+    }
+
+    private ResponseEntity<Response> createConflictResponse(List<ScheduleConflictDTO> conflicts) {
+        return new ResponseEntity<>(Response.builder()
+                .message(timetableConflictMessage)
+                .timeStamp(System.currentTimeMillis())
+                .responseBody(conflicts)
+                .build(),
+                HttpStatus.CONFLICT
+        );
+    }
+
+    /**
+     * Apply change to in-memory timetables once it is committed, rolled back changes are never applied
+     */
+    private void afterCommit(Runnable timetableUpdate) {
+        if (!conflictsEnforced) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    timetableUpdate.run();
+                }
+            });
+        } else {
+            timetableUpdate.run();
+        }
+    }
+
+    private List<String> addWarning(List<String> warnings, String warning) {
+        if (warning == null) {
+            return warnings;
+        }
+        List<String> result = warnings == null ? new ArrayList<>(2) : warnings;
+        result.add(warning);
+        return result;
+    }
+
+    private String checkIfStudentOfCourseIsActive(ScheduleEntryDTO dtoBeingChecked) {
+        Boolean isCourseStudentActive;
         try {
-            isCourseStudentActive = ((UserDAOImpl) userDAO).getUserByStudentId(dtoBeingChecked.getStudentId()).getIsActive();
+            isCourseStudentActive = ((UserDAO) userDAO).getUserByStudentId(dtoBeingChecked.getStudentId()).getIsActive();
         } catch (NoResultException e) {
             log.error(e.getMessage());
-            super.setAddSuccessMessage(super.getAddSuccessMessage() + " WARNING: Course begins in less than 5 days, but student is not registered as an user!");
+            return String.format(STUDENT_NOT_USER_WARNING, numberOfDaysBeforeStudentNeedsToBeActive);
         }
         LocalDateTime dateOfCourseBeginning = dtoBeingChecked.getTime().toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime();
         LocalDateTime currentDate = LocalDateTime.now();
         if (isCourseStudentActive != null && !isCourseStudentActive) {
             if (Math.abs(ChronoUnit.DAYS.between(dateOfCourseBeginning, currentDate)) < numberOfDaysBeforeStudentNeedsToBeActive) {
-                super.setAddSuccessMessage(super.getAddSuccessMessage() + " WARNING: Course begins in less than 5 days, but student is not active!");
+                return String.format(STUDENT_NOT_ACTIVE_WARNING, numberOfDaysBeforeStudentNeedsToBeActive);
             }
         }
+        return null;
     }
 
-    private void checkNumberOfTakenCoursesForStudent(ScheduleEntryDTO dtoBeingChecked) {
-        if (((ScheduleEntryDAOImpl) dao).getNumberOfTakenCoursesForStudent(dtoBeingChecked.getStudentId(), dtoBeingChecked.getSemesterId()) > recommendedCourseNumberPerStudent) {
-            super.setAddSuccessMessage(super.getAddSuccessMessage() + " WARNING: Student has taken more than 5 courses in single semester!");
+    private String checkNumberOfTakenCoursesForStudent(ScheduleEntryDTO dtoBeingChecked) {
+        if (((ScheduleEntryDAO) dao).getNumberOfTakenCoursesForStudent(dtoBeingChecked.getStudentId(), dtoBeingChecked.getSemesterId()) > recommendedCourseNumberPerStudent) {
+            return String.format(TOO_MANY_COURSES_WARNING, recommendedCourseNumberPerStudent);
         }
+        return null;
     }
 
 }
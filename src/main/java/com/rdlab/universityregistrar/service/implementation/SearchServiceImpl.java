@@ -0,0 +1,153 @@
+package com.rdlab.universityregistrar.service.implementation;
+
+import com.rdlab.universityregistrar.controller.response.Response;
+import com.rdlab.universityregistrar.model.dao.DAO;
+import com.rdlab.universityregistrar.model.dao.SearchDAO;
+import com.rdlab.universityregistrar.model.entity.Course;
+import com.rdlab.universityregistrar.model.entity.Lecturer;
+import com.rdlab.universityregistrar.model.entity.Semester;
+import com.rdlab.universityregistrar.model.entity.Student;
+import com.rdlab.universityregistrar.service.SearchFunctionality;
+import com.rdlab.universityregistrar.service.dto.SearchHitDTO;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.Tuple;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Unified search across students, lecturers, courses and semesters.
+ * Uses single full-text query of {@link SearchDAO} if enabled, otherwise falls back to
+ * search methods of corresponding entity DAOs.
+ */
+@Service
+@Setter
+@PropertySource("classpath:responseMessages.properties")
+public class SearchServiceImpl implements SearchFunctionality {
+    private final SearchDAO searchDAO;
+    private final List<SearchableEntity> searchableEntities;
+    @Value("${search.fullText:false}")
+    private boolean fullTextSearchEnabled = false;
+    @Value("${search.defaultLimit:20}")
+    private int defaultLimit = 20;
+    @Value("${search.maxLimit:100}")
+    private int maxLimit = 100;
+    @Value("${search.searchSuccessMessage}")
+    private String searchSuccessMessage;
+    @Value("${entity.invalidInputMessage}")
+    private String invalidInputMessage;
+
+    @Autowired
+    public SearchServiceImpl(SearchDAO searchDAO,
+                             DAO<Student> studentDAO,
+                             DAO<Lecturer> lecturerDAO,
+                             DAO<Course> courseDAO,
+                             DAO<Semester> semesterDAO) {
+        this.searchDAO = searchDAO;
+        this.searchableEntities = Arrays.asList(
+                new SearchableEntity("student", studentDAO, "studentId", "studentName"),
+                new SearchableEntity("lecturer", lecturerDAO, "lecturerId", "lecturerName"),
+                new SearchableEntity("course", courseDAO, "courseId", "courseTitle"),
+                new SearchableEntity("semester", semesterDAO, "semesterId", "semesterName"));
+    }
+
+    /**
+     * Search for items of all searchable types meeting provided search criterion
+     *
+     * @param searchCriterion search criterion, every word of it is matched as prefix
+     * @param limit           maximum number of hits, default limit is used if null, capped by max limit
+     * @return {@link Response} instance containing search success message, timestamp and list of
+     * {@link SearchHitDTO} instances ordered by relevance
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<Response> searchAllEntities(String searchCriterion, Integer limit) {
+        int hitsLimit = limit == null ? defaultLimit : Math.min(limit, maxLimit);
+        String fullTextQuery = toFullTextQuery(searchCriterion);
+        if (hitsLimit <= 0 || fullTextQuery.isEmpty()) {
+            return new ResponseEntity<>(Response.builder()
+                    .message(invalidInputMessage)
+                    .timeStamp(System.currentTimeMillis())
+                    .responseBody("")
+                    .build(),
+                    HttpStatus.BAD_REQUEST
+            );
+        }
+        List<SearchHitDTO> hits = fullTextSearchEnabled
+                ? searchByFullTextQuery(fullTextQuery, hitsLimit)
+                : searchByEntityDAOs(searchCriterion.trim(), hitsLimit);
+        return new ResponseEntity<>(Response.builder()
+                .message(searchSuccessMessage)
+                .timeStamp(System.currentTimeMillis())
+                .responseBody(hits)
+                .build(),
+                HttpStatus.OK
+        );
+    }
+
+    private List<SearchHitDTO> searchByFullTextQuery(String fullTextQuery, int limit) {
+        return searchDAO.searchAllRecords(fullTextQuery, limit).stream()
+                .map(tuple -> SearchHitDTO.builder()
+                        .entityType(tuple.get("entityType", String.class))
+                        .entityId(tuple.get("entityId", String.class))
+                        .title(tuple.get("title", String.class))
+                        .rank(tuple.get("rank", Float.class))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private List<SearchHitDTO> searchByEntityDAOs(String searchCriterion, int limit) {
+        List<SearchHitDTO> hits = new ArrayList<>();
+        for (SearchableEntity searchableEntity : searchableEntities) {
+            for (Tuple tuple : searchableEntity.dao.searchRecordProjections(searchCriterion)) {
+                if (hits.size() == limit) {
+                    return hits;
+                }
+                hits.add(SearchHitDTO.builder()
+                        .entityType(searchableEntity.entityType)
+                        .entityId(Objects.toString(tuple.get(searchableEntity.idAlias), null))
+                        .title(Objects.toString(tuple.get(searchableEntity.titleAlias), null))
+                        .build());
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Convert search criterion to tsquery matching records that contain every word of it as prefix,
+     * characters other than letters and digits are dropped, so result is always valid tsquery
+     */
+    private static String toFullTextQuery(String searchCriterion) {
+        if (searchCriterion == null) {
+            return "";
+        }
+        return Arrays.stream(searchCriterion.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    private static final class SearchableEntity {
+        private final String entityType;
+        private final DAO<?> dao;
+        private final String idAlias;
+        private final String titleAlias;
+
+        private SearchableEntity(String entityType, DAO<?> dao, String idAlias, String titleAlias) {
+            this.entityType = entityType;
+            this.dao = dao;
+            this.idAlias = idAlias;
+            this.titleAlias = titleAlias;
+        }
+    }
+}
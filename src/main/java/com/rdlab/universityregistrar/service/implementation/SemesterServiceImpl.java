@@ -2,10 +2,14 @@ package com.rdlab.universityregistrar.service.implementation;
 
 import com.rdlab.universityregistrar.controller.response.Response;
 import com.rdlab.universityregistrar.model.dao.DAO;
+import com.rdlab.universityregistrar.model.dao.SchedulePartitionDAO;
 import com.rdlab.universityregistrar.model.entity.Semester;
 import com.rdlab.universityregistrar.service.AbstractService;
 import com.rdlab.universityregistrar.service.dto.SemesterDTO;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -13,35 +17,84 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.BindingResult;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 
 @Service
+@Setter
+@Slf4j
 public class SemesterServiceImpl extends AbstractService<Semester, SemesterDTO> {
+    private static final String SEMESTER_TIME_ERROR = "semester end time cannot be before semester begin time";
+
+    @Autowired
+    private SchedulePartitionDAO schedulePartitionDAO;
+    /**
+     * Whether partition of schedule_of_classes is created for added semester,
+     * disabled where schedule_of_classes is not partitioned
+     */
+    @Value("${semester.createSchedulePartition:true}")
+    private boolean createSchedulePartition = true;
+    @Value("${semester.partitionAttempts:3}")
+    private int partitionAttempts = 3;
 
     @Autowired
     public SemesterServiceImpl(DAO<Semester> dao) {
         super(dao);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
     public ResponseEntity<Response> getAllEntities() {
         return super.getAllEntities();
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<Response> getEntitiesPage(String afterKey, Integer limit) {
+        return super.getEntitiesPage(afterKey, limit);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<Response> getEntitiesPage(String afterKey, Integer limit, String fields, String expand) {
+        return super.getEntitiesPage(afterKey, limit, fields, expand);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void writeAllEntities(OutputStream outputStream) throws IOException {
+        super.writeAllEntities(outputStream);
+    }
+
+    @Transactional(readOnly = true)
     @Override
     public ResponseEntity<Response> getEntity(String entityId) {
         return super.getEntity(entityId);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<Response> getEntity(String entityId, String fields, String expand) {
+        return super.getEntity(entityId, fields, expand);
+    }
+
+    /**
+     * Add semester, partition of schedule_of_classes for its schedule entries is created before semester
+     * in separate transaction, see {@link #createSchedulePartition(String)}
+     */
     @Transactional
     @Override
     public ResponseEntity<Response> addEntity(SemesterDTO dto, BindingResult bindingResult) {
         if (!bindingResult.hasErrors()) {
             if (isSemesterStartsBeforeEndTime(dto)) {
+                createSchedulePartition(dto.getSemesterId());
                 Semester entityToAdd = getMapper().dtoToEntity(dto);
                 Integer generatedId = dao.addRecord(entityToAdd);
                 if (generatedId != null) {
@@ -65,7 +118,7 @@ public class SemesterServiceImpl extends AbstractService<Semester, SemesterDTO>
                 return new ResponseEntity<>(Response.builder()
                         .message(super.getInvalidInputMessage())
                         .timeStamp(System.currentTimeMillis())
-                        .responseBody("semester end time cannot be before semester begin time")
+                        .responseBody(SEMESTER_TIME_ERROR)
                         .build(),
                         HttpStatus.BAD_REQUEST
                 );
@@ -81,6 +134,12 @@ public class SemesterServiceImpl extends AbstractService<Semester, SemesterDTO>
         }
     }
 
+    @Transactional
+    @Override
+    public ResponseEntity<Response> addEntities(List<SemesterDTO> dtos) {
+        return super.addEntities(dtos);
+    }
+
     @Transactional
     @Override
     public ResponseEntity<Response> updateEntity(SemesterDTO dto, BindingResult bindingResult) {
@@ -108,7 +167,7 @@ public class SemesterServiceImpl extends AbstractService<Semester, SemesterDTO>
                 return new ResponseEntity<>(Response.builder()
                         .message(super.getInvalidInputMessage())
                         .timeStamp(System.currentTimeMillis())
-                        .responseBody("semester end time cannot be before semester begin time")
+                        .responseBody(SEMESTER_TIME_ERROR)
                         .build(),
                         HttpStatus.BAD_REQUEST
                 );
@@ -130,12 +189,66 @@ public class SemesterServiceImpl extends AbstractService<Semester, SemesterDTO>
         return super.deleteEntity(entityId);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
     public ResponseEntity<Response> searchForEntities(String searchCriterion) {
         return super.searchForEntities(searchCriterion);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<Response> searchForEntities(String searchCriterion, String fields, String expand) {
+        return super.searchForEntities(searchCriterion, fields, expand);
+    }
+
+    /**
+     * Reject semesters of batch ending before they begin, as single semesters are rejected
+     * by {@link #addEntity(SemesterDTO, BindingResult)}
+     *
+     * @param dtos valid semesters of batch
+     * @return errors of rejected rows keyed by row index
+     */
+    @Override
+    protected Map<Integer, List<String>> checkBatchRows(List<SemesterDTO> dtos) {
+        Map<Integer, List<String>> rejectedRows = new LinkedHashMap<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            if (!isSemesterStartsBeforeEndTime(dtos.get(i))) {
+                rejectedRows.put(i, new ArrayList<>(Collections.singletonList(SEMESTER_TIME_ERROR)));
+            }
+        }
+        return rejectedRows;
+    }
+
+    /**
+     * Partitions are created only for semesters of batch that passed all checks, as in {@link #addEntity(SemesterDTO, BindingResult)}
+     */
+    @Override
+    protected void beforeBatchInsert(List<SemesterDTO> dtos) {
+        dtos.forEach(dto -> createSchedulePartition(dto.getSemesterId()));
+    }
+
+    /**
+     * Create partition of schedule_of_classes for semester in its own short transaction, so schedule is not locked
+     * while semester is added. Creation is retried when schedule cannot be locked within lock timeout. Partition
+     * of semester that fails to be added afterwards is left empty and used when semester is added again.
+     */
+    private void createSchedulePartition(String semesterId) {
+        if (!createSchedulePartition || semesterId == null) {
+            return;
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                schedulePartitionDAO.createSchedulePartition(semesterId);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= partitionAttempts) {
+                    throw e;
+                }
+                log.warn("Attempt {} to create schedule partition of semester {} failed: {}", attempt, semesterId, e.getMessage());
+            }
+        }
+    }
+
     /**
      * Check if semester start time is before semester end time.
      * If not, return invalid input message to client.
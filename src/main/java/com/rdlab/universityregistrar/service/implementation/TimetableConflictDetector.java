@@ -0,0 +1,354 @@
+package com.rdlab.universityregistrar.service.implementation;
+
+import com.rdlab.universityregistrar.model.dao.ScheduleEntryDAO;
+import com.rdlab.universityregistrar.model.entity.ScheduleEntry;
+import com.rdlab.universityregistrar.service.dto.ScheduleConflictDTO;
+import com.rdlab.universityregistrar.service.dto.ScheduleEntryDTO;
+import com.rdlab.universityregistrar.service.mapper.DTOEntityMapper;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.Tuple;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Detects schedule entries booking the same lecturer, location or student at overlapping time. Every class lasts
+ * classDuration ms from its beginning time. Schedule entries of a semester are kept in memory sorted by time per
+ * lecturer, location and student, so entry is checked in O(log n) plus number of entries overlapping with it.
+ * Semester is loaded on first check and reloaded after timetableTtl ms, so changes made bypassing
+ * {@link ScheduleEntryServiceImpl} are picked up with a delay.
+ * Entries of the same class (course, location and time) held by different students or co-taught by different
+ * lecturers do not conflict with each other, as in exclusion constraints of schedule partitions. Location conflicts
+ * are reported once per class and lecturer conflicts once per class and lecturer, by the entry with the lowest id.
+ * Timetables in memory get committed entries only after commit, so student conflicts are also checked against entries
+ * of student read from database under lock of course load of student, which serializes concurrent bookings of the same
+ * student. Lecturer and location conflicts of concurrent bookings are left to exclusion constraints of database.
+ */
+@Component
+@Setter
+@Slf4j
+public class TimetableConflictDetector {
+    private final ScheduleEntryDAO scheduleEntryDAO;
+    @Autowired
+    private DTOEntityMapper<ScheduleEntry, ScheduleEntryDTO> scheduleEntryMapper;
+    @Value("${schedule.classDuration:5400000}")
+    private long classDuration = 5400000;
+    @Value("${schedule.conflictIndexTtl:600000}")
+    private long timetableTtl = 600000;
+
+    private final ConcurrentMap<String, SemesterTimetable> timetables = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TimetableConflictDetector(ScheduleEntryDAO scheduleEntryDAO) {
+        this.scheduleEntryDAO = scheduleEntryDAO;
+    }
+
+    /**
+     * Find existing entries conflicting with added or updated entry, updated entry does not conflict with itself.
+     * Must be called in transaction, semester of entry is loaded if it is not in memory. Course load of student
+     * in semester stays locked until the end of transaction.
+     *
+     * @param entry schedule entry being added or updated
+     * @return conflicts of entry, empty if there are none
+     */
+    public List<ScheduleConflictDTO> findConflicts(ScheduleEntryDTO entry) {
+        if (entry.getTime() == null || entry.getSemesterId() == null) {
+            return Collections.emptyList();
+        }
+        List<ScheduleConflictDTO> conflicts = getTimetable(entry.getSemesterId()).findConflicts(entry, classDuration);
+        if (entry.getStudentId() != null) {
+            addLockedStudentConflicts(conflicts, entry);
+        }
+        return conflicts;
+    }
+
+    /**
+     * Find conflicts between two entries that are not in timetable, e.g. rows of one batch insert, which have
+     * no ids yet. Entries of the same class do not double-book lecturer or location, as in timetable checks.
+     *
+     * @param entry      schedule entry being added
+     * @param otherEntry other schedule entry being added
+     * @return types of conflicts of entries, empty if they belong to different semesters or do not overlap in time
+     */
+    public List<ScheduleConflictDTO.Type> findConflictTypes(ScheduleEntryDTO entry, ScheduleEntryDTO otherEntry) {
+        if (entry.getTime() == null || otherEntry.getTime() == null || entry.getSemesterId() == null
+                || otherEntry.getSemesterId() == null || !entry.getSemesterId().trim().equals(otherEntry.getSemesterId().trim())
+                || Math.abs(entry.getTime().getTime() - otherEntry.getTime().getTime()) >= classDuration) {
+            return Collections.emptyList();
+        }
+        List<ScheduleConflictDTO.Type> conflictTypes = new ArrayList<>(3);
+        boolean sameClass = getClassKey(entry).equals(getClassKey(otherEntry));
+        if (!sameClass && entry.getLecturerId() != null && entry.getLecturerId().equals(otherEntry.getLecturerId())) {
+            conflictTypes.add(ScheduleConflictDTO.Type.LECTURER);
+        }
+        String location = normalizeLocation(entry.getLocation());
+        if (!sameClass && location != null && location.equals(normalizeLocation(otherEntry.getLocation()))) {
+            conflictTypes.add(ScheduleConflictDTO.Type.LOCATION);
+        }
+        if (entry.getStudentId() != null && entry.getStudentId().equals(otherEntry.getStudentId())) {
+            conflictTypes.add(ScheduleConflictDTO.Type.STUDENT);
+        }
+        return conflictTypes;
+    }
+
+    /**
+     * Find all conflicts of semester. Semester is read from database, entries are checked in parallel.
+     * Must be called in transaction.
+     *
+     * @param semesterId id of semester
+     * @return conflicts ordered by entry ids, every pair of conflicting entries is reported once
+     */
+    public List<ScheduleConflictDTO> findSemesterConflicts(String semesterId) {
+        SemesterTimetable timetable = loadTimetable(semesterId);
+        Map<List<Object>, Integer> firstEntriesOfClasses = timetable.getFirstEntriesOfClasses();
+        return timetable.getEntries().parallelStream()
+                .flatMap(entry -> timetable.findConflicts(entry, classDuration).stream()
+                        .filter(conflict -> conflict.getEntryId() < conflict.getConflictingEntryId())
+                        .filter(conflict -> conflict.getConflictType() == ScheduleConflictDTO.Type.STUDENT
+                                || entry.getEntryId().equals(firstEntriesOfClasses.get(
+                                conflict.getConflictType() == ScheduleConflictDTO.Type.LECTURER ? getLecturerClassKey(entry) : getClassKey(entry)))))
+                .sorted(Comparator.comparing(ScheduleConflictDTO::getEntryId)
+                        .thenComparing(ScheduleConflictDTO::getConflictingEntryId)
+                        .thenComparing(ScheduleConflictDTO::getConflictType))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Put committed entry to timetable of its semester if semester is in memory, previous version of updated
+     * entry is removed
+     */
+    public void entrySaved(ScheduleEntryDTO entry) {
+        entryDeleted(entry.getEntryId());
+        if (entry.getSemesterId() != null) {
+            SemesterTimetable timetable = timetables.get(entry.getSemesterId().trim());
+            if (timetable != null) {
+                timetable.add(entry);
+            }
+        }
+    }
+
+    /**
+     * Remove committed deletion of entry from timetables in memory
+     */
+    public void entryDeleted(Integer entryId) {
+        for (SemesterTimetable timetable : timetables.values()) {
+            timetable.remove(entryId);
+        }
+    }
+
+    /**
+     * Drop timetable of semester from memory, it is loaded again on next check
+     */
+    public void evictSemester(String semesterId) {
+        if (semesterId != null) {
+            timetables.remove(semesterId.trim());
+        }
+    }
+
+    /**
+     * Entries of student committed by concurrent transaction are not in timetable yet, they are read from database
+     * after course load of student is locked. Conflicts already found in timetable are not reported twice.
+     */
+    private void addLockedStudentConflicts(List<ScheduleConflictDTO> conflicts, ScheduleEntryDTO entry) {
+        Set<Integer> conflictingEntryIds = conflicts.stream()
+                .filter(conflict -> conflict.getConflictType() == ScheduleConflictDTO.Type.STUDENT)
+                .map(ScheduleConflictDTO::getConflictingEntryId)
+                .collect(Collectors.toSet());
+        long time = entry.getTime().getTime();
+        for (Tuple tuple : scheduleEntryDAO.lockStudentRecordProjections(entry.getStudentId(), entry.getSemesterId().trim())) {
+            ScheduleEntryDTO other = scheduleEntryMapper.tupleToDto(tuple);
+            if (other.getTime() != null && Math.abs(other.getTime().getTime() - time) < classDuration
+                    && !other.getEntryId().equals(entry.getEntryId()) && conflictingEntryIds.add(other.getEntryId())) {
+                conflicts.add(SemesterTimetable.createConflict(ScheduleConflictDTO.Type.STUDENT, entry, other.getEntryId()));
+            }
+        }
+    }
+
+    private SemesterTimetable getTimetable(String semesterId) {
+        String key = semesterId.trim();
+        SemesterTimetable timetable = timetables.get(key);
+        if (timetable == null || System.currentTimeMillis() - timetable.loadedAt > timetableTtl) {
+            timetable = loadTimetable(key);
+            timetables.put(key, timetable);
+        }
+        return timetable;
+    }
+
+    private SemesterTimetable loadTimetable(String semesterId) {
+        long start = System.currentTimeMillis();
+        SemesterTimetable timetable = new SemesterTimetable(start);
+        scheduleEntryDAO.getSemesterRecordProjections(semesterId.trim()).stream()
+                .map(scheduleEntryMapper::tupleToDto)
+                .forEach(timetable::add);
+        log.debug("Timetable of semester {} loaded in {} ms", semesterId, System.currentTimeMillis() - start);
+        return timetable;
+    }
+
+    private static String normalizeLocation(String location) {
+        return location == null ? null : location.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static List<Object> getClassKey(ScheduleEntryDTO entry) {
+        return Arrays.asList(entry.getCourseId(), normalizeLocation(entry.getLocation()), entry.getTime());
+    }
+
+    private static List<Object> getLecturerClassKey(ScheduleEntryDTO entry) {
+        return Arrays.asList(getClassKey(entry), entry.getLecturerId());
+    }
+
+    /**
+     * Entries of one semester sorted by beginning time per lecturer, location and student
+     */
+    private static final class SemesterTimetable {
+        private final long loadedAt;
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Integer, ScheduleEntryDTO> entries = new LinkedHashMap<>();
+        private final Map<Integer, NavigableMap<Long, List<ScheduleEntryDTO>>> lecturerEntries = new HashMap<>();
+        private final Map<String, NavigableMap<Long, List<ScheduleEntryDTO>>> locationEntries = new HashMap<>();
+        private final Map<Integer, NavigableMap<Long, List<ScheduleEntryDTO>>> studentEntries = new HashMap<>();
+
+        private SemesterTimetable(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+
+        private void add(ScheduleEntryDTO entry) {
+            if (entry.getEntryId() == null || entry.getTime() == null) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                entries.put(entry.getEntryId(), entry);
+                addToIndex(lecturerEntries, entry.getLecturerId(), entry);
+                addToIndex(locationEntries, normalizeLocation(entry.getLocation()), entry);
+                addToIndex(studentEntries, entry.getStudentId(), entry);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void remove(Integer entryId) {
+            lock.writeLock().lock();
+            try {
+                ScheduleEntryDTO entry = entries.remove(entryId);
+                if (entry != null) {
+                    removeFromIndex(lecturerEntries, entry.getLecturerId(), entry);
+                    removeFromIndex(locationEntries, normalizeLocation(entry.getLocation()), entry);
+                    removeFromIndex(studentEntries, entry.getStudentId(), entry);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private List<ScheduleEntryDTO> getEntries() {
+            lock.readLock().lock();
+            try {
+                return new ArrayList<>(entries.values());
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private Map<List<Object>, Integer> getFirstEntriesOfClasses() {
+            Map<List<Object>, Integer> firstEntries = new HashMap<>();
+            for (ScheduleEntryDTO entry : getEntries()) {
+                firstEntries.merge(getClassKey(entry), entry.getEntryId(), Math::min);
+                firstEntries.merge(getLecturerClassKey(entry), entry.getEntryId(), Math::min);
+            }
+            return firstEntries;
+        }
+
+        private List<ScheduleConflictDTO> findConflicts(ScheduleEntryDTO entry, long classDuration) {
+            lock.readLock().lock();
+            try {
+                List<ScheduleConflictDTO> conflicts = new ArrayList<>();
+                long time = entry.getTime().getTime();
+                addClassConflicts(conflicts, ScheduleConflictDTO.Type.LECTURER, entry,
+                        getOverlappingEntries(lecturerEntries, entry.getLecturerId(), time, classDuration));
+                addClassConflicts(conflicts, ScheduleConflictDTO.Type.LOCATION, entry,
+                        getOverlappingEntries(locationEntries, normalizeLocation(entry.getLocation()), time, classDuration));
+                for (ScheduleEntryDTO other : getOverlappingEntries(studentEntries, entry.getStudentId(), time, classDuration)) {
+                    if (!other.getEntryId().equals(entry.getEntryId())) {
+                        conflicts.add(createConflict(ScheduleConflictDTO.Type.STUDENT, entry, other.getEntryId()));
+                    }
+                }
+                return conflicts;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private static void addClassConflicts(List<ScheduleConflictDTO> conflicts, ScheduleConflictDTO.Type type,
+                                              ScheduleEntryDTO entry, List<ScheduleEntryDTO> overlappingEntries) {
+            List<Object> classKey = getClassKey(entry);
+            Map<List<Object>, Integer> conflictingClasses = new LinkedHashMap<>();
+            for (ScheduleEntryDTO other : overlappingEntries) {
+                List<Object> otherClassKey = getClassKey(other);
+                if (!other.getEntryId().equals(entry.getEntryId()) && !otherClassKey.equals(classKey)) {
+                    conflictingClasses.merge(otherClassKey, other.getEntryId(), Math::min);
+                }
+            }
+            for (Integer conflictingEntryId : conflictingClasses.values()) {
+                conflicts.add(createConflict(type, entry, conflictingEntryId));
+            }
+        }
+
+        private static ScheduleConflictDTO createConflict(ScheduleConflictDTO.Type type, ScheduleEntryDTO entry, Integer conflictingEntryId) {
+            return ScheduleConflictDTO.builder()
+                    .conflictType(type)
+                    .entryId(entry.getEntryId())
+                    .conflictingEntryId(conflictingEntryId)
+                    .build();
+        }
+
+        /**
+         * Entries beginning less than classDuration before or after time overlap with class beginning at time
+         */
+        private static <K> List<ScheduleEntryDTO> getOverlappingEntries(Map<K, NavigableMap<Long, List<ScheduleEntryDTO>>> index,
+                                                                        K key, long time, long classDuration) {
+            NavigableMap<Long, List<ScheduleEntryDTO>> keyEntries = key == null ? null : index.get(key);
+            if (keyEntries == null) {
+                return Collections.emptyList();
+            }
+            List<ScheduleEntryDTO> overlappingEntries = new ArrayList<>();
+            for (List<ScheduleEntryDTO> entriesAtTime : keyEntries.subMap(time - classDuration, false, time + classDuration, false).values()) {
+                overlappingEntries.addAll(entriesAtTime);
+            }
+            return overlappingEntries;
+        }
+
+        private static <K> void addToIndex(Map<K, NavigableMap<Long, List<ScheduleEntryDTO>>> index, K key, ScheduleEntryDTO entry) {
+            if (key != null) {
+                index.computeIfAbsent(key, k -> new TreeMap<>())
+                        .computeIfAbsent(entry.getTime().getTime(), time -> new ArrayList<>(1))
+                        .add(entry);
+            }
+        }
+
+        private static <K> void removeFromIndex(Map<K, NavigableMap<Long, List<ScheduleEntryDTO>>> index, K key, ScheduleEntryDTO entry) {
+            NavigableMap<Long, List<ScheduleEntryDTO>> keyEntries = key == null ? null : index.get(key);
+            if (keyEntries == null) {
+                return;
+            }
+            long time = entry.getTime().getTime();
+            List<ScheduleEntryDTO> entriesAtTime = keyEntries.get(time);
+            if (entriesAtTime != null) {
+                entriesAtTime.removeIf(other -> other.getEntryId().equals(entry.getEntryId()));
+                if (entriesAtTime.isEmpty()) {
+                    keyEntries.remove(time);
+                }
+            }
+            if (keyEntries.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.rdlab.universityregistrar.service.implementation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rdlab.universityregistrar.controller.response.Response;
+import com.rdlab.universityregistrar.model.dao.ScheduleEntryDAO;
+import com.rdlab.universityregistrar.model.dao.ScheduleEntryFilter;
+import com.rdlab.universityregistrar.model.dao.TimetableDAO;
+import com.rdlab.universityregistrar.model.entity.*;
+import com.rdlab.universityregistrar.service.TimetableFunctionality;
+import com.rdlab.universityregistrar.service.dto.*;
+import com.rdlab.universityregistrar.service.mapper.DTOEntityMapper;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Timetable queries of {@link ScheduleEntryDAO} and {@link TimetableDAO} and timetable checks backed by
+ * {@link TimetableConflictDetector}. Timetables of students and lecturers carry weak ETag computed from SHA-256
+ * digest of their serialized entries, so clients revalidating cached timetable get 304 without body if it has
+ * not changed.
+ */
+@Service
+@Setter
+@PropertySource("classpath:responseMessages.properties")
+public class TimetableServiceImpl implements TimetableFunctionality {
+    private final TimetableConflictDetector conflictDetector;
+    private final ScheduleEntryDAO scheduleEntryDAO;
+    private final TimetableDAO timetableDAO;
+    @Autowired
+    private DTOEntityMapper<ScheduleEntry, ScheduleEntryDTO> scheduleEntryMapper;
+    @Autowired
+    private DTOEntityMapper<Course, CourseDTO> courseMapper;
+    @Autowired
+    private DTOEntityMapper<Lecturer, LecturerDTO> lecturerMapper;
+    @Autowired
+    private DTOEntityMapper<Semester, SemesterDTO> semesterMapper;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Value("${timetable.conflictsSuccessMessage}")
+    private String conflictsSuccessMessage;
+    @Value("${timetable.entriesSuccessMessage}")
+    private String entriesSuccessMessage;
+    @Value("${timetable.scheduleSuccessMessage}")
+    private String scheduleSuccessMessage;
+    @Value("${entity.entityNotFoundMessage}")
+    private String entityNotFoundMessage;
+    @Value("${timetable.scheduleMaxAge:60000}")
+    private long scheduleMaxAge = 60000;
+
+    @Autowired
+    public TimetableServiceImpl(TimetableConflictDetector conflictDetector, ScheduleEntryDAO scheduleEntryDAO, TimetableDAO timetableDAO) {
+        this.conflictDetector = conflictDetector;
+        this.scheduleEntryDAO = scheduleEntryDAO;
+        this.timetableDAO = timetableDAO;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<Response> getSemesterConflicts(String semesterId) {
+        return new ResponseEntity<>(Response.builder()
+                .message(conflictsSuccessMessage)
+                .timeStamp(System.currentTimeMillis())
+                .responseBody(conflictDetector.findSemesterConflicts(semesterId))
+                .build(),
+                HttpStatus.OK
+        );
+    }
+
+    /**
+     * Write schedule entries matching filter to provided output stream as {@link Response} json in order of
+     * class time. Each entry is serialized as soon as it is read, so entries are never held in memory all at once.
+     *
+     * @param filter       conditions of entries, null conditions are not applied
+     * @param outputStream stream to write response json to
+     * @throws IOException if writing to output stream fails
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public void writeScheduleEntries(ScheduleEntryFilter filter, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.writeStartObject();
+            generator.writeStringField("message", entriesSuccessMessage);
+            generator.writeNumberField("timeStamp", System.currentTimeMillis());
+            generator.writeArrayFieldStart("responseBody");
+            try {
+                scheduleEntryDAO.scrollFilteredRecordProjections(filter, record -> {
+                    try {
+                        generator.writeObject(scheduleEntryMapper.tupleToDto(record));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<Response> getStudentSchedule(Integer studentId, String semesterId, String ifNoneMatch) {
+        return timetableDAO.findStudentWithScheduleEntries(studentId)
+                .map(student -> createScheduleResponse(student.getScheduleEntries(), semesterId, ifNoneMatch))
+                .orElseGet(this::createNotFoundResponse);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<Response> getLecturerSchedule(Integer lecturerId, String semesterId, String ifNoneMatch) {
+        return timetableDAO.findLecturerWithScheduleEntries(lecturerId)
+                .map(lecturer -> createScheduleResponse(lecturer.getScheduleEntries(), semesterId, ifNoneMatch))
+                .orElseGet(this::createNotFoundResponse);
+    }
+
+    /**
+     * Entries are ordered by time, then by id, entries without time go last. Entries of all semesters are fetched, semester filter is applied
+     * to fetched entries, so collection of student or lecturer is never partially initialized.
+     */
+    private ResponseEntity<Response> createScheduleResponse(Collection<ScheduleEntry> scheduleEntries, String semesterId, String ifNoneMatch) {
+        List<TimetableEntryDTO> timetable = scheduleEntries.stream()
+                .filter(entry -> semesterId == null
+                        || entry.getSemester() != null && semesterId.trim().equalsIgnoreCase(entry.getSemester().getSemesterId().trim()))
+                .sorted(Comparator.comparing(ScheduleEntry::getTime, Comparator.nullsLast(Comparator.<Long>naturalOrder()))
+                        .thenComparing(ScheduleEntry::getEntryId, Comparator.nullsLast(Comparator.<Integer>naturalOrder())))
+                .map(this::toTimetableEntry)
+                .collect(Collectors.toList());
+        String eTag = "W/\"" + digest(timetable) + "\"";
+        CacheControl cacheControl = CacheControl.maxAge(scheduleMaxAge, TimeUnit.MILLISECONDS).cachePrivate();
+        if (matchesETag(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .body(Response.builder()
+                        .message(scheduleSuccessMessage)
+                        .timeStamp(System.currentTimeMillis())
+                        .responseBody(timetable)
+                        .build());
+    }
+
+    private TimetableEntryDTO toTimetableEntry(ScheduleEntry entry) {
+        return TimetableEntryDTO.builder()
+                .entryId(entry.getEntryId())
+                .studentId(entry.getStudent() == null ? null : entry.getStudent().getStudentId())
+                .time(scheduleEntryMapper.nullableLongToDate(entry.getTime()))
+                .location(entry.getLocation())
+                .course(entry.getCourse() == null ? null : courseMapper.entityToDto(entry.getCourse()))
+                .lecturer(entry.getLecturer() == null ? null : lecturerMapper.entityToDto(entry.getLecturer()))
+                .semester(entry.getSemester() == null ? null : semesterMapper.entityToDto(entry.getSemester()))
+                .build();
+    }
+
+    /**
+     * SHA-256 digest of timetable serialized as json, encoded as url safe base64
+     */
+    private String digest(List<TimetableEntryDTO> timetable) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(timetable));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ResponseEntity<Response> createNotFoundResponse() {
+        return new ResponseEntity<>(Response.builder()
+                .message(entityNotFoundMessage)
+                .timeStamp(System.currentTimeMillis())
+                .responseBody("")
+                .build(),
+                HttpStatus.NOT_FOUND
+        );
+    }
+
+    /**
+     * Weak comparison of If-None-Match request header with ETag, header may list several ETags
+     */
+    private static boolean matchesETag(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if ("*".equals(tag) || stripWeakPrefix(tag).equals(stripWeakPrefix(eTag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeakPrefix(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+}
@@ -2,42 +2,83 @@ package com.rdlab.universityregistrar.service.implementation;
 
 import com.rdlab.universityregistrar.controller.response.Response;
 import com.rdlab.universityregistrar.model.dao.DAO;
+import com.rdlab.universityregistrar.model.entity.Student;
 import com.rdlab.universityregistrar.model.entity.User;
 import com.rdlab.universityregistrar.service.AbstractService;
+import com.rdlab.universityregistrar.service.dto.StudentDTO;
 import com.rdlab.universityregistrar.service.dto.UserDTO;
+import com.rdlab.universityregistrar.service.mapper.DTOEntityMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.BindingResult;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 
 @Service
 public class UserServiceImpl extends AbstractService<User, UserDTO> {
+    @Autowired
+    private DTOEntityMapper<Student, StudentDTO> studentMapper;
 
     @Autowired
     public UserServiceImpl(DAO<User> dao) {
         super(dao);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
     public ResponseEntity<Response> getAllEntities() {
         return super.getAllEntities();
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<Response> getEntitiesPage(String afterKey, Integer limit) {
+        return super.getEntitiesPage(afterKey, limit);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<Response> getEntitiesPage(String afterKey, Integer limit, String fields, String expand) {
+        return super.getEntitiesPage(afterKey, limit, fields, expand);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void writeAllEntities(OutputStream outputStream) throws IOException {
+        super.writeAllEntities(outputStream);
+    }
+
+    @Transactional(readOnly = true)
     @Override
     public ResponseEntity<Response> getEntity(String entityId) {
         return super.getEntity(entityId);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<Response> getEntity(String entityId, String fields, String expand) {
+        return super.getEntity(entityId, fields, expand);
+    }
+
     @Transactional
     @Override
     public ResponseEntity<Response> addEntity(UserDTO dto, BindingResult bindingResult) {
         return super.addEntity(dto, bindingResult);
     }
 
+    @Transactional
+    @Override
+    public ResponseEntity<Response> addEntities(List<UserDTO> dtos) {
+        return super.addEntities(dtos);
+    }
+
     @Transactional
     @Override
     public ResponseEntity<Response> updateEntity(UserDTO dto, BindingResult bindingResult) {
@@ -50,9 +91,20 @@ public class UserServiceImpl extends AbstractService<User, UserDTO> {
         return super.deleteEntity(entityId);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
     public ResponseEntity<Response> searchForEntities(String searchCriterion) {
         return super.searchForEntities(searchCriterion);
     }
+
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<Response> searchForEntities(String searchCriterion, String fields, String expand) {
+        return super.searchForEntities(searchCriterion, fields, expand);
+    }
+
+    @Override
+    protected Map<String, DTOEntityMapper<?, ?>> getExpansionMappers() {
+        return Collections.singletonMap("student", studentMapper);
+    }
 }
@@ -0,0 +1,36 @@
+package com.rdlab.universityregistrar.service.implementation;
+
+import com.rdlab.universityregistrar.service.EnrollmentFunctionality;
+import com.rdlab.universityregistrar.service.dto.CourseCapacityDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically promotes waitlisted students to courses whose seats were freed without deleting schedule entry
+ * through service (cascade deletes of students, capacity changes made directly in database).
+ * Every course is promoted in its own transaction, so capacity of only one course is locked at a time.
+ */
+@Component
+@Slf4j
+public class WaitlistPromotionWorker {
+    private final EnrollmentFunctionality enrollmentService;
+
+    @Autowired
+    public WaitlistPromotionWorker(EnrollmentFunctionality enrollmentService) {
+        this.enrollmentService = enrollmentService;
+    }
+
+    @Scheduled(fixedDelayString = "${enrollment.promotionDelay:60000}", initialDelayString = "${enrollment.promotionDelay:60000}")
+    public void promoteWaitlistedStudents() {
+        for (CourseCapacityDTO course : enrollmentService.getCoursesToPromote()) {
+            try {
+                int promotedStudents = enrollmentService.promoteWaitlistedStudents(course.getCourseId(), course.getSemesterId());
+                log.info("Promoted {} waitlisted students to course {} in semester {}", promotedStudents, course.getCourseId(), course.getSemesterId());
+            } catch (RuntimeException e) {
+                log.error("Waitlist promotion of course {} in semester {} failed", course.getCourseId(), course.getSemesterId(), e);
+            }
+        }
+    }
+}
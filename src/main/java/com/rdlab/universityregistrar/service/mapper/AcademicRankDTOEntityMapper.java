@@ -4,6 +4,8 @@ import com.rdlab.universityregistrar.model.entity.AcademicRank;
 import com.rdlab.universityregistrar.service.dto.AcademicRankDTO;
 import org.mapstruct.Mapper;
 
+import javax.persistence.Tuple;
+
 @Mapper(componentModel = "spring")
 public interface AcademicRankDTOEntityMapper extends DTOEntityMapper<AcademicRank, AcademicRankDTO> {
     @Override
@@ -23,4 +25,13 @@ public interface AcademicRankDTOEntityMapper extends DTOEntityMapper<AcademicRan
                 .numericRank(entity.getNumericRank())
                 .build();
     }
+
+    @Override
+    default AcademicRankDTO tupleToDto(Tuple tuple) {
+        return AcademicRankDTO.builder()
+                .rankId(tuple.get("rankId", Integer.class))
+                .rankName(tuple.get("rankName", String.class))
+                .numericRank(tuple.get("numericRank", Integer.class))
+                .build();
+    }
 }
@@ -4,6 +4,8 @@ import com.rdlab.universityregistrar.model.entity.Course;
 import com.rdlab.universityregistrar.service.dto.CourseDTO;
 import org.mapstruct.Mapper;
 
+import javax.persistence.Tuple;
+
 
 @Mapper(componentModel = "spring")
 public interface CourseDTOEntityMapper extends DTOEntityMapper<Course, CourseDTO> {
@@ -24,4 +26,13 @@ public interface CourseDTOEntityMapper extends DTOEntityMapper<Course, CourseDTO
                 .courseDescription(entity.getCourseDescription())
                 .build();
     }
+
+    @Override
+    default CourseDTO tupleToDto(Tuple tuple) {
+        return CourseDTO.builder()
+                .courseId(tuple.get("courseId", Integer.class))
+                .courseTitle(tuple.get("courseTitle", String.class))
+                .courseDescription(tuple.get("courseDescription", String.class))
+                .build();
+    }
 }
@@ -2,6 +2,7 @@ package com.rdlab.universityregistrar.service.mapper;
 
 import org.mapstruct.Named;
 
+import javax.persistence.Tuple;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -12,6 +13,8 @@ public interface DTOEntityMapper<E, D> {
 
     D entityToDto(E entity);
 
+    D tupleToDto(Tuple tuple);
+
     default List<D> entityListToDtoList(List<E> entityList) {
         List<D> dtoList = new ArrayList<>();
         if (!entityList.isEmpty()) {
@@ -22,6 +25,12 @@ public interface DTOEntityMapper<E, D> {
         return dtoList;
     }
 
+    default List<D> tupleListToDtoList(List<Tuple> tupleList) {
+        List<D> dtoList = new ArrayList<>(tupleList.size());
+        tupleList.forEach(tuple -> dtoList.add(tupleToDto(tuple)));
+        return dtoList;
+    }
+
     @Named("dateToLong")
     public default long dateToLong(Date date) {
         return date.getTime();
@@ -31,4 +40,9 @@ public interface DTOEntityMapper<E, D> {
     public default Date longToDate(long dateOfBirthLong) {
         return new Date(dateOfBirthLong);
     }
+
+    @Named("nullableLongToDate")
+    public default Date nullableLongToDate(Long dateLong) {
+        return dateLong == null ? null : new Date(dateLong);
+    }
 }
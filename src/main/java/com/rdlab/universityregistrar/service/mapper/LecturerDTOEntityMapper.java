@@ -6,6 +6,8 @@ import com.rdlab.universityregistrar.service.dto.LecturerDTO;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
 
+import javax.persistence.Tuple;
+
 @Mapper(componentModel = "spring")
 public interface LecturerDTOEntityMapper extends DTOEntityMapper<Lecturer, LecturerDTO> {
     LecturerDTOEntityMapper INSTANCE = Mappers.getMapper(LecturerDTOEntityMapper.class);
@@ -26,9 +28,17 @@ public interface LecturerDTOEntityMapper extends DTOEntityMapper<Lecturer, Lectu
                 .lecturerId(entity.getLecturerId())
                 .lecturerName(entity.getLecturerName())
                 .dateOfBirth(longToDate(entity.getDateOfBirth()))
-                .numericAcademicRank(entity.getNumericAcademicRank().getNumericRank())
+                .numericAcademicRank(entity.getNumericAcademicRank() == null ? null : entity.getNumericAcademicRank().getNumericRank())
                 .build();
     }
 
-
+    @Override
+    default LecturerDTO tupleToDto(Tuple tuple) {
+        return LecturerDTO.builder()
+                .lecturerId(tuple.get("lecturerId", Integer.class))
+                .lecturerName(tuple.get("lecturerName", String.class))
+                .dateOfBirth(nullableLongToDate(tuple.get("dateOfBirth", Long.class)))
+                .numericAcademicRank(tuple.get("numericAcademicRank", Integer.class))
+                .build();
+    }
 }
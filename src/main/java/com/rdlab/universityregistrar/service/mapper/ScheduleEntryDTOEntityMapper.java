@@ -5,6 +5,8 @@ import com.rdlab.universityregistrar.service.dto.ScheduleEntryDTO;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
 
+import javax.persistence.Tuple;
+
 @Mapper(componentModel = "spring")
 public interface ScheduleEntryDTOEntityMapper extends DTOEntityMapper<ScheduleEntry, ScheduleEntryDTO> {
     ScheduleEntryDTOEntityMapper INSTANCE = Mappers.getMapper(ScheduleEntryDTOEntityMapper.class);
@@ -34,4 +36,17 @@ public interface ScheduleEntryDTOEntityMapper extends DTOEntityMapper<ScheduleEn
                 .studentId(entity.getStudent().getStudentId())
                 .build();
     }
+
+    @Override
+    default ScheduleEntryDTO tupleToDto(Tuple tuple) {
+        return ScheduleEntryDTO.builder()
+                .entryId(tuple.get("entryId", Integer.class))
+                .location(tuple.get("location", String.class))
+                .time(nullableLongToDate(tuple.get("time", Long.class)))
+                .courseId(tuple.get("courseId", Integer.class))
+                .lecturerId(tuple.get("lecturerId", Integer.class))
+                .semesterId(tuple.get("semesterId", String.class))
+                .studentId(tuple.get("studentId", Integer.class))
+                .build();
+    }
 }
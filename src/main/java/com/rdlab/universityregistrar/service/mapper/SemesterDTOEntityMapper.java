@@ -5,6 +5,8 @@ import com.rdlab.universityregistrar.service.dto.SemesterDTO;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
 
+import javax.persistence.Tuple;
+
 @Mapper(componentModel = "spring")
 public interface SemesterDTOEntityMapper extends DTOEntityMapper<Semester, SemesterDTO> {
     SemesterDTOEntityMapper INSTANCE = Mappers.getMapper(SemesterDTOEntityMapper.class);
@@ -33,5 +35,15 @@ public interface SemesterDTOEntityMapper extends DTOEntityMapper<Semester, Semes
                 .build();
     }
 
-
+    @Override
+    default SemesterDTO tupleToDto(Tuple tuple) {
+        return SemesterDTO.builder()
+                .entryId(tuple.get("entryId", Integer.class))
+                .semesterId(tuple.get("semesterId", String.class))
+                .semesterName(tuple.get("semesterName", String.class))
+                .semesterYear(tuple.get("semesterYear", Integer.class))
+                .semesterStartTime(nullableLongToDate(tuple.get("semesterStartTime", Long.class)))
+                .semesterEndTime(nullableLongToDate(tuple.get("semesterEndTime", Long.class)))
+                .build();
+    }
 }
@@ -0,0 +1,110 @@
+package com.rdlab.universityregistrar.service.mapper;
+
+import javax.persistence.Tuple;
+import javax.persistence.TupleElement;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * View of projection {@link Tuple} of requested shape, lets {@link DTOEntityMapper#tupleToDto(Tuple)} map sparse
+ * projections and embedded related entities. Elements are read by aliases under prefix (e.g. "course." for
+ * embedded course), aliases that were not selected read as null.
+ */
+public class ShapedTuple implements Tuple {
+    private final Tuple tuple;
+    private final Set<String> aliases;
+    private final String prefix;
+
+    /**
+     * @param tuple   projection of requested shape
+     * @param aliases selected aliases, shared by all tuples of the same query
+     * @param prefix  prefix of viewed aliases, empty for properties of record itself
+     */
+    public ShapedTuple(Tuple tuple, Set<String> aliases, String prefix) {
+        this.tuple = tuple;
+        this.aliases = aliases;
+        this.prefix = prefix;
+    }
+
+    public static Set<String> getAliases(Tuple tuple) {
+        return tuple.getElements().stream()
+                .map(TupleElement::getAlias)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * @return true if no element under prefix is selected or all of them are null, e.g. for related entity
+     * missing from left join
+     */
+    public boolean isEmpty() {
+        return aliases.stream()
+                .filter(alias -> alias.startsWith(prefix))
+                .allMatch(alias -> tuple.get(alias) == null);
+    }
+
+    @Override
+    public <X> X get(TupleElement<X> tupleElement) {
+        return get(tupleElement.getAlias(), tupleElement.getJavaType());
+    }
+
+    @Override
+    public <X> X get(String alias, Class<X> type) {
+        String prefixedAlias = prefix + alias;
+        return aliases.contains(prefixedAlias) ? tuple.get(prefixedAlias, type) : null;
+    }
+
+    @Override
+    public Object get(String alias) {
+        String prefixedAlias = prefix + alias;
+        return aliases.contains(prefixedAlias) ? tuple.get(prefixedAlias) : null;
+    }
+
+    @Override
+    public <X> X get(int i, Class<X> type) {
+        return type.cast(get(i));
+    }
+
+    @Override
+    public Object get(int i) {
+        return get(getElements().get(i).getAlias());
+    }
+
+    @Override
+    public Object[] toArray() {
+        return getElements().stream()
+                .map(element -> get(element.getAlias()))
+                .toArray();
+    }
+
+    /**
+     * @return elements under prefix, aliased without prefix the same way they are read by alias
+     */
+    @Override
+    public List<TupleElement<?>> getElements() {
+        return tuple.getElements().stream()
+                .filter(element -> element.getAlias().startsWith(prefix))
+                .map(element -> new UnprefixedElement<>(element, prefix))
+                .collect(Collectors.toList());
+    }
+
+    private static class UnprefixedElement<X> implements TupleElement<X> {
+        private final TupleElement<X> element;
+        private final String alias;
+
+        private UnprefixedElement(TupleElement<X> element, String prefix) {
+            this.element = element;
+            this.alias = element.getAlias().substring(prefix.length());
+        }
+
+        @Override
+        public Class<? extends X> getJavaType() {
+            return element.getJavaType();
+        }
+
+        @Override
+        public String getAlias() {
+            return alias;
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.rdlab.universityregistrar.service.dto.StudentDTO;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
 
+import javax.persistence.Tuple;
+
 @Mapper(componentModel = "spring")
 public interface StudentDTOEntityMapper extends DTOEntityMapper<Student, StudentDTO> {
     StudentDTOEntityMapper INSTANCE = Mappers.getMapper(StudentDTOEntityMapper.class);
@@ -27,4 +29,12 @@ public interface StudentDTOEntityMapper extends DTOEntityMapper<Student, Student
                 .build();
     }
 
+    @Override
+    default StudentDTO tupleToDto(Tuple tuple) {
+        return StudentDTO.builder()
+                .studentId(tuple.get("studentId", Integer.class))
+                .studentName(tuple.get("studentName", String.class))
+                .dateOfBirth(nullableLongToDate(tuple.get("dateOfBirth", Long.class)))
+                .build();
+    }
 }
@@ -5,6 +5,8 @@ import com.rdlab.universityregistrar.model.entity.User;
 import com.rdlab.universityregistrar.service.dto.UserDTO;
 import org.mapstruct.Mapper;
 
+import javax.persistence.Tuple;
+
 @Mapper(componentModel = "spring")
 public interface UserDTOEntityMapper extends DTOEntityMapper<User, UserDTO> {
     @Override
@@ -30,4 +32,15 @@ public interface UserDTOEntityMapper extends DTOEntityMapper<User, UserDTO> {
                 .studentId(entity.getStudent().getStudentId())
                 .build();
     }
+
+    @Override
+    default UserDTO tupleToDto(Tuple tuple) {
+        return UserDTO.builder()
+                .userId(tuple.get("userId", Integer.class))
+                .login(tuple.get("login", String.class))
+                .password(tuple.get("password", String.class))
+                .isActive(tuple.get("isActive", Boolean.class))
+                .studentId(tuple.get("studentId", Integer.class))
+                .build();
+    }
 }
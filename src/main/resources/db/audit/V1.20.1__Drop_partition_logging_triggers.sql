@@ -0,0 +1,13 @@
+-- Logging triggers created on schedule_of_classes partitions depend on log_insert_schedule_of_classes(),
+-- they are dropped before V1.21 drops logging functions. Audit migrations have their own schema history and
+-- are applied after all of db/migration, so schedule_of_classes is already partitioned by V1.22.
+
+DO $$
+DECLARE
+    partition regclass;
+BEGIN
+FOR partition IN SELECT inhrelid::regclass FROM pg_catalog.pg_inherits WHERE inhparent = 'public.schedule_of_classes'::regclass LOOP
+    EXECUTE format('DROP TRIGGER IF EXISTS tr_ins_schedule_of_classes ON %s', partition);
+END LOOP;
+END;
+$$;
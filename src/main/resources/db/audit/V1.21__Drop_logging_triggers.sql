@@ -0,0 +1,22 @@
+-- Applied only when audit of inserted records is enabled (audit.enabled), application then writes audit_log
+-- asynchronously and synchronous logging triggers are no longer needed on insert path
+
+DROP TRIGGER IF EXISTS tr_ins_academic_ranks ON public.academic_ranks;
+DROP TRIGGER IF EXISTS tr_ins_courses ON public.courses;
+DROP TRIGGER IF EXISTS tr_ins_lecturers ON public.lecturers;
+DROP TRIGGER IF EXISTS tr_ins_schedule_of_classes ON public.schedule_of_classes;
+DROP TRIGGER IF EXISTS tr_ins_semesters ON public.semesters;
+DROP TRIGGER IF EXISTS tr_ins_students ON public.students;
+DROP TRIGGER IF EXISTS tr_ins_users ON public.users;
+
+DROP FUNCTION IF EXISTS public.log_insert_academic_ranks();
+DROP FUNCTION IF EXISTS public.log_insert_courses();
+DROP FUNCTION IF EXISTS public.log_insert_lecturers();
+DROP FUNCTION IF EXISTS public.log_insert_schedule_of_classes();
+DROP FUNCTION IF EXISTS public.log_insert_semesters();
+DROP FUNCTION IF EXISTS public.log_insert_students();
+DROP FUNCTION IF EXISTS public.log_insert_users();
+
+-- Passwords logged by users trigger
+UPDATE public.logging SET description = regexp_replace(description, 'password: "[^"]*";', 'password: "***";')
+WHERE referenced_table_name = 'users';
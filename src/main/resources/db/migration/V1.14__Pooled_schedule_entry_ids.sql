@@ -0,0 +1,4 @@
+-- Hibernate pooled optimizer reserves blocks of 50 ids per sequence call,
+-- so sequence increment must match allocation size of ScheduleEntry id generator
+
+ALTER SEQUENCE public.schedule_of_classes_entry_id_seq INCREMENT BY 50;
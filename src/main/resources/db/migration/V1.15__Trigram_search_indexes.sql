@@ -0,0 +1,22 @@
+-- Search criteria match lower(column) LIKE '%criterion%',
+-- trigram GIN indexes on the same expressions let such predicates use bitmap index scans
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm WITH SCHEMA public;
+
+CREATE INDEX students_name_trgm_idx ON public.students USING gin (lower(name) gin_trgm_ops);
+
+CREATE INDEX lecturers_name_trgm_idx ON public.lecturers USING gin (lower(name) gin_trgm_ops);
+
+CREATE INDEX semesters_name_trgm_idx ON public.semesters USING gin (lower(name) gin_trgm_ops);
+
+CREATE INDEX users_login_trgm_idx ON public.users USING gin (lower(login) gin_trgm_ops);
+
+CREATE INDEX academic_ranks_name_trgm_idx ON public.academic_ranks USING gin (lower(name) gin_trgm_ops);
+
+CREATE INDEX courses_course_title_trgm_idx ON public.courses USING gin (lower(course_title) gin_trgm_ops);
+
+CREATE INDEX courses_course_description_trgm_idx ON public.courses USING gin (lower(course_description) gin_trgm_ops);
+
+CREATE INDEX schedule_of_classes_location_trgm_idx ON public.schedule_of_classes USING gin (lower(location) gin_trgm_ops);
+
+CREATE INDEX schedule_of_classes_semester_id_trgm_idx ON public.schedule_of_classes USING gin (lower(semester_id) gin_trgm_ops);
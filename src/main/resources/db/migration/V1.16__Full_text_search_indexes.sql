@@ -0,0 +1,17 @@
+-- Expression GIN indexes backing unified full-text search (SearchDAOImpl).
+-- tsvector is computed from row columns by the index itself, so it never drifts from table data.
+-- Search query must use exactly the same expressions to be served by these indexes.
+
+CREATE INDEX students_name_fts_idx ON public.students
+    USING gin (to_tsvector('simple', coalesce(name, '')));
+
+CREATE INDEX lecturers_name_fts_idx ON public.lecturers
+    USING gin (to_tsvector('simple', coalesce(name, '')));
+
+CREATE INDEX courses_fts_idx ON public.courses
+    USING gin ((setweight(to_tsvector('simple', coalesce(course_title, '')), 'A') ||
+                setweight(to_tsvector('simple', coalesce(course_description, '')), 'B')));
+
+CREATE INDEX semesters_fts_idx ON public.semesters
+    USING gin ((setweight(to_tsvector('simple', coalesce(semester_id, '')), 'A') ||
+                setweight(to_tsvector('simple', coalesce(name, '')), 'B')));
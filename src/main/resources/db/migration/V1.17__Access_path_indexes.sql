@@ -0,0 +1,20 @@
+-- Secondary indexes for hot lookups and foreign key actions, none of them existed before.
+
+-- Course load check (student_id, semester_id) and cascade deletes from students.
+-- course_id is included so distinct course count is answered by index only scan.
+CREATE INDEX schedule_of_classes_student_semester_course_idx ON public.schedule_of_classes (student_id, semester_id, course_id);
+
+-- ON DELETE SET NULL from lecturers
+CREATE INDEX schedule_of_classes_lecturer_id_idx ON public.schedule_of_classes (lecturer_id);
+
+-- Course id search and cascade deletes from courses
+CREATE INDEX schedule_of_classes_course_id_idx ON public.schedule_of_classes (course_id);
+
+-- Cascade deletes from semesters
+CREATE INDEX schedule_of_classes_semester_id_idx ON public.schedule_of_classes (semester_id);
+
+-- User lookup by student and cascade deletes from students
+CREATE INDEX users_student_id_idx ON public.users (student_id);
+
+-- ON DELETE SET NULL from academic_ranks
+CREATE INDEX lecturers_numeric_academic_rank_idx ON public.lecturers (numeric_academic_rank);
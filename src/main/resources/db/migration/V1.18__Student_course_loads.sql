@@ -0,0 +1,50 @@
+-- Number of distinct courses taken by student in semester, maintained by trigger on schedule_of_classes.
+-- Row of student and semester is locked by course load enforcement before new schedule entry is inserted,
+-- so concurrent registrations of the same student are serialized and checked in constant time.
+
+CREATE TABLE public.student_course_loads (
+    student_id integer NOT NULL,
+    semester_id character(7) NOT NULL,
+    course_count integer DEFAULT 0 NOT NULL,
+    CONSTRAINT student_course_loads_pkey PRIMARY KEY (student_id, semester_id),
+    CONSTRAINT student_course_loads_student_id_fk FOREIGN KEY (student_id) REFERENCES public.students (student_id) ON DELETE CASCADE,
+    CONSTRAINT student_course_loads_semester_id_fk FOREIGN KEY (semester_id) REFERENCES public.semesters (semester_id) ON DELETE CASCADE
+);
+
+ALTER TABLE public.student_course_loads OWNER TO postgres;
+
+INSERT INTO public.student_course_loads (student_id, semester_id, course_count)
+SELECT student_id, semester_id, count(DISTINCT course_id)
+FROM public.schedule_of_classes
+WHERE student_id IS NOT NULL AND semester_id IS NOT NULL AND course_id IS NOT NULL
+GROUP BY student_id, semester_id;
+
+CREATE FUNCTION public.maintain_student_course_loads() RETURNS trigger
+    LANGUAGE plpgsql
+    AS $$ BEGIN
+IF TG_OP = 'UPDATE' AND OLD.student_id IS NOT DISTINCT FROM NEW.student_id AND OLD.semester_id IS NOT DISTINCT FROM NEW.semester_id
+    AND OLD.course_id IS NOT DISTINCT FROM NEW.course_id THEN
+    RETURN NULL;
+END IF;
+IF TG_OP IN ('DELETE', 'UPDATE') AND OLD.student_id IS NOT NULL AND OLD.semester_id IS NOT NULL AND OLD.course_id IS NOT NULL
+    AND NOT EXISTS (SELECT 1 FROM public.schedule_of_classes
+                    WHERE student_id = OLD.student_id AND semester_id = OLD.semester_id AND course_id = OLD.course_id) THEN
+    UPDATE public.student_course_loads SET course_count = course_count - 1
+    WHERE student_id = OLD.student_id AND semester_id = OLD.semester_id;
+END IF;
+IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.student_id IS NOT NULL AND NEW.semester_id IS NOT NULL AND NEW.course_id IS NOT NULL
+    AND NOT EXISTS (SELECT 1 FROM public.schedule_of_classes
+                    WHERE student_id = NEW.student_id AND semester_id = NEW.semester_id AND course_id = NEW.course_id
+                    AND entry_id <> NEW.entry_id) THEN
+    INSERT INTO public.student_course_loads AS loads (student_id, semester_id, course_count)
+    VALUES (NEW.student_id, NEW.semester_id, 1)
+    ON CONFLICT (student_id, semester_id) DO UPDATE SET course_count = loads.course_count + 1;
+END IF;
+RETURN NULL;
+END;
+$$;
+
+ALTER FUNCTION public.maintain_student_course_loads() OWNER TO postgres;
+
+CREATE TRIGGER tr_student_course_loads AFTER INSERT OR DELETE OR UPDATE OF student_id, semester_id, course_id ON public.schedule_of_classes
+    FOR EACH ROW EXECUTE PROCEDURE public.maintain_student_course_loads();
@@ -0,0 +1,81 @@
+-- Seat limits of courses in semesters. Courses without capacity row have unlimited number of seats.
+-- Number of enrolled students is maintained by trigger on schedule_of_classes. Enrollment locks capacity row
+-- before checking it, so concurrent enrollments to the same course cannot exceed capacity.
+
+CREATE TABLE public.course_capacities (
+    course_id integer NOT NULL,
+    semester_id character(7) NOT NULL,
+    capacity integer NOT NULL,
+    enrolled_count integer DEFAULT 0 NOT NULL,
+    CONSTRAINT course_capacities_pkey PRIMARY KEY (course_id, semester_id),
+    CONSTRAINT course_capacities_capacity_check CHECK (capacity >= 0),
+    CONSTRAINT course_capacities_course_id_fk FOREIGN KEY (course_id) REFERENCES public.courses (course_id) ON DELETE CASCADE,
+    CONSTRAINT course_capacities_semester_id_fk FOREIGN KEY (semester_id) REFERENCES public.semesters (semester_id) ON DELETE CASCADE
+);
+
+ALTER TABLE public.course_capacities OWNER TO postgres;
+
+-- Students waiting for a seat, promoted in order of waitlist_entry_id. Every entry keeps requested schedule entry,
+-- which is added to schedule_of_classes on promotion.
+
+CREATE TABLE public.course_waitlist (
+    waitlist_entry_id serial NOT NULL,
+    student_id integer NOT NULL,
+    lecturer_id integer,
+    course_id integer NOT NULL,
+    "time" bigint,
+    location character varying(45),
+    semester_id character(7) NOT NULL,
+    requested_at bigint NOT NULL,
+    CONSTRAINT course_waitlist_pkey PRIMARY KEY (waitlist_entry_id),
+    CONSTRAINT course_waitlist_unique_student UNIQUE (course_id, semester_id, student_id),
+    CONSTRAINT course_waitlist_course_capacity_fk FOREIGN KEY (course_id, semester_id) REFERENCES public.course_capacities (course_id, semester_id) ON DELETE CASCADE,
+    CONSTRAINT course_waitlist_student_id_fk FOREIGN KEY (student_id) REFERENCES public.students (student_id) ON DELETE CASCADE,
+    CONSTRAINT course_waitlist_lecturer_id_fk FOREIGN KEY (lecturer_id) REFERENCES public.lecturers (lecturer_id) ON DELETE SET NULL
+);
+
+ALTER TABLE public.course_waitlist OWNER TO postgres;
+
+-- Head of waitlist of course
+CREATE INDEX course_waitlist_course_semester_entry_idx ON public.course_waitlist (course_id, semester_id, waitlist_entry_id);
+
+-- Cascade deletes from students and lecturers
+CREATE INDEX course_waitlist_student_id_idx ON public.course_waitlist (student_id);
+CREATE INDEX course_waitlist_lecturer_id_idx ON public.course_waitlist (lecturer_id);
+
+-- Courses of semester with free seats and waiting students, scanned by promotion worker
+CREATE INDEX course_capacities_free_seats_idx ON public.course_capacities (course_id, semester_id) WHERE enrolled_count < capacity;
+
+-- Schedule entries of course in semester are counted per student
+CREATE INDEX schedule_of_classes_course_semester_student_idx ON public.schedule_of_classes (course_id, semester_id, student_id);
+
+CREATE FUNCTION public.maintain_course_enrollments() RETURNS trigger
+    LANGUAGE plpgsql
+    AS $$ BEGIN
+IF TG_OP = 'UPDATE' AND OLD.student_id IS NOT DISTINCT FROM NEW.student_id AND OLD.semester_id IS NOT DISTINCT FROM NEW.semester_id
+    AND OLD.course_id IS NOT DISTINCT FROM NEW.course_id THEN
+    RETURN NULL;
+END IF;
+IF TG_OP IN ('DELETE', 'UPDATE') AND OLD.student_id IS NOT NULL AND OLD.semester_id IS NOT NULL AND OLD.course_id IS NOT NULL
+    AND NOT EXISTS (SELECT 1 FROM public.schedule_of_classes
+                    WHERE student_id = OLD.student_id AND semester_id = OLD.semester_id AND course_id = OLD.course_id) THEN
+    UPDATE public.course_capacities SET enrolled_count = enrolled_count - 1
+    WHERE course_id = OLD.course_id AND semester_id = OLD.semester_id;
+END IF;
+IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.student_id IS NOT NULL AND NEW.semester_id IS NOT NULL AND NEW.course_id IS NOT NULL
+    AND NOT EXISTS (SELECT 1 FROM public.schedule_of_classes
+                    WHERE student_id = NEW.student_id AND semester_id = NEW.semester_id AND course_id = NEW.course_id
+                    AND entry_id <> NEW.entry_id) THEN
+    UPDATE public.course_capacities SET enrolled_count = enrolled_count + 1
+    WHERE course_id = NEW.course_id AND semester_id = NEW.semester_id;
+END IF;
+RETURN NULL;
+END;
+$$;
+
+ALTER FUNCTION public.maintain_course_enrollments() OWNER TO postgres;
+
+-- Triggers fire in alphabetical order, so course capacity row is locked before course load row of student,
+-- the same order as enrollment locks them in
+CREATE TRIGGER tr_course_enrollments AFTER INSERT OR DELETE OR UPDATE OF student_id, semester_id, course_id ON public.schedule_of_classes
+    FOR EACH ROW EXECUTE PROCEDURE public.maintain_course_enrollments();
@@ -0,0 +1,15 @@
+-- Audit of inserted records written in batches by application (AuditServiceImpl). Unlike public.logging,
+-- sensitive columns (passwords) are not recorded. event_id makes replay of audit journal idempotent.
+
+CREATE TABLE public.audit_log (
+    event_id uuid NOT NULL,
+    occurred_at timestamp without time zone NOT NULL,
+    table_name character varying(45) NOT NULL,
+    record_id character varying(45),
+    description text,
+    CONSTRAINT audit_log_pkey PRIMARY KEY (event_id)
+);
+
+ALTER TABLE public.audit_log OWNER TO postgres;
+
+CREATE INDEX audit_log_table_occurred_at_idx ON public.audit_log (table_name, occurred_at);
@@ -0,0 +1,196 @@
+-- Schedule entries are partitioned by semester, so queries and inserts of current semester touch only its
+-- partition however many semesters are kept. Every semester gets its partition when it is inserted,
+-- entries without semester go to schedule_of_classes_no_semester partition.
+-- Keys, indexes, foreign keys and row triggers are created on every partition, partitioned tables
+-- of PostgreSQL 10 cannot have them. Old semesters can be detached with detach_schedule_partition().
+
+ALTER SEQUENCE public.schedule_of_classes_entry_id_seq OWNED BY NONE;
+
+ALTER TABLE public.schedule_of_classes RENAME TO schedule_of_classes_unpartitioned;
+
+CREATE TABLE public.schedule_of_classes (
+    student_id integer,
+    lecturer_id integer,
+    course_id integer,
+    "time" bigint,
+    location character(45),
+    semester_id character(7),
+    entry_id integer DEFAULT nextval('public.schedule_of_classes_entry_id_seq'::regclass) NOT NULL
+) PARTITION BY LIST (semester_id);
+
+ALTER TABLE public.schedule_of_classes OWNER TO postgres;
+
+ALTER SEQUENCE public.schedule_of_classes_entry_id_seq OWNED BY public.schedule_of_classes.entry_id;
+
+CREATE FUNCTION public.get_schedule_partition_name(input_semester_id character) RETURNS text
+    LANGUAGE sql IMMUTABLE
+    AS $$
+SELECT 'schedule_of_classes_' || COALESCE(lower(trim(input_semester_id)), 'no_semester');
+$$;
+
+ALTER FUNCTION public.get_schedule_partition_name(input_semester_id character) OWNER TO postgres;
+
+CREATE FUNCTION public.create_schedule_partition(input_semester_id character) RETURNS void
+    LANGUAGE plpgsql
+    AS $$
+DECLARE
+    partition_name text := public.get_schedule_partition_name(input_semester_id);
+BEGIN
+IF to_regclass(format('public.%I', partition_name)) IS NOT NULL THEN
+    RETURN;
+END IF;
+EXECUTE format('CREATE TABLE public.%I PARTITION OF public.schedule_of_classes FOR VALUES IN (%s)',
+    partition_name, COALESCE(quote_literal(trim(input_semester_id)), 'NULL'));
+EXECUTE format('ALTER TABLE public.%I ADD PRIMARY KEY (entry_id), '
+    'ADD UNIQUE (student_id, lecturer_id, course_id, "time", location, semester_id), '
+    'ADD FOREIGN KEY (lecturer_id) REFERENCES public.lecturers (lecturer_id) ON DELETE SET NULL, '
+    'ADD FOREIGN KEY (student_id) REFERENCES public.students (student_id) ON DELETE CASCADE, '
+    'ADD FOREIGN KEY (course_id) REFERENCES public.courses (course_id) ON DELETE CASCADE, '
+    'ADD FOREIGN KEY (semester_id) REFERENCES public.semesters (semester_id)', partition_name);
+EXECUTE format('CREATE INDEX ON public.%I (student_id, semester_id, course_id)', partition_name);
+EXECUTE format('CREATE INDEX ON public.%I (lecturer_id)', partition_name);
+EXECUTE format('CREATE INDEX ON public.%I (course_id)', partition_name);
+EXECUTE format('CREATE INDEX ON public.%I (semester_id)', partition_name);
+EXECUTE format('CREATE INDEX ON public.%I (course_id, semester_id, student_id)', partition_name);
+EXECUTE format('CREATE INDEX ON public.%I USING gin (lower(location) public.gin_trgm_ops)', partition_name);
+EXECUTE format('CREATE INDEX ON public.%I USING gin (lower(semester_id) public.gin_trgm_ops)', partition_name);
+EXECUTE format('CREATE TRIGGER tr_course_enrollments AFTER INSERT OR DELETE OR UPDATE OF student_id, semester_id, course_id '
+    'ON public.%I FOR EACH ROW EXECUTE PROCEDURE public.maintain_course_enrollments()', partition_name);
+EXECUTE format('CREATE TRIGGER tr_student_course_loads AFTER INSERT OR DELETE OR UPDATE OF student_id, semester_id, course_id '
+    'ON public.%I FOR EACH ROW EXECUTE PROCEDURE public.maintain_student_course_loads()', partition_name);
+-- Logging trigger is dropped when audit of inserted records is enabled
+IF to_regprocedure('public.log_insert_schedule_of_classes()') IS NOT NULL THEN
+    EXECUTE format('CREATE TRIGGER tr_ins_schedule_of_classes BEFORE INSERT '
+        'ON public.%I FOR EACH ROW EXECUTE PROCEDURE public.log_insert_schedule_of_classes()', partition_name);
+END IF;
+END;
+$$;
+
+ALTER FUNCTION public.create_schedule_partition(input_semester_id character) OWNER TO postgres;
+
+-- Detached partition is kept as standalone table with the same name, its rows no longer change counters
+-- of course loads and course enrollments. Inserts to semester of detached partition fail.
+CREATE FUNCTION public.detach_schedule_partition(input_semester_id character) RETURNS regclass
+    LANGUAGE plpgsql
+    AS $$
+DECLARE
+    partition regclass := to_regclass(format('public.%I', public.get_schedule_partition_name(input_semester_id)));
+BEGIN
+IF partition IS NULL OR NOT EXISTS (SELECT 1 FROM pg_catalog.pg_inherits
+                                    WHERE inhrelid = partition AND inhparent = 'public.schedule_of_classes'::regclass) THEN
+    RAISE EXCEPTION 'Semester % has no schedule partition', input_semester_id;
+END IF;
+EXECUTE format('ALTER TABLE public.schedule_of_classes DETACH PARTITION %s', partition);
+EXECUTE format('DROP TRIGGER tr_course_enrollments ON %s', partition);
+EXECUTE format('DROP TRIGGER tr_student_course_loads ON %s', partition);
+EXECUTE format('DROP TRIGGER IF EXISTS tr_ins_schedule_of_classes ON %s', partition);
+RETURN partition;
+END;
+$$;
+
+ALTER FUNCTION public.detach_schedule_partition(input_semester_id character) OWNER TO postgres;
+
+CREATE FUNCTION public.create_semester_schedule_partition() RETURNS trigger
+    LANGUAGE plpgsql
+    AS $$ BEGIN
+PERFORM public.create_schedule_partition(NEW.semester_id);
+RETURN NULL;
+END;
+$$;
+
+ALTER FUNCTION public.create_semester_schedule_partition() OWNER TO postgres;
+
+CREATE TRIGGER tr_semester_schedule_partition AFTER INSERT OR UPDATE OF semester_id ON public.semesters
+    FOR EACH ROW EXECUTE PROCEDURE public.create_semester_schedule_partition();
+
+SELECT public.create_schedule_partition(NULL);
+
+SELECT public.create_schedule_partition(semester_id) FROM public.semesters;
+
+-- Copied entries are already counted in course loads and course enrollments
+DO $$
+DECLARE
+    partition regclass;
+BEGIN
+FOR partition IN SELECT inhrelid::regclass FROM pg_catalog.pg_inherits WHERE inhparent = 'public.schedule_of_classes'::regclass LOOP
+    EXECUTE format('ALTER TABLE %s DISABLE TRIGGER USER', partition);
+END LOOP;
+INSERT INTO public.schedule_of_classes (student_id, lecturer_id, course_id, "time", location, semester_id, entry_id)
+SELECT student_id, lecturer_id, course_id, "time", location, semester_id, entry_id
+FROM public.schedule_of_classes_unpartitioned;
+FOR partition IN SELECT inhrelid::regclass FROM pg_catalog.pg_inherits WHERE inhparent = 'public.schedule_of_classes'::regclass LOOP
+    EXECUTE format('ALTER TABLE %s ENABLE TRIGGER USER', partition);
+END LOOP;
+END;
+$$;
+
+-- Views depending on unpartitioned table are dropped with it and created again on partitioned table
+
+DROP TABLE public.schedule_of_classes_unpartitioned CASCADE;
+
+CREATE VIEW public.course_inactiveusersnumber AS
+ SELECT ss.course_id,
+    count(ss.student_id) AS count
+   FROM ( SELECT schedule_of_classes.course_id,
+            schedule_of_classes.student_id,
+            users.is_active
+           FROM (public.schedule_of_classes
+             LEFT JOIN public.users ON ((schedule_of_classes.student_id = users.student_id)))) ss
+  WHERE (ss.is_active = false)
+  GROUP BY ss.course_id;
+
+ALTER TABLE public.course_inactiveusersnumber OWNER TO postgres;
+
+CREATE VIEW public.course_lecturer_rank AS
+ SELECT schedule_of_classes.course_id,
+    schedule_of_classes.lecturer_id,
+    lecturers.numeric_academic_rank
+   FROM (public.schedule_of_classes
+     JOIN public.lecturers ON ((schedule_of_classes.lecturer_id = lecturers.lecturer_id)));
+
+ALTER TABLE public.course_lecturer_rank OWNER TO postgres;
+
+CREATE VIEW public.course_maxlecturerrank AS
+ SELECT course_lecturer_rank.course_id,
+    max(course_lecturer_rank.numeric_academic_rank) AS max_rank
+   FROM public.course_lecturer_rank
+  GROUP BY course_lecturer_rank.course_id;
+
+ALTER TABLE public.course_maxlecturerrank OWNER TO postgres;
+
+CREATE VIEW public.course_maxlecturerrank_rankname AS
+ SELECT course_maxlecturerrank.course_id,
+    course_maxlecturerrank.max_rank,
+    academic_ranks.name
+   FROM (public.course_maxlecturerrank
+     LEFT JOIN public.academic_ranks ON ((course_maxlecturerrank.max_rank = academic_ranks.numeric_rank)));
+
+ALTER TABLE public.course_maxlecturerrank_rankname OWNER TO postgres;
+
+CREATE VIEW public.course_maxlecturerrank_lecturer_rankname AS
+ SELECT course_maxlecturerrank_rankname.course_id,
+    course_maxlecturerrank_rankname.max_rank,
+    course_lecturer_rank.lecturer_id,
+    course_maxlecturerrank_rankname.name
+   FROM (public.course_maxlecturerrank_rankname
+     LEFT JOIN public.course_lecturer_rank ON (((course_maxlecturerrank_rankname.course_id = course_lecturer_rank.course_id) AND (course_maxlecturerrank_rankname.max_rank = course_lecturer_rank.numeric_academic_rank))));
+
+ALTER TABLE public.course_maxlecturerrank_lecturer_rankname OWNER TO postgres;
+
+CREATE VIEW public.task_1 AS
+ SELECT courses.course_title AS "Course title",
+    count(DISTINCT schedule_of_classes.student_id) AS "Number of Students",
+    count(DISTINCT schedule_of_classes.lecturer_id) AS "Number of Lecturers",
+    course_maxlecturerrank_lecturer_rankname.name AS "Highest lecturer rank",
+    course_inactiveusersnumber.count AS "Inactive users",
+    t.semester_id AS "Most picked semester"
+   FROM ((((public.courses
+     LEFT JOIN public.schedule_of_classes ON ((schedule_of_classes.course_id = courses.course_id)))
+     LEFT JOIN public.course_maxlecturerrank_lecturer_rankname ON ((courses.course_id = course_maxlecturerrank_lecturer_rankname.course_id)))
+     LEFT JOIN public.course_inactiveusersnumber ON ((courses.course_id = course_inactiveusersnumber.course_id)))
+     LEFT JOIN public.get_most_picked_semesters() t(course_id, semester_id, max_times_in_single_semester) ON ((courses.course_id = t.course_id)))
+  GROUP BY courses.course_title, course_maxlecturerrank_lecturer_rankname.name, course_inactiveusersnumber.count, t.semester_id;
+
+ALTER TABLE public.task_1 OWNER TO postgres;
+
+ANALYZE public.schedule_of_classes;
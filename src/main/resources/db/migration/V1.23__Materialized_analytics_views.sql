@@ -0,0 +1,74 @@
+-- Course analytics are computed by single pass over schedule_of_classes and kept in materialized views
+-- refreshed concurrently by application (analytics.refreshInterval), so reads neither recompute joins
+-- nor block refresh. Unique indexes are required by REFRESH MATERIALIZED VIEW CONCURRENTLY.
+-- Plain views computing the same data on every read are replaced, task_1 is kept for existing clients.
+
+DROP VIEW public.task_1;
+DROP VIEW public.course_maxlecturerrank_lecturer_rankname;
+DROP VIEW public.course_maxlecturerrank_rankname;
+DROP VIEW public.course_maxlecturerrank;
+DROP VIEW public.course_lecturer_rank;
+DROP VIEW public.course_inactiveusersnumber;
+
+-- Set based replacement of get_most_picked_semesters(), which queried schedule once per course.
+-- Ties are resolved by semester id.
+CREATE MATERIALIZED VIEW public.course_most_picked_semesters AS
+ SELECT DISTINCT ON (schedule_of_classes.course_id) schedule_of_classes.course_id,
+    schedule_of_classes.semester_id,
+    count(*) AS max_times_in_single_semester
+   FROM public.schedule_of_classes
+  WHERE schedule_of_classes.course_id IS NOT NULL AND schedule_of_classes.semester_id IS NOT NULL
+  GROUP BY schedule_of_classes.course_id, schedule_of_classes.semester_id
+  ORDER BY schedule_of_classes.course_id, count(*) DESC, schedule_of_classes.semester_id;
+
+ALTER TABLE public.course_most_picked_semesters OWNER TO postgres;
+
+CREATE UNIQUE INDEX course_most_picked_semesters_course_id_idx ON public.course_most_picked_semesters (course_id);
+
+CREATE MATERIALIZED VIEW public.course_statistics AS
+ WITH course_entries AS (
+         SELECT schedule_of_classes.course_id,
+            count(DISTINCT schedule_of_classes.student_id) AS number_of_students,
+            count(DISTINCT schedule_of_classes.lecturer_id) AS number_of_lecturers,
+            max(lecturers.numeric_academic_rank) AS highest_numeric_rank,
+            count(DISTINCT users.student_id) FILTER (WHERE users.is_active = false) AS inactive_users
+           FROM public.schedule_of_classes
+             LEFT JOIN public.lecturers ON schedule_of_classes.lecturer_id = lecturers.lecturer_id
+             LEFT JOIN public.users ON schedule_of_classes.student_id = users.student_id
+          WHERE schedule_of_classes.course_id IS NOT NULL
+          GROUP BY schedule_of_classes.course_id
+        ), most_picked_semesters AS (
+         SELECT DISTINCT ON (schedule_of_classes.course_id) schedule_of_classes.course_id,
+            schedule_of_classes.semester_id
+           FROM public.schedule_of_classes
+          WHERE schedule_of_classes.course_id IS NOT NULL AND schedule_of_classes.semester_id IS NOT NULL
+          GROUP BY schedule_of_classes.course_id, schedule_of_classes.semester_id
+          ORDER BY schedule_of_classes.course_id, count(*) DESC, schedule_of_classes.semester_id
+        )
+ SELECT courses.course_id,
+    courses.course_title,
+    COALESCE(course_entries.number_of_students, 0) AS number_of_students,
+    COALESCE(course_entries.number_of_lecturers, 0) AS number_of_lecturers,
+    course_entries.highest_numeric_rank,
+    academic_ranks.name AS highest_rank_name,
+    COALESCE(course_entries.inactive_users, 0) AS inactive_users,
+    most_picked_semesters.semester_id AS most_picked_semester
+   FROM public.courses
+     LEFT JOIN course_entries ON courses.course_id = course_entries.course_id
+     LEFT JOIN public.academic_ranks ON course_entries.highest_numeric_rank = academic_ranks.numeric_rank
+     LEFT JOIN most_picked_semesters ON courses.course_id = most_picked_semesters.course_id;
+
+ALTER TABLE public.course_statistics OWNER TO postgres;
+
+CREATE UNIQUE INDEX course_statistics_course_id_idx ON public.course_statistics (course_id);
+
+CREATE VIEW public.task_1 AS
+ SELECT course_statistics.course_title AS "Course title",
+    course_statistics.number_of_students AS "Number of Students",
+    course_statistics.number_of_lecturers AS "Number of Lecturers",
+    course_statistics.highest_rank_name AS "Highest lecturer rank",
+    NULLIF(course_statistics.inactive_users, 0) AS "Inactive users",
+    course_statistics.most_picked_semester AS "Most picked semester"
+   FROM public.course_statistics;
+
+ALTER TABLE public.task_1 OWNER TO postgres;
@@ -0,0 +1,90 @@
+-- Classes last duration ms from their beginning time. Lecturer or location cannot be booked by two
+-- classes overlapping in time, which is enforced by exclusion constraints on every schedule partition
+-- (partitioned tables of PostgreSQL 10 cannot have them). Entries of the same class (course, location
+-- and time) held by different students or co-taught by different lecturers do not conflict.
+-- Entries added before this migration have zero duration, their duration was never recorded and
+-- empty ranges do not overlap with anything.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist WITH SCHEMA public;
+
+ALTER TABLE public.schedule_of_classes ADD COLUMN duration bigint DEFAULT 0 NOT NULL;
+
+ALTER TABLE public.schedule_of_classes ALTER COLUMN duration SET DEFAULT 5400000;
+
+ALTER TABLE public.schedule_of_classes ADD CONSTRAINT schedule_of_classes_duration_check CHECK (duration >= 0);
+
+-- Range of class in UTC, computed instead of stored, PostgreSQL 10 has no generated columns
+CREATE FUNCTION public.get_schedule_class_range(class_time bigint, class_duration bigint) RETURNS tsrange
+    LANGUAGE sql IMMUTABLE
+    AS $$
+SELECT tsrange(to_timestamp(class_time / 1000.0) AT TIME ZONE 'UTC', to_timestamp((class_time + class_duration) / 1000.0) AT TIME ZONE 'UTC');
+$$;
+
+ALTER FUNCTION public.get_schedule_class_range(class_time bigint, class_duration bigint) OWNER TO postgres;
+
+CREATE FUNCTION public.get_schedule_class_key(class_course_id integer, class_location character, class_time bigint) RETURNS text
+    LANGUAGE sql IMMUTABLE
+    AS $$
+SELECT COALESCE(class_course_id::text, '') || '|' || COALESCE(lower(rtrim(class_location)), '') || '|' || COALESCE(class_time::text, '');
+$$;
+
+ALTER FUNCTION public.get_schedule_class_key(class_course_id integer, class_location character, class_time bigint) OWNER TO postgres;
+
+-- Constraint names end with _lecturer_excl and _location_excl, violations are reported by them
+CREATE FUNCTION public.add_schedule_exclusion_constraints(partition regclass) RETURNS void
+    LANGUAGE plpgsql
+    AS $$
+DECLARE
+    partition_name text := (SELECT relname FROM pg_catalog.pg_class WHERE oid = partition);
+BEGIN
+EXECUTE format('ALTER TABLE %s ADD CONSTRAINT %I EXCLUDE USING gist (lecturer_id WITH =, '
+    'public.get_schedule_class_key(course_id, location, "time") WITH <>, '
+    'public.get_schedule_class_range("time", duration) WITH &&)', partition, partition_name || '_lecturer_excl');
+EXECUTE format('ALTER TABLE %s ADD CONSTRAINT %I EXCLUDE USING gist ((lower(rtrim(location))) WITH =, '
+    'public.get_schedule_class_key(course_id, location, "time") WITH <>, '
+    'public.get_schedule_class_range("time", duration) WITH &&)', partition, partition_name || '_location_excl');
+END;
+$$;
+
+ALTER FUNCTION public.add_schedule_exclusion_constraints(partition regclass) OWNER TO postgres;
+
+CREATE OR REPLACE FUNCTION public.create_schedule_partition(input_semester_id character) RETURNS void
+    LANGUAGE plpgsql
+    AS $$
+DECLARE
+    partition_name text := public.get_schedule_partition_name(input_semester_id);
+BEGIN
+IF to_regclass(format('public.%I', partition_name)) IS NOT NULL THEN
+    RETURN;
+END IF;
+EXECUTE format('CREATE TABLE public.%I PARTITION OF public.schedule_of_classes FOR VALUES IN (%s)',
+    partition_name, COALESCE(quote_literal(trim(input_semester_id)), 'NULL'));
+EXECUTE format('ALTER TABLE public.%I ADD PRIMARY KEY (entry_id), '
+    'ADD UNIQUE (student_id, lecturer_id, course_id, "time", location, semester_id), '
+    'ADD FOREIGN KEY (lecturer_id) REFERENCES public.lecturers (lecturer_id) ON DELETE SET NULL, '
+    'ADD FOREIGN KEY (student_id) REFERENCES public.students (student_id) ON DELETE CASCADE, '
+    'ADD FOREIGN KEY (course_id) REFERENCES public.courses (course_id) ON DELETE CASCADE, '
+    'ADD FOREIGN KEY (semester_id) REFERENCES public.semesters (semester_id)', partition_name);
+PERFORM public.add_schedule_exclusion_constraints(format('public.%I', partition_name)::regclass);
+EXECUTE format('CREATE INDEX ON public.%I (student_id, semester_id, course_id)', partition_name);
+EXECUTE format('CREATE INDEX ON public.%I (lecturer_id)', partition_name);
+EXECUTE format('CREATE INDEX ON public.%I (course_id)', partition_name);
+EXECUTE format('CREATE INDEX ON public.%I (semester_id)', partition_name);
+EXECUTE format('CREATE INDEX ON public.%I (course_id, semester_id, student_id)', partition_name);
+EXECUTE format('CREATE INDEX ON public.%I USING gin (lower(location) public.gin_trgm_ops)', partition_name);
+EXECUTE format('CREATE INDEX ON public.%I USING gin (lower(semester_id) public.gin_trgm_ops)', partition_name);
+EXECUTE format('CREATE TRIGGER tr_course_enrollments AFTER INSERT OR DELETE OR UPDATE OF student_id, semester_id, course_id '
+    'ON public.%I FOR EACH ROW EXECUTE PROCEDURE public.maintain_course_enrollments()', partition_name);
+EXECUTE format('CREATE TRIGGER tr_student_course_loads AFTER INSERT OR DELETE OR UPDATE OF student_id, semester_id, course_id '
+    'ON public.%I FOR EACH ROW EXECUTE PROCEDURE public.maintain_student_course_loads()', partition_name);
+-- Logging trigger is dropped when audit of inserted records is enabled
+IF to_regprocedure('public.log_insert_schedule_of_classes()') IS NOT NULL THEN
+    EXECUTE format('CREATE TRIGGER tr_ins_schedule_of_classes BEFORE INSERT '
+        'ON public.%I FOR EACH ROW EXECUTE PROCEDURE public.log_insert_schedule_of_classes()', partition_name);
+END IF;
+END;
+$$;
+
+SELECT public.add_schedule_exclusion_constraints(inhrelid::regclass)
+FROM pg_catalog.pg_inherits
+WHERE inhparent = 'public.schedule_of_classes'::regclass;
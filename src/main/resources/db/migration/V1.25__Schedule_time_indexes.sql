@@ -0,0 +1,78 @@
+-- Time range queries of schedule read partitions of current semesters by B-tree index on time, which also
+-- returns entries in order of time and entry id without sorting. Detached partitions of finished semesters
+-- are append-only history, their B-tree index is replaced by much smaller BRIN index on time.
+
+CREATE FUNCTION public.add_schedule_time_index(partition regclass) RETURNS void
+    LANGUAGE plpgsql
+    AS $$
+DECLARE
+    partition_name text := (SELECT relname FROM pg_catalog.pg_class WHERE oid = partition);
+BEGIN
+EXECUTE format('CREATE INDEX %I ON %s ("time", entry_id)', partition_name || '_time_idx', partition);
+END;
+$$;
+
+ALTER FUNCTION public.add_schedule_time_index(partition regclass) OWNER TO postgres;
+
+CREATE OR REPLACE FUNCTION public.create_schedule_partition(input_semester_id character) RETURNS void
+    LANGUAGE plpgsql
+    AS $$
+DECLARE
+    partition_name text := public.get_schedule_partition_name(input_semester_id);
+BEGIN
+IF to_regclass(format('public.%I', partition_name)) IS NOT NULL THEN
+    RETURN;
+END IF;
+EXECUTE format('CREATE TABLE public.%I PARTITION OF public.schedule_of_classes FOR VALUES IN (%s)',
+    partition_name, COALESCE(quote_literal(trim(input_semester_id)), 'NULL'));
+EXECUTE format('ALTER TABLE public.%I ADD PRIMARY KEY (entry_id), '
+    'ADD UNIQUE (student_id, lecturer_id, course_id, "time", location, semester_id), '
+    'ADD FOREIGN KEY (lecturer_id) REFERENCES public.lecturers (lecturer_id) ON DELETE SET NULL, '
+    'ADD FOREIGN KEY (student_id) REFERENCES public.students (student_id) ON DELETE CASCADE, '
+    'ADD FOREIGN KEY (course_id) REFERENCES public.courses (course_id) ON DELETE CASCADE, '
+    'ADD FOREIGN KEY (semester_id) REFERENCES public.semesters (semester_id)', partition_name);
+PERFORM public.add_schedule_exclusion_constraints(format('public.%I', partition_name)::regclass);
+PERFORM public.add_schedule_time_index(format('public.%I', partition_name)::regclass);
+EXECUTE format('CREATE INDEX ON public.%I (student_id, semester_id, course_id)', partition_name);
+EXECUTE format('CREATE INDEX ON public.%I (lecturer_id)', partition_name);
+EXECUTE format('CREATE INDEX ON public.%I (course_id)', partition_name);
+EXECUTE format('CREATE INDEX ON public.%I (semester_id)', partition_name);
+EXECUTE format('CREATE INDEX ON public.%I (course_id, semester_id, student_id)', partition_name);
+EXECUTE format('CREATE INDEX ON public.%I USING gin (lower(location) public.gin_trgm_ops)', partition_name);
+EXECUTE format('CREATE INDEX ON public.%I USING gin (lower(semester_id) public.gin_trgm_ops)', partition_name);
+EXECUTE format('CREATE TRIGGER tr_course_enrollments AFTER INSERT OR DELETE OR UPDATE OF student_id, semester_id, course_id '
+    'ON public.%I FOR EACH ROW EXECUTE PROCEDURE public.maintain_course_enrollments()', partition_name);
+EXECUTE format('CREATE TRIGGER tr_student_course_loads AFTER INSERT OR DELETE OR UPDATE OF student_id, semester_id, course_id '
+    'ON public.%I FOR EACH ROW EXECUTE PROCEDURE public.maintain_student_course_loads()', partition_name);
+-- Logging trigger is dropped when audit of inserted records is enabled
+IF to_regprocedure('public.log_insert_schedule_of_classes()') IS NOT NULL THEN
+    EXECUTE format('CREATE TRIGGER tr_ins_schedule_of_classes BEFORE INSERT '
+        'ON public.%I FOR EACH ROW EXECUTE PROCEDURE public.log_insert_schedule_of_classes()', partition_name);
+END IF;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION public.detach_schedule_partition(input_semester_id character) RETURNS regclass
+    LANGUAGE plpgsql
+    AS $$
+DECLARE
+    partition regclass := to_regclass(format('public.%I', public.get_schedule_partition_name(input_semester_id)));
+    partition_name text := public.get_schedule_partition_name(input_semester_id);
+BEGIN
+IF partition IS NULL OR NOT EXISTS (SELECT 1 FROM pg_catalog.pg_inherits
+                                    WHERE inhrelid = partition AND inhparent = 'public.schedule_of_classes'::regclass) THEN
+    RAISE EXCEPTION 'Semester % has no schedule partition', input_semester_id;
+END IF;
+EXECUTE format('ALTER TABLE public.schedule_of_classes DETACH PARTITION %s', partition);
+EXECUTE format('DROP TRIGGER tr_course_enrollments ON %s', partition);
+EXECUTE format('DROP TRIGGER tr_student_course_loads ON %s', partition);
+EXECUTE format('DROP TRIGGER IF EXISTS tr_ins_schedule_of_classes ON %s', partition);
+EXECUTE format('DROP INDEX IF EXISTS public.%I', partition_name || '_time_idx');
+EXECUTE format('CREATE INDEX %I ON %s USING brin ("time")', partition_name || '_time_brin_idx', partition);
+RETURN partition;
+END;
+$$;
+
+SELECT public.add_schedule_time_index(inhrelid::regclass)
+FROM pg_catalog.pg_inherits
+WHERE inhparent = 'public.schedule_of_classes'::regclass;
@@ -0,0 +1,10 @@
+-- Ids of courses, lecturers, students, academic ranks, semesters and users are generated by Hibernate
+-- pooled optimizer instead of identity columns, so their inserts can be sent in JDBC batches.
+-- Sequence increments must match allocation size of id generators, serial column defaults keep working.
+
+ALTER SEQUENCE public.academic_ranks_entry_id_seq INCREMENT BY 50;
+ALTER SEQUENCE public.courses_course_id_seq INCREMENT BY 50;
+ALTER SEQUENCE public.lecturers_lecturer_id_seq INCREMENT BY 50;
+ALTER SEQUENCE public.semesters_entry_id_seq INCREMENT BY 50;
+ALTER SEQUENCE public.students_student_id_seq INCREMENT BY 50;
+ALTER SEQUENCE public.users_entry_id_seq INCREMENT BY 50;
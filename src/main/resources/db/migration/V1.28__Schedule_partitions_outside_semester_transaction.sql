@@ -0,0 +1,8 @@
+-- Partition created by trigger on semesters kept schedule_of_classes locked exclusively until the end of
+-- transaction adding semester, blocking all reads and writes of schedule meanwhile. Partitions are created
+-- by application in their own transaction before semester is added (see SchedulePartitionDAO),
+-- semesters added with plain SQL need "SELECT create_schedule_partition('<semester id>')".
+
+DROP TRIGGER tr_semester_schedule_partition ON public.semesters;
+
+DROP FUNCTION public.create_semester_schedule_partition();
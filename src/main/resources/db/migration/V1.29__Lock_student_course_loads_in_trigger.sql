@@ -0,0 +1,37 @@
+-- Course load row is locked before schedule entries of the course are looked up. Concurrent deletions of
+-- the last two entries of a course otherwise both saw the entry deleted by the other one and skipped decrement,
+-- concurrent insertions of the first two entries both incremented course count. Lookup after the lock sees changes
+-- committed by transaction that held it.
+
+CREATE OR REPLACE FUNCTION public.maintain_student_course_loads() RETURNS trigger
+    LANGUAGE plpgsql
+    AS $$ BEGIN
+IF TG_OP = 'UPDATE' AND OLD.student_id IS NOT DISTINCT FROM NEW.student_id AND OLD.semester_id IS NOT DISTINCT FROM NEW.semester_id
+    AND OLD.course_id IS NOT DISTINCT FROM NEW.course_id THEN
+    RETURN NULL;
+END IF;
+IF TG_OP IN ('DELETE', 'UPDATE') AND OLD.student_id IS NOT NULL AND OLD.semester_id IS NOT NULL AND OLD.course_id IS NOT NULL THEN
+    PERFORM 1 FROM public.student_course_loads
+    WHERE student_id = OLD.student_id AND semester_id = OLD.semester_id
+    FOR UPDATE;
+    IF NOT EXISTS (SELECT 1 FROM public.schedule_of_classes
+                   WHERE student_id = OLD.student_id AND semester_id = OLD.semester_id AND course_id = OLD.course_id) THEN
+        UPDATE public.student_course_loads SET course_count = course_count - 1
+        WHERE student_id = OLD.student_id AND semester_id = OLD.semester_id;
+    END IF;
+END IF;
+IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.student_id IS NOT NULL AND NEW.semester_id IS NOT NULL AND NEW.course_id IS NOT NULL THEN
+    -- Row of student's first course in semester does not exist yet, so it is inserted to be locked
+    INSERT INTO public.student_course_loads AS loads (student_id, semester_id, course_count)
+    VALUES (NEW.student_id, NEW.semester_id, 0)
+    ON CONFLICT (student_id, semester_id) DO UPDATE SET course_count = loads.course_count;
+    IF NOT EXISTS (SELECT 1 FROM public.schedule_of_classes
+                   WHERE student_id = NEW.student_id AND semester_id = NEW.semester_id AND course_id = NEW.course_id
+                   AND entry_id <> NEW.entry_id) THEN
+        UPDATE public.student_course_loads SET course_count = course_count + 1
+        WHERE student_id = NEW.student_id AND semester_id = NEW.semester_id;
+    END IF;
+END IF;
+RETURN NULL;
+END;
+$$;
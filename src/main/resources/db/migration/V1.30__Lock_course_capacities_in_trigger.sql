@@ -0,0 +1,35 @@
+-- Course capacity row is locked before schedule entries of the course are looked up, as course load row
+-- is locked by V1.29. Concurrent deletions of the last two entries of a student otherwise both skipped
+-- decrement of enrolled count. Courses without capacity row have no count to maintain.
+
+CREATE OR REPLACE FUNCTION public.maintain_course_enrollments() RETURNS trigger
+    LANGUAGE plpgsql
+    AS $$ BEGIN
+IF TG_OP = 'UPDATE' AND OLD.student_id IS NOT DISTINCT FROM NEW.student_id AND OLD.semester_id IS NOT DISTINCT FROM NEW.semester_id
+    AND OLD.course_id IS NOT DISTINCT FROM NEW.course_id THEN
+    RETURN NULL;
+END IF;
+IF TG_OP IN ('DELETE', 'UPDATE') AND OLD.student_id IS NOT NULL AND OLD.semester_id IS NOT NULL AND OLD.course_id IS NOT NULL THEN
+    PERFORM 1 FROM public.course_capacities
+    WHERE course_id = OLD.course_id AND semester_id = OLD.semester_id
+    FOR UPDATE;
+    IF FOUND AND NOT EXISTS (SELECT 1 FROM public.schedule_of_classes
+                             WHERE student_id = OLD.student_id AND semester_id = OLD.semester_id AND course_id = OLD.course_id) THEN
+        UPDATE public.course_capacities SET enrolled_count = enrolled_count - 1
+        WHERE course_id = OLD.course_id AND semester_id = OLD.semester_id;
+    END IF;
+END IF;
+IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.student_id IS NOT NULL AND NEW.semester_id IS NOT NULL AND NEW.course_id IS NOT NULL THEN
+    PERFORM 1 FROM public.course_capacities
+    WHERE course_id = NEW.course_id AND semester_id = NEW.semester_id
+    FOR UPDATE;
+    IF FOUND AND NOT EXISTS (SELECT 1 FROM public.schedule_of_classes
+                             WHERE student_id = NEW.student_id AND semester_id = NEW.semester_id AND course_id = NEW.course_id
+                             AND entry_id <> NEW.entry_id) THEN
+        UPDATE public.course_capacities SET enrolled_count = enrolled_count + 1
+        WHERE course_id = NEW.course_id AND semester_id = NEW.semester_id;
+    END IF;
+END IF;
+RETURN NULL;
+END;
+$$;
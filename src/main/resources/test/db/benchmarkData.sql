@@ -0,0 +1,20 @@
+-- Seed data of migrations is replaced, benchmark data set refers to its records by ids starting from 1.
+-- Sequences are moved past these ids by more than allocation size of pooled id generators.
+TRUNCATE academic_ranks, courses, lecturers, students, users, semesters, schedule_of_classes, logging CASCADE;
+INSERT INTO academic_ranks (numeric_rank, name) VALUES (1, 'Professor');
+INSERT INTO academic_ranks (numeric_rank, name) VALUES (2, 'Associate professor');
+INSERT INTO courses (course_id, course_title, course_description) SELECT i, 'Computer Science ' || i, 'Prerequisites: Computer Science ' || (i - 1) FROM generate_series(1, 200) i;
+INSERT INTO lecturers (lecturer_id, name, date_of_birth, numeric_academic_rank) SELECT i, 'Lecturer ' || i, 461885632 + i, 1 + i % 2 FROM generate_series(1, 50) i;
+INSERT INTO students (student_id, name, date_of_birth) SELECT i, 'Student ' || i, 463226420 + i FROM generate_series(1, 1000) i;
+INSERT INTO users (login, password, is_active, student_id) SELECT 'user_' || i, 'pa$$word', i % 10 <> 0, i FROM generate_series(1, 1000) i;
+INSERT INTO semesters (semester_id, name, year, start_time, end_time) VALUES ('FAL2020', 'Fall semester of 2020', 2020, 1599300020, 1608890420);
+INSERT INTO semesters (semester_id, name, year, start_time, end_time) VALUES ('SPR2021', 'Spring semester of 2021', 2021, 1610000000, 1620000000);
+INSERT INTO semesters (semester_id, name, year, start_time, end_time) VALUES ('SUM2021', 'Summer semester of 2021', 2021, 1620000000, 1627000000);
+INSERT INTO semesters (semester_id, name, year, start_time, end_time) VALUES ('FAL2021', 'Fall semester of 2021', 2021, 1630000000, 1640000000);
+SELECT create_schedule_partition(semester_id) FROM semesters;
+INSERT INTO schedule_of_classes (entry_id, student_id, lecturer_id, course_id, time, duration, location, semester_id) SELECT i, 1 + i % 1000, 1 + i % 50, 1 + i % 200, 1609855628000 + i * 60000, 60000, 'Room ' || chr(65 + i % 26) || (i % 100), (ARRAY['FAL2020', 'SPR2021', 'SUM2021', 'FAL2021'])[1 + i % 4] FROM generate_series(1, 10000) i;
+SELECT setval('courses_course_id_seq', 250, false);
+SELECT setval('lecturers_lecturer_id_seq', 100, false);
+SELECT setval('students_student_id_seq', 1050, false);
+SELECT setval('schedule_of_classes_entry_id_seq', 10050, false);
+ANALYZE;
@@ -1,17 +1,24 @@
-INSERT INTO academic_ranks (numeric_rank, name) VALUES (1, 'Professor');
-INSERT INTO courses (course_title, course_description) VALUES ('Computer Science 101', 'Prerequisites: Mathematics, Calculus');
-INSERT INTO courses (course_title, course_description) VALUES ('Computer Science 102', 'Prerequisites: Computer Science 101');
-INSERT INTO courses (course_title, course_description) VALUES ('Computer Science 103', 'Prerequisites: Computer Science 102');
-INSERT INTO courses (course_title, course_description) VALUES ('Computer Science 104', 'Prerequisites: Mathematics');
-INSERT INTO courses (course_title, course_description) VALUES ('Computer Science 105', 'Prerequisites: Calculus');
-INSERT INTO courses (course_title, course_description) VALUES ('Computer Science 106', 'Prerequisites: ');
-INSERT INTO lecturers (name, date_of_birth, numeric_academic_rank) VALUES ('John Doe', 461885632, 1);
-INSERT INTO students(name, date_of_birth) VALUES ('Student one', 463226420);
-INSERT INTO users(login, password, is_active, student_id) VALUES ('user_1', 'pa$$word', false, 1);
-INSERT INTO semesters(semester_id, name, year, start_time, end_time) VALUES ('FAL2020', 'Fall semester of 2020', 2020, 1599300020, 1608890420);
-INSERT INTO semesters(semester_id, name, year, start_time, end_time) VALUES ('SUM2020', 'Summer semester of 2020', 2020, 456132789, 123456789);
-INSERT INTO schedule_of_classes(student_id, lecturer_id, course_id, time, location, semester_id) VALUES (1, 1, 1, 1609855628000, 'Room A1', 'FAL2020');
-INSERT INTO schedule_of_classes(student_id, lecturer_id, course_id, time, location, semester_id) VALUES (1, 1, 2, 1609855628000, 'Room A1', 'FAL2020');
-INSERT INTO schedule_of_classes(student_id, lecturer_id, course_id, time, location, semester_id) VALUES (1, 1, 3, 1609855628000, 'Room A1', 'FAL2020');
-INSERT INTO schedule_of_classes(student_id, lecturer_id, course_id, time, location, semester_id) VALUES (1, 1, 4, 1609855628000, 'Room A1', 'FAL2020');
-INSERT INTO schedule_of_classes(student_id, lecturer_id, course_id, time, location, semester_id) VALUES (1, 1, 5, 1609855628000, 'Room A1', 'FAL2020');
+INSERT INTO academic_ranks (entry_id, numeric_rank, name) VALUES (1, 1, 'Professor');
+INSERT INTO courses (course_id, course_title, course_description) VALUES (1, 'Computer Science 101', 'Prerequisites: Mathematics, Calculus');
+INSERT INTO courses (course_id, course_title, course_description) VALUES (2, 'Computer Science 102', 'Prerequisites: Computer Science 101');
+INSERT INTO courses (course_id, course_title, course_description) VALUES (3, 'Computer Science 103', 'Prerequisites: Computer Science 102');
+INSERT INTO courses (course_id, course_title, course_description) VALUES (4, 'Computer Science 104', 'Prerequisites: Mathematics');
+INSERT INTO courses (course_id, course_title, course_description) VALUES (5, 'Computer Science 105', 'Prerequisites: Calculus');
+INSERT INTO courses (course_id, course_title, course_description) VALUES (6, 'Computer Science 106', 'Prerequisites: ');
+INSERT INTO lecturers (lecturer_id, name, date_of_birth, numeric_academic_rank) VALUES (1, 'John Doe', 461885632, 1);
+INSERT INTO students(student_id, name, date_of_birth) VALUES (1, 'Student one', 463226420);
+INSERT INTO users(entry_id, login, password, is_active, student_id) VALUES (1, 'user_1', 'pa$$word', false, 1);
+INSERT INTO semesters(entry_id, semester_id, name, year, start_time, end_time) VALUES (1, 'FAL2020', 'Fall semester of 2020', 2020, 1599300020, 1608890420);
+INSERT INTO semesters(entry_id, semester_id, name, year, start_time, end_time) VALUES (2, 'SUM2020', 'Summer semester of 2020', 2020, 456132789, 123456789);
+INSERT INTO schedule_of_classes(entry_id, student_id, lecturer_id, course_id, time, location, semester_id) VALUES (1, 1, 1, 1, 1609855628000, 'Room A1', 'FAL2020');
+INSERT INTO schedule_of_classes(entry_id, student_id, lecturer_id, course_id, time, location, semester_id) VALUES (2, 1, 1, 2, 1609855628000, 'Room A1', 'FAL2020');
+INSERT INTO schedule_of_classes(entry_id, student_id, lecturer_id, course_id, time, location, semester_id) VALUES (3, 1, 1, 3, 1609855628000, 'Room A1', 'FAL2020');
+INSERT INTO schedule_of_classes(entry_id, student_id, lecturer_id, course_id, time, location, semester_id) VALUES (4, 1, 1, 4, 1609855628000, 'Room A1', 'FAL2020');
+INSERT INTO schedule_of_classes(entry_id, student_id, lecturer_id, course_id, time, location, semester_id) VALUES (5, 1, 1, 5, 1609855628000, 'Room A1', 'FAL2020');
+ALTER SEQUENCE academic_ranks_entry_id_seq RESTART WITH 51;
+ALTER SEQUENCE courses_course_id_seq RESTART WITH 56;
+ALTER SEQUENCE lecturers_lecturer_id_seq RESTART WITH 51;
+ALTER SEQUENCE students_student_id_seq RESTART WITH 51;
+ALTER SEQUENCE users_entry_id_seq RESTART WITH 51;
+ALTER SEQUENCE semesters_entry_id_seq RESTART WITH 52;
+ALTER SEQUENCE schedule_of_classes_entry_id_seq RESTART WITH 55;
@@ -5,3 +5,10 @@ DROP TABLE IF EXISTS  courses;
 DROP TABLE IF EXISTS  semesters;
 DROP TABLE IF EXISTS  users;
 DROP TABLE IF EXISTS  students;
+DROP SEQUENCE IF EXISTS schedule_of_classes_entry_id_seq;
+DROP SEQUENCE IF EXISTS academic_ranks_entry_id_seq;
+DROP SEQUENCE IF EXISTS courses_course_id_seq;
+DROP SEQUENCE IF EXISTS lecturers_lecturer_id_seq;
+DROP SEQUENCE IF EXISTS students_student_id_seq;
+DROP SEQUENCE IF EXISTS users_entry_id_seq;
+DROP SEQUENCE IF EXISTS semesters_entry_id_seq;
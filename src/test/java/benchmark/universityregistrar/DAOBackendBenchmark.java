@@ -0,0 +1,74 @@
+package benchmark.universityregistrar;
+
+import com.rdlab.universityregistrar.model.dao.DAO;
+import com.rdlab.universityregistrar.model.dao.DAOBackend;
+import com.rdlab.universityregistrar.model.dao.RecordsPage;
+import com.rdlab.universityregistrar.model.dao.implementation.*;
+import com.rdlab.universityregistrar.model.entity.ScheduleEntry;
+import com.rdlab.universityregistrar.model.entity.Student;
+import org.openjdk.jmh.annotations.*;
+
+import javax.persistence.Tuple;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares Hibernate and JDBC DAO backends on the same queries against seeded embedded PostgreSQL.
+ * Every invocation runs in its own transaction.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DAOBackendBenchmark {
+    @Param({DAOBackend.HIBERNATE, DAOBackend.JDBC})
+    private String backend;
+
+    private DAO<ScheduleEntry> scheduleEntryDAO;
+    private DAO<Student> studentDAO;
+
+    @Setup
+    public void setup(EmbeddedPostgresState database) {
+        boolean jdbc = DAOBackend.JDBC.equals(backend);
+        scheduleEntryDAO = jdbc ? database.createBean(ScheduleEntryJdbcDAOImpl.class) : database.getBean(ScheduleEntryDAOImpl.class);
+        studentDAO = jdbc ? database.createBean(StudentJdbcDAOImpl.class) : database.getBean(StudentDAOImpl.class);
+    }
+
+    @Benchmark
+    public List<Tuple> scheduleEntriesGetAllRecordProjections(EmbeddedPostgresState database) {
+        return database.inTransaction(scheduleEntryDAO::getAllRecordProjections);
+    }
+
+    @Benchmark
+    public RecordsPage<Tuple> scheduleEntriesGetDeepRecordProjectionsPage(EmbeddedPostgresState database) {
+        return database.inTransaction(() -> scheduleEntryDAO.getRecordProjectionsPage("9000", 20));
+    }
+
+    @Benchmark
+    public Optional<Tuple> scheduleEntriesFindRecordProjection(EmbeddedPostgresState database) {
+        return database.inTransaction(() -> scheduleEntryDAO.findRecordProjection("5000"));
+    }
+
+    @Benchmark
+    public Optional<ScheduleEntry> scheduleEntriesFindRecord(EmbeddedPostgresState database) {
+        return database.inTransaction(() -> scheduleEntryDAO.findRecord("5000"));
+    }
+
+    @Benchmark
+    public List<Tuple> scheduleEntriesSearchByCourseId(EmbeddedPostgresState database) {
+        return database.inTransaction(() -> scheduleEntryDAO.searchRecordProjections("42"));
+    }
+
+    @Benchmark
+    public RecordsPage<Tuple> studentsGetFirstRecordProjectionsPage(EmbeddedPostgresState database) {
+        return database.inTransaction(() -> studentDAO.getRecordProjectionsPage(null, 20));
+    }
+
+    @Benchmark
+    public Optional<Student> studentsFindRecord(EmbeddedPostgresState database) {
+        return database.inTransaction(() -> studentDAO.findRecord("500"));
+    }
+}
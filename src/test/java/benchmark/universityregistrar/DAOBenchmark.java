@@ -0,0 +1,85 @@
+package benchmark.universityregistrar;
+
+import com.rdlab.universityregistrar.model.dao.RecordsPage;
+import com.rdlab.universityregistrar.model.dao.implementation.CourseDAOImpl;
+import com.rdlab.universityregistrar.model.dao.implementation.ScheduleEntryDAOImpl;
+import com.rdlab.universityregistrar.model.dao.implementation.StudentDAOImpl;
+import com.rdlab.universityregistrar.model.entity.ScheduleEntry;
+import org.openjdk.jmh.annotations.*;
+
+import javax.persistence.Tuple;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Criteria queries of {@link com.rdlab.universityregistrar.model.dao.AbstractDAO} and schedule specific
+ * queries run against seeded embedded PostgreSQL. Every invocation runs in its own transaction.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DAOBenchmark {
+    private ScheduleEntryDAOImpl scheduleEntryDAO;
+    private StudentDAOImpl studentDAO;
+    private CourseDAOImpl courseDAO;
+
+    @Setup
+    public void setup(EmbeddedPostgresState database) {
+        scheduleEntryDAO = database.getBean(ScheduleEntryDAOImpl.class);
+        studentDAO = database.getBean(StudentDAOImpl.class);
+        courseDAO = database.getBean(CourseDAOImpl.class);
+    }
+
+    @Benchmark
+    public List<ScheduleEntry> scheduleEntriesGetAllRecords(EmbeddedPostgresState database) {
+        return database.inTransaction(scheduleEntryDAO::getAllRecords);
+    }
+
+    @Benchmark
+    public List<Tuple> scheduleEntriesGetAllRecordProjections(EmbeddedPostgresState database) {
+        return database.inTransaction(scheduleEntryDAO::getAllRecordProjections);
+    }
+
+    @Benchmark
+    public RecordsPage<Tuple> scheduleEntriesGetFirstRecordProjectionsPage(EmbeddedPostgresState database) {
+        return database.inTransaction(() -> scheduleEntryDAO.getRecordProjectionsPage(null, 20));
+    }
+
+    @Benchmark
+    public RecordsPage<Tuple> scheduleEntriesGetDeepRecordProjectionsPage(EmbeddedPostgresState database) {
+        return database.inTransaction(() -> scheduleEntryDAO.getRecordProjectionsPage("9000", 20));
+    }
+
+    @Benchmark
+    public Tuple scheduleEntriesGetRecordProjection(EmbeddedPostgresState database) {
+        return database.inTransaction(() -> scheduleEntryDAO.getRecordProjection("5000"));
+    }
+
+    @Benchmark
+    public List<Tuple> scheduleEntriesSearchByText(EmbeddedPostgresState database) {
+        return database.inTransaction(() -> scheduleEntryDAO.searchRecordProjections("Room C4"));
+    }
+
+    @Benchmark
+    public List<Tuple> scheduleEntriesSearchByCourseId(EmbeddedPostgresState database) {
+        return database.inTransaction(() -> scheduleEntryDAO.searchRecordProjections("42"));
+    }
+
+    @Benchmark
+    public Long numberOfTakenCoursesForStudent(EmbeddedPostgresState database) {
+        return database.inTransaction(() -> scheduleEntryDAO.getNumberOfTakenCoursesForStudent(500, "FAL2020"));
+    }
+
+    @Benchmark
+    public List<Tuple> studentsSearch(EmbeddedPostgresState database) {
+        return database.inTransaction(() -> studentDAO.searchRecordProjections("Student 12"));
+    }
+
+    @Benchmark
+    public List<Tuple> coursesSearch(EmbeddedPostgresState database) {
+        return database.inTransaction(() -> courseDAO.searchRecordProjections("Science 15"));
+    }
+}
@@ -0,0 +1,65 @@
+package benchmark.universityregistrar;
+
+import com.rdlab.universityregistrar.configuration.test.EmbeddedPostgresTestContextConfiguration;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.function.Supplier;
+
+/**
+ * JMH state holding DAO layer context on embedded PostgreSQL, migrated with production Flyway migrations
+ * and seeded with benchmark data set (1000 students, 200 courses, 50 lecturers, 10000 schedule entries)
+ */
+@State(Scope.Benchmark)
+public class EmbeddedPostgresState {
+    private AnnotationConfigApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private TransactionTemplate readOnlyTransactionTemplate;
+
+    @Setup
+    public void startDatabase() {
+        context = new AnnotationConfigApplicationContext(EmbeddedPostgresTestContextConfiguration.class);
+        new ResourceDatabasePopulator(new ClassPathResource("test/db/benchmarkData.sql")).execute(context.getBean(DataSource.class));
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    @TearDown
+    public void stopDatabase() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> beanClass) {
+        return context.getBean(beanClass);
+    }
+
+    /**
+     * Creates autowired bean which is not registered in context, e.g. DAO of backend not selected in configuration
+     */
+    public <T> T createBean(Class<T> beanClass) {
+        return context.getAutowireCapableBeanFactory().createBean(beanClass);
+    }
+
+    /**
+     * Runs action in separate transaction, so every invocation starts with empty persistence context
+     */
+    public <T> T inTransaction(Supplier<T> action) {
+        return transactionTemplate.execute(status -> action.get());
+    }
+
+    /**
+     * Runs action in separate read only transaction, as read methods of services do
+     */
+    public <T> T inReadOnlyTransaction(Supplier<T> action) {
+        return readOnlyTransactionTemplate.execute(status -> action.get());
+    }
+}
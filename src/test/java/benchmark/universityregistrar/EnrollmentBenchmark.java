@@ -0,0 +1,128 @@
+package benchmark.universityregistrar;
+
+import com.rdlab.universityregistrar.controller.response.Response;
+import com.rdlab.universityregistrar.model.dao.EnrollmentDAO;
+import com.rdlab.universityregistrar.model.dao.implementation.ScheduleEntryDAOImpl;
+import com.rdlab.universityregistrar.model.dao.implementation.UserDAOImpl;
+import com.rdlab.universityregistrar.service.dto.ScheduleEntryDTO;
+import com.rdlab.universityregistrar.service.event.SeatReleasedEvent;
+import com.rdlab.universityregistrar.service.implementation.EnrollmentServiceImpl;
+import com.rdlab.universityregistrar.service.implementation.ScheduleEntryServiceImpl;
+import com.rdlab.universityregistrar.service.mapper.ScheduleEntryDTOEntityMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import javax.sql.DataSource;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Stress benchmark of enrollment: 10000 concurrent enrollment attempts of 1000 students to 10 courses with
+ * 100 seats each. Every iteration starts with empty courses and checks that no course got more students
+ * than its capacity.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EnrollmentBenchmark {
+    private static final String SEMESTER_ID = "BEN2030";
+    private static final int NUMBER_OF_STUDENTS = 1000;
+    private static final int NUMBER_OF_COURSES = 10;
+    private static final int CAPACITY = 100;
+    private static final int NUMBER_OF_THREADS = 32;
+
+    private EmbeddedPostgresState database;
+    private EnrollmentServiceImpl enrollmentService;
+    private EnrollmentDAO enrollmentDAO;
+    private JdbcTemplate jdbcTemplate;
+    private List<ScheduleEntryDTO> enrollmentAttempts;
+    private ExecutorService executorService;
+
+    @Setup(Level.Trial)
+    public void setup(EmbeddedPostgresState database) {
+        this.database = database;
+        ScheduleEntryServiceImpl scheduleEntryService = new ScheduleEntryServiceImpl(database.getBean(ScheduleEntryDAOImpl.class));
+        scheduleEntryService.setMapper(ScheduleEntryDTOEntityMapper.INSTANCE);
+        scheduleEntryService.setUserDAO(database.getBean(UserDAOImpl.class));
+        scheduleEntryService.setCourseLoadEnforced(true);
+        enrollmentDAO = database.getBean(EnrollmentDAO.class);
+        enrollmentService = new EnrollmentServiceImpl(enrollmentDAO, scheduleEntryService);
+        enrollmentService.setScheduleEntryMapper(ScheduleEntryDTOEntityMapper.INSTANCE);
+        enrollmentService.setTransactionManager(database.getBean(PlatformTransactionManager.class));
+        scheduleEntryService.setEventPublisher(event -> enrollmentService.onSeatReleased((SeatReleasedEvent) event));
+        jdbcTemplate = new JdbcTemplate(database.getBean(DataSource.class));
+        jdbcTemplate.update("INSERT INTO semesters (semester_id, name, year, start_time, end_time) VALUES (?, 'Enrollment benchmark semester', 2030, 1893456000, 1906502400) ON CONFLICT DO NOTHING", SEMESTER_ID);
+        jdbcTemplate.queryForObject("SELECT CAST(create_schedule_partition(?) AS text)", String.class, SEMESTER_ID);
+
+        long time = System.currentTimeMillis() + TimeUnit.DAYS.toMillis(30);
+        enrollmentAttempts = new ArrayList<>(NUMBER_OF_STUDENTS * NUMBER_OF_COURSES);
+        for (int studentId = 1; studentId <= NUMBER_OF_STUDENTS; studentId++) {
+            for (int courseId = 1; courseId <= NUMBER_OF_COURSES; courseId++) {
+                enrollmentAttempts.add(ScheduleEntryDTO.builder()
+                        .studentId(studentId)
+                        .lecturerId(courseId)
+                        .courseId(courseId)
+                        .time(new Date(time + TimeUnit.HOURS.toMillis(courseId)))
+                        .location("Room B" + courseId)
+                        .semesterId(SEMESTER_ID)
+                        .build());
+            }
+        }
+        Collections.shuffle(enrollmentAttempts, new Random(42));
+        executorService = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCourses() {
+        jdbcTemplate.update("DELETE FROM schedule_of_classes WHERE semester_id = ?", SEMESTER_ID);
+        jdbcTemplate.update("DELETE FROM course_capacities WHERE semester_id = ?", SEMESTER_ID);
+        database.inTransaction(() -> {
+            for (int courseId = 1; courseId <= NUMBER_OF_COURSES; courseId++) {
+                enrollmentDAO.saveCourseCapacity(courseId, SEMESTER_ID, CAPACITY);
+            }
+            return null;
+        });
+    }
+
+    @Benchmark
+    public Map<HttpStatus, Integer> concurrentEnrollments(EmbeddedPostgresState database) throws Exception {
+        List<Future<HttpStatus>> results = new ArrayList<>(enrollmentAttempts.size());
+        for (ScheduleEntryDTO requestedEntry : enrollmentAttempts) {
+            results.add(executorService.submit(() -> {
+                ResponseEntity<Response> result = database.inTransaction(() ->
+                        enrollmentService.enroll(requestedEntry, new BeanPropertyBindingResult(requestedEntry, "scheduleEntryDTO")));
+                return result.getStatusCode();
+            }));
+        }
+        Map<HttpStatus, Integer> statusCounts = new EnumMap<>(HttpStatus.class);
+        for (Future<HttpStatus> result : results) {
+            statusCounts.merge(result.get(), 1, Integer::sum);
+        }
+        return statusCounts;
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkCapacities() {
+        List<Map<String, Object>> courses = jdbcTemplate.queryForList("SELECT c.course_id, c.capacity, c.enrolled_count, " +
+                "(SELECT count(DISTINCT s.student_id) FROM schedule_of_classes s WHERE s.course_id = c.course_id AND s.semester_id = c.semester_id) AS enrolled " +
+                "FROM course_capacities c WHERE c.semester_id = ?", SEMESTER_ID);
+        for (Map<String, Object> course : courses) {
+            long enrolled = ((Number) course.get("enrolled")).longValue();
+            if (enrolled > ((Number) course.get("capacity")).longValue() || enrolled != ((Number) course.get("enrolled_count")).longValue()) {
+                throw new IllegalStateException("Capacity of course is violated: " + course);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+}
@@ -0,0 +1,45 @@
+package benchmark.universityregistrar;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Runs JMH benchmarks of this package and writes results in JSON format to file set by "jmh.resultFile"
+ * system property (target/jmh-result-{version}.json when run with "mvn test -P benchmarks").
+ * Subset of benchmarks can be selected with "jmh.include" regular expression, allocation rates are reported
+ * when "jmh.gcProfiler" system property is true.
+ */
+@Tag("benchmark")
+public class JmhBenchmarksTest {
+
+    @Test
+    public void runBenchmarks() throws RunnerException {
+        ChainedOptionsBuilder optionsBuilder = new OptionsBuilder()
+                .include(System.getProperty("jmh.include", JmhBenchmarksTest.class.getPackage().getName() + "\\..*Benchmark\\."))
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("jmh.resultFile", "target/jmh-result.json"))
+                .shouldFailOnError(true);
+        if (Boolean.getBoolean("jmh.gcProfiler")) {
+            optionsBuilder.addProfiler(GCProfiler.class);
+        }
+        Options options = optionsBuilder.build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        assertThat(results, not(empty()));
+    }
+}
@@ -0,0 +1,94 @@
+package benchmark.universityregistrar;
+
+import com.rdlab.universityregistrar.model.dao.implementation.ScheduleEntryDAOImpl;
+import com.rdlab.universityregistrar.model.dao.implementation.StudentDAOImpl;
+import com.rdlab.universityregistrar.model.entity.*;
+import com.rdlab.universityregistrar.service.dto.ScheduleEntryDTO;
+import com.rdlab.universityregistrar.service.dto.StudentDTO;
+import com.rdlab.universityregistrar.service.mapper.ScheduleEntryDTOEntityMapper;
+import com.rdlab.universityregistrar.service.mapper.StudentDTOEntityMapper;
+import org.openjdk.jmh.annotations.*;
+
+import javax.persistence.Tuple;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * List mapping methods of {@link com.rdlab.universityregistrar.service.mapper.DTOEntityMapper} and default
+ * methods of schedule entry and student mappers. Entities are built in memory, tuples are read once from
+ * seeded embedded PostgreSQL, so mapping cost is measured without query cost.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+    private final ScheduleEntryDTOEntityMapper scheduleEntryMapper = ScheduleEntryDTOEntityMapper.INSTANCE;
+    private final StudentDTOEntityMapper studentMapper = StudentDTOEntityMapper.INSTANCE;
+
+    @Param({"20", "1000"})
+    private int size;
+
+    private List<ScheduleEntry> scheduleEntries;
+    private List<ScheduleEntryDTO> scheduleEntryDTOs;
+    private List<Tuple> scheduleEntryTuples;
+    private List<Student> students;
+    private List<Tuple> studentTuples;
+
+    @Setup
+    public void setup(EmbeddedPostgresState database) {
+        scheduleEntries = new ArrayList<>(size);
+        students = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            scheduleEntries.add(ScheduleEntry.builder()
+                    .entryId(i)
+                    .student(Student.builder().studentId(1 + i % 1000).build())
+                    .lecturer(Lecturer.builder().lecturerId(1 + i % 50).build())
+                    .course(Course.builder().courseId(1 + i % 200).build())
+                    .time(1609855628000L + i * 60000L)
+                    .location("Room A" + i % 100)
+                    .semester(Semester.builder().semesterId("FAL2020").build())
+                    .build());
+            students.add(Student.builder()
+                    .studentId(i)
+                    .studentName("Student " + i)
+                    .dateOfBirth(463226420L + i)
+                    .build());
+        }
+        scheduleEntryDTOs = scheduleEntryMapper.entityListToDtoList(scheduleEntries);
+        ScheduleEntryDAOImpl scheduleEntryDAO = database.getBean(ScheduleEntryDAOImpl.class);
+        StudentDAOImpl studentDAO = database.getBean(StudentDAOImpl.class);
+        scheduleEntryTuples = database.inTransaction(() -> scheduleEntryDAO.getRecordProjectionsPage(null, size).getRecords());
+        studentTuples = database.inTransaction(() -> studentDAO.getRecordProjectionsPage(null, size).getRecords());
+    }
+
+    @Benchmark
+    public List<ScheduleEntryDTO> scheduleEntryEntityListToDtoList() {
+        return scheduleEntryMapper.entityListToDtoList(scheduleEntries);
+    }
+
+    @Benchmark
+    public List<ScheduleEntryDTO> scheduleEntryTupleListToDtoList() {
+        return scheduleEntryMapper.tupleListToDtoList(scheduleEntryTuples);
+    }
+
+    @Benchmark
+    public List<ScheduleEntry> scheduleEntryDtoToEntity() {
+        List<ScheduleEntry> entities = new ArrayList<>(scheduleEntryDTOs.size());
+        scheduleEntryDTOs.forEach(dto -> entities.add(scheduleEntryMapper.dtoToEntity(dto)));
+        return entities;
+    }
+
+    @Benchmark
+    public List<StudentDTO> studentEntityListToDtoList() {
+        return studentMapper.entityListToDtoList(students);
+    }
+
+    @Benchmark
+    public List<StudentDTO> studentTupleListToDtoList() {
+        return studentMapper.tupleListToDtoList(studentTuples);
+    }
+}
@@ -0,0 +1,47 @@
+package benchmark.universityregistrar;
+
+import com.rdlab.universityregistrar.model.dao.implementation.ScheduleEntryDAOImpl;
+import com.rdlab.universityregistrar.model.entity.ScheduleEntry;
+import org.openjdk.jmh.annotations.*;
+
+import javax.persistence.Tuple;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Large list reads of schedule entries in read-write and read only transactions. Read only transactions load
+ * entities without snapshots and skip flush with its dirty checking at commit, run with "-Djmh.gcProfiler=true"
+ * to compare allocation rates as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReadOnlyTransactionBenchmark {
+    @Param({"false", "true"})
+    private boolean readOnly;
+
+    private ScheduleEntryDAOImpl scheduleEntryDAO;
+
+    @Setup
+    public void setup(EmbeddedPostgresState database) {
+        scheduleEntryDAO = database.getBean(ScheduleEntryDAOImpl.class);
+    }
+
+    @Benchmark
+    public List<ScheduleEntry> scheduleEntriesGetAllRecords(EmbeddedPostgresState database) {
+        return inTransaction(database, scheduleEntryDAO::getAllRecords);
+    }
+
+    @Benchmark
+    public List<Tuple> scheduleEntriesGetAllRecordProjections(EmbeddedPostgresState database) {
+        return inTransaction(database, scheduleEntryDAO::getAllRecordProjections);
+    }
+
+    private <T> T inTransaction(EmbeddedPostgresState database, Supplier<T> action) {
+        return readOnly ? database.inReadOnlyTransaction(action) : database.inTransaction(action);
+    }
+}
@@ -0,0 +1,53 @@
+package benchmark.universityregistrar;
+
+import com.rdlab.universityregistrar.model.dao.implementation.StudentDAOImpl;
+import org.openjdk.jmh.annotations.*;
+
+import javax.persistence.NoResultException;
+import javax.persistence.Tuple;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single record lookups behind GET /api/students/{studentId} under miss-heavy traffic. Compares throwing
+ * lookup that served 404 responses before (exception is caught as exception handler did) with
+ * {@link Optional} returning lookup, hit is measured as reference.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecordLookupBenchmark {
+    private static final String MISSING_STUDENT_ID = "100000";
+    private static final String EXISTING_STUDENT_ID = "500";
+
+    private StudentDAOImpl studentDAO;
+
+    @Setup
+    public void setup(EmbeddedPostgresState database) {
+        studentDAO = database.getBean(StudentDAOImpl.class);
+    }
+
+    @Benchmark
+    public Tuple missWithNoResultException(EmbeddedPostgresState database) {
+        return database.inTransaction(() -> {
+            try {
+                return studentDAO.getRecordProjection(MISSING_STUDENT_ID);
+            } catch (NoResultException e) {
+                return null;
+            }
+        });
+    }
+
+    @Benchmark
+    public Optional<Tuple> missWithOptional(EmbeddedPostgresState database) {
+        return database.inTransaction(() -> studentDAO.findRecordProjection(MISSING_STUDENT_ID));
+    }
+
+    @Benchmark
+    public Optional<Tuple> hitWithOptional(EmbeddedPostgresState database) {
+        return database.inTransaction(() -> studentDAO.findRecordProjection(EXISTING_STUDENT_ID));
+    }
+}
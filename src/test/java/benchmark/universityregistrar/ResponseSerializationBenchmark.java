@@ -0,0 +1,59 @@
+package benchmark.universityregistrar;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rdlab.universityregistrar.controller.response.Response;
+import com.rdlab.universityregistrar.service.dto.ScheduleEntryDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of {@link Response} envelope with list of schedule entries, using object mapper
+ * configured the same way as the one of Spring MVC message converter
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Param({"1", "20", "1000"})
+    private int size;
+
+    private Response response;
+
+    @Setup
+    public void setup() {
+        List<ScheduleEntryDTO> scheduleEntryDTOs = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            scheduleEntryDTOs.add(ScheduleEntryDTO.builder()
+                    .entryId(i)
+                    .studentId(1 + i % 1000)
+                    .lecturerId(1 + i % 50)
+                    .courseId(1 + i % 200)
+                    .time(new Date(1609855628000L + i * 60000L))
+                    .location("Room A" + i % 100)
+                    .semesterId("FAL2020")
+                    .build());
+        }
+        response = Response.builder()
+                .message("list of schedule entries")
+                .timeStamp(System.currentTimeMillis())
+                .responseBody(size == 1 ? scheduleEntryDTOs.get(0) : scheduleEntryDTOs)
+                .nextCursor(String.valueOf(size))
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,41 @@
+package benchmark.universityregistrar;
+
+import com.rdlab.universityregistrar.model.dao.implementation.ScheduleEntryDAOImpl;
+import com.rdlab.universityregistrar.service.dto.ScheduleEntryDTO;
+import com.rdlab.universityregistrar.service.mapper.ScheduleEntryDTOEntityMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity based and projection based read paths behind GET /api/schedules, from query to DTO list.
+ * Entity path loads managed entities with their associations, projection path maps selected columns straight
+ * to DTOs without persistence context.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScheduleEntryReadPathBenchmark {
+    private final ScheduleEntryDTOEntityMapper mapper = ScheduleEntryDTOEntityMapper.INSTANCE;
+
+    private ScheduleEntryDAOImpl scheduleEntryDAO;
+
+    @Setup
+    public void setup(EmbeddedPostgresState database) {
+        scheduleEntryDAO = database.getBean(ScheduleEntryDAOImpl.class);
+    }
+
+    @Benchmark
+    public List<ScheduleEntryDTO> entityPath(EmbeddedPostgresState database) {
+        return database.inReadOnlyTransaction(() -> mapper.entityListToDtoList(scheduleEntryDAO.getAllRecords()));
+    }
+
+    @Benchmark
+    public List<ScheduleEntryDTO> projectionPath(EmbeddedPostgresState database) {
+        return database.inReadOnlyTransaction(() -> mapper.tupleListToDtoList(scheduleEntryDAO.getAllRecordProjections()));
+    }
+}
@@ -0,0 +1,65 @@
+package benchmark.universityregistrar;
+
+import com.rdlab.universityregistrar.model.dao.implementation.ScheduleEntryDAOImpl;
+import com.rdlab.universityregistrar.service.dto.ScheduleEntryDTO;
+import com.rdlab.universityregistrar.service.mapper.ScheduleEntryDTOEntityMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts of schedule entries with exclusion constraints of lecturer and location enabled and dropped.
+ * Inserted classes do not overlap, so difference is the cost of GiST index lookups and maintenance.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScheduleExclusionConstraintBenchmark {
+    private static final String SEMESTER_ID = "FAL2021";
+    private static final String LOCATION_PREFIX = "Room X";
+
+    @Param({"true", "false"})
+    private boolean constraintsEnabled;
+
+    private ScheduleEntryDAOImpl scheduleEntryDAO;
+    private JdbcTemplate jdbcTemplate;
+    private long time;
+    private int insertedEntries;
+
+    @Setup(Level.Trial)
+    public void setup(EmbeddedPostgresState database) {
+        scheduleEntryDAO = database.getBean(ScheduleEntryDAOImpl.class);
+        jdbcTemplate = new JdbcTemplate(database.getBean(DataSource.class));
+        if (!constraintsEnabled) {
+            String partition = jdbcTemplate.queryForObject("SELECT public.get_schedule_partition_name(?)", String.class, SEMESTER_ID);
+            jdbcTemplate.execute(String.format("ALTER TABLE %1$s DROP CONSTRAINT %1$s_lecturer_excl, DROP CONSTRAINT %1$s_location_excl", partition));
+        }
+        time = System.currentTimeMillis();
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteInsertedEntries() {
+        jdbcTemplate.update("DELETE FROM schedule_of_classes WHERE semester_id = ? AND location LIKE ?", SEMESTER_ID, LOCATION_PREFIX + "%");
+    }
+
+    @Benchmark
+    public Integer insertNonConflictingEntry(EmbeddedPostgresState database) {
+        int entry = insertedEntries++;
+        time += TimeUnit.MINUTES.toMillis(90);
+        ScheduleEntryDTO scheduleEntry = ScheduleEntryDTO.builder()
+                .studentId(1 + entry % 1000)
+                .lecturerId(1 + entry % 50)
+                .courseId(1 + entry % 200)
+                .time(new Date(time))
+                .location(LOCATION_PREFIX + entry % 10)
+                .semesterId(SEMESTER_ID)
+                .build();
+        return database.inTransaction(() -> scheduleEntryDAO.addRecord(ScheduleEntryDTOEntityMapper.INSTANCE.dtoToEntity(scheduleEntry)));
+    }
+}
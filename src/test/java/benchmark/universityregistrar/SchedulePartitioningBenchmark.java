@@ -0,0 +1,81 @@
+package benchmark.universityregistrar;
+
+import com.rdlab.universityregistrar.model.dao.implementation.ScheduleEntryDAOImpl;
+import com.rdlab.universityregistrar.service.dto.ScheduleEntryDTO;
+import com.rdlab.universityregistrar.service.mapper.ScheduleEntryDTOEntityMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queries and inserts of current semester with growing number of past semesters in schedule_of_classes.
+ * Every past semester holds 10000 schedule entries in its own partition, so results should not depend
+ * on number of past semesters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SchedulePartitioningBenchmark {
+    private static final String CURRENT_SEMESTER_ID = "FAL2021";
+    private static final int ENTRIES_PER_PAST_SEMESTER = 10000;
+
+    @Param({"0", "40"})
+    private int pastSemesters;
+
+    private ScheduleEntryDAOImpl scheduleEntryDAO;
+    private JdbcTemplate jdbcTemplate;
+    private long time;
+
+    @Setup(Level.Trial)
+    public void setup(EmbeddedPostgresState database) {
+        scheduleEntryDAO = database.getBean(ScheduleEntryDAOImpl.class);
+        jdbcTemplate = new JdbcTemplate(database.getBean(DataSource.class));
+        for (int i = 0; i < pastSemesters; i++) {
+            String semesterId = String.format("PST%04d", i);
+            jdbcTemplate.update("INSERT INTO semesters (semester_id, name, year, start_time, end_time) VALUES (?, 'Past semester', 2000, 946684800, 962409600)", semesterId);
+            jdbcTemplate.queryForObject("SELECT CAST(create_schedule_partition(?) AS text)", String.class, semesterId);
+            jdbcTemplate.update("INSERT INTO schedule_of_classes (student_id, lecturer_id, course_id, time, duration, location, semester_id) " +
+                    "SELECT 1 + i % 1000, 1 + i % 50, 1 + i % 200, 946684800000 + i * 60000, 60000, 'Room ' || chr(65 + i % 26) || (i % 100), ? " +
+                    "FROM generate_series(1, ?) i", semesterId, ENTRIES_PER_PAST_SEMESTER);
+        }
+        jdbcTemplate.execute("ANALYZE");
+        time = System.currentTimeMillis();
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteInsertedEntries() {
+        jdbcTemplate.update("DELETE FROM schedule_of_classes WHERE semester_id = ? AND location = 'Room Z'", CURRENT_SEMESTER_ID);
+    }
+
+    @Benchmark
+    public Long numberOfTakenCoursesInCurrentSemester(EmbeddedPostgresState database) {
+        return database.inTransaction(() -> scheduleEntryDAO.getNumberOfTakenCoursesForStudent(500, CURRENT_SEMESTER_ID));
+    }
+
+    @Benchmark
+    public Integer insertIntoCurrentSemester(EmbeddedPostgresState database) {
+        ScheduleEntryDTO entry = ScheduleEntryDTO.builder()
+                .studentId(500)
+                .lecturerId(1)
+                .courseId(1)
+                .time(new Date(nextClassTime()))
+                .location("Room Z")
+                .semesterId(CURRENT_SEMESTER_ID)
+                .build();
+        return database.inTransaction(() -> scheduleEntryDAO.addRecord(ScheduleEntryDTOEntityMapper.INSTANCE.dtoToEntity(entry)));
+    }
+
+    /**
+     * Inserted classes follow each other, so they do not violate exclusion constraints of lecturer and location
+     */
+    private long nextClassTime() {
+        time += TimeUnit.MINUTES.toMillis(90);
+        return time;
+    }
+}
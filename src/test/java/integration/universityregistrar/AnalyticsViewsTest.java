@@ -0,0 +1,129 @@
+package integration.universityregistrar;
+
+import com.rdlab.universityregistrar.configuration.test.EmbeddedPostgresTestContextConfiguration;
+import com.rdlab.universityregistrar.controller.response.Response;
+import com.rdlab.universityregistrar.model.dao.AnalyticsDAO;
+import com.rdlab.universityregistrar.service.dto.CourseStatisticsDTO;
+import com.rdlab.universityregistrar.service.dto.MostPickedSemesterDTO;
+import com.rdlab.universityregistrar.service.implementation.AnalyticsServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that materialized analytics views are refreshed concurrently and that cached analytics
+ * are discarded when refresh is committed
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {EmbeddedPostgresTestContextConfiguration.class})
+public class AnalyticsViewsTest {
+    @Autowired
+    private AnalyticsDAO analyticsDAO;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private DataSource dataSource;
+
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private AnalyticsServiceImpl analyticsService;
+    private Integer studentId;
+    private Integer courseId;
+
+    @BeforeEach
+    public void setup() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        analyticsService = new AnalyticsServiceImpl(analyticsDAO);
+        studentId = jdbcTemplate.queryForObject("INSERT INTO students (name, date_of_birth) VALUES ('Analytics student', 463226420) RETURNING student_id", Integer.class);
+        courseId = jdbcTemplate.queryForObject("INSERT INTO courses (course_title, course_description) VALUES ('Analytics course', 'Analytics test') RETURNING course_id", Integer.class);
+        refreshViews();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        jdbcTemplate.update("DELETE FROM schedule_of_classes WHERE course_id = ?", courseId);
+        jdbcTemplate.update("DELETE FROM student_course_loads WHERE student_id = ?", studentId);
+        jdbcTemplate.update("DELETE FROM students WHERE student_id = ?", studentId);
+        jdbcTemplate.update("DELETE FROM courses WHERE course_id = ?", courseId);
+        refreshViews();
+    }
+
+    @Test
+    public void testRefreshedStatisticsReflectSchedule() {
+        CourseStatisticsDTO statisticsBeforeEntries = getCourseStatistics();
+        insertScheduleEntry(1583080200000L, "SPR2020");
+        insertScheduleEntry(1599300000000L, "FAL2020");
+        insertScheduleEntry(1599386400000L, "FAL2020");
+        CourseStatisticsDTO staleStatistics = getCourseStatistics();
+
+        refreshViews();
+        CourseStatisticsDTO statistics = getCourseStatistics();
+        MostPickedSemesterDTO mostPickedSemester = getMostPickedSemester();
+
+        assertAll(
+                () -> assertEquals(Long.valueOf(0), statisticsBeforeEntries.getNumberOfStudents()),
+                () -> assertNull(statisticsBeforeEntries.getMostPickedSemester()),
+                () -> assertEquals(statisticsBeforeEntries, staleStatistics),
+                () -> assertEquals("Analytics course", statistics.getCourseTitle()),
+                () -> assertEquals(Long.valueOf(1), statistics.getNumberOfStudents()),
+                () -> assertEquals(Long.valueOf(0), statistics.getNumberOfLecturers()),
+                () -> assertEquals("FAL2020", statistics.getMostPickedSemester()),
+                () -> assertEquals("FAL2020", mostPickedSemester.getSemesterId()),
+                () -> assertEquals(Long.valueOf(2), mostPickedSemester.getTimesPicked())
+        );
+    }
+
+    @Test
+    public void testCompatibilityViewReadsMaterializedStatistics() {
+        insertScheduleEntry(1599300000000L, "FAL2020");
+        refreshViews();
+
+        String mostPickedSemester = jdbcTemplate.queryForObject("SELECT \"Most picked semester\" FROM task_1 WHERE \"Course title\" = 'Analytics course'", String.class);
+
+        assertEquals("FAL2020", mostPickedSemester.trim());
+    }
+
+    private void refreshViews() {
+        transactionTemplate.execute(status -> {
+            analyticsService.refreshViews();
+            return null;
+        });
+    }
+
+    private void insertScheduleEntry(long time, String semesterId) {
+        jdbcTemplate.update("INSERT INTO schedule_of_classes (student_id, course_id, time, location, semester_id) VALUES (?, ?, ?, 'Room Q1', ?)",
+                studentId, courseId, time, semesterId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private CourseStatisticsDTO getCourseStatistics() {
+        ResponseEntity<Response> response = transactionTemplate.execute(status -> analyticsService.getCourseStatistics());
+        return ((List<CourseStatisticsDTO>) response.getBody().getResponseBody()).stream()
+                .filter(statistics -> courseId.equals(statistics.getCourseId()))
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+    }
+
+    @SuppressWarnings("unchecked")
+    private MostPickedSemesterDTO getMostPickedSemester() {
+        ResponseEntity<Response> response = transactionTemplate.execute(status -> analyticsService.getMostPickedSemesters());
+        return ((List<MostPickedSemesterDTO>) response.getBody().getResponseBody()).stream()
+                .filter(semester -> courseId.equals(semester.getCourseId()))
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+    }
+}
@@ -0,0 +1,179 @@
+package integration.universityregistrar;
+
+import com.rdlab.universityregistrar.configuration.test.EmbeddedPostgresTestContextConfiguration;
+import com.rdlab.universityregistrar.model.dao.AuditDAO;
+import com.rdlab.universityregistrar.model.dao.RecordInsertedEvent;
+import com.rdlab.universityregistrar.service.implementation.AuditServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that audit events are written to audit log after commit in batches, and that events which
+ * did not fit in queue or were left by crashed run are written from audit journal
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {EmbeddedPostgresTestContextConfiguration.class})
+public class AuditPipelineTest {
+    private static final String TABLE_NAME = "audit_test";
+
+    @Autowired
+    private AuditDAO auditDAO;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private DataSource dataSource;
+    @TempDir
+    Path journalDirectory;
+
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setup() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        jdbcTemplate.update("DELETE FROM audit_log WHERE table_name = ?", TABLE_NAME);
+    }
+
+    @Test
+    public void testEventsOfCommittedTransactionsAreWrittenInBatches() throws IOException {
+        AuditServiceImpl auditService = createAuditService(100, 2);
+
+        transactionTemplate.execute(status -> {
+            for (int i = 0; i < 3; i++) {
+                auditService.onRecordInserted(createEvent("committed_" + i));
+            }
+            assertEquals(0, auditService.getQueuedEvents());
+            return null;
+        });
+        transactionTemplate.execute(status -> {
+            auditService.onRecordInserted(createEvent("rolled_back"));
+            status.setRollbackOnly();
+            return null;
+        });
+        int queuedEvents = auditService.getQueuedEvents();
+        int writtenEvents = auditService.writeQueuedEvents();
+        List<String> descriptions = jdbcTemplate.queryForList("SELECT description FROM audit_log WHERE table_name = ? ORDER BY record_id", String.class, TABLE_NAME);
+
+        assertAll(
+                () -> assertEquals(3, queuedEvents),
+                () -> assertEquals(3, writtenEvents),
+                () -> assertEquals("login: \"committed_0\"; isActive: \"true\"", descriptions.get(0)),
+                () -> assertEquals(3, descriptions.size()),
+                () -> assertTrue(descriptions.stream().noneMatch(description -> description.contains("secret"))),
+                () -> assertEquals(0, countJournalSegments())
+        );
+    }
+
+    @Test
+    public void testEventsNotFittingInQueueAreWrittenFromJournal() throws IOException {
+        AuditServiceImpl auditService = createAuditService(1, 100);
+
+        for (int i = 0; i < 3; i++) {
+            auditService.onRecordInserted(createEvent("overflowed_" + i));
+        }
+        int queuedEvents = auditService.getQueuedEvents();
+        int writtenEvents = auditService.writeQueuedEvents();
+
+        assertAll(
+                () -> assertEquals(1, queuedEvents),
+                () -> assertEquals(1, writtenEvents),
+                () -> assertEquals(3, countAuditLogRecords()),
+                () -> assertEquals(0, countJournalSegments())
+        );
+    }
+
+    @Test
+    public void testTransactionWaitsForFullQueueAtMostOnce() throws IOException {
+        AuditServiceImpl auditService = createAuditService(1, 100);
+        auditService.setEnqueueTimeout(200);
+
+        long startTime = System.currentTimeMillis();
+        transactionTemplate.execute(status -> {
+            for (int i = 0; i < 10; i++) {
+                auditService.onRecordInserted(createEvent("overflowed_" + i));
+            }
+            return null;
+        });
+        long commitTime = System.currentTimeMillis() - startTime;
+        int queuedEvents = auditService.getQueuedEvents();
+        auditService.writeQueuedEvents();
+
+        assertAll(
+                () -> assertTrue(commitTime < 1000, "commit waited " + commitTime + " ms"),
+                () -> assertEquals(1, queuedEvents),
+                () -> assertEquals(10, countAuditLogRecords()),
+                () -> assertEquals(0, countJournalSegments())
+        );
+    }
+
+    @Test
+    public void testJournalLeftByCrashedRunIsReplayedOnStartup() throws IOException {
+        AuditServiceImpl crashedAuditService = createAuditService(100, 100);
+        for (int i = 0; i < 3; i++) {
+            crashedAuditService.onRecordInserted(createEvent("crashed_" + i));
+        }
+        int auditLogRecordsBeforeRestart = countAuditLogRecords();
+
+        createAuditService(100, 100);
+
+        assertAll(
+                () -> assertEquals(0, auditLogRecordsBeforeRestart),
+                () -> assertEquals(3, countAuditLogRecords()),
+                () -> assertEquals(0, countJournalSegments())
+        );
+    }
+
+    private AuditServiceImpl createAuditService(int queueCapacity, int batchSize) throws IOException {
+        AuditServiceImpl auditService = new AuditServiceImpl(auditDAO);
+        auditService.setEnabled(true);
+        auditService.setQueueCapacity(queueCapacity);
+        auditService.setBatchSize(batchSize);
+        auditService.setEnqueueTimeout(1);
+        auditService.setJournalDirectory(journalDirectory.toString());
+        auditService.init();
+        return auditService;
+    }
+
+    private static RecordInsertedEvent createEvent(String login) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("login", login + "   ");
+        values.put("password", "secret");
+        values.put("isActive", true);
+        return new RecordInsertedEvent(TABLE_NAME, login, values);
+    }
+
+    private int countAuditLogRecords() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM audit_log WHERE table_name = ?", Integer.class, TABLE_NAME);
+    }
+
+    private long countJournalSegments() throws IOException {
+        try (Stream<Path> segments = Files.list(journalDirectory)) {
+            return segments.count();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package integration.universityregistrar;
+
+import com.rdlab.universityregistrar.configuration.test.EmbeddedPostgresTestContextConfiguration;
+import com.rdlab.universityregistrar.model.dao.BatchInsertException;
+import com.rdlab.universityregistrar.model.dao.DAO;
+import com.rdlab.universityregistrar.model.entity.Course;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that record violating constraint of database is reported by batch insert on embedded PostgreSQL,
+ * where JDBC batches are rewritten by driver to multi-row inserts
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {EmbeddedPostgresTestContextConfiguration.class})
+public class BatchInsertTest {
+    private static final String EXISTING_COURSE_TITLE = "Batch course existing";
+
+    @Autowired
+    private DAO<Course> courseDAO;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private DataSource dataSource;
+
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setup() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.update("INSERT INTO courses (course_title, course_description) VALUES (?, 'Batch test')", EXISTING_COURSE_TITLE);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        jdbcTemplate.update("DELETE FROM courses WHERE course_title LIKE 'Batch course %'");
+    }
+
+    @Test
+    public void testRecordDuplicatingExistingRecordIsReported() {
+        List<Course> courses = Arrays.asList(course("Batch course 1"), course("Batch course 2"),
+                course(EXISTING_COURSE_TITLE), course("Batch course 3"));
+
+        assertEquals(2, addRecordsAndGetFailedIndex(courses));
+    }
+
+    @Test
+    public void testRecordDuplicatingRecordOfSameBatchIsReported() {
+        List<Course> courses = Arrays.asList(course("Batch course 1"), course("Batch course 2"),
+                course("Batch course 3"), course("Batch course 2"));
+
+        assertEquals(3, addRecordsAndGetFailedIndex(courses));
+    }
+
+    @Test
+    public void testRecordsOfFailedBatchAreNotCommitted() {
+        addRecordsAndGetFailedIndex(Arrays.asList(course("Batch course 1"), course(EXISTING_COURSE_TITLE)));
+
+        assertEquals(0, (int) jdbcTemplate.queryForObject("SELECT count(*) FROM courses WHERE course_title = 'Batch course 1'", Integer.class));
+    }
+
+    private Integer addRecordsAndGetFailedIndex(List<Course> courses) {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return assertThrows(BatchInsertException.class, () -> courseDAO.addRecords(courses)).getRecordIndex();
+        });
+    }
+
+    private Course course(String courseTitle) {
+        return Course.builder()
+                .courseTitle(courseTitle)
+                .courseDescription("Batch test")
+                .build();
+    }
+}
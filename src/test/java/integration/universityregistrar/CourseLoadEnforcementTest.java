@@ -0,0 +1,292 @@
+package integration.universityregistrar;
+
+import com.rdlab.universityregistrar.configuration.test.EmbeddedPostgresTestContextConfiguration;
+import com.rdlab.universityregistrar.controller.response.BatchRowReport;
+import com.rdlab.universityregistrar.controller.response.Response;
+import com.rdlab.universityregistrar.model.dao.DAO;
+import com.rdlab.universityregistrar.model.dao.ScheduleEntryDAO;
+import com.rdlab.universityregistrar.model.entity.ScheduleEntry;
+import com.rdlab.universityregistrar.model.entity.User;
+import com.rdlab.universityregistrar.service.dto.ScheduleEntryDTO;
+import com.rdlab.universityregistrar.service.implementation.ScheduleEntryServiceImpl;
+import com.rdlab.universityregistrar.service.implementation.TimetableConflictDetector;
+import com.rdlab.universityregistrar.service.mapper.ScheduleEntryDTOEntityMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.sql.DataSource;
+import javax.validation.Validation;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks enforced course load of {@link ScheduleEntryServiceImpl} on embedded PostgreSQL, where course loads
+ * are maintained by trigger and locked per student and semester.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {EmbeddedPostgresTestContextConfiguration.class})
+public class CourseLoadEnforcementTest {
+    private static final String SEMESTER_ID = "STR2030";
+    private static final long MAX_COURSE_NUMBER = 5L;
+    private static final int NUMBER_OF_STUDENTS = 8;
+    private static final int NUMBER_OF_COURSES = 12;
+    private static final int NUMBER_OF_THREADS = 16;
+
+    @Autowired
+    private DAO<ScheduleEntry> scheduleEntryDAO;
+    @Autowired
+    private DAO<User> userDAO;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private DataSource dataSource;
+
+    private ScheduleEntryServiceImpl service;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private List<Integer> studentIds;
+    private List<Integer> courseIds;
+    private Integer lecturerId;
+    private long time;
+
+    @BeforeEach
+    public void setup() {
+        service = new ScheduleEntryServiceImpl(scheduleEntryDAO);
+        service.setMapper(ScheduleEntryDTOEntityMapper.INSTANCE);
+        service.setUserDAO(userDAO);
+        service.setCourseLoadEnforced(true);
+        service.setValidator(new SpringValidatorAdapter(Validation.buildDefaultValidatorFactory().getValidator()));
+        service.setEventPublisher(event -> {
+        });
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.update("INSERT INTO semesters (semester_id, name, year, start_time, end_time) VALUES (?, 'Course load test semester', 2030, 1893456000, 1906502400)", SEMESTER_ID);
+        jdbcTemplate.queryForObject("SELECT CAST(create_schedule_partition(?) AS text)", String.class, SEMESTER_ID);
+        lecturerId = jdbcTemplate.queryForObject("INSERT INTO lecturers (name, date_of_birth) VALUES ('Course load lecturer', 461885632) RETURNING lecturer_id", Integer.class);
+        studentIds = new ArrayList<>(NUMBER_OF_STUDENTS);
+        for (int i = 0; i < NUMBER_OF_STUDENTS; i++) {
+            Integer studentId = jdbcTemplate.queryForObject("INSERT INTO students (name, date_of_birth) VALUES (?, 463226420) RETURNING student_id", Integer.class, "Course load student " + i);
+            jdbcTemplate.update("INSERT INTO users (login, password, is_active, student_id) VALUES (?, 'pa$$word', true, ?)", "course_load_user_" + i, studentId);
+            studentIds.add(studentId);
+        }
+        courseIds = new ArrayList<>(NUMBER_OF_COURSES);
+        for (int i = 0; i < NUMBER_OF_COURSES; i++) {
+            courseIds.add(jdbcTemplate.queryForObject("INSERT INTO courses (course_title, course_description) VALUES (?, 'Course load test') RETURNING course_id", Integer.class, "Course load course " + i));
+        }
+        time = System.currentTimeMillis() + TimeUnit.DAYS.toMillis(30);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        jdbcTemplate.update("DELETE FROM schedule_of_classes WHERE semester_id = ?", SEMESTER_ID);
+        jdbcTemplate.update("DELETE FROM users WHERE login LIKE 'course_load_user_%'");
+        jdbcTemplate.update("DELETE FROM students WHERE name LIKE 'Course load student %'");
+        jdbcTemplate.update("DELETE FROM courses WHERE course_title LIKE 'Course load course %'");
+        jdbcTemplate.update("DELETE FROM lecturers WHERE lecturer_id = ?", lecturerId);
+        jdbcTemplate.update("DELETE FROM semesters WHERE semester_id = ?", SEMESTER_ID);
+    }
+
+    @Test
+    public void testConcurrentRegistrationsDoNotExceedCourseLoad() throws Exception {
+        List<ScheduleEntryDTO> registrations = new ArrayList<>(NUMBER_OF_STUDENTS * NUMBER_OF_COURSES);
+        for (Integer studentId : studentIds) {
+            for (int i = 0; i < NUMBER_OF_COURSES; i++) {
+                registrations.add(scheduleEntry(studentId, courseIds.get(i), i));
+            }
+        }
+        Collections.shuffle(registrations, new Random(42));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<HttpStatus>> results = new ArrayList<>(registrations.size());
+        try {
+            for (ScheduleEntryDTO registration : registrations) {
+                results.add(executorService.submit(() -> {
+                    startSignal.await();
+                    return addEntity(registration).getStatusCode();
+                }));
+            }
+            startSignal.countDown();
+            Map<HttpStatus, Integer> statusCounts = new EnumMap<>(HttpStatus.class);
+            for (Future<HttpStatus> result : results) {
+                statusCounts.merge(result.get(60, TimeUnit.SECONDS), 1, Integer::sum);
+            }
+
+            assertAll(
+                    () -> assertEquals(NUMBER_OF_STUDENTS * MAX_COURSE_NUMBER, statusCounts.get(HttpStatus.CREATED).longValue()),
+                    () -> assertEquals(NUMBER_OF_STUDENTS * (NUMBER_OF_COURSES - MAX_COURSE_NUMBER), statusCounts.get(HttpStatus.CONFLICT).longValue()),
+                    () -> studentIds.forEach(studentId -> assertEquals(MAX_COURSE_NUMBER, takenCourses(studentId))),
+                    () -> studentIds.forEach(studentId -> assertEquals(MAX_COURSE_NUMBER, courseLoad(studentId)))
+            );
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCourseAlreadyTakenIsAcceptedAtCourseLoadLimit() {
+        Integer studentId = studentIds.get(0);
+        for (int i = 0; i < MAX_COURSE_NUMBER; i++) {
+            assertEquals(HttpStatus.CREATED, addEntity(scheduleEntry(studentId, courseIds.get(i), i)).getStatusCode());
+        }
+
+        ResponseEntity<Response> sameCourseResult = addEntity(scheduleEntry(studentId, courseIds.get(0), NUMBER_OF_COURSES));
+        ResponseEntity<Response> newCourseResult = addEntity(scheduleEntry(studentId, courseIds.get((int) MAX_COURSE_NUMBER), NUMBER_OF_COURSES + 1));
+
+        assertAll(
+                () -> assertEquals(HttpStatus.CREATED, sameCourseResult.getStatusCode()),
+                () -> assertEquals(HttpStatus.CONFLICT, newCourseResult.getStatusCode()),
+                () -> assertEquals(MAX_COURSE_NUMBER, courseLoad(studentId))
+        );
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBatchRowsExceedingCourseLoadAreRejected() {
+        Integer studentId = studentIds.get(0);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(HttpStatus.CREATED, addEntity(scheduleEntry(studentId, courseIds.get(i), i)).getStatusCode());
+        }
+        List<ScheduleEntryDTO> batch = Arrays.asList(
+                scheduleEntry(studentId, courseIds.get(0), 3),
+                scheduleEntry(studentId, courseIds.get(3), 4),
+                scheduleEntry(studentId, courseIds.get(4), 5),
+                scheduleEntry(studentId, courseIds.get(3), 6),
+                scheduleEntry(studentId, courseIds.get(5), 7));
+
+        ResponseEntity<Response> result = transactionTemplate.execute(status -> service.addEntities(batch));
+        List<BatchRowReport> rowReports = (List<BatchRowReport>) result.getBody().getResponseBody();
+
+        assertAll(
+                () -> assertEquals(HttpStatus.CONFLICT, result.getStatusCode()),
+                () -> assertEquals(BatchRowReport.Status.SKIPPED, rowReports.get(0).getStatus()),
+                () -> assertEquals(BatchRowReport.Status.SKIPPED, rowReports.get(3).getStatus()),
+                () -> assertEquals(BatchRowReport.Status.REJECTED, rowReports.get(4).getStatus()),
+                () -> assertEquals(3L, takenCourses(studentId))
+        );
+    }
+
+    @Test
+    public void testDeletedScheduleEntryReleasesCourseLoad() {
+        Integer studentId = studentIds.get(0);
+        List<Integer> entryIds = new ArrayList<>();
+        for (int i = 0; i < MAX_COURSE_NUMBER; i++) {
+            entryIds.add(((ScheduleEntryDTO) addEntity(scheduleEntry(studentId, courseIds.get(i), i)).getBody().getResponseBody()).getEntryId());
+        }
+
+        transactionTemplate.execute(status -> service.deleteEntity(String.valueOf(entryIds.get(0))));
+        long courseLoadAfterDelete = courseLoad(studentId);
+        ResponseEntity<Response> result = addEntity(scheduleEntry(studentId, courseIds.get((int) MAX_COURSE_NUMBER), NUMBER_OF_COURSES));
+
+        assertAll(
+                () -> assertEquals(MAX_COURSE_NUMBER - 1, courseLoadAfterDelete),
+                () -> assertEquals(HttpStatus.CREATED, result.getStatusCode()),
+                () -> assertEquals(MAX_COURSE_NUMBER, courseLoad(studentId))
+        );
+    }
+
+    @Test
+    public void testConcurrentDeletionsOfCourseEntriesReleaseCourseLoad() throws Exception {
+        Integer studentId = studentIds.get(0);
+        Integer firstEntryId = ((ScheduleEntryDTO) addEntity(scheduleEntry(studentId, courseIds.get(0), 0)).getBody().getResponseBody()).getEntryId();
+        Integer secondEntryId = ((ScheduleEntryDTO) addEntity(scheduleEntry(studentId, courseIds.get(0), 1)).getBody().getResponseBody()).getEntryId();
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            // second entry is deleted while deletion of the first one is not committed
+            Future<ResponseEntity<Response>> secondDeletion = transactionTemplate.execute(status -> {
+                service.deleteEntity(String.valueOf(firstEntryId));
+                Future<ResponseEntity<Response>> deletion = executorService.submit(
+                        () -> transactionTemplate.execute(secondStatus -> service.deleteEntity(String.valueOf(secondEntryId))));
+                awaitLockWaitOrCompletion(deletion);
+                return deletion;
+            });
+
+            assertAll(
+                    () -> assertEquals(HttpStatus.OK, secondDeletion.get(60, TimeUnit.SECONDS).getStatusCode()),
+                    () -> assertEquals(0L, takenCourses(studentId)),
+                    () -> assertEquals(0L, courseLoad(studentId))
+            );
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentOverlappingClassesOfStudentConflict() throws Exception {
+        TimetableConflictDetector conflictDetector = new TimetableConflictDetector((ScheduleEntryDAO) scheduleEntryDAO);
+        conflictDetector.setScheduleEntryMapper(ScheduleEntryDTOEntityMapper.INSTANCE);
+        service.setConflictDetector(conflictDetector);
+        service.setConflictsEnforced(true);
+        Integer studentId = studentIds.get(0);
+        ScheduleEntryDTO firstEntry = scheduleEntry(studentId, courseIds.get(0), 0);
+        ScheduleEntryDTO overlappingEntry = scheduleEntry(studentId, courseIds.get(1), 1);
+        overlappingEntry.setTime(new Date(time + TimeUnit.MINUTES.toMillis(30)));
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            // overlapping class is booked while booking of the first one is not committed
+            Future<ResponseEntity<Response>> overlappingBooking = transactionTemplate.execute(status -> {
+                service.addEntity(firstEntry, new BeanPropertyBindingResult(firstEntry, "scheduleEntryDTO"));
+                Future<ResponseEntity<Response>> booking = executorService.submit(() -> addEntity(overlappingEntry));
+                awaitLockWaitOrCompletion(booking);
+                return booking;
+            });
+
+            assertAll(
+                    () -> assertEquals(HttpStatus.CONFLICT, overlappingBooking.get(60, TimeUnit.SECONDS).getStatusCode()),
+                    () -> assertEquals(1L, takenCourses(studentId))
+            );
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private ResponseEntity<Response> addEntity(ScheduleEntryDTO dto) {
+        return transactionTemplate.execute(status -> service.addEntity(dto, new BeanPropertyBindingResult(dto, "scheduleEntryDTO")));
+    }
+
+    private ScheduleEntryDTO scheduleEntry(Integer studentId, Integer courseId, int slot) {
+        return ScheduleEntryDTO.builder()
+                .studentId(studentId)
+                .lecturerId(lecturerId)
+                .courseId(courseId)
+                .time(new Date(time + TimeUnit.HOURS.toMillis(2L * slot)))
+                .location("Room L" + slot)
+                .semesterId(SEMESTER_ID)
+                .build();
+    }
+
+    private void awaitLockWaitOrCompletion(Future<?> future) {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (!future.isDone() && System.currentTimeMillis() < deadline
+                && jdbcTemplate.queryForObject("SELECT count(*) FROM pg_locks WHERE NOT granted", Long.class) == 0) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    private long takenCourses(Integer studentId) {
+        return jdbcTemplate.queryForObject("SELECT count(DISTINCT course_id) FROM schedule_of_classes WHERE student_id = ? AND semester_id = ?", Long.class, studentId, SEMESTER_ID);
+    }
+
+    private long courseLoad(Integer studentId) {
+        return jdbcTemplate.queryForObject("SELECT course_count FROM student_course_loads WHERE student_id = ? AND semester_id = ?", Long.class, studentId, SEMESTER_ID);
+    }
+}
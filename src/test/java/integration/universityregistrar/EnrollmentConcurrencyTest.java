@@ -0,0 +1,267 @@
+package integration.universityregistrar;
+
+import com.rdlab.universityregistrar.configuration.test.EmbeddedPostgresTestContextConfiguration;
+import com.rdlab.universityregistrar.controller.response.Response;
+import com.rdlab.universityregistrar.model.dao.DAO;
+import com.rdlab.universityregistrar.model.dao.EnrollmentDAO;
+import com.rdlab.universityregistrar.model.entity.ScheduleEntry;
+import com.rdlab.universityregistrar.model.entity.User;
+import com.rdlab.universityregistrar.service.dto.CourseCapacityDTO;
+import com.rdlab.universityregistrar.service.dto.ScheduleEntryDTO;
+import com.rdlab.universityregistrar.service.dto.WaitlistEntryDTO;
+import com.rdlab.universityregistrar.service.event.SeatReleasedEvent;
+import com.rdlab.universityregistrar.service.implementation.EnrollmentServiceImpl;
+import com.rdlab.universityregistrar.service.implementation.ScheduleEntryServiceImpl;
+import com.rdlab.universityregistrar.service.mapper.ScheduleEntryDTOEntityMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import javax.sql.DataSource;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks capacity and waitlist of {@link EnrollmentServiceImpl} on embedded PostgreSQL under concurrent enrollments
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {EmbeddedPostgresTestContextConfiguration.class})
+public class EnrollmentConcurrencyTest {
+    private static final String SEMESTER_ID = "ENR2030";
+    private static final int CAPACITY = 10;
+    private static final int NUMBER_OF_STUDENTS = 40;
+    private static final int NUMBER_OF_THREADS = 16;
+
+    @Autowired
+    private DAO<ScheduleEntry> scheduleEntryDAO;
+    @Autowired
+    private DAO<User> userDAO;
+    @Autowired
+    private EnrollmentDAO enrollmentDAO;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private DataSource dataSource;
+
+    private ScheduleEntryServiceImpl scheduleEntryService;
+    private EnrollmentServiceImpl enrollmentService;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private List<Integer> studentIds;
+    private Integer courseId;
+    private Integer lecturerId;
+    private Date classTime;
+
+    @BeforeEach
+    public void setup() {
+        scheduleEntryService = new ScheduleEntryServiceImpl(scheduleEntryDAO);
+        scheduleEntryService.setMapper(ScheduleEntryDTOEntityMapper.INSTANCE);
+        scheduleEntryService.setUserDAO(userDAO);
+        enrollmentService = new EnrollmentServiceImpl(enrollmentDAO, scheduleEntryService);
+        enrollmentService.setScheduleEntryMapper(ScheduleEntryDTOEntityMapper.INSTANCE);
+        enrollmentService.setTransactionManager(transactionManager);
+        scheduleEntryService.setEventPublisher(event -> enrollmentService.onSeatReleased((SeatReleasedEvent) event));
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        classTime = new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(30));
+
+        jdbcTemplate.update("INSERT INTO semesters (semester_id, name, year, start_time, end_time) VALUES (?, 'Enrollment test semester', 2030, 1893456000, 1906502400)", SEMESTER_ID);
+        jdbcTemplate.queryForObject("SELECT CAST(create_schedule_partition(?) AS text)", String.class, SEMESTER_ID);
+        lecturerId = jdbcTemplate.queryForObject("INSERT INTO lecturers (name, date_of_birth) VALUES ('Enrollment lecturer', 461885632) RETURNING lecturer_id", Integer.class);
+        courseId = jdbcTemplate.queryForObject("INSERT INTO courses (course_title, course_description) VALUES ('Enrollment course', 'Enrollment test') RETURNING course_id", Integer.class);
+        studentIds = new ArrayList<>(NUMBER_OF_STUDENTS);
+        for (int i = 0; i < NUMBER_OF_STUDENTS; i++) {
+            Integer studentId = jdbcTemplate.queryForObject("INSERT INTO students (name, date_of_birth) VALUES (?, 463226420) RETURNING student_id", Integer.class, "Enrollment student " + i);
+            jdbcTemplate.update("INSERT INTO users (login, password, is_active, student_id) VALUES (?, 'pa$$word', true, ?)", "enrollment_user_" + i, studentId);
+            studentIds.add(studentId);
+        }
+        CourseCapacityDTO courseCapacity = CourseCapacityDTO.builder().courseId(courseId).semesterId(SEMESTER_ID).capacity(CAPACITY).build();
+        transactionTemplate.execute(status -> enrollmentService.updateCourseCapacity(courseCapacity, new BeanPropertyBindingResult(courseCapacity, "courseCapacity")));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        jdbcTemplate.update("DELETE FROM schedule_of_classes WHERE semester_id = ?", SEMESTER_ID);
+        jdbcTemplate.update("DELETE FROM course_capacities WHERE semester_id = ?", SEMESTER_ID);
+        jdbcTemplate.update("DELETE FROM users WHERE login LIKE 'enrollment_user_%'");
+        jdbcTemplate.update("DELETE FROM students WHERE name LIKE 'Enrollment student %'");
+        jdbcTemplate.update("DELETE FROM courses WHERE course_id = ?", courseId);
+        jdbcTemplate.update("DELETE FROM lecturers WHERE lecturer_id = ?", lecturerId);
+        jdbcTemplate.update("DELETE FROM semesters WHERE semester_id = ?", SEMESTER_ID);
+    }
+
+    @Test
+    public void testConcurrentEnrollmentsDoNotExceedCapacity() throws Exception {
+        Map<HttpStatus, Integer> statusCounts = enrollConcurrently(studentIds);
+
+        assertAll(
+                () -> assertEquals(CAPACITY, statusCounts.get(HttpStatus.CREATED).intValue()),
+                () -> assertEquals(NUMBER_OF_STUDENTS - CAPACITY, statusCounts.get(HttpStatus.ACCEPTED).intValue()),
+                () -> assertEquals(CAPACITY, enrolledStudents()),
+                () -> assertEquals(CAPACITY, courseCapacity().getEnrolledCount().intValue()),
+                () -> assertEquals(NUMBER_OF_STUDENTS - CAPACITY, courseCapacity().getWaitlistLength().intValue())
+        );
+    }
+
+    @Test
+    public void testDeletedScheduleEntriesPromoteWaitlistInOrder() throws Exception {
+        enrollConcurrently(studentIds);
+        List<WaitlistEntryDTO> waitlist = waitlist();
+        List<Integer> entryIds = jdbcTemplate.queryForList("SELECT entry_id FROM schedule_of_classes WHERE semester_id = ? ORDER BY entry_id LIMIT 3", Integer.class, SEMESTER_ID);
+
+        for (Integer entryId : entryIds) {
+            transactionTemplate.execute(status -> scheduleEntryService.deleteEntity(String.valueOf(entryId)));
+        }
+
+        assertAll(
+                () -> assertEquals(CAPACITY, enrolledStudents()),
+                () -> assertEquals(NUMBER_OF_STUDENTS - CAPACITY - entryIds.size(), courseCapacity().getWaitlistLength().intValue()),
+                () -> assertEquals(waitlist.get(entryIds.size()).getStudentId(), waitlist().get(0).getStudentId()),
+                () -> waitlist.subList(0, entryIds.size()).forEach(promoted -> assertEquals(1, jdbcTemplate.queryForObject(
+                        "SELECT count(*) FROM schedule_of_classes WHERE student_id = ? AND semester_id = ?", Integer.class, promoted.getStudentId(), SEMESTER_ID).intValue()))
+        );
+    }
+
+    @Test
+    public void testPromotionFailingInDatabaseDoesNotRollBackDeletion() throws Exception {
+        enrollConcurrently(studentIds);
+        List<WaitlistEntryDTO> waitlist = waitlist();
+        // lecturer of the class can not teach it in another location at the same time
+        jdbcTemplate.update("UPDATE course_waitlist SET location = 'Room E2' WHERE waitlist_entry_id = ?", waitlist.get(0).getWaitlistEntryId());
+        Integer entryId = jdbcTemplate.queryForObject("SELECT min(entry_id) FROM schedule_of_classes WHERE semester_id = ?", Integer.class, SEMESTER_ID);
+
+        ResponseEntity<Response> result = transactionTemplate.execute(status -> scheduleEntryService.deleteEntity(String.valueOf(entryId)));
+
+        assertAll(
+                () -> assertEquals(HttpStatus.OK, result.getStatusCode()),
+                () -> assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM schedule_of_classes WHERE entry_id = ?", Integer.class, entryId).intValue()),
+                () -> assertEquals(CAPACITY, enrolledStudents()),
+                () -> assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM schedule_of_classes WHERE student_id = ? AND semester_id = ?",
+                        Integer.class, waitlist.get(0).getStudentId(), SEMESTER_ID).intValue()),
+                () -> assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM schedule_of_classes WHERE student_id = ? AND semester_id = ?",
+                        Integer.class, waitlist.get(1).getStudentId(), SEMESTER_ID).intValue()),
+                () -> assertEquals(NUMBER_OF_STUDENTS - CAPACITY - 2, courseCapacity().getWaitlistLength().intValue())
+        );
+    }
+
+    @Test
+    public void testIncreasedCapacityPromotesWaitlist() throws Exception {
+        enrollConcurrently(studentIds);
+        CourseCapacityDTO increasedCapacity = CourseCapacityDTO.builder().courseId(courseId).semesterId(SEMESTER_ID).capacity(CAPACITY + 5).build();
+
+        transactionTemplate.execute(status -> enrollmentService.updateCourseCapacity(increasedCapacity, new BeanPropertyBindingResult(increasedCapacity, "courseCapacity")));
+
+        assertAll(
+                () -> assertEquals(CAPACITY + 5, enrolledStudents()),
+                () -> assertEquals(CAPACITY + 5, courseCapacity().getEnrolledCount().intValue()),
+                () -> assertEquals(NUMBER_OF_STUDENTS - CAPACITY - 5, courseCapacity().getWaitlistLength().intValue())
+        );
+    }
+
+    @Test
+    public void testConcurrentDeletionsOfStudentEntriesReleaseSeat() throws Exception {
+        Integer studentId = studentIds.get(0);
+        enroll(studentId, classTime);
+        enroll(studentId, new Date(classTime.getTime() + TimeUnit.HOURS.toMillis(2)));
+        List<Integer> entryIds = jdbcTemplate.queryForList("SELECT entry_id FROM schedule_of_classes WHERE student_id = ? AND semester_id = ?", Integer.class, studentId, SEMESTER_ID);
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            // second entry is deleted while deletion of the first one is not committed
+            Future<ResponseEntity<Response>> secondDeletion = transactionTemplate.execute(status -> {
+                scheduleEntryService.deleteEntity(String.valueOf(entryIds.get(0)));
+                Future<ResponseEntity<Response>> deletion = executorService.submit(
+                        () -> transactionTemplate.execute(secondStatus -> scheduleEntryService.deleteEntity(String.valueOf(entryIds.get(1)))));
+                awaitLockWaitOrCompletion(deletion);
+                return deletion;
+            });
+
+            assertAll(
+                    () -> assertEquals(HttpStatus.OK, secondDeletion.get(60, TimeUnit.SECONDS).getStatusCode()),
+                    () -> assertEquals(0, enrolledStudents()),
+                    () -> assertEquals(0, courseCapacity().getEnrolledCount().intValue())
+            );
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private Map<HttpStatus, Integer> enrollConcurrently(List<Integer> students) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<HttpStatus>> results = new ArrayList<>(students.size());
+        try {
+            for (Integer studentId : students) {
+                ScheduleEntryDTO requestedEntry = ScheduleEntryDTO.builder()
+                        .studentId(studentId)
+                        .lecturerId(lecturerId)
+                        .courseId(courseId)
+                        .time(classTime)
+                        .location("Room E1")
+                        .semesterId(SEMESTER_ID)
+                        .build();
+                results.add(executorService.submit(() -> {
+                    startSignal.await();
+                    return transactionTemplate.execute(status -> enrollmentService.enroll(requestedEntry, new BeanPropertyBindingResult(requestedEntry, "scheduleEntryDTO"))).getStatusCode();
+                }));
+            }
+            startSignal.countDown();
+            Map<HttpStatus, Integer> statusCounts = new EnumMap<>(HttpStatus.class);
+            for (Future<HttpStatus> result : results) {
+                statusCounts.merge(result.get(60, TimeUnit.SECONDS), 1, Integer::sum);
+            }
+            return statusCounts;
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void enroll(Integer studentId, Date time) {
+        ScheduleEntryDTO requestedEntry = ScheduleEntryDTO.builder()
+                .studentId(studentId)
+                .lecturerId(lecturerId)
+                .courseId(courseId)
+                .time(time)
+                .location("Room E1")
+                .semesterId(SEMESTER_ID)
+                .build();
+        transactionTemplate.execute(status -> enrollmentService.enroll(requestedEntry, new BeanPropertyBindingResult(requestedEntry, "scheduleEntryDTO")));
+    }
+
+    private void awaitLockWaitOrCompletion(Future<?> future) {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (!future.isDone() && System.currentTimeMillis() < deadline
+                && jdbcTemplate.queryForObject("SELECT count(*) FROM pg_locks WHERE NOT granted", Long.class) == 0) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    private int enrolledStudents() {
+        return jdbcTemplate.queryForObject("SELECT count(DISTINCT student_id) FROM schedule_of_classes WHERE course_id = ? AND semester_id = ?", Integer.class, courseId, SEMESTER_ID);
+    }
+
+    private CourseCapacityDTO courseCapacity() {
+        ResponseEntity<Response> result = transactionTemplate.execute(status -> enrollmentService.getCourseCapacity(courseId, SEMESTER_ID));
+        return (CourseCapacityDTO) result.getBody().getResponseBody();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<WaitlistEntryDTO> waitlist() {
+        ResponseEntity<Response> result = transactionTemplate.execute(status -> enrollmentService.getWaitlist(courseId, SEMESTER_ID));
+        return (List<WaitlistEntryDTO>) result.getBody().getResponseBody();
+    }
+}
@@ -0,0 +1,250 @@
+package integration.universityregistrar;
+
+import com.rdlab.universityregistrar.configuration.test.EmbeddedPostgresTestContextConfiguration;
+import com.rdlab.universityregistrar.model.dao.BatchInsertException;
+import com.rdlab.universityregistrar.model.dao.DAO;
+import com.rdlab.universityregistrar.model.dao.RecordsPage;
+import com.rdlab.universityregistrar.model.dao.implementation.*;
+import com.rdlab.universityregistrar.model.entity.Course;
+import com.rdlab.universityregistrar.model.entity.User;
+import com.rdlab.universityregistrar.service.mapper.*;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.NoResultException;
+import javax.persistence.Tuple;
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that JDBC DAO backend returns the same records as Hibernate DAO backend on embedded PostgreSQL
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {EmbeddedPostgresTestContextConfiguration.class})
+public class JdbcDAOBackendTest {
+    private static final String SEMESTER_ID = "JDB2030";
+    private static final int NUMERIC_RANK = 77;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private DataSource dataSource;
+
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private Integer studentId;
+
+    @BeforeEach
+    public void setup() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.update("INSERT INTO semesters (semester_id, name, year, start_time, end_time) VALUES (?, 'Jdbc semester', 2030, 1893456000, 1906502400)", SEMESTER_ID);
+        jdbcTemplate.queryForObject("SELECT CAST(create_schedule_partition(?) AS text)", String.class, SEMESTER_ID);
+        jdbcTemplate.update("INSERT INTO academic_ranks (numeric_rank, name) VALUES (?, 'Jdbc rank')", NUMERIC_RANK);
+        Integer lecturerId = jdbcTemplate.queryForObject("INSERT INTO lecturers (name, date_of_birth, numeric_academic_rank) VALUES ('Jdbc lecturer', 461885632, ?) RETURNING lecturer_id", Integer.class, NUMERIC_RANK);
+        for (int i = 0; i < 3; i++) {
+            studentId = jdbcTemplate.queryForObject("INSERT INTO students (name, date_of_birth) VALUES (?, 463226420) RETURNING student_id", Integer.class, "Jdbc student " + i);
+            jdbcTemplate.update("INSERT INTO users (login, password, is_active, student_id) VALUES (?, 'pa$$word', ?, ?)", "jdbc_user_" + i, i % 2 == 0, studentId);
+            Integer courseId = jdbcTemplate.queryForObject("INSERT INTO courses (course_title, course_description) VALUES (?, 'Jdbc 100% test') RETURNING course_id", Integer.class, "Jdbc course " + i);
+            jdbcTemplate.update("INSERT INTO schedule_of_classes (student_id, lecturer_id, course_id, time, location, semester_id) VALUES (?, ?, ?, ?, 'Room J1', ?)",
+                    studentId, lecturerId, courseId, 1893456000000L + i * 7200000L, SEMESTER_ID);
+        }
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        jdbcTemplate.update("DELETE FROM schedule_of_classes WHERE semester_id = ?", SEMESTER_ID);
+        jdbcTemplate.update("DELETE FROM users WHERE login LIKE 'jdbc_user_%'");
+        jdbcTemplate.update("DELETE FROM students WHERE name LIKE 'Jdbc student %'");
+        jdbcTemplate.update("DELETE FROM courses WHERE course_title LIKE 'Jdbc course %'");
+        jdbcTemplate.update("DELETE FROM lecturers WHERE name LIKE 'Jdbc lecturer%'");
+        jdbcTemplate.update("DELETE FROM semesters WHERE semester_id = ?", SEMESTER_ID);
+        jdbcTemplate.update("DELETE FROM academic_ranks WHERE numeric_rank = ?", NUMERIC_RANK);
+    }
+
+    @Test
+    public void testProjectionsMatchHibernateBackend() {
+        assertAll(
+                () -> assertSameProjections(CourseDAOImpl.class, CourseJdbcDAOImpl.class, Mappers.getMapper(CourseDTOEntityMapper.class), "jdbc course 1", "100%"),
+                () -> assertSameProjections(LecturerDAOImpl.class, LecturerJdbcDAOImpl.class, Mappers.getMapper(LecturerDTOEntityMapper.class), "jdbc lecturer", "jdbc"),
+                () -> assertSameProjections(StudentDAOImpl.class, StudentJdbcDAOImpl.class, Mappers.getMapper(StudentDTOEntityMapper.class), "jdbc student", "_"),
+                () -> assertSameProjections(SemesterDAOImpl.class, SemesterJdbcDAOImpl.class, Mappers.getMapper(SemesterDTOEntityMapper.class), "jdbc semester", "jdb"),
+                () -> assertSameProjections(UserDAOImpl.class, UserJdbcDAOImpl.class, Mappers.getMapper(UserDTOEntityMapper.class), "jdbc_user", "user_1"),
+                () -> assertSameProjections(ScheduleEntryDAOImpl.class, ScheduleEntryJdbcDAOImpl.class, Mappers.getMapper(ScheduleEntryDTOEntityMapper.class), "room j1", "jdb2030")
+        );
+    }
+
+    @Test
+    public void testMissingRecordIsNotFound() {
+        StudentJdbcDAOImpl studentDAO = beanFactory.createBean(StudentJdbcDAOImpl.class);
+
+        assertAll(
+                () -> assertFalse(inTransaction(() -> studentDAO.findRecordProjection("0")).isPresent()),
+                () -> assertFalse(inTransaction(() -> studentDAO.findRecord("0")).isPresent()),
+                () -> assertThrows(NoResultException.class, () -> inTransaction(() -> studentDAO.getRecord("0")))
+        );
+    }
+
+    @Test
+    public void testRecordsWrittenByJdbcBackendAreReadByHibernateBackend() {
+        CourseJdbcDAOImpl jdbcCourseDAO = beanFactory.createBean(CourseJdbcDAOImpl.class);
+        CourseDAOImpl hibernateCourseDAO = beanFactory.createBean(CourseDAOImpl.class);
+        Course course = Course.builder()
+                .courseTitle("Jdbc course added")
+                .courseDescription("Added by JDBC backend")
+                .build();
+
+        Integer generatedId = inTransaction(() -> jdbcCourseDAO.addRecord(course));
+        Course addedCourse = inTransaction(() -> hibernateCourseDAO.getRecord(String.valueOf(generatedId)));
+        course.setCourseDescription("Updated by JDBC backend");
+        int rowsUpdated = inTransaction(() -> jdbcCourseDAO.updateRecord(course));
+        Course updatedCourse = inTransaction(() -> hibernateCourseDAO.getRecord(String.valueOf(generatedId)));
+        int rowsDeleted = inTransaction(() -> jdbcCourseDAO.deleteRecord(String.valueOf(generatedId)));
+
+        assertAll(
+                () -> assertEquals(generatedId, course.getCourseId()),
+                () -> assertEquals("Jdbc course added", addedCourse.getCourseTitle().trim()),
+                () -> assertEquals(1, rowsUpdated),
+                () -> assertEquals("Updated by JDBC backend", updatedCourse.getCourseDescription().trim()),
+                () -> assertEquals(1, rowsDeleted),
+                () -> assertFalse(inTransaction(() -> hibernateCourseDAO.findRecord(String.valueOf(generatedId))).isPresent())
+        );
+    }
+
+    @Test
+    public void testRecordsAddedInBatchGetGeneratedIds() {
+        CourseJdbcDAOImpl jdbcCourseDAO = beanFactory.createBean(CourseJdbcDAOImpl.class);
+        jdbcCourseDAO.setBatchSize(2);
+        List<Course> courses = Arrays.asList(jdbcCourse("Jdbc course batch 0"), jdbcCourse("Jdbc course batch 1"), jdbcCourse("Jdbc course batch 2"));
+
+        List<Integer> generatedIds = transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return jdbcCourseDAO.addRecords(courses);
+        });
+
+        assertAll(
+                () -> assertEquals(3, generatedIds.size()),
+                () -> assertEquals(3, new HashSet<>(generatedIds).size()),
+                () -> assertEquals(generatedIds, courses.stream().map(Course::getCourseId).collect(Collectors.toList()))
+        );
+    }
+
+    @Test
+    public void testRecordOfBatchViolatingConstraintIsReported() {
+        CourseJdbcDAOImpl jdbcCourseDAO = beanFactory.createBean(CourseJdbcDAOImpl.class);
+        jdbcCourseDAO.setBatchSize(2);
+        List<Course> courses = Arrays.asList(jdbcCourse("Jdbc course batch 0"), jdbcCourse("Jdbc course batch 1"),
+                jdbcCourse("Jdbc course batch 2"), jdbcCourse("Jdbc course 1"));
+
+        BatchInsertException exception = assertThrows(BatchInsertException.class, () -> transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return jdbcCourseDAO.addRecords(courses);
+        }));
+
+        assertEquals(Integer.valueOf(3), exception.getRecordIndex());
+    }
+
+    @Test
+    public void testCachesAreEvictedOnceAfterCommit() {
+        CourseJdbcDAOImpl jdbcCourseDAO = beanFactory.createBean(CourseJdbcDAOImpl.class);
+        SessionFactory sessionFactory = Mockito.mock(SessionFactory.class);
+        Cache cache = Mockito.mock(Cache.class);
+        Mockito.when(sessionFactory.getCache()).thenReturn(cache);
+        jdbcCourseDAO.setSessionFactory(sessionFactory);
+        Course course = Course.builder()
+                .courseTitle("Jdbc course cached")
+                .courseDescription("Added by JDBC backend")
+                .build();
+
+        transactionTemplate.execute(status -> {
+            jdbcCourseDAO.addRecord(course);
+            course.setCourseDescription("Updated by JDBC backend");
+            jdbcCourseDAO.updateRecord(course);
+            Mockito.verify(cache, Mockito.never()).evictEntityData(Course.class);
+            return null;
+        });
+        transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return jdbcCourseDAO.deleteRecord(String.valueOf(course.getCourseId()));
+        });
+
+        assertAll(
+                () -> Mockito.verify(cache).evictEntityData(Course.class),
+                () -> Mockito.verify(cache).evictQueryRegion("courseQueries")
+        );
+    }
+
+    @Test
+    public void testScheduleEntryAndUserQueriesMatchHibernateBackend() {
+        ScheduleEntryDAOImpl hibernateScheduleEntryDAO = beanFactory.createBean(ScheduleEntryDAOImpl.class);
+        ScheduleEntryJdbcDAOImpl jdbcScheduleEntryDAO = beanFactory.createBean(ScheduleEntryJdbcDAOImpl.class);
+        UserDAOImpl hibernateUserDAO = beanFactory.createBean(UserDAOImpl.class);
+        UserJdbcDAOImpl jdbcUserDAO = beanFactory.createBean(UserJdbcDAOImpl.class);
+        User hibernateUser = inTransaction(() -> hibernateUserDAO.getUserByStudentId(studentId));
+        User jdbcUser = inTransaction(() -> jdbcUserDAO.getUserByStudentId(studentId));
+
+        assertAll(
+                () -> assertEquals(inTransaction(() -> hibernateScheduleEntryDAO.getNumberOfTakenCoursesForStudent(studentId, SEMESTER_ID)),
+                        inTransaction(() -> jdbcScheduleEntryDAO.getNumberOfTakenCoursesForStudent(studentId, SEMESTER_ID))),
+                () -> assertEquals(hibernateUser.getUserId(), jdbcUser.getUserId()),
+                () -> assertEquals(hibernateUser.getIsActive(), jdbcUser.getIsActive()),
+                () -> assertThrows(NoResultException.class, () -> inTransaction(() -> jdbcUserDAO.getUserByStudentId(0)))
+        );
+    }
+
+    private <T, D> void assertSameProjections(Class<? extends DAO<T>> hibernateDAOClass, Class<? extends DAO<T>> jdbcDAOClass,
+                                              DTOEntityMapper<T, D> mapper, String... searchCriteria) {
+        DAO<T> hibernateDAO = beanFactory.createBean(hibernateDAOClass);
+        DAO<T> jdbcDAO = beanFactory.createBean(jdbcDAOClass);
+
+        assertEquals(inTransaction(() -> mapper.tupleListToDtoList(hibernateDAO.getAllRecordProjections())),
+                inTransaction(() -> mapper.tupleListToDtoList(jdbcDAO.getAllRecordProjections())));
+        assertEquals(inTransaction(() -> mapper.entityListToDtoList(hibernateDAO.getAllRecords())),
+                inTransaction(() -> mapper.entityListToDtoList(jdbcDAO.getAllRecords())));
+
+        RecordsPage<Tuple> hibernatePage = inTransaction(() -> hibernateDAO.getRecordProjectionsPage(null, 2));
+        RecordsPage<Tuple> jdbcPage = inTransaction(() -> jdbcDAO.getRecordProjectionsPage(null, 2));
+        assertEquals(hibernatePage.getNextKey(), jdbcPage.getNextKey());
+        assertEquals(inTransaction(() -> mapper.tupleListToDtoList(hibernateDAO.getRecordProjectionsPage(hibernatePage.getNextKey(), 2).getRecords())),
+                inTransaction(() -> mapper.tupleListToDtoList(jdbcDAO.getRecordProjectionsPage(jdbcPage.getNextKey(), 2).getRecords())));
+
+        for (String searchCriterion : searchCriteria) {
+            assertEquals(inTransaction(() -> mapper.tupleListToDtoList(hibernateDAO.searchRecordProjections(searchCriterion))),
+                    inTransaction(() -> mapper.tupleListToDtoList(jdbcDAO.searchRecordProjections(searchCriterion))),
+                    jdbcDAOClass.getSimpleName() + " search " + searchCriterion);
+        }
+    }
+
+    private Course jdbcCourse(String courseTitle) {
+        return Course.builder()
+                .courseTitle(courseTitle)
+                .courseDescription("Added by JDBC backend")
+                .build();
+    }
+
+    private <T> T inTransaction(Supplier<T> action) {
+        return transactionTemplate.execute(status -> action.get());
+    }
+}
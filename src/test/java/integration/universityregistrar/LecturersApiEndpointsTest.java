@@ -89,6 +89,19 @@ public class LecturersApiEndpointsTest {
                 .andExpect(jsonPath("$.responseBody.numericAcademicRank", is(sampleLecturerDTO.getNumericAcademicRank())));
     }
 
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    public void getLecturerWithExpandedAcademicRankShouldEmbedAcademicRank() throws Exception {
+        mvc.perform(get("/api/lecturers/{id}", 1).param("fields", "lecturerName").param("expand", "academicRank"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responseBody.lecturerId", is(1)))
+                .andExpect(jsonPath("$.responseBody.lecturerName", is(sampleLecturerDTO.getLecturerName())))
+                .andExpect(jsonPath("$.responseBody.dateOfBirth").doesNotExist())
+                .andExpect(jsonPath("$.responseBody.academicRank.numericRank", is(1)))
+                .andExpect(jsonPath("$.responseBody.academicRank.rankName", is("Professor")));
+    }
+
     @Test
     @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
     public void getLecturerShouldReturnNotFoundMessage() throws Exception {
@@ -334,6 +347,51 @@ public class LecturersApiEndpointsTest {
                 .andExpect(jsonPath("$.responseBody[0].lecturerName", equalTo(sampleLecturerDTO.getLecturerName())));
     }
 
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    public void getLecturerScheduleShouldReturnEntriesWithEmbeddedDetails() throws Exception {
+        mvc.perform(get("/api/lecturers/{id}/schedule", 1))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/")))
+                .andExpect(header().string("Cache-Control", containsString("max-age")))
+                .andExpect(jsonPath("$.responseBody", hasSize(5)))
+                .andExpect(jsonPath("$.responseBody[0].entryId", is(1)))
+                .andExpect(jsonPath("$.responseBody[0].course.courseTitle", is("Computer Science 101")))
+                .andExpect(jsonPath("$.responseBody[0].lecturer.lecturerName", is("John Doe")))
+                .andExpect(jsonPath("$.responseBody[0].lecturer.numericAcademicRank", is(1)))
+                .andExpect(jsonPath("$.responseBody[0].semester.semesterId", is("FAL2020")));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    public void getLecturerScheduleShouldReturnNotModifiedForMatchingETag() throws Exception {
+        String eTag = mvc.perform(get("/api/lecturers/{id}/schedule", 1))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mvc.perform(get("/api/lecturers/{id}/schedule", 1).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    public void getLecturerScheduleShouldFilterEntriesBySemester() throws Exception {
+        mvc.perform(get("/api/lecturers/{id}/schedule?semesterId={semesterId}", 1, "SUM2020"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responseBody", hasSize(0)));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    public void getLecturerScheduleShouldReturnNotFoundMessage() throws Exception {
+        mvc.perform(get("/api/lecturers/{id}/schedule", 35))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("item of requested type with such id not found")));
+    }
+
     @AfterEach
     public void cleanUp() {
         sampleLecturerDTO = null;
@@ -0,0 +1,61 @@
+package integration.universityregistrar;
+
+import com.rdlab.universityregistrar.configuration.test.IntegrationTestContextConfiguration;
+import io.prometheus.client.exporter.common.TextFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {IntegrationTestContextConfiguration.class})
+@WebAppConfiguration
+public class MetricsApiEndpointsTest {
+
+    @Autowired
+    private WebApplicationContext wac;
+    private MockMvc mvc;
+
+    @BeforeEach
+    public void setup() {
+        mvc = MockMvcBuilders.webAppContextSetup(wac).build();
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    public void metricsShouldContainRequestServiceAndDaoTimers() throws Exception {
+        mvc.perform(get("/api/students")).andExpect(status().isOk());
+
+        mvc.perform(get("/api/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(TextFormat.CONTENT_TYPE_004))
+                .andExpect(content().string(allOf(
+                        containsString("http_server_requests_seconds_count{exception=\"none\",method=\"GET\",status=\"200\",uri=\"/api/students\""),
+                        containsString("registrar_service_calls_seconds_count{class=\"StudentServiceImpl\",exception=\"none\",method=\"getEntitiesPage\""),
+                        containsString("registrar_dao_calls_seconds_count{class=\"StudentDAOImpl\",exception=\"none\",method=\"getRecordProjectionsPage\""),
+                        containsString("registrar_service_calls_seconds_bucket{"))));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    public void metricsShouldTagFailedRequests() throws Exception {
+        mvc.perform(get("/api/students/{studentId}", "100")).andExpect(status().isNotFound());
+
+        mvc.perform(get("/api/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        containsString("http_server_requests_seconds_count{exception=\"none\",method=\"GET\",status=\"404\",uri=\"/api/students/{studentId}\""),
+                        containsString("registrar_dao_calls_seconds_count{class=\"StudentDAOImpl\",exception=\"none\",method=\"findRecordProjection\""))));
+    }
+}
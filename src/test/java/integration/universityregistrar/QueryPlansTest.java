@@ -0,0 +1,225 @@
+package integration.universityregistrar;
+
+import com.rdlab.universityregistrar.configuration.test.EmbeddedPostgresTestContextConfiguration;
+import com.rdlab.universityregistrar.configuration.test.SqlCapturingStatementInspector;
+import com.rdlab.universityregistrar.model.dao.DAO;
+import com.rdlab.universityregistrar.model.dao.ScheduleEntryFilter;
+import com.rdlab.universityregistrar.model.dao.SearchDAO;
+import com.rdlab.universityregistrar.model.dao.implementation.ScheduleEntryDAOImpl;
+import com.rdlab.universityregistrar.model.dao.implementation.UserDAOImpl;
+import com.rdlab.universityregistrar.model.entity.*;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.NoResultException;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks with EXPLAIN that hot queries are served by indexes. Sequential scans are disabled for
+ * every test, so planner falls back to sequential scan only if no usable index exists.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {EmbeddedPostgresTestContextConfiguration.class})
+public class QueryPlansTest {
+    private static final String FULL_TEXT_QUERY = "john:*";
+    private static final int FULL_TEXT_QUERY_OCCURRENCES = 8;
+
+    @Autowired
+    private SessionFactory sessionFactory;
+    @Autowired
+    private SqlCapturingStatementInspector statementInspector;
+    @Autowired
+    private DAO<ScheduleEntry> scheduleEntryDAO;
+    @Autowired
+    private DAO<User> userDAO;
+    @Autowired
+    private DAO<Student> studentDAO;
+    @Autowired
+    private DAO<Course> courseDAO;
+    @Autowired
+    private SearchDAO searchDAO;
+
+    @BeforeEach
+    public void setup() {
+        statementInspector.clear();
+    }
+
+    @Test
+    @Transactional
+    public void numberOfTakenCoursesForStudentShouldUseIndex() {
+        disablePlanMethods("seqscan");
+
+        ((ScheduleEntryDAOImpl) scheduleEntryDAO).getNumberOfTakenCoursesForStudent(1, "FAL2020");
+
+        assertUsesIndex(explainLastStatement(1, "FAL2020"));
+    }
+
+    @Test
+    @Transactional
+    public void userByStudentIdShouldUseIndex() {
+        disablePlanMethods("seqscan");
+
+        assertThrows(NoResultException.class, () -> ((UserDAOImpl) userDAO).getUserByStudentId(1));
+
+        assertUsesIndex(explainLastStatement("1"));
+    }
+
+    @Test
+    @Transactional
+    public void scheduleEntriesSearchByCourseIdShouldUseIndex() {
+        disablePlanMethods("seqscan", "indexscan");
+
+        scheduleEntryDAO.searchRecords("3");
+
+        assertUsesIndex(explainLastStatement(3));
+    }
+
+    @Test
+    @Transactional
+    public void scheduleEntriesSearchByTextShouldUseTrigramIndexes() {
+        disablePlanMethods("seqscan", "indexscan");
+
+        scheduleEntryDAO.searchRecords("Room");
+
+        assertUsesIndex(explainLastStatement("%room%", "%room%"));
+    }
+
+    @Test
+    @Transactional
+    public void scheduleEntriesInTimeRangeShouldUseIndex() {
+        disablePlanMethods("seqscan");
+
+        ((ScheduleEntryDAOImpl) scheduleEntryDAO).scrollFilteredRecordProjections(ScheduleEntryFilter.builder()
+                .from(1599300000L)
+                .to(1599900000L)
+                .build(), record -> {
+        });
+
+        assertUsesIndex(explainLastStatement(1599300000L, 1599900000L, 500));
+    }
+
+    @Test
+    @Transactional
+    public void studentsSearchShouldUseTrigramIndex() {
+        disablePlanMethods("seqscan", "indexscan");
+
+        studentDAO.searchRecords("John");
+
+        assertUsesIndex(explainLastStatement("%john%"));
+    }
+
+    @Test
+    @Transactional
+    public void coursesSearchShouldUseTrigramIndexes() {
+        disablePlanMethods("seqscan", "indexscan");
+
+        courseDAO.searchRecords("Computer");
+
+        assertUsesIndex(explainLastStatement("%computer%", "%computer%"));
+    }
+
+    @Test
+    @Transactional
+    public void unifiedSearchShouldUseFullTextIndexes() {
+        disablePlanMethods("seqscan", "indexscan");
+
+        searchDAO.searchAllRecords(FULL_TEXT_QUERY, 20);
+
+        List<Object> parameters = new ArrayList<>(Collections.nCopies(FULL_TEXT_QUERY_OCCURRENCES, FULL_TEXT_QUERY));
+        parameters.add(20);
+        assertUsesIndex(explainLastStatement(parameters.toArray()));
+    }
+
+    @Test
+    @Transactional
+    public void foreignKeyActionsShouldUseIndexes() {
+        disablePlanMethods("seqscan");
+
+        assertAllUseIndexes(
+                explain("SELECT 1 FROM schedule_of_classes WHERE student_id = $1", 1),
+                explain("SELECT 1 FROM schedule_of_classes WHERE lecturer_id = $1", 1),
+                explain("SELECT 1 FROM schedule_of_classes WHERE course_id = $1", 1),
+                explain("SELECT 1 FROM schedule_of_classes WHERE semester_id = $1", "FAL2020"),
+                explain("SELECT 1 FROM users WHERE student_id = $1", 1),
+                explain("SELECT 1 FROM lecturers WHERE numeric_academic_rank = $1", 1)
+        );
+    }
+
+    private void assertAllUseIndexes(String... plans) {
+        for (String plan : plans) {
+            assertUsesIndex(plan);
+        }
+    }
+
+    private void assertUsesIndex(String plan) {
+        assertThat(plan, allOf(containsString("Index"), not(containsString("Seq Scan"))));
+    }
+
+    private void disablePlanMethods(String... planMethods) {
+        sessionFactory.getCurrentSession().doWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                for (String planMethod : planMethods) {
+                    statement.execute("SET LOCAL enable_" + planMethod + " = off");
+                }
+            }
+        });
+    }
+
+    private String explainLastStatement(Object... parameters) {
+        String sql = statementInspector.getLastStatement();
+        StringBuilder numberedSql = new StringBuilder();
+        int parameterNumber = 0;
+        for (char character : sql.toCharArray()) {
+            if (character == '?') {
+                numberedSql.append('$').append(++parameterNumber);
+            } else {
+                numberedSql.append(character);
+            }
+        }
+        return explain(numberedSql.toString(), parameters);
+    }
+
+    /**
+     * Explain query with $n placeholders. Query is prepared first, so parameter types are inferred
+     * the same way as for statements sent by JDBC driver.
+     */
+    private String explain(String sql, Object... parameters) {
+        List<String> literals = new ArrayList<>();
+        for (Object parameter : parameters) {
+            literals.add(parameter instanceof Number ? parameter.toString() : "'" + parameter.toString().replace("'", "''") + "'");
+        }
+        return sessionFactory.getCurrentSession().doReturningWork(connection -> {
+            StringBuilder plan = new StringBuilder();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PREPARE explained_query AS " + sql);
+                try (ResultSet resultSet = statement.executeQuery("EXPLAIN EXECUTE explained_query(" + String.join(", ", literals) + ")")) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+                statement.execute("DEALLOCATE explained_query");
+            }
+            return plan.toString();
+        });
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        statementInspector.clear();
+    }
+}
@@ -0,0 +1,105 @@
+package integration.universityregistrar;
+
+import com.rdlab.universityregistrar.configuration.test.EmbeddedPostgresTestContextConfiguration;
+import com.rdlab.universityregistrar.model.dao.DAO;
+import com.rdlab.universityregistrar.model.entity.Course;
+import com.rdlab.universityregistrar.service.implementation.*;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that read methods of services run in read only transactions, which load read only entities,
+ * never flush and are read only on PostgreSQL side
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {EmbeddedPostgresTestContextConfiguration.class})
+public class ReadOnlyTransactionsTest {
+    private static final List<String> READ_METHODS = Arrays.asList("getAllEntities", "getEntitiesPage", "writeAllEntities",
+            "getEntity", "searchForEntities", "searchAllEntities", "getCourseCapacity", "getWaitlist", "getCoursesToPromote");
+
+    @Autowired
+    private DAO<Course> courseDAO;
+    @Autowired
+    private SessionFactory sessionFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private DataSource dataSource;
+
+    private TransactionTemplate readOnlyTransactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private Integer courseId;
+
+    @BeforeEach
+    public void setup() {
+        readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate.setReadOnly(true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        courseId = jdbcTemplate.queryForObject("INSERT INTO courses (course_title, course_description) VALUES ('Read only course', 'Read only test') RETURNING course_id", Integer.class);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        jdbcTemplate.update("DELETE FROM courses WHERE course_id = ?", courseId);
+    }
+
+    @Test
+    public void testServiceReadMethodsAreReadOnly() {
+        List<Class<?>> serviceClasses = Arrays.asList(AcademicRankServiceImpl.class, CourseServiceImpl.class, LecturerServiceImpl.class,
+                StudentServiceImpl.class, SemesterServiceImpl.class, ScheduleEntryServiceImpl.class, UserServiceImpl.class,
+                SearchServiceImpl.class, EnrollmentServiceImpl.class);
+
+        for (Class<?> serviceClass : serviceClasses) {
+            for (Method method : serviceClass.getDeclaredMethods()) {
+                Transactional transactional = method.getAnnotation(Transactional.class);
+                if (transactional != null) {
+                    assertEquals(READ_METHODS.contains(method.getName()), transactional.readOnly(),
+                            serviceClass.getSimpleName() + "." + method.getName());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testEntitiesOfReadOnlyTransactionAreNotFlushed() {
+        readOnlyTransactionTemplate.execute(status -> {
+            Session session = sessionFactory.getCurrentSession();
+            Course course = courseDAO.getRecord(String.valueOf(courseId));
+            course.setCourseTitle("Changed title");
+
+            assertAll(
+                    () -> assertEquals(FlushMode.MANUAL, session.getHibernateFlushMode()),
+                    () -> assertTrue(session.isReadOnly(course))
+            );
+            return null;
+        });
+
+        assertEquals("Read only course", jdbcTemplate.queryForObject("SELECT course_title FROM courses WHERE course_id = ?", String.class, courseId).trim());
+    }
+
+    @Test
+    public void testReadOnlyTransactionIsReadOnlyInDatabase() {
+        assertThrows(DataAccessException.class, () -> readOnlyTransactionTemplate.execute(status ->
+                jdbcTemplate.update("UPDATE courses SET course_title = 'Changed title' WHERE course_id = ?", courseId)));
+    }
+}
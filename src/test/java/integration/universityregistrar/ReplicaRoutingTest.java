@@ -0,0 +1,146 @@
+package integration.universityregistrar;
+
+import com.opentable.db.postgres.embedded.EmbeddedPostgres;
+import com.rdlab.universityregistrar.configuration.datasource.ReplicaRoutingDataSource;
+import com.rdlab.universityregistrar.configuration.datasource.ReplicaStickiness;
+import com.rdlab.universityregistrar.configuration.test.ReplicaRoutingTestContextConfiguration;
+import com.rdlab.universityregistrar.model.dao.DAO;
+import com.rdlab.universityregistrar.model.entity.Course;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.Cookie;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks routing of transactions between two embedded PostgreSQL servers standing for primary and replica.
+ * Test course has different title on each server, so title read tells which server served the read.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {ReplicaRoutingTestContextConfiguration.class})
+public class ReplicaRoutingTest {
+    private static final int COURSE_ID = 900001;
+    private static final String PRIMARY_TITLE = "Primary copy";
+    private static final String REPLICA_TITLE = "Replica copy";
+
+    @Autowired
+    private DAO<Course> courseDAO;
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+    @Autowired
+    @Qualifier("getPrimaryPostgres")
+    private EmbeddedPostgres primaryPostgres;
+    @Autowired
+    @Qualifier("getReplicaPostgres")
+    private EmbeddedPostgres replicaPostgres;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private TransactionTemplate readOnlyTransactionTemplate;
+    private JdbcTemplate primaryJdbcTemplate;
+    private JdbcTemplate replicaJdbcTemplate;
+
+    @BeforeEach
+    public void setup() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate.setReadOnly(true);
+        primaryJdbcTemplate = new JdbcTemplate(primaryPostgres.getPostgresDatabase());
+        replicaJdbcTemplate = new JdbcTemplate(replicaPostgres.getPostgresDatabase());
+
+        primaryJdbcTemplate.update("INSERT INTO courses (course_id, course_title, course_description) VALUES (?, ?, 'Routing test')", COURSE_ID, PRIMARY_TITLE);
+        replicaJdbcTemplate.update("INSERT INTO courses (course_id, course_title, course_description) VALUES (?, ?, 'Routing test')", COURSE_ID, REPLICA_TITLE);
+        routingDataSource.checkReplicas();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        RequestContextHolder.resetRequestAttributes();
+        primaryJdbcTemplate.update("DELETE FROM courses WHERE course_id = ?", COURSE_ID);
+        replicaJdbcTemplate.update("DELETE FROM courses WHERE course_id = ?", COURSE_ID);
+    }
+
+    @Test
+    public void testReadOnlyTransactionsAreRoutedToReplica() {
+        assertAll(
+                () -> assertEquals(REPLICA_TITLE, readOnlyTransactionTemplate.execute(status -> readCourseTitle())),
+                () -> assertEquals(PRIMARY_TITLE, transactionTemplate.execute(status -> readCourseTitle())),
+                () -> assertEquals(Collections.singletonList("replica"), routingDataSource.getHealthyReplicas())
+        );
+    }
+
+    @Test
+    public void testReadsFallBackToPrimaryWhenReplicaIsUnavailable() {
+        PGSimpleDataSource unavailableReplica = new PGSimpleDataSource();
+        unavailableReplica.setServerName("localhost");
+        unavailableReplica.setPortNumber(replicaPostgres.getPort());
+        unavailableReplica.setDatabaseName("missing_database");
+        unavailableReplica.setUser("postgres");
+
+        try (ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primaryPostgres.getPostgresDatabase(),
+                Collections.singletonMap("unavailable", unavailableReplica), null, 10000, 0)) {
+            String title;
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+            try {
+                title = new JdbcTemplate(dataSource).queryForObject("SELECT course_title FROM courses WHERE course_id = ?", String.class, COURSE_ID);
+            } finally {
+                TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            }
+
+            assertAll(
+                    () -> assertEquals(PRIMARY_TITLE, title.trim()),
+                    () -> assertTrue(dataSource.getHealthyReplicas().isEmpty())
+            );
+        }
+    }
+
+    @Test
+    public void testReadsOfClientStickToPrimaryAfterItsWrite() {
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), writeResponse));
+        transactionTemplate.execute(status -> {
+            Course course = courseDAO.getRecord(String.valueOf(COURSE_ID));
+            course.setCourseDescription("Written by client");
+            return courseDAO.updateRecord(course);
+        });
+        String titleInWriteRequest = readOnlyTransactionTemplate.execute(status -> readCourseTitle());
+        Cookie stickinessCookie = writeResponse.getCookie(ReplicaStickiness.COOKIE_NAME);
+
+        MockHttpServletRequest stickyRequest = new MockHttpServletRequest();
+        stickyRequest.setCookies(stickinessCookie);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(stickyRequest, new MockHttpServletResponse()));
+        String titleOfStickyClient = readOnlyTransactionTemplate.execute(status -> readCourseTitle());
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), new MockHttpServletResponse()));
+        String titleOfOtherClient = readOnlyTransactionTemplate.execute(status -> readCourseTitle());
+
+        assertAll(
+                () -> assertNotNull(stickinessCookie),
+                () -> assertEquals(PRIMARY_TITLE, titleInWriteRequest),
+                () -> assertEquals(PRIMARY_TITLE, titleOfStickyClient),
+                () -> assertEquals(REPLICA_TITLE, titleOfOtherClient)
+        );
+    }
+
+    private String readCourseTitle() {
+        return courseDAO.getRecord(String.valueOf(COURSE_ID)).getCourseTitle().trim();
+    }
+}
@@ -0,0 +1,163 @@
+package integration.universityregistrar;
+
+import com.rdlab.universityregistrar.configuration.test.EmbeddedPostgresTestContextConfiguration;
+import com.rdlab.universityregistrar.controller.exception.handler.GlobalControllerExceptionHandler;
+import com.rdlab.universityregistrar.controller.response.Response;
+import com.rdlab.universityregistrar.model.dao.implementation.ScheduleEntryDAOImpl;
+import com.rdlab.universityregistrar.model.entity.*;
+import com.rdlab.universityregistrar.service.dto.ScheduleConflictDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.postgresql.util.PSQLException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.PersistenceException;
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that exclusion constraints of schedule partitions reject classes double-booking lecturer or location
+ * and accept entries of the same class held by different students or co-taught by different lecturers
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {EmbeddedPostgresTestContextConfiguration.class})
+public class ScheduleExclusionConstraintsTest {
+    private static final String SEMESTER_ID = "EXC2030";
+    private static final long CLASS_BEGINNING = 1893488400000L;
+    private static final long CLASS_DURATION = 5400000L;
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private ScheduleEntryDAOImpl scheduleEntryDAO;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcTemplate jdbcTemplate;
+    private Integer firstStudentId;
+    private Integer secondStudentId;
+    private Integer firstLecturerId;
+    private Integer secondLecturerId;
+    private Integer courseId;
+    private String partitionName;
+
+    @BeforeEach
+    public void setup() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO semesters (semester_id, name, year, start_time, end_time) VALUES (?, 'Exclusion test semester', 2030, 1893456000, 1906502400)", SEMESTER_ID);
+        jdbcTemplate.queryForObject("SELECT CAST(create_schedule_partition(?) AS text)", String.class, SEMESTER_ID);
+        partitionName = jdbcTemplate.queryForObject("SELECT get_schedule_partition_name(?)", String.class, SEMESTER_ID);
+        firstStudentId = jdbcTemplate.queryForObject("INSERT INTO students (name, date_of_birth) VALUES ('Exclusion student', 463226420) RETURNING student_id", Integer.class);
+        secondStudentId = jdbcTemplate.queryForObject("INSERT INTO students (name, date_of_birth) VALUES ('Exclusion student', 463226420) RETURNING student_id", Integer.class);
+        firstLecturerId = jdbcTemplate.queryForObject("INSERT INTO lecturers (name, date_of_birth) VALUES ('Exclusion lecturer', 461885632) RETURNING lecturer_id", Integer.class);
+        secondLecturerId = jdbcTemplate.queryForObject("INSERT INTO lecturers (name, date_of_birth) VALUES ('Exclusion lecturer', 461885632) RETURNING lecturer_id", Integer.class);
+        courseId = jdbcTemplate.queryForObject("INSERT INTO courses (course_title, course_description) VALUES ('Exclusion course', 'Exclusion test') RETURNING course_id", Integer.class);
+        insertScheduleEntry(firstStudentId, firstLecturerId, CLASS_BEGINNING, "Room X1");
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        jdbcTemplate.update("DELETE FROM schedule_of_classes WHERE semester_id = ?", SEMESTER_ID);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName);
+        jdbcTemplate.update("DELETE FROM student_course_loads WHERE semester_id = ?", SEMESTER_ID);
+        jdbcTemplate.update("DELETE FROM course_capacities WHERE semester_id = ?", SEMESTER_ID);
+        jdbcTemplate.update("DELETE FROM semesters WHERE semester_id = ?", SEMESTER_ID);
+        jdbcTemplate.update("DELETE FROM students WHERE name = 'Exclusion student'");
+        jdbcTemplate.update("DELETE FROM lecturers WHERE name = 'Exclusion lecturer'");
+        jdbcTemplate.update("DELETE FROM courses WHERE course_id = ?", courseId);
+    }
+
+    @Test
+    public void testOverlappingClassOfLecturerIsRejected() {
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> insertScheduleEntry(secondStudentId, firstLecturerId, CLASS_BEGINNING + CLASS_DURATION / 2, "Room X2"));
+
+        assertEquals(partitionName + "_lecturer_excl", getViolatedConstraint(exception));
+    }
+
+    @Test
+    public void testOverlappingClassAtLocationIsRejected() {
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> insertScheduleEntry(secondStudentId, secondLecturerId, CLASS_BEGINNING + CLASS_DURATION / 2, "room x1 "));
+
+        assertEquals(partitionName + "_location_excl", getViolatedConstraint(exception));
+    }
+
+    @Test
+    public void testEntriesOfSameClassAreAccepted() {
+        insertScheduleEntry(secondStudentId, firstLecturerId, CLASS_BEGINNING, "Room X1");
+        insertScheduleEntry(firstStudentId, secondLecturerId, CLASS_BEGINNING, "Room X1");
+
+        assertEquals(Integer.valueOf(3), jdbcTemplate.queryForObject("SELECT count(*) FROM schedule_of_classes WHERE semester_id = ?", Integer.class, SEMESTER_ID));
+    }
+
+    @Test
+    public void testClassBeginningWhenOtherEndsIsAccepted() {
+        insertScheduleEntry(secondStudentId, firstLecturerId, CLASS_BEGINNING + CLASS_DURATION, "Room X1");
+
+        assertEquals(Integer.valueOf(2), jdbcTemplate.queryForObject("SELECT count(*) FROM schedule_of_classes WHERE semester_id = ?", Integer.class, SEMESTER_ID));
+    }
+
+    @Test
+    public void testOverlappingClassOfLecturerFlushedInBatchIsReportedAsLecturerConflict() {
+        PersistenceException exception = assertThrows(PersistenceException.class,
+                () -> addScheduleEntry(secondStudentId, firstLecturerId, CLASS_BEGINNING + CLASS_DURATION / 2, "Room X2"));
+
+        assertConflictType(ScheduleConflictDTO.Type.LECTURER, new GlobalControllerExceptionHandler().handleDuplicateException(exception));
+    }
+
+    @Test
+    public void testOverlappingClassAtLocationFlushedInBatchIsReportedAsLocationConflict() {
+        PersistenceException exception = assertThrows(PersistenceException.class,
+                () -> addScheduleEntry(secondStudentId, secondLecturerId, CLASS_BEGINNING + CLASS_DURATION / 2, "room x1 "));
+
+        assertConflictType(ScheduleConflictDTO.Type.LOCATION, new GlobalControllerExceptionHandler().handleDuplicateException(exception));
+    }
+
+    /**
+     * Entry is inserted by Hibernate, whose JDBC batching sends even single insert as batch
+     */
+    private void addScheduleEntry(Integer studentId, Integer lecturerId, long time, String location) {
+        new TransactionTemplate(transactionManager).execute(status -> scheduleEntryDAO.addRecord(ScheduleEntry.builder()
+                .student(Student.builder().studentId(studentId).build())
+                .lecturer(Lecturer.builder().lecturerId(lecturerId).build())
+                .course(Course.builder().courseId(courseId).build())
+                .time(time)
+                .location(location)
+                .semester(Semester.builder().semesterId(SEMESTER_ID).build())
+                .build()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void assertConflictType(ScheduleConflictDTO.Type conflictType, ResponseEntity<Response> response) {
+        List<ScheduleConflictDTO> conflicts = (List<ScheduleConflictDTO>) Objects.requireNonNull(response.getBody()).getResponseBody();
+        assertAll(
+                () -> assertEquals(HttpStatus.CONFLICT, response.getStatusCode()),
+                () -> assertEquals(conflictType, conflicts.get(0).getConflictType())
+        );
+    }
+
+    private void insertScheduleEntry(Integer studentId, Integer lecturerId, long time, String location) {
+        jdbcTemplate.update("INSERT INTO schedule_of_classes (student_id, lecturer_id, course_id, time, location, semester_id) VALUES (?, ?, ?, ?, ?, ?)",
+                studentId, lecturerId, courseId, time, location, SEMESTER_ID);
+    }
+
+    private static String getViolatedConstraint(DataIntegrityViolationException exception) {
+        PSQLException cause = (PSQLException) exception.getMostSpecificCause();
+        assertEquals("23P01", cause.getSQLState());
+        return cause.getServerErrorMessage().getConstraint();
+    }
+}
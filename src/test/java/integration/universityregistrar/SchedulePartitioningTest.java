@@ -0,0 +1,194 @@
+package integration.universityregistrar;
+
+import com.rdlab.universityregistrar.configuration.test.EmbeddedPostgresTestContextConfiguration;
+import com.rdlab.universityregistrar.model.dao.DAO;
+import com.rdlab.universityregistrar.model.dao.SchedulePartitionDAO;
+import com.rdlab.universityregistrar.model.dao.implementation.ScheduleEntryDAOImpl;
+import com.rdlab.universityregistrar.model.dao.implementation.ScheduleEntryJdbcDAOImpl;
+import com.rdlab.universityregistrar.model.entity.Course;
+import com.rdlab.universityregistrar.model.entity.ScheduleEntry;
+import com.rdlab.universityregistrar.model.entity.Semester;
+import com.rdlab.universityregistrar.model.entity.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that schedule entries are stored in partition of their semester, which is created in its own transaction
+ * before semester is added, and that partition of old semester can be detached
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {EmbeddedPostgresTestContextConfiguration.class})
+public class SchedulePartitioningTest {
+    private static final String SEMESTER_ID = "PRT2030";
+    private static final String LOWER_CASE_SEMESTER_ID = "prt2030";
+    private static final String LOCKED_SEMESTER_ID = "LCK2030";
+
+    @Autowired
+    private DAO<Semester> semesterDAO;
+    @Autowired
+    private SchedulePartitionDAO schedulePartitionDAO;
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private DataSource dataSource;
+
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private Integer studentId;
+    private Integer courseId;
+    private String partitionName;
+
+    @BeforeEach
+    public void setup() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        studentId = jdbcTemplate.queryForObject("INSERT INTO students (name, date_of_birth) VALUES ('Partition student', 463226420) RETURNING student_id", Integer.class);
+        courseId = jdbcTemplate.queryForObject("INSERT INTO courses (course_title, course_description) VALUES ('Partition course', 'Partition test') RETURNING course_id", Integer.class);
+        addSemester(SEMESTER_ID);
+        partitionName = jdbcTemplate.queryForObject("SELECT get_schedule_partition_name(?)", String.class, SEMESTER_ID);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        jdbcTemplate.update("DELETE FROM schedule_of_classes WHERE semester_id IN (?, ?)", SEMESTER_ID, LOWER_CASE_SEMESTER_ID);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + jdbcTemplate.queryForObject("SELECT get_schedule_partition_name(?)", String.class, LOWER_CASE_SEMESTER_ID));
+        jdbcTemplate.update("DELETE FROM schedule_of_classes WHERE student_id = ?", studentId);
+        jdbcTemplate.update("DELETE FROM student_course_loads WHERE semester_id = ? OR student_id = ?", SEMESTER_ID, studentId);
+        jdbcTemplate.update("DELETE FROM course_capacities WHERE course_id = ?", courseId);
+        jdbcTemplate.update("DELETE FROM semesters WHERE semester_id IN (?, ?)", SEMESTER_ID, LOWER_CASE_SEMESTER_ID);
+        jdbcTemplate.update("DELETE FROM students WHERE student_id = ?", studentId);
+        jdbcTemplate.update("DELETE FROM courses WHERE course_id = ?", courseId);
+    }
+
+    @Test
+    public void testEntriesAreStoredInPartitionOfTheirSemester() {
+        insertScheduleEntry();
+
+        assertAll(
+                () -> assertEquals(partitionName, jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM schedule_of_classes WHERE semester_id = ?", String.class, SEMESTER_ID)),
+                () -> assertEquals("schedule_of_classes_fal2020", jdbcTemplate.queryForObject("SELECT DISTINCT tableoid::regclass::text FROM schedule_of_classes WHERE semester_id = 'FAL2020'", String.class)),
+                () -> assertEquals(Integer.valueOf(1), jdbcTemplate.queryForObject("SELECT course_count FROM student_course_loads WHERE student_id = ? AND semester_id = ?", Integer.class, studentId, SEMESTER_ID))
+        );
+    }
+
+    @Test
+    public void testSemesterQueriesScanOnlyItsPartition() {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN SELECT count(DISTINCT course_id) FROM schedule_of_classes WHERE student_id = 1 AND semester_id = '" + SEMESTER_ID + "'", String.class);
+
+        assertAll(
+                () -> assertTrue(plan.stream().anyMatch(line -> line.contains(partitionName)), String.join("\n", plan)),
+                () -> assertTrue(plan.stream().noneMatch(line -> line.contains("schedule_of_classes_fal2020")), String.join("\n", plan))
+        );
+    }
+
+    @Test
+    public void testDetachedPartitionIsKeptOutsideOfSchedule() {
+        insertScheduleEntry();
+
+        String detachedPartition = jdbcTemplate.queryForObject("SELECT detach_schedule_partition(?)::text", String.class, SEMESTER_ID);
+
+        assertAll(
+                () -> assertEquals(partitionName, detachedPartition),
+                () -> assertEquals(Integer.valueOf(0), jdbcTemplate.queryForObject("SELECT count(*) FROM schedule_of_classes WHERE semester_id = ?", Integer.class, SEMESTER_ID)),
+                () -> assertEquals(Integer.valueOf(1), jdbcTemplate.queryForObject("SELECT count(*) FROM " + partitionName, Integer.class))
+        );
+    }
+
+    @Test
+    public void testEntryMovedToOtherSemesterIsStoredInPartitionOfThatSemester() {
+        for (DAO<ScheduleEntry> scheduleEntryDAO : Arrays.<DAO<ScheduleEntry>>asList(
+                beanFactory.createBean(ScheduleEntryDAOImpl.class), beanFactory.createBean(ScheduleEntryJdbcDAOImpl.class))) {
+            Integer entryId = insertScheduleEntry();
+
+            int rowsUpdated = transactionTemplate.execute(status -> scheduleEntryDAO.updateRecord(ScheduleEntry.builder()
+                    .entryId(entryId)
+                    .student(Student.builder().studentId(studentId).build())
+                    .course(Course.builder().courseId(courseId).build())
+                    .time(1893459600000L)
+                    .location("Room P2")
+                    .semester(Semester.builder().semesterId("FAL2020").build())
+                    .build()));
+
+            String backend = scheduleEntryDAO.getClass().getSimpleName();
+            assertAll(backend,
+                    () -> assertEquals(1, rowsUpdated),
+                    () -> assertEquals("schedule_of_classes_fal2020", jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM schedule_of_classes WHERE entry_id = ?", String.class, entryId)),
+                    () -> assertEquals("Room P2", jdbcTemplate.queryForObject("SELECT trim(location) FROM schedule_of_classes WHERE entry_id = ?", String.class, entryId)),
+                    () -> assertEquals(Integer.valueOf(0), jdbcTemplate.queryForObject("SELECT course_count FROM student_course_loads WHERE student_id = ? AND semester_id = ?", Integer.class, studentId, SEMESTER_ID)),
+                    () -> assertEquals(Integer.valueOf(1), jdbcTemplate.queryForObject("SELECT course_count FROM student_course_loads WHERE student_id = ? AND semester_id = 'FAL2020'", Integer.class, studentId))
+            );
+            jdbcTemplate.update("DELETE FROM schedule_of_classes WHERE entry_id = ?", entryId);
+        }
+    }
+
+    @Test
+    public void testSemestersDifferingInCaseHaveOwnPartitions() {
+        addSemester(LOWER_CASE_SEMESTER_ID);
+        insertScheduleEntry();
+        Integer entryId = insertScheduleEntry(LOWER_CASE_SEMESTER_ID);
+
+        String lowerCasePartition = jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM schedule_of_classes WHERE entry_id = ?", String.class, entryId);
+        assertAll(
+                () -> assertNotEquals(partitionName, lowerCasePartition),
+                () -> assertEquals(jdbcTemplate.queryForObject("SELECT get_schedule_partition(?)::text", String.class, LOWER_CASE_SEMESTER_ID), lowerCasePartition),
+                () -> assertEquals(partitionName, jdbcTemplate.queryForObject("SELECT get_schedule_partition(?)::text", String.class, SEMESTER_ID))
+        );
+    }
+
+    @Test
+    public void testPartitionIsNotCreatedWhileScheduleIsLocked() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.createStatement().execute("LOCK TABLE schedule_of_classes IN ACCESS SHARE MODE");
+
+            long start = System.nanoTime();
+            assertThrows(RuntimeException.class, () -> schedulePartitionDAO.createSchedulePartition(LOCKED_SEMESTER_ID));
+            long waitMillis = (System.nanoTime() - start) / 1_000_000;
+            connection.rollback();
+
+            assertAll(
+                    () -> assertTrue(waitMillis < 10000, "Waited for lock " + waitMillis + " ms"),
+                    () -> assertNull(jdbcTemplate.queryForObject("SELECT get_schedule_partition(?)::text", String.class, LOCKED_SEMESTER_ID))
+            );
+        }
+    }
+
+    private void addSemester(String semesterId) {
+        schedulePartitionDAO.createSchedulePartition(semesterId);
+        transactionTemplate.execute(status -> semesterDAO.addRecord(Semester.builder()
+                .semesterId(semesterId)
+                .semesterName("Partition semester")
+                .semesterYear(2030)
+                .semesterStartTime(1893456000L)
+                .semesterEndTime(1906502400L)
+                .build()));
+    }
+
+    private Integer insertScheduleEntry() {
+        return insertScheduleEntry(SEMESTER_ID);
+    }
+
+    private Integer insertScheduleEntry(String semesterId) {
+        return jdbcTemplate.queryForObject("INSERT INTO schedule_of_classes (student_id, course_id, time, location, semester_id) VALUES (?, ?, 1893456000000, 'Room P1', ?) RETURNING entry_id",
+                Integer.class, studentId, courseId, semesterId);
+    }
+}
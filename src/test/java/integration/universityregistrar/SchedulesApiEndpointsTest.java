@@ -14,6 +14,7 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.context.web.WebAppConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
@@ -21,6 +22,7 @@ import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.TimeZone;
 
@@ -79,6 +81,73 @@ public class SchedulesApiEndpointsTest {
                 .andExpect(jsonPath("$.responseBody", hasSize(5)));
     }
 
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    public void getScheduleEntriesPageShouldReturnPageAndNextCursor() throws Exception {
+        mvc.perform(get("/api/schedules").param("after", "1").param("limit", "2")).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responseBody", hasSize(2)))
+                .andExpect(jsonPath("$.responseBody[0].entryId", is(2)))
+                .andExpect(jsonPath("$.responseBody[1].entryId", is(3)))
+                .andExpect(jsonPath("$.nextCursor", equalTo("3")));
+
+        mvc.perform(get("/api/schedules").param("after", "3").param("limit", "2")).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responseBody", hasSize(2)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    public void getScheduleEntriesPageWithInvalidCursorShouldReturnBadRequest() throws Exception {
+        mvc.perform(get("/api/schedules").param("after", "abc")).andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    public void exportScheduleEntriesShouldStreamAllScheduleEntries() throws Exception {
+        MvcResult mvcResult = mvc.perform(get("/api/schedules/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(mvcResult)).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responseBody").isArray())
+                .andExpect(jsonPath("$.responseBody", hasSize(5)))
+                .andExpect(jsonPath("$.responseBody[0].entryId", is(1)));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    public void getScheduleEntriesWithFiltersShouldStreamMatchingScheduleEntriesInTimeOrder() throws Exception {
+        MvcResult mvcResult = mvc.perform(get("/api/schedules")
+                .param("from", "1609855628000")
+                .param("to", "1609855628001")
+                .param("location", "room a1")
+                .param("lecturerId", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(mvcResult)).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responseBody", hasSize(5)))
+                .andExpect(jsonPath("$.responseBody[0].entryId", is(1)))
+                .andExpect(jsonPath("$.responseBody[4].entryId", is(5)));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    public void getScheduleEntriesOutsideOfTimeRangeShouldStreamEmptyList() throws Exception {
+        MvcResult mvcResult = mvc.perform(get("/api/schedules").param("from", "1609855628001"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(mvcResult)).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responseBody", hasSize(0)));
+    }
+
     @Test
     @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
     public void getScheduleEntryShouldReturnSingleScheduleEntry() throws Exception {
@@ -112,6 +181,44 @@ public class SchedulesApiEndpointsTest {
                 .andExpect(jsonPath("$.message", is(expectedMessage)));
     }
 
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    public void getScheduleEntryWithFieldsAndExpansionsShouldReturnShapedScheduleEntry() throws Exception {
+        mvc.perform(get("/api/schedules/{id}", 1).param("fields", "time").param("expand", "course,lecturer"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responseBody.entryId", is(1)))
+                .andExpect(jsonPath("$.responseBody.time").exists())
+                .andExpect(jsonPath("$.responseBody.location").doesNotExist())
+                .andExpect(jsonPath("$.responseBody.courseId").doesNotExist())
+                .andExpect(jsonPath("$.responseBody.course.courseId", is(1)))
+                .andExpect(jsonPath("$.responseBody.course.courseTitle", is("Computer Science 101")))
+                .andExpect(jsonPath("$.responseBody.lecturer.lecturerName", is("John Doe")))
+                .andExpect(jsonPath("$.responseBody.student").doesNotExist());
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    public void getScheduleEntriesPageWithFieldsShouldReturnShapedPageAndNextCursor() throws Exception {
+        mvc.perform(get("/api/schedules").param("limit", "2").param("fields", "location")).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responseBody", hasSize(2)))
+                .andExpect(jsonPath("$.responseBody[0].entryId", is(1)))
+                .andExpect(jsonPath("$.responseBody[0].location").exists())
+                .andExpect(jsonPath("$.responseBody[0].time").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor", equalTo("2")));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    public void getScheduleEntryWithUnknownFieldOrExpansionShouldReturnBadRequest() throws Exception {
+        mvc.perform(get("/api/schedules/{id}", 1).param("fields", "password")).andDo(print())
+                .andExpect(status().isBadRequest());
+
+        mvc.perform(get("/api/schedules/{id}", 1).param("expand", "academicRank")).andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
     public void addScheduleEntryShouldReturnScheduleEntryWithEntryId() throws Exception {
@@ -137,6 +244,66 @@ public class SchedulesApiEndpointsTest {
                 .andExpect(jsonPath("$.responseBody.time", equalTo(expectedTime)));
     }
 
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    public void addScheduleEntriesShouldReturnGeneratedIds() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+
+        dummyScheduleEntryDTO.setTime(new Date(LocalDateTime.now().plusDays(30).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+        ScheduleEntryDTO secondScheduleEntryToAdd = ScheduleEntryDTO.builder()
+                .studentId(1)
+                .lecturerId(1)
+                .courseId(4)
+                .time(dummyScheduleEntryDTO.getTime())
+                .location("Room B1")
+                .semesterId("FAL2020")
+                .build();
+
+        String scheduleEntriesJson = mapper.writeValueAsString(Arrays.asList(dummyScheduleEntryDTO, secondScheduleEntryToAdd));
+
+        mvc.perform(post("/api/schedules/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(scheduleEntriesJson))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.responseBody", hasSize(2)))
+                .andExpect(jsonPath("$.responseBody[0].status", is("CREATED")))
+                .andExpect(jsonPath("$.responseBody[0].generatedId", is(6)))
+                .andExpect(jsonPath("$.responseBody[1].generatedId", is(7)));
+
+        mvc.perform(get("/api/schedules"))
+                .andExpect(jsonPath("$.responseBody", hasSize(7)));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    public void addScheduleEntriesWithInvalidEntryShouldReturnRowReport() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+
+        dummyScheduleEntryDTO.setTime(new Date(LocalDateTime.now().plusDays(30).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+        ScheduleEntryDTO invalidScheduleEntry = ScheduleEntryDTO.builder()
+                .studentId(1)
+                .courseId(4)
+                .time(dummyScheduleEntryDTO.getTime())
+                .location("Room B1")
+                .semesterId("FAL2020")
+                .build();
+
+        String scheduleEntriesJson = mapper.writeValueAsString(Arrays.asList(dummyScheduleEntryDTO, invalidScheduleEntry));
+
+        mvc.perform(post("/api/schedules/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(scheduleEntriesJson))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.responseBody[0].status", is("SKIPPED")))
+                .andExpect(jsonPath("$.responseBody[1].status", is("INVALID")))
+                .andExpect(jsonPath("$.responseBody[1].errors", hasItem("lecturerId must not be empty")));
+
+        mvc.perform(get("/api/schedules"))
+                .andExpect(jsonPath("$.responseBody", hasSize(5)));
+    }
+
     @Test
     @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
     public void addScheduleEntryShouldReturnAlreadyExistsMessage() throws Exception {
@@ -189,7 +356,8 @@ public class SchedulesApiEndpointsTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(scheduleEntryJson))
                 .andExpect(status().isCreated())
-                .andExpect(jsonPath("$.message", containsString("WARNING: Course begins in less than 5 days, but student is not active")))
+                .andExpect(jsonPath("$.message", is("item successfully added")))
+                .andExpect(jsonPath("$.warnings", hasItem("Course begins in less than 5 days, but student is not active!")))
                 .andExpect(jsonPath("$.responseBody.entryId", is((6))))
                 .andExpect(jsonPath("$.responseBody.studentId", is(scheduleEntryToAdd.getStudentId())))
                 .andExpect(jsonPath("$.responseBody.lecturerId", is(scheduleEntryToAdd.getLecturerId())))
@@ -215,7 +383,8 @@ public class SchedulesApiEndpointsTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(scheduleEntryJson))
                 .andExpect(status().isCreated())
-                .andExpect(jsonPath("$.message", containsString("WARNING: Student has taken more than 5 courses in single semester!")))
+                .andExpect(jsonPath("$.message", is("item successfully added")))
+                .andExpect(jsonPath("$.warnings", hasItem("Student has taken more than 5 courses in single semester!")))
                 .andExpect(jsonPath("$.responseBody.entryId", is(6)))
                 .andExpect(jsonPath("$.responseBody.studentId", is(scheduleEntryToAdd.getStudentId())))
                 .andExpect(jsonPath("$.responseBody.lecturerId", is(scheduleEntryToAdd.getLecturerId())))
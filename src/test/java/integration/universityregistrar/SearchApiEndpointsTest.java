@@ -0,0 +1,78 @@
+package integration.universityregistrar;
+
+import com.rdlab.universityregistrar.configuration.test.IntegrationTestContextConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {IntegrationTestContextConfiguration.class})
+@WebAppConfiguration
+public class SearchApiEndpointsTest {
+
+    @Autowired
+    private WebApplicationContext wac;
+    private MockMvc mvc;
+
+    @BeforeEach
+    public void setup() {
+        mvc = MockMvcBuilders.webAppContextSetup(wac).build();
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    public void searchShouldReturnHitsOfAllTypes() throws Exception {
+        mvc.perform(get("/api/search?q={searchCriterion}", "o")).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responseBody").isArray())
+                .andExpect(jsonPath("$.responseBody[*].entityType", hasItems("student", "lecturer", "course")));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    public void searchShouldReturnTypedHits() throws Exception {
+        mvc.perform(get("/api/search?q={searchCriterion}", "John"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responseBody", hasSize(1)))
+                .andExpect(jsonPath("$.responseBody[0].entityType", is("lecturer")))
+                .andExpect(jsonPath("$.responseBody[0].entityId", is("1")))
+                .andExpect(jsonPath("$.responseBody[0].title", is("John Doe")));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    public void searchShouldRespectLimit() throws Exception {
+        mvc.perform(get("/api/search?q={searchCriterion}&limit={limit}", "Computer", 2))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responseBody", hasSize(2)));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    public void searchWithoutWordsShouldReturnBadRequest() throws Exception {
+        String expectedMessage = "invalid input";
+
+        mvc.perform(get("/api/search?q={searchCriterion}", "%"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is(expectedMessage)));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        mvc = null;
+    }
+}
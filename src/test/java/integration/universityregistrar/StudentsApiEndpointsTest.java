@@ -310,6 +310,51 @@ public class StudentsApiEndpointsTest {
                 .andExpect(jsonPath("$.responseBody[0].studentName", equalTo(sampleStudentDTO.getStudentName())));
     }
 
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    public void getStudentScheduleShouldReturnEntriesWithEmbeddedDetails() throws Exception {
+        mvc.perform(get("/api/students/{id}/schedule", sampleStudentDTO.getStudentId()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/")))
+                .andExpect(header().string("Cache-Control", containsString("max-age")))
+                .andExpect(jsonPath("$.responseBody", hasSize(5)))
+                .andExpect(jsonPath("$.responseBody[0].entryId", is(1)))
+                .andExpect(jsonPath("$.responseBody[0].course.courseTitle", is("Computer Science 101")))
+                .andExpect(jsonPath("$.responseBody[0].lecturer.lecturerName", is("John Doe")))
+                .andExpect(jsonPath("$.responseBody[0].lecturer.numericAcademicRank", is(1)))
+                .andExpect(jsonPath("$.responseBody[0].semester.semesterId", is("FAL2020")));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    public void getStudentScheduleShouldReturnNotModifiedForMatchingETag() throws Exception {
+        String eTag = mvc.perform(get("/api/students/{id}/schedule", sampleStudentDTO.getStudentId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mvc.perform(get("/api/students/{id}/schedule", sampleStudentDTO.getStudentId()).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    public void getStudentScheduleShouldFilterEntriesBySemester() throws Exception {
+        mvc.perform(get("/api/students/{id}/schedule?semesterId={semesterId}", sampleStudentDTO.getStudentId(), "SUM2020"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responseBody", hasSize(0)));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    public void getStudentScheduleShouldReturnNotFoundMessage() throws Exception {
+        mvc.perform(get("/api/students/{id}/schedule", 35))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("item of requested type with such id not found")));
+    }
+
     @AfterEach
     public void cleanUp() {
         sampleStudentDTO = null;
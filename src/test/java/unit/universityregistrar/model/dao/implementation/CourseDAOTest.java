@@ -1,6 +1,7 @@
 package unit.universityregistrar.model.dao.implementation;
 
 import com.rdlab.universityregistrar.configuration.test.HibernateDaoTestContextConfiguration;
+import com.rdlab.universityregistrar.model.dao.BatchInsertException;
 import com.rdlab.universityregistrar.model.dao.DAO;
 import com.rdlab.universityregistrar.model.entity.Course;
 import org.junit.jupiter.api.AfterEach;
@@ -13,6 +14,7 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -20,6 +22,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.samePropertyValuesAs;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(classes = {HibernateDaoTestContextConfiguration.class})
@@ -73,6 +76,23 @@ public class CourseDAOTest {
         assertThat(courseToCompare, samePropertyValuesAs(courseToAdd));
     }
 
+    @Test
+    @Transactional
+    public void testAddCoursesReportsRecordViolatingConstraint() {
+        Course newCourse = Course.builder()
+                .courseTitle("Mathematics 1062")
+                .courseDescription("Prerequisites:")
+                .build();
+        Course duplicateCourse = Course.builder()
+                .courseTitle("Computer Science 101")
+                .courseDescription("Prerequisites:")
+                .build();
+
+        BatchInsertException exception = assertThrows(BatchInsertException.class, () -> dao.addRecords(Arrays.asList(newCourse, duplicateCourse)));
+
+        assertEquals(1, exception.getRecordIndex());
+    }
+
     @Test
     @Transactional
     public void testUpdateCourse() {
@@ -108,6 +128,14 @@ public class CourseDAOTest {
         assertThat(foundCourses.isEmpty(), equalTo(false));
     }
 
+    @Test
+    @Transactional
+    public void testSearchCoursesMatchesWildcardsLiterally() {
+        List<Course> foundCourses = dao.searchRecords("Science_10%");
+
+        assertThat(foundCourses.isEmpty(), equalTo(true));
+    }
+
     @AfterEach
     @Transactional
     public void cleanUp() {
@@ -0,0 +1,80 @@
+package unit.universityregistrar.model.dao.implementation;
+
+import com.rdlab.universityregistrar.configuration.test.HibernateDaoTestContextConfiguration;
+import com.rdlab.universityregistrar.model.dao.DAO;
+import com.rdlab.universityregistrar.model.entity.Course;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.Tuple;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that projection reads of reference entities, which serve API endpoints, are served from query cache
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {HibernateDaoTestContextConfiguration.class})
+@TestPropertySource(properties = {
+        "hibernate.generate_statistics=true",
+        "hibernate.cache.use_second_level_cache=true",
+        "hibernate.cache.use_query_cache=true",
+        "hibernate.cache.region.factory_class=jcache",
+        "hibernate.javax.cache.provider=org.ehcache.jsr107.EhcacheCachingProvider",
+        "hibernate.javax.cache.uri=db/ehcache.xml"
+})
+public class ReferenceQueryCacheTest {
+    @Autowired
+    private DAO<Course> dao;
+    @Autowired
+    private SessionFactory sessionFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        sessionFactory.getCache().evictQueryRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void testRepeatedProjectionsPageIsServedFromQueryCache() {
+        List<Tuple> firstPage = transactionTemplate.execute(status -> dao.getRecordProjectionsPage(null, 3).getRecords());
+        List<Tuple> cachedPage = transactionTemplate.execute(status -> dao.getRecordProjectionsPage(null, 3).getRecords());
+
+        assertAll(
+                () -> assertEquals(firstPage.size(), cachedPage.size()),
+                () -> assertEquals(firstPage.get(0).get("courseTitle"), cachedPage.get(0).get("courseTitle")),
+                () -> assertEquals(1, statistics.getQueryCachePutCount()),
+                () -> assertEquals(1, statistics.getQueryCacheHitCount())
+        );
+    }
+
+    @Test
+    public void testRepeatedProjectionsSearchIsServedFromQueryCache() {
+        List<Tuple> foundRecords = transactionTemplate.execute(status -> dao.searchRecordProjections("Computer"));
+        List<Tuple> cachedRecords = transactionTemplate.execute(status -> dao.searchRecordProjections("Computer"));
+
+        assertAll(
+                () -> assertEquals(foundRecords.size(), cachedRecords.size()),
+                () -> assertEquals(1, statistics.getQueryCachePutCount()),
+                () -> assertEquals(1, statistics.getQueryCacheHitCount())
+        );
+    }
+}
@@ -2,8 +2,10 @@ package unit.universityregistrar.model.dao.implementation;
 
 import com.rdlab.universityregistrar.configuration.test.HibernateDaoTestContextConfiguration;
 import com.rdlab.universityregistrar.model.dao.DAO;
+import com.rdlab.universityregistrar.model.dao.RecordsPage;
 import com.rdlab.universityregistrar.model.dao.implementation.ScheduleEntryDAOImpl;
 import com.rdlab.universityregistrar.model.entity.*;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,19 +16,27 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.Tuple;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.samePropertyValuesAs;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(classes = {HibernateDaoTestContextConfiguration.class})
 public class ScheduleEntryDAOTest {
     @Autowired
     private DAO<ScheduleEntry> dao;
+    @Autowired
+    private SessionFactory sessionFactory;
 
     private ScheduleEntry defaultScheduleEntry;
     private ScheduleEntry dummyScheduleEntry;
@@ -61,6 +71,15 @@ public class ScheduleEntryDAOTest {
         assertThat(scheduleEntries.isEmpty(), equalTo(false));
     }
 
+    @Test
+    @Transactional
+    public void testScrollAllScheduleEntryProjections() {
+        List<Integer> scrolledEntryIds = new ArrayList<>();
+        dao.scrollAllRecordProjections(projection -> scrolledEntryIds.add(projection.get("entryId", Integer.class)));
+
+        assertThat(scrolledEntryIds, equalTo(dao.getAllRecords().stream().map(ScheduleEntry::getEntryId).collect(Collectors.toList())));
+    }
+
     @Test
     @Transactional
     public void testGetScheduleEntry() {
@@ -76,6 +95,54 @@ public class ScheduleEntryDAOTest {
         );
     }
 
+    @Test
+    @Transactional
+    public void testGetAllScheduleEntryProjections() {
+        List<Tuple> scheduleEntryProjections = dao.getAllRecordProjections();
+
+        assertThat(scheduleEntryProjections.stream().map(projection -> projection.get("entryId", Integer.class)).collect(Collectors.toList()),
+                equalTo(dao.getAllRecords().stream().map(ScheduleEntry::getEntryId).collect(Collectors.toList())));
+    }
+
+    @Test
+    @Transactional
+    public void testScheduleEntryProjectionsAreNotManaged() {
+        sessionFactory.getCurrentSession().clear();
+
+        dao.getAllRecordProjections();
+
+        assertEquals(0, sessionFactory.getCurrentSession().getStatistics().getEntityCount());
+    }
+
+    @Test
+    @Transactional
+    public void testGetScheduleEntryProjectionsPage() {
+        RecordsPage<Tuple> firstPage = dao.getRecordProjectionsPage(String.valueOf(defaultScheduleEntry.getEntryId()), 2);
+        RecordsPage<Tuple> lastPage = dao.getRecordProjectionsPage(firstPage.getNextKey(), 10);
+
+        assertAll(
+                ()-> assertThat(firstPage.getRecords().stream().map(projection -> projection.get("entryId", Integer.class)).collect(Collectors.toList()), contains(2, 3)),
+                ()-> assertEquals("3", firstPage.getNextKey()),
+                ()-> assertThat(lastPage.getRecords().stream().map(projection -> projection.get("entryId", Integer.class)).collect(Collectors.toList()), contains(4, 5)),
+                ()-> assertNull(lastPage.getNextKey())
+        );
+    }
+
+    @Test
+    @Transactional
+    public void testGetScheduleEntryProjection() {
+        Tuple projectionToCompare = dao.getRecordProjection(String.valueOf(defaultScheduleEntry.getEntryId()));
+
+        assertAll(
+                ()-> assertEquals(projectionToCompare.get("location", String.class), defaultScheduleEntry.getLocation()),
+                ()-> assertEquals(projectionToCompare.get("time", Long.class), defaultScheduleEntry.getTime()),
+                ()-> assertEquals(projectionToCompare.get("semesterId", String.class), defaultScheduleEntry.getSemester().getSemesterId()),
+                ()-> assertEquals(projectionToCompare.get("studentId", Integer.class), defaultScheduleEntry.getStudent().getStudentId()),
+                ()-> assertEquals(projectionToCompare.get("courseId", Integer.class), defaultScheduleEntry.getCourse().getCourseId()),
+                ()-> assertEquals(projectionToCompare.get("lecturerId", Integer.class), defaultScheduleEntry.getLecturer().getLecturerId())
+        );
+    }
+
     @Test
     @Transactional
     public void testAddScheduleEntry() {
@@ -92,6 +159,29 @@ public class ScheduleEntryDAOTest {
         );
     }
 
+    @Test
+    @Transactional
+    public void testAddScheduleEntries() {
+        ScheduleEntry secondScheduleEntry = ScheduleEntry.builder()
+                .student(Student.builder().studentId(1).build())
+                .lecturer(Lecturer.builder().lecturerId(1).build())
+                .course(Course.builder().courseId(4).build())
+                .time(99999L)
+                .location("Room C5")
+                .semester(Semester.builder().semesterId("SUM2020").build())
+                .build();
+        int numberOfScheduleEntriesBeforeAddition = dao.getAllRecords().size();
+
+        List<Integer> generatedIds = dao.addRecords(Arrays.asList(dummyScheduleEntry, secondScheduleEntry));
+        ScheduleEntry scheduleEntryToCompare = dao.getRecord(String.valueOf(generatedIds.get(1)));
+
+        assertAll(
+                ()-> assertEquals(2, generatedIds.size()),
+                ()-> assertEquals(numberOfScheduleEntriesBeforeAddition + 2, dao.getAllRecords().size()),
+                ()-> assertEquals(secondScheduleEntry.getCourse().getCourseId(), scheduleEntryToCompare.getCourse().getCourseId())
+        );
+    }
+
     @Test
     @Transactional
     public void testUpdateScheduleEntry() {
@@ -129,6 +219,14 @@ public class ScheduleEntryDAOTest {
         assertThat(foundScheduleEntries.isEmpty(), equalTo(false));
     }
 
+    @Test
+    @Transactional
+    public void testSearchScheduleEntryProjections() {
+        List<Tuple> foundProjections = dao.searchRecordProjections(defaultScheduleEntry.getLocation());
+
+        assertThat(foundProjections.size(), equalTo(dao.searchRecords(defaultScheduleEntry.getLocation()).size()));
+    }
+
     @Test
     @Transactional
     public void testGetNumberOfTakenCoursesForStudent() {
@@ -20,6 +20,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.samePropertyValuesAs;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(classes = {HibernateDaoTestContextConfiguration.class})
@@ -63,6 +64,17 @@ public class StudentDAOTest {
         );
     }
 
+    @Test
+    @Transactional
+    public void testFindStudent() {
+        assertAll(
+                ()-> assertEquals(defaultStudent.getStudentName(), dao.findRecord(String.valueOf(defaultStudent.getStudentId())).get().getStudentName()),
+                ()-> assertEquals(defaultStudent.getStudentName(), dao.findRecordProjection(String.valueOf(defaultStudent.getStudentId())).get().get("studentName")),
+                ()-> assertFalse(dao.findRecord("100").isPresent()),
+                ()-> assertFalse(dao.findRecordProjection("100").isPresent())
+        );
+    }
+
     @Test
     @Transactional
     public void testAddStudent() {
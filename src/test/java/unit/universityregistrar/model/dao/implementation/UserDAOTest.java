@@ -22,6 +22,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.samePropertyValuesAs;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(classes = {HibernateDaoTestContextConfiguration.class})
@@ -70,6 +71,16 @@ public class UserDAOTest {
         );
     }
 
+    @Test
+    @Transactional
+    public void testFindUser() {
+        assertAll(
+                ()-> assertEquals(defaultUser.getPassword(), dao.findRecord(defaultUser.getLogin()).get().getPassword()),
+                ()-> assertFalse(dao.findRecord("missing_login").isPresent()),
+                ()-> assertFalse(dao.findRecordProjection("missing_login").isPresent())
+        );
+    }
+
     @Test
     @Transactional
     public void testGetUserByStudentId() {
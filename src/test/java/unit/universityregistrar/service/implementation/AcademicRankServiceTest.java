@@ -23,6 +23,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.samePropertyValuesAs;
@@ -53,7 +54,7 @@ public class AcademicRankServiceTest {
 
     @Test
     public void testGetAllEntities() {
-        Mockito.when(dao.getAllRecords()).thenReturn(Arrays.asList(sampleRank));
+        Mockito.when(dao.getAllRecordProjections()).thenReturn(Arrays.asList(DTOTuple.of(sampleRankDTO)));
 
         ResponseEntity<Response> result = service.getAllEntities();
 
@@ -65,7 +66,7 @@ public class AcademicRankServiceTest {
 
     @Test
     public void testGetEntity() {
-        Mockito.when(dao.getRecord("1")).thenReturn(sampleRank);
+        Mockito.when(dao.findRecordProjection("1")).thenReturn(Optional.of(DTOTuple.of(sampleRankDTO)));
 
         ResponseEntity<Response> result = service.getEntity("1");
 
@@ -170,7 +171,7 @@ public class AcademicRankServiceTest {
 
     @Test
     public void testSearchEntities() {
-        Mockito.when(dao.searchRecords("Professor")).thenReturn(Collections.singletonList(sampleRank));
+        Mockito.when(dao.searchRecordProjections("Professor")).thenReturn(Collections.singletonList(DTOTuple.of(sampleRankDTO)));
 
         ResponseEntity<Response> result = service.searchForEntities("Professor");
 
@@ -0,0 +1,85 @@
+package unit.universityregistrar.service.implementation;
+
+import com.rdlab.universityregistrar.controller.response.Response;
+import com.rdlab.universityregistrar.model.dao.AnalyticsDAO;
+import com.rdlab.universityregistrar.model.dao.implementation.AnalyticsDAOImpl;
+import com.rdlab.universityregistrar.service.dto.CourseStatisticsDTO;
+import com.rdlab.universityregistrar.service.dto.MostPickedSemesterDTO;
+import com.rdlab.universityregistrar.service.implementation.AnalyticsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnalyticsServiceTest {
+    private AnalyticsServiceImpl service;
+    private AnalyticsDAO analyticsDAO;
+    private CourseStatisticsDTO sampleCourseStatisticsDTO;
+    private MostPickedSemesterDTO sampleMostPickedSemesterDTO;
+
+    @BeforeEach
+    public void setupData() {
+        analyticsDAO = Mockito.mock(AnalyticsDAOImpl.class);
+        service = new AnalyticsServiceImpl(analyticsDAO);
+        service.setRefreshInterval(60000);
+        sampleCourseStatisticsDTO = CourseStatisticsDTO.builder()
+                .courseId(123)
+                .courseTitle("Programming")
+                .numberOfStudents(2L)
+                .numberOfLecturers(1L)
+                .highestNumericRank(3)
+                .highestRankName("Professor")
+                .inactiveUsers(0L)
+                .mostPickedSemester("FAL2020")
+                .build();
+        sampleMostPickedSemesterDTO = MostPickedSemesterDTO.builder()
+                .courseId(123)
+                .semesterId("FAL2020")
+                .timesPicked(2L)
+                .build();
+        Mockito.when(analyticsDAO.getCourseStatistics()).thenReturn(Collections.singletonList(DTOTuple.of(sampleCourseStatisticsDTO)));
+        Mockito.when(analyticsDAO.getMostPickedSemesters()).thenReturn(Collections.singletonList(DTOTuple.of(sampleMostPickedSemesterDTO)));
+    }
+
+    @Test
+    public void testGetCourseStatistics() {
+        ResponseEntity<Response> result = service.getCourseStatistics();
+
+        assertAll(
+                () -> assertEquals(HttpStatus.OK, result.getStatusCode()),
+                () -> assertEquals(Collections.singletonList(sampleCourseStatisticsDTO), result.getBody().getResponseBody()),
+                () -> assertEquals("max-age=60", result.getHeaders().getCacheControl())
+        );
+    }
+
+    @Test
+    public void testGetMostPickedSemesters() {
+        ResponseEntity<Response> result = service.getMostPickedSemesters();
+
+        assertAll(
+                () -> assertEquals(HttpStatus.OK, result.getStatusCode()),
+                () -> assertEquals(Collections.singletonList(sampleMostPickedSemesterDTO), result.getBody().getResponseBody())
+        );
+    }
+
+    @Test
+    public void testAnalyticsAreCachedUntilViewsAreRefreshed() {
+        service.getCourseStatistics();
+        service.getCourseStatistics();
+        service.getMostPickedSemesters();
+        service.refreshViews();
+        service.getCourseStatistics();
+        service.getMostPickedSemesters();
+
+        assertAll(
+                () -> Mockito.verify(analyticsDAO).refreshViews(),
+                () -> Mockito.verify(analyticsDAO, Mockito.times(2)).getCourseStatistics(),
+                () -> Mockito.verify(analyticsDAO, Mockito.times(2)).getMostPickedSemesters()
+        );
+    }
+}
@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.samePropertyValuesAs;
@@ -53,7 +54,7 @@ public class CourseServiceTest {
 
     @Test
     public void testGetAllEntities() {
-        Mockito.when(dao.getAllRecords()).thenReturn(Arrays.asList(sampleCourse));
+        Mockito.when(dao.getAllRecordProjections()).thenReturn(Arrays.asList(DTOTuple.of(sampleCourseDTO)));
 
         ResponseEntity<Response> result = service.getAllEntities();
 
@@ -65,7 +66,7 @@ public class CourseServiceTest {
 
     @Test
     public void testGetEntity() {
-        Mockito.when(dao.getRecord("1")).thenReturn(sampleCourse);
+        Mockito.when(dao.findRecordProjection("1")).thenReturn(Optional.of(DTOTuple.of(sampleCourseDTO)));
 
         ResponseEntity<Response> result = service.getEntity("1");
 
@@ -168,7 +169,7 @@ public class CourseServiceTest {
 
     @Test
     public void testSearchEntities() {
-        Mockito.when(dao.searchRecords("Something something")).thenReturn(Arrays.asList(sampleCourse));
+        Mockito.when(dao.searchRecordProjections("Something something")).thenReturn(Arrays.asList(DTOTuple.of(sampleCourseDTO)));
 
         ResponseEntity<Response> result = service.searchForEntities("Something something");
 
@@ -0,0 +1,71 @@
+package unit.universityregistrar.service.implementation;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+
+import javax.persistence.Tuple;
+import javax.persistence.TupleElement;
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link Tuple} stub holding DTO properties the way projection queries return them:
+ * aliased by DTO property names, dates as epoch millis.
+ */
+public class DTOTuple implements Tuple {
+    private final Map<String, Object> elements = new LinkedHashMap<>();
+
+    private DTOTuple(Object dto) {
+        BeanWrapper beanWrapper = new BeanWrapperImpl(dto);
+        for (PropertyDescriptor descriptor : beanWrapper.getPropertyDescriptors()) {
+            if (descriptor.getReadMethod() == null || "class".equals(descriptor.getName())) {
+                continue;
+            }
+            Object value = beanWrapper.getPropertyValue(descriptor.getName());
+            elements.put(descriptor.getName(), value instanceof Date ? ((Date) value).getTime() : value);
+        }
+    }
+
+    public static Tuple of(Object dto) {
+        return new DTOTuple(dto);
+    }
+
+    @Override
+    public <X> X get(TupleElement<X> tupleElement) {
+        return get(tupleElement.getAlias(), tupleElement.getJavaType());
+    }
+
+    @Override
+    public <X> X get(String alias, Class<X> type) {
+        return type.cast(elements.get(alias));
+    }
+
+    @Override
+    public Object get(String alias) {
+        return elements.get(alias);
+    }
+
+    @Override
+    public <X> X get(int i, Class<X> type) {
+        return type.cast(get(i));
+    }
+
+    @Override
+    public Object get(int i) {
+        return toArray()[i];
+    }
+
+    @Override
+    public Object[] toArray() {
+        return elements.values().toArray();
+    }
+
+    @Override
+    public List<TupleElement<?>> getElements() {
+        return new ArrayList<>();
+    }
+}
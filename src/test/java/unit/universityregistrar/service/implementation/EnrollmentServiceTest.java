@@ -0,0 +1,291 @@
+package unit.universityregistrar.service.implementation;
+
+import com.rdlab.universityregistrar.controller.response.Response;
+import com.rdlab.universityregistrar.model.dao.EnrollmentDAO;
+import com.rdlab.universityregistrar.model.dao.implementation.EnrollmentDAOImpl;
+import com.rdlab.universityregistrar.service.ServiceFunctionality;
+import com.rdlab.universityregistrar.service.dto.CourseCapacityDTO;
+import com.rdlab.universityregistrar.service.dto.ScheduleEntryDTO;
+import com.rdlab.universityregistrar.service.dto.WaitlistEntryDTO;
+import com.rdlab.universityregistrar.service.event.SeatReleasedEvent;
+import com.rdlab.universityregistrar.service.implementation.EnrollmentServiceImpl;
+import com.rdlab.universityregistrar.service.implementation.ScheduleEntryServiceImpl;
+import com.rdlab.universityregistrar.service.mapper.ScheduleEntryDTOEntityMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.ObjectError;
+
+import javax.persistence.PersistenceException;
+import javax.persistence.Tuple;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EnrollmentServiceTest {
+    private EnrollmentServiceImpl service;
+    private EnrollmentDAO enrollmentDAO;
+    private ServiceFunctionality<ScheduleEntryDTO> scheduleEntryService;
+    private ScheduleEntryDTO sampleScheduleEntryDTO;
+    private BindingResult bindingResult;
+
+    @BeforeEach
+    public void setupData() {
+        enrollmentDAO = Mockito.mock(EnrollmentDAOImpl.class);
+        scheduleEntryService = Mockito.mock(ScheduleEntryServiceImpl.class);
+        service = new EnrollmentServiceImpl(enrollmentDAO, scheduleEntryService);
+        service.setScheduleEntryMapper(Mappers.getMapper(ScheduleEntryDTOEntityMapper.class));
+        service.setTransactionManager(Mockito.mock(PlatformTransactionManager.class));
+        sampleScheduleEntryDTO = ScheduleEntryDTO.builder()
+                .studentId(1)
+                .lecturerId(1)
+                .courseId(3)
+                .time(new Date(1661078705000L))
+                .location("Room H3")
+                .semesterId("FAL2020")
+                .build();
+        bindingResult = new BeanPropertyBindingResult(sampleScheduleEntryDTO, "sampleScheduleEntryDTO");
+        Mockito.when(scheduleEntryService.addEntity(Mockito.any(), Mockito.any())).thenReturn(new ResponseEntity<>(Response.builder().build(), HttpStatus.CREATED));
+    }
+
+    @Test
+    public void testEnrollToCourseWithUnlimitedSeats() {
+        Mockito.when(enrollmentDAO.lockCourseCapacity(3, "FAL2020")).thenReturn(Optional.empty());
+
+        ResponseEntity<Response> result = service.enroll(sampleScheduleEntryDTO, bindingResult);
+
+        assertAll(
+                () -> assertEquals(HttpStatus.CREATED, result.getStatusCode()),
+                () -> Mockito.verify(scheduleEntryService).addEntity(sampleScheduleEntryDTO, bindingResult),
+                () -> Mockito.verify(enrollmentDAO, Mockito.never()).addWaitlistEntry(Mockito.any())
+        );
+    }
+
+    @Test
+    public void testEnrollToCourseWithFreeSeat() {
+        Mockito.when(enrollmentDAO.lockCourseCapacity(3, "FAL2020")).thenReturn(Optional.of(capacity(2, 1)));
+
+        ResponseEntity<Response> result = service.enroll(sampleScheduleEntryDTO, bindingResult);
+
+        assertAll(
+                () -> assertEquals(HttpStatus.CREATED, result.getStatusCode()),
+                () -> Mockito.verify(enrollmentDAO, Mockito.never()).addWaitlistEntry(Mockito.any())
+        );
+    }
+
+    @Test
+    public void testEnrollToFullCourse() {
+        Mockito.when(enrollmentDAO.lockCourseCapacity(3, "FAL2020")).thenReturn(Optional.of(capacity(2, 2)));
+        Mockito.when(enrollmentDAO.addWaitlistEntry(Mockito.any())).thenReturn(7);
+        Mockito.when(enrollmentDAO.getWaitlistPosition(7)).thenReturn(3L);
+
+        ResponseEntity<Response> result = service.enroll(sampleScheduleEntryDTO, bindingResult);
+
+        WaitlistEntryDTO waitlistEntry = (WaitlistEntryDTO) Objects.requireNonNull(result.getBody()).getResponseBody();
+        assertAll(
+                () -> assertEquals(HttpStatus.ACCEPTED, result.getStatusCode()),
+                () -> assertEquals(7, waitlistEntry.getWaitlistEntryId()),
+                () -> assertEquals(3L, waitlistEntry.getPosition()),
+                () -> assertEquals(sampleScheduleEntryDTO.getStudentId(), waitlistEntry.getStudentId()),
+                () -> Mockito.verify(scheduleEntryService, Mockito.never()).addEntity(Mockito.any(), Mockito.any())
+        );
+    }
+
+    @Test
+    public void testEnrollToCourseWithFreeSeatAndWaitlist() {
+        Mockito.when(enrollmentDAO.lockCourseCapacity(3, "FAL2020")).thenReturn(Optional.of(capacity(2, 1)));
+        Mockito.when(enrollmentDAO.hasWaitlistedStudents(3, "FAL2020")).thenReturn(true);
+        Mockito.when(enrollmentDAO.addWaitlistEntry(Mockito.any())).thenReturn(7);
+
+        ResponseEntity<Response> result = service.enroll(sampleScheduleEntryDTO, bindingResult);
+
+        assertEquals(HttpStatus.ACCEPTED, result.getStatusCode());
+    }
+
+    @Test
+    public void testEnrollAlreadyEnrolledStudentToFullCourse() {
+        Mockito.when(enrollmentDAO.lockCourseCapacity(3, "FAL2020")).thenReturn(Optional.of(capacity(2, 2)));
+        Mockito.when(enrollmentDAO.isStudentEnrolled(1, 3, "FAL2020")).thenReturn(true);
+
+        ResponseEntity<Response> result = service.enroll(sampleScheduleEntryDTO, bindingResult);
+
+        assertAll(
+                () -> assertEquals(HttpStatus.CREATED, result.getStatusCode()),
+                () -> Mockito.verify(enrollmentDAO, Mockito.never()).addWaitlistEntry(Mockito.any())
+        );
+    }
+
+    @Test
+    public void testEnrollWithValidationConstraints() {
+        bindingResult.addError(new ObjectError("studentId", "studentId must not be empty"));
+
+        ResponseEntity<Response> result = service.enroll(sampleScheduleEntryDTO, bindingResult);
+
+        assertAll(
+                () -> assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode()),
+                () -> Mockito.verify(enrollmentDAO, Mockito.never()).lockCourseCapacity(Mockito.any(), Mockito.any())
+        );
+    }
+
+    @Test
+    public void testPromoteWaitlistedStudents() {
+        Mockito.when(enrollmentDAO.lockCourseCapacity(3, "FAL2020")).thenReturn(Optional.of(capacity(3, 1)));
+        Mockito.when(enrollmentDAO.pollWaitlistEntry(3, "FAL2020"))
+                .thenReturn(Optional.of(waitlistEntry(1, 11)))
+                .thenReturn(Optional.of(waitlistEntry(2, 12)))
+                .thenReturn(Optional.of(waitlistEntry(3, 13)));
+        Mockito.when(scheduleEntryService.addEntity(Mockito.argThat(dto -> dto != null && dto.getStudentId() == 12), Mockito.any()))
+                .thenReturn(new ResponseEntity<>(Response.builder().build(), HttpStatus.CONFLICT));
+
+        int result = service.promoteWaitlistedStudents(3, "FAL2020");
+
+        assertAll(
+                () -> assertEquals(2, result),
+                () -> Mockito.verify(enrollmentDAO, Mockito.times(3)).pollWaitlistEntry(3, "FAL2020"),
+                () -> Mockito.verify(scheduleEntryService, Mockito.times(3)).addEntity(Mockito.any(), Mockito.any())
+        );
+    }
+
+    @Test
+    public void testPromoteWaitlistedStudentsStopsAtEmptyWaitlist() {
+        Mockito.when(enrollmentDAO.lockCourseCapacity(3, "FAL2020")).thenReturn(Optional.of(capacity(5, 0)));
+        Mockito.when(enrollmentDAO.pollWaitlistEntry(3, "FAL2020"))
+                .thenReturn(Optional.of(waitlistEntry(1, 11)))
+                .thenReturn(Optional.empty());
+
+        int result = service.promoteWaitlistedStudents(3, "FAL2020");
+
+        assertEquals(1, result);
+    }
+
+    @Test
+    public void testPromoteWaitlistedStudentsOfFullCourse() {
+        Mockito.when(enrollmentDAO.lockCourseCapacity(3, "FAL2020")).thenReturn(Optional.of(capacity(2, 2)));
+
+        int result = service.promoteWaitlistedStudents(3, "FAL2020");
+
+        assertAll(
+                () -> assertEquals(0, result),
+                () -> Mockito.verify(enrollmentDAO, Mockito.never()).pollWaitlistEntry(Mockito.any(), Mockito.any())
+        );
+    }
+
+    @Test
+    public void testPromoteWaitlistedStudentsDeletesEntryFailingInDatabase() {
+        Mockito.when(enrollmentDAO.lockCourseCapacity(3, "FAL2020")).thenReturn(Optional.of(capacity(2, 1)));
+        Mockito.when(enrollmentDAO.pollWaitlistEntry(3, "FAL2020"))
+                .thenReturn(Optional.of(waitlistEntry(1, 11)))
+                .thenReturn(Optional.of(waitlistEntry(2, 12)));
+        Mockito.when(scheduleEntryService.addEntity(Mockito.argThat(dto -> dto != null && dto.getStudentId() == 11), Mockito.any()))
+                .thenThrow(new PersistenceException("conflicting schedule entry"));
+
+        int result = service.promoteWaitlistedStudents(3, "FAL2020");
+
+        assertAll(
+                () -> assertEquals(1, result),
+                () -> Mockito.verify(enrollmentDAO).deleteWaitlistEntry(1),
+                () -> Mockito.verify(scheduleEntryService).addEntity(Mockito.argThat(dto -> dto != null && dto.getStudentId() == 12), Mockito.any())
+        );
+    }
+
+    @Test
+    public void testOnSeatReleased() {
+        Mockito.when(enrollmentDAO.lockCourseCapacity(3, "FAL2020")).thenReturn(Optional.of(capacity(2, 1)));
+        Mockito.when(enrollmentDAO.pollWaitlistEntry(3, "FAL2020")).thenReturn(Optional.of(waitlistEntry(1, 11)));
+
+        service.onSeatReleased(new SeatReleasedEvent(3, "FAL2020"));
+
+        Mockito.verify(scheduleEntryService).addEntity(Mockito.argThat(dto -> dto != null && dto.getStudentId() == 11), Mockito.any());
+    }
+
+    @Test
+    public void testUpdateCourseCapacity() {
+        CourseCapacityDTO courseCapacity = CourseCapacityDTO.builder().courseId(3).semesterId("FAL2020").capacity(30).build();
+        Mockito.when(enrollmentDAO.lockCourseCapacity(3, "FAL2020")).thenReturn(Optional.of(capacity(30, 10)));
+        Mockito.when(enrollmentDAO.pollWaitlistEntry(3, "FAL2020")).thenReturn(Optional.empty());
+        Mockito.when(enrollmentDAO.findCourseCapacity(3, "FAL2020")).thenReturn(Optional.of(DTOTuple.of(CourseCapacityDTO.builder()
+                .courseId(3).semesterId("FAL2020").capacity(30).enrolledCount(10).waitlistLength(0L).build())));
+
+        ResponseEntity<Response> result = service.updateCourseCapacity(courseCapacity, new BeanPropertyBindingResult(courseCapacity, "courseCapacity"));
+
+        assertAll(
+                () -> assertEquals(HttpStatus.OK, result.getStatusCode()),
+                () -> assertEquals(10, ((CourseCapacityDTO) Objects.requireNonNull(result.getBody()).getResponseBody()).getEnrolledCount()),
+                () -> Mockito.verify(enrollmentDAO).saveCourseCapacity(3, "FAL2020", 30)
+        );
+    }
+
+    @Test
+    public void testGetCourseCapacityNotFound() {
+        Mockito.when(enrollmentDAO.findCourseCapacity(3, "FAL2020")).thenReturn(Optional.empty());
+
+        ResponseEntity<Response> result = service.getCourseCapacity(3, "FAL2020");
+
+        assertEquals(HttpStatus.NOT_FOUND, result.getStatusCode());
+    }
+
+    @Test
+    public void testGetWaitlist() {
+        Mockito.when(enrollmentDAO.getWaitlist(3, "FAL2020")).thenReturn(Arrays.asList(waitlistEntry(1, 11), waitlistEntry(2, 12)));
+
+        ResponseEntity<Response> result = service.getWaitlist(3, "FAL2020");
+
+        List<WaitlistEntryDTO> waitlist = (List<WaitlistEntryDTO>) Objects.requireNonNull(result.getBody()).getResponseBody();
+        assertAll(
+                () -> assertEquals(2, waitlist.size()),
+                () -> assertEquals(2L, waitlist.get(1).getPosition()),
+                () -> assertEquals(12, waitlist.get(1).getStudentId())
+        );
+    }
+
+    @Test
+    public void testLeaveWaitlist() {
+        Mockito.when(enrollmentDAO.deleteWaitlistEntry(1)).thenReturn(1);
+
+        ResponseEntity<Response> result = service.leaveWaitlist(1);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+    }
+
+    @Test
+    public void testLeaveWaitlistNotFound() {
+        Mockito.when(enrollmentDAO.deleteWaitlistEntry(1)).thenReturn(0);
+
+        ResponseEntity<Response> result = service.leaveWaitlist(1);
+
+        assertEquals(HttpStatus.NOT_FOUND, result.getStatusCode());
+    }
+
+    private static Tuple capacity(int capacity, int enrolledCount) {
+        return DTOTuple.of(CourseCapacityDTO.builder().capacity(capacity).enrolledCount(enrolledCount).build());
+    }
+
+    private Tuple waitlistEntry(int waitlistEntryId, int studentId) {
+        return DTOTuple.of(WaitlistEntryDTO.builder()
+                .waitlistEntryId(waitlistEntryId)
+                .studentId(studentId)
+                .lecturerId(sampleScheduleEntryDTO.getLecturerId())
+                .courseId(sampleScheduleEntryDTO.getCourseId())
+                .time(sampleScheduleEntryDTO.getTime())
+                .location(sampleScheduleEntryDTO.getLocation())
+                .semesterId(sampleScheduleEntryDTO.getSemesterId())
+                .requestedAt(new Date())
+                .build());
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        service = null;
+        enrollmentDAO = null;
+        scheduleEntryService = null;
+        sampleScheduleEntryDTO = null;
+        bindingResult = null;
+    }
+}
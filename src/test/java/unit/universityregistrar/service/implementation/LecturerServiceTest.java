@@ -52,7 +52,7 @@ public class LecturerServiceTest {
 
     @Test
     public void testGetAllEntities() {
-        Mockito.when(dao.getAllRecords()).thenReturn(Arrays.asList(sampleLecturer));
+        Mockito.when(dao.getAllRecordProjections()).thenReturn(Arrays.asList(DTOTuple.of(sampleLecturerDTO)));
 
         ResponseEntity<Response> result = service.getAllEntities();
 
@@ -64,7 +64,7 @@ public class LecturerServiceTest {
 
     @Test
     public void testGetEntity() {
-        Mockito.when(dao.getRecord("1")).thenReturn(sampleLecturer);
+        Mockito.when(dao.findRecordProjection("1")).thenReturn(Optional.of(DTOTuple.of(sampleLecturerDTO)));
 
         ResponseEntity<Response> result = service.getEntity("1");
 
@@ -167,7 +167,7 @@ public class LecturerServiceTest {
 
     @Test
     public void testSearchEntities() {
-        Mockito.when(dao.searchRecords("John")).thenReturn(Arrays.asList(sampleLecturer));
+        Mockito.when(dao.searchRecordProjections("John")).thenReturn(Arrays.asList(DTOTuple.of(sampleLecturerDTO)));
 
         ResponseEntity<Response> result = service.searchForEntities("John");
 
@@ -1,31 +1,50 @@
 package unit.universityregistrar.service.implementation;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rdlab.universityregistrar.controller.response.BatchRowReport;
 import com.rdlab.universityregistrar.controller.response.Response;
+import com.rdlab.universityregistrar.model.dao.BatchInsertException;
 import com.rdlab.universityregistrar.model.dao.DAO;
+import com.rdlab.universityregistrar.model.dao.RecordsPage;
 import com.rdlab.universityregistrar.model.dao.implementation.ScheduleEntryDAOImpl;
 import com.rdlab.universityregistrar.model.dao.implementation.UserDAOImpl;
 import com.rdlab.universityregistrar.model.entity.*;
 import com.rdlab.universityregistrar.service.AbstractService;
+import com.rdlab.universityregistrar.service.dto.ScheduleConflictDTO;
 import com.rdlab.universityregistrar.service.dto.ScheduleEntryDTO;
+import com.rdlab.universityregistrar.service.event.SeatReleasedEvent;
 import com.rdlab.universityregistrar.service.implementation.ScheduleEntryServiceImpl;
+import com.rdlab.universityregistrar.service.implementation.TimetableConflictDetector;
 import com.rdlab.universityregistrar.service.mapper.DTOEntityMapper;
 import com.rdlab.universityregistrar.service.mapper.ScheduleEntryDTOEntityMapper;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
 
+import javax.persistence.NoResultException;
+import javax.persistence.Tuple;
+import javax.validation.Validation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.samePropertyValuesAs;
@@ -47,6 +66,8 @@ public class ScheduleEntryServiceTest {
         mapper = Mappers.getMapper(ScheduleEntryDTOEntityMapper.class);
         service = new ScheduleEntryServiceImpl(dao);
         service.setMapper(mapper);
+        service.setValidator(new SpringValidatorAdapter(Validation.buildDefaultValidatorFactory().getValidator()));
+        service.setObjectMapper(new ObjectMapper());
         ((ScheduleEntryServiceImpl) service).setUserDAO(userDAO);
         sampleScheduleEntry = ScheduleEntry.builder()
                 .student(Student.builder().studentId(1).build())
@@ -63,7 +84,7 @@ public class ScheduleEntryServiceTest {
 
     @Test
     public void testGetAllEntities() {
-        Mockito.when(dao.getAllRecords()).thenReturn(Arrays.asList(sampleScheduleEntry));
+        Mockito.when(dao.getAllRecordProjections()).thenReturn(Arrays.asList(DTOTuple.of(sampleScheduleEntryDTO)));
 
         ResponseEntity<Response> result = service.getAllEntities();
 
@@ -73,9 +94,51 @@ public class ScheduleEntryServiceTest {
         );
     }
 
+    @Test
+    public void testGetEntitiesPage() {
+        Mockito.when(dao.getRecordProjectionsPage(null, 1)).thenReturn(RecordsPage.<Tuple>builder()
+                .records(Arrays.asList(DTOTuple.of(sampleScheduleEntryDTO)))
+                .nextKey("1")
+                .build());
+
+        ResponseEntity<Response> result = service.getEntitiesPage(null, 1);
+
+        assertAll(
+                () -> assertEquals(result.getStatusCode(), HttpStatus.OK),
+                () -> assertEquals("1", Objects.requireNonNull(result.getBody()).getNextCursor()),
+                () -> assertEquals(1, ((List<ScheduleEntryDTO>) Objects.requireNonNull(result.getBody()).getResponseBody()).size())
+        );
+    }
+
+    @Test
+    public void testGetEntitiesPageWithInvalidLimit() {
+        ResponseEntity<Response> result = service.getEntitiesPage(null, 0);
+
+        assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+    }
+
+    @Test
+    public void testWriteAllEntities() throws IOException {
+        Mockito.doAnswer(invocation -> {
+            Consumer<Tuple> recordConsumer = invocation.getArgument(0);
+            recordConsumer.accept(DTOTuple.of(sampleScheduleEntryDTO));
+            recordConsumer.accept(DTOTuple.of(sampleScheduleEntryDTO));
+            return null;
+        }).when(dao).scrollAllRecordProjections(Mockito.any());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        service.writeAllEntities(outputStream);
+        JsonNode result = new ObjectMapper().readTree(outputStream.toByteArray());
+
+        assertAll(
+                () -> assertEquals(2, result.get("responseBody").size()),
+                () -> assertEquals(sampleScheduleEntryDTO.getEntryId(), result.get("responseBody").get(0).get("entryId").asInt())
+        );
+    }
+
     @Test
     public void testGetEntity() {
-        Mockito.when(dao.getRecord("1")).thenReturn(sampleScheduleEntry);
+        Mockito.when(dao.findRecordProjection("1")).thenReturn(Optional.of(DTOTuple.of(sampleScheduleEntryDTO)));
 
         ResponseEntity<Response> result = service.getEntity("1");
 
@@ -97,6 +160,143 @@ public class ScheduleEntryServiceTest {
         );
     }
 
+    @Test
+    public void testAddEntities() {
+        sampleScheduleEntry.setTime(LocalDateTime.now().plusDays(30).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        sampleScheduleEntry.setEntryId(null);
+        sampleScheduleEntryDTO = mapper.entityToDto(sampleScheduleEntry);
+
+        Mockito.when(dao.addRecords(Mockito.anyList())).thenReturn(Arrays.asList(6, 7));
+
+        ResponseEntity<Response> result = service.addEntities(Arrays.asList(sampleScheduleEntryDTO, sampleScheduleEntryDTO));
+        List<BatchRowReport> rowReports = (List<BatchRowReport>) Objects.requireNonNull(result.getBody()).getResponseBody();
+
+        assertAll(
+                () -> assertEquals(HttpStatus.CREATED, result.getStatusCode()),
+                () -> assertEquals(BatchRowReport.Status.CREATED, rowReports.get(0).getStatus()),
+                () -> assertEquals(Integer.valueOf(6), rowReports.get(0).getGeneratedId()),
+                () -> assertEquals(Integer.valueOf(7), rowReports.get(1).getGeneratedId())
+        );
+    }
+
+    @Test
+    public void testAddEntitiesWithInvalidEntity() {
+        sampleScheduleEntry.setTime(LocalDateTime.now().plusDays(30).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        ScheduleEntryDTO validDTO = mapper.entityToDto(sampleScheduleEntry);
+        sampleScheduleEntry.setLocation("");
+        ScheduleEntryDTO invalidDTO = mapper.entityToDto(sampleScheduleEntry);
+
+        ResponseEntity<Response> result = service.addEntities(Arrays.asList(validDTO, invalidDTO));
+        List<BatchRowReport> rowReports = (List<BatchRowReport>) Objects.requireNonNull(result.getBody()).getResponseBody();
+
+        assertAll(
+                () -> assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode()),
+                () -> assertEquals(BatchRowReport.Status.SKIPPED, rowReports.get(0).getStatus()),
+                () -> assertEquals(BatchRowReport.Status.INVALID, rowReports.get(1).getStatus()),
+                () -> assertFalse(rowReports.get(1).getErrors().isEmpty())
+        );
+        Mockito.verify(dao, Mockito.never()).addRecords(Mockito.anyList());
+    }
+
+    @Test
+    public void testAddEntitiesViolatingDatabaseConstraint() {
+        sampleScheduleEntry.setTime(LocalDateTime.now().plusDays(30).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        sampleScheduleEntry.setEntryId(null);
+        sampleScheduleEntryDTO = mapper.entityToDto(sampleScheduleEntry);
+
+        Mockito.when(dao.addRecords(Mockito.anyList())).thenThrow(new BatchInsertException(1, new RuntimeException("unique constraint violated")));
+
+        ResponseEntity<Response> result = service.addEntities(Arrays.asList(sampleScheduleEntryDTO, sampleScheduleEntryDTO));
+        List<BatchRowReport> rowReports = (List<BatchRowReport>) Objects.requireNonNull(result.getBody()).getResponseBody();
+
+        assertAll(
+                () -> assertEquals(HttpStatus.CONFLICT, result.getStatusCode()),
+                () -> assertEquals(BatchRowReport.Status.SKIPPED, rowReports.get(0).getStatus()),
+                () -> assertEquals(BatchRowReport.Status.REJECTED, rowReports.get(1).getStatus()),
+                () -> assertFalse(rowReports.get(1).getErrors().isEmpty())
+        );
+    }
+
+    @Test
+    public void testAddEntitiesViolatingDatabaseConstraintWithUnknownRow() {
+        sampleScheduleEntry.setTime(LocalDateTime.now().plusDays(30).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        sampleScheduleEntry.setEntryId(null);
+        sampleScheduleEntryDTO = mapper.entityToDto(sampleScheduleEntry);
+
+        Mockito.when(dao.addRecords(Mockito.anyList())).thenThrow(new BatchInsertException(null, new RuntimeException("unique constraint violated")));
+
+        ResponseEntity<Response> result = service.addEntities(Arrays.asList(sampleScheduleEntryDTO, sampleScheduleEntryDTO));
+        List<BatchRowReport> rowReports = (List<BatchRowReport>) Objects.requireNonNull(result.getBody()).getResponseBody();
+
+        assertAll(
+                () -> assertEquals(HttpStatus.CONFLICT, result.getStatusCode()),
+                () -> assertEquals(BatchRowReport.Status.SKIPPED, rowReports.get(0).getStatus()),
+                () -> assertEquals(BatchRowReport.Status.SKIPPED, rowReports.get(1).getStatus())
+        );
+    }
+
+    @Test
+    public void testAddEntitiesExceedingEnforcedCourseLoad() {
+        ((ScheduleEntryServiceImpl) service).setCourseLoadEnforced(true);
+        sampleScheduleEntry.setTime(LocalDateTime.now().plusDays(30).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        sampleScheduleEntry.setEntryId(null);
+        ScheduleEntryDTO firstCourseDTO = mapper.entityToDto(sampleScheduleEntry);
+        sampleScheduleEntry.setCourse(Course.builder().courseId(2).build());
+        ScheduleEntryDTO secondCourseDTO = mapper.entityToDto(sampleScheduleEntry);
+
+        Mockito.when(((ScheduleEntryDAOImpl) dao).lockCourseLoad(1, "FAL2020", new HashSet<>(Collections.singletonList(1)), 5L)).thenReturn(true);
+        Mockito.when(((ScheduleEntryDAOImpl) dao).lockCourseLoad(1, "FAL2020", new HashSet<>(Arrays.asList(1, 2)), 5L)).thenReturn(false);
+
+        ResponseEntity<Response> result = service.addEntities(Arrays.asList(firstCourseDTO, firstCourseDTO, secondCourseDTO));
+        List<BatchRowReport> rowReports = (List<BatchRowReport>) Objects.requireNonNull(result.getBody()).getResponseBody();
+
+        assertAll(
+                () -> assertEquals(HttpStatus.CONFLICT, result.getStatusCode()),
+                () -> assertEquals(BatchRowReport.Status.SKIPPED, rowReports.get(0).getStatus()),
+                () -> assertEquals(BatchRowReport.Status.SKIPPED, rowReports.get(1).getStatus()),
+                () -> assertEquals(BatchRowReport.Status.REJECTED, rowReports.get(2).getStatus()),
+                () -> Mockito.verify(dao, Mockito.never()).addRecords(Mockito.anyList())
+        );
+    }
+
+    @Test
+    public void testAddEntitiesConflictingWithTimetableOrEachOther() {
+        TimetableConflictDetector conflictDetector = new TimetableConflictDetector((ScheduleEntryDAOImpl) dao);
+        conflictDetector.setScheduleEntryMapper(mapper);
+        ((ScheduleEntryServiceImpl) service).setConflictDetector(conflictDetector);
+        ((ScheduleEntryServiceImpl) service).setConflictsEnforced(true);
+        long time = LocalDateTime.now().plusDays(30).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        sampleScheduleEntry.setTime(time);
+        Mockito.when(((ScheduleEntryDAOImpl) dao).getSemesterRecordProjections("FAL2020"))
+                .thenReturn(Collections.singletonList(DTOTuple.of(mapper.entityToDto(sampleScheduleEntry))));
+        sampleScheduleEntry.setEntryId(null);
+        sampleScheduleEntry.setTime(time + 3 * 3600000L);
+        sampleScheduleEntry.setStudent(Student.builder().studentId(2).build());
+        ScheduleEntryDTO freeDTO = mapper.entityToDto(sampleScheduleEntry);
+        sampleScheduleEntry.setCourse(Course.builder().courseId(2).build());
+        ScheduleEntryDTO bookedByRowDTO = mapper.entityToDto(sampleScheduleEntry);
+        sampleScheduleEntry.setTime(time + 1800000L);
+        sampleScheduleEntry.setLecturer(Lecturer.builder().lecturerId(2).build());
+        sampleScheduleEntry.setLocation("Room H4");
+        ScheduleEntryDTO studentBookedByEntryDTO = mapper.entityToDto(sampleScheduleEntry);
+        studentBookedByEntryDTO.setStudentId(1);
+
+        ResponseEntity<Response> result = service.addEntities(Arrays.asList(freeDTO, bookedByRowDTO, studentBookedByEntryDTO));
+        List<BatchRowReport> rowReports = (List<BatchRowReport>) Objects.requireNonNull(result.getBody()).getResponseBody();
+
+        assertAll(
+                () -> assertEquals(HttpStatus.CONFLICT, result.getStatusCode()),
+                () -> assertEquals(BatchRowReport.Status.SKIPPED, rowReports.get(0).getStatus()),
+                () -> assertEquals(BatchRowReport.Status.REJECTED, rowReports.get(1).getStatus()),
+                () -> assertEquals(Arrays.asList("lecturer is already booked by row 0 of batch at this time",
+                        "location is already booked by row 0 of batch at this time",
+                        "student is already booked by row 0 of batch at this time"), rowReports.get(1).getErrors()),
+                () -> assertEquals(BatchRowReport.Status.REJECTED, rowReports.get(2).getStatus()),
+                () -> assertEquals(Collections.singletonList("student is already booked by schedule entry 1 at this time"), rowReports.get(2).getErrors()),
+                () -> Mockito.verify(dao, Mockito.never()).addRecords(Mockito.anyList())
+        );
+    }
+
     @Test
     public void testAddCorrectEntityDBFailure() {
         bindingResult = new BeanPropertyBindingResult(sampleScheduleEntryDTO, "sampleScheduleEntryDTO");
@@ -134,7 +334,7 @@ public class ScheduleEntryServiceTest {
 
         assertAll(
                 () -> assertEquals(result.getStatusCode(), HttpStatus.CREATED),
-                () -> assertTrue(Objects.requireNonNull(result.getBody()).getMessage().contains("WARNING: Course begins in less than 5 days, but student is not active"))
+                () -> assertEquals(Arrays.asList("Course begins in less than 5 days, but student is not active!"), Objects.requireNonNull(result.getBody()).getWarnings())
         );
     }
 
@@ -150,10 +350,216 @@ public class ScheduleEntryServiceTest {
 
         assertAll(
                 () -> assertEquals(result.getStatusCode(), HttpStatus.CREATED),
-                () -> assertTrue(Objects.requireNonNull(result.getBody()).getMessage().contains("WARNING: Student has taken more than 5 courses in single semester!"))
+                () -> assertEquals(Arrays.asList("Student has taken more than 5 courses in single semester!"), Objects.requireNonNull(result.getBody()).getWarnings())
+        );
+    }
+
+    @Test
+    public void testAddEntityWithEnforcedCourseLoad() {
+        ((ScheduleEntryServiceImpl) service).setCourseLoadEnforced(true);
+        bindingResult = new BeanPropertyBindingResult(sampleScheduleEntryDTO, "sampleScheduleEntryDTO");
+
+        Mockito.when(((ScheduleEntryDAOImpl) dao).lockCourseLoad(sampleScheduleEntryDTO.getStudentId(), sampleScheduleEntryDTO.getSemesterId(), sampleScheduleEntryDTO.getCourseId(), 5L)).thenReturn(true);
+        Mockito.when(dao.addRecord(mapper.dtoToEntity(sampleScheduleEntryDTO))).thenReturn(1);
+        Mockito.when(((UserDAOImpl) userDAO).getUserByStudentId(sampleScheduleEntryDTO.getStudentId())).thenReturn(User.builder().isActive(true).build());
+
+        ResponseEntity<Response> result = service.addEntity(sampleScheduleEntryDTO, bindingResult);
+
+        assertAll(
+                () -> assertEquals(HttpStatus.CREATED, result.getStatusCode()),
+                () -> assertNull(Objects.requireNonNull(result.getBody()).getWarnings()),
+                () -> Mockito.verify((ScheduleEntryDAOImpl) dao, Mockito.never()).getNumberOfTakenCoursesForStudent(Mockito.any(), Mockito.any())
+        );
+    }
+
+    @Test
+    public void testCourseCapacityLockedBeforeEnforcedCourseLoad() {
+        ((ScheduleEntryServiceImpl) service).setCourseLoadEnforced(true);
+        bindingResult = new BeanPropertyBindingResult(sampleScheduleEntryDTO, "sampleScheduleEntryDTO");
+
+        Mockito.when(((ScheduleEntryDAOImpl) dao).lockCourseLoad(sampleScheduleEntryDTO.getStudentId(), sampleScheduleEntryDTO.getSemesterId(), sampleScheduleEntryDTO.getCourseId(), 5L)).thenReturn(false);
+
+        service.addEntity(sampleScheduleEntryDTO, bindingResult);
+
+        InOrder inOrder = Mockito.inOrder(dao);
+        inOrder.verify((ScheduleEntryDAOImpl) dao).lockCourseCapacities(Collections.singletonList(mapper.dtoToEntity(sampleScheduleEntryDTO)));
+        inOrder.verify((ScheduleEntryDAOImpl) dao).lockCourseLoad(sampleScheduleEntryDTO.getStudentId(), sampleScheduleEntryDTO.getSemesterId(), sampleScheduleEntryDTO.getCourseId(), 5L);
+    }
+
+    @Test
+    public void testUpdatedEntryCourseCapacitiesLockedBeforeEnforcedCourseLoad() {
+        ((ScheduleEntryServiceImpl) service).setCourseLoadEnforced(true);
+        bindingResult = new BeanPropertyBindingResult(sampleScheduleEntryDTO, "sampleScheduleEntryDTO");
+        ScheduleEntryDTO storedEntryDTO = mapper.entityToDto(sampleScheduleEntry);
+        storedEntryDTO.setCourseId(2);
+
+        Mockito.when(dao.findRecordProjection("1")).thenReturn(Optional.of(DTOTuple.of(storedEntryDTO)));
+        Mockito.when(((ScheduleEntryDAOImpl) dao).lockCourseLoad(sampleScheduleEntryDTO.getStudentId(), sampleScheduleEntryDTO.getSemesterId(), sampleScheduleEntryDTO.getCourseId(), 5L)).thenReturn(false);
+
+        service.updateEntity(sampleScheduleEntryDTO, bindingResult);
+
+        InOrder inOrder = Mockito.inOrder(dao);
+        inOrder.verify((ScheduleEntryDAOImpl) dao).lockCourseCapacities(Arrays.asList(mapper.dtoToEntity(sampleScheduleEntryDTO), mapper.dtoToEntity(storedEntryDTO)));
+        inOrder.verify((ScheduleEntryDAOImpl) dao).lockCourseLoad(sampleScheduleEntryDTO.getStudentId(), sampleScheduleEntryDTO.getSemesterId(), sampleScheduleEntryDTO.getCourseId(), 5L);
+    }
+
+    @Test
+    public void testCourseCapacitiesNotLockedWithoutEnforcedChecks() {
+        bindingResult = new BeanPropertyBindingResult(sampleScheduleEntryDTO, "sampleScheduleEntryDTO");
+
+        Mockito.when(dao.addRecord(mapper.dtoToEntity(sampleScheduleEntryDTO))).thenReturn(1);
+        Mockito.when(((UserDAOImpl) userDAO).getUserByStudentId(sampleScheduleEntryDTO.getStudentId())).thenReturn(User.builder().isActive(true).build());
+
+        service.addEntity(sampleScheduleEntryDTO, bindingResult);
+
+        Mockito.verify((ScheduleEntryDAOImpl) dao, Mockito.never()).lockCourseCapacities(Mockito.any());
+    }
+
+    @Test
+    public void testAddEntityExceedingEnforcedCourseLoad() {
+        ((ScheduleEntryServiceImpl) service).setCourseLoadEnforced(true);
+        bindingResult = new BeanPropertyBindingResult(sampleScheduleEntryDTO, "sampleScheduleEntryDTO");
+
+        Mockito.when(((ScheduleEntryDAOImpl) dao).lockCourseLoad(sampleScheduleEntryDTO.getStudentId(), sampleScheduleEntryDTO.getSemesterId(), sampleScheduleEntryDTO.getCourseId(), 5L)).thenReturn(false);
+
+        ResponseEntity<Response> result = service.addEntity(sampleScheduleEntryDTO, bindingResult);
+
+        assertAll(
+                () -> assertEquals(HttpStatus.CONFLICT, result.getStatusCode()),
+                () -> Mockito.verify(dao, Mockito.never()).addRecord(Mockito.any())
         );
     }
 
+    @Test
+    public void testUpdateEntityExceedingEnforcedCourseLoad() {
+        ((ScheduleEntryServiceImpl) service).setCourseLoadEnforced(true);
+        bindingResult = new BeanPropertyBindingResult(sampleScheduleEntryDTO, "sampleScheduleEntryDTO");
+
+        Mockito.when(((ScheduleEntryDAOImpl) dao).lockCourseLoad(sampleScheduleEntryDTO.getStudentId(), sampleScheduleEntryDTO.getSemesterId(), sampleScheduleEntryDTO.getCourseId(), 5L)).thenReturn(false);
+
+        ResponseEntity<Response> result = service.updateEntity(sampleScheduleEntryDTO, bindingResult);
+
+        assertAll(
+                () -> assertEquals(HttpStatus.CONFLICT, result.getStatusCode()),
+                () -> Mockito.verify(dao, Mockito.never()).updateRecord(Mockito.any())
+        );
+    }
+
+    @Test
+    public void testAddEntityConflictingWithTimetable() {
+        TimetableConflictDetector conflictDetector = Mockito.mock(TimetableConflictDetector.class);
+        ((ScheduleEntryServiceImpl) service).setConflictDetector(conflictDetector);
+        ((ScheduleEntryServiceImpl) service).setConflictsEnforced(true);
+        bindingResult = new BeanPropertyBindingResult(sampleScheduleEntryDTO, "sampleScheduleEntryDTO");
+        List<ScheduleConflictDTO> conflicts = Collections.singletonList(ScheduleConflictDTO.builder()
+                .conflictType(ScheduleConflictDTO.Type.LECTURER)
+                .conflictingEntryId(2)
+                .build());
+
+        Mockito.when(conflictDetector.findConflicts(sampleScheduleEntryDTO)).thenReturn(conflicts);
+
+        ResponseEntity<Response> result = service.addEntity(sampleScheduleEntryDTO, bindingResult);
+
+        assertAll(
+                () -> assertEquals(HttpStatus.CONFLICT, result.getStatusCode()),
+                () -> assertEquals(conflicts, Objects.requireNonNull(result.getBody()).getResponseBody()),
+                () -> Mockito.verify(dao, Mockito.never()).addRecord(Mockito.any())
+        );
+    }
+
+    @Test
+    public void testUpdateEntityWithoutTimetableConflicts() {
+        TimetableConflictDetector conflictDetector = Mockito.mock(TimetableConflictDetector.class);
+        ((ScheduleEntryServiceImpl) service).setConflictDetector(conflictDetector);
+        ((ScheduleEntryServiceImpl) service).setConflictsEnforced(true);
+        bindingResult = new BeanPropertyBindingResult(sampleScheduleEntryDTO, "sampleScheduleEntryDTO");
+
+        Mockito.when(conflictDetector.findConflicts(sampleScheduleEntryDTO)).thenReturn(Collections.emptyList());
+        Mockito.when(dao.updateRecord(mapper.dtoToEntity(sampleScheduleEntryDTO))).thenReturn(1);
+        Mockito.when(((UserDAOImpl) userDAO).getUserByStudentId(sampleScheduleEntryDTO.getStudentId())).thenReturn(User.builder().isActive(true).build());
+
+        ResponseEntity<Response> result = service.updateEntity(sampleScheduleEntryDTO, bindingResult);
+
+        assertAll(
+                () -> assertEquals(HttpStatus.OK, result.getStatusCode()),
+                () -> Mockito.verify(conflictDetector).entrySaved(sampleScheduleEntryDTO)
+        );
+    }
+
+    @Test
+    public void testAddEntityWarningsDoNotChangeSuccessMessage() {
+        service.setAddSuccessMessage("item successfully added");
+        bindingResult = new BeanPropertyBindingResult(sampleScheduleEntryDTO, "sampleScheduleEntryDTO");
+
+        Mockito.when(dao.addRecord(mapper.dtoToEntity(sampleScheduleEntryDTO))).thenReturn(1);
+        Mockito.when(((UserDAOImpl) userDAO).getUserByStudentId(sampleScheduleEntryDTO.getStudentId())).thenThrow(new NoResultException());
+        Mockito.when(((ScheduleEntryDAOImpl) dao).getNumberOfTakenCoursesForStudent(sampleScheduleEntryDTO.getStudentId(), sampleScheduleEntryDTO.getSemesterId())).thenReturn(6L);
+
+        service.addEntity(sampleScheduleEntryDTO, bindingResult);
+        ResponseEntity<Response> result = service.addEntity(sampleScheduleEntryDTO, bindingResult);
+
+        assertAll(
+                () -> assertEquals("item successfully added", service.getAddSuccessMessage()),
+                () -> assertEquals("item successfully added", Objects.requireNonNull(result.getBody()).getMessage()),
+                () -> assertEquals(2, Objects.requireNonNull(result.getBody()).getWarnings().size())
+        );
+    }
+
+    @Test
+    public void testConcurrentAddEntityWarningsAreRequestScoped() throws Exception {
+        int numberOfRequests = 2000;
+        service.setAddSuccessMessage("item successfully added");
+        ScheduleEntryDTO overloadedStudentDTO = mapper.entityToDto(sampleScheduleEntry);
+        sampleScheduleEntry.setStudent(Student.builder().studentId(2).build());
+        ScheduleEntryDTO regularStudentDTO = mapper.entityToDto(sampleScheduleEntry);
+
+        Mockito.when(dao.addRecord(Mockito.any())).thenReturn(1);
+        Mockito.when(((UserDAOImpl) userDAO).getUserByStudentId(Mockito.anyInt())).thenReturn(User.builder().isActive(true).build());
+        Mockito.when(((ScheduleEntryDAOImpl) dao).getNumberOfTakenCoursesForStudent(1, "FAL2020")).thenReturn(6L);
+        Mockito.when(((ScheduleEntryDAOImpl) dao).getNumberOfTakenCoursesForStudent(2, "FAL2020")).thenReturn(1L);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        List<Future<Response>> overloadedStudentResponses = new ArrayList<>();
+        List<Future<Response>> regularStudentResponses = new ArrayList<>();
+        try {
+            for (int i = 0; i < numberOfRequests; i++) {
+                overloadedStudentResponses.add(executorService.submit(() -> addEntity(overloadedStudentDTO)));
+                regularStudentResponses.add(executorService.submit(() -> addEntity(regularStudentDTO)));
+            }
+            Set<Integer> overloadedStudentResponseSizes = new HashSet<>();
+            for (Future<Response> response : overloadedStudentResponses) {
+                Response body = response.get();
+                assertEquals(Arrays.asList("Student has taken more than 5 courses in single semester!"), body.getWarnings());
+                overloadedStudentResponseSizes.add(serializedSizeWithoutTimeStamp(objectMapper, body));
+            }
+            Set<Integer> regularStudentResponseSizes = new HashSet<>();
+            for (Future<Response> response : regularStudentResponses) {
+                Response body = response.get();
+                assertNull(body.getWarnings());
+                regularStudentResponseSizes.add(serializedSizeWithoutTimeStamp(objectMapper, body));
+            }
+
+            assertAll(
+                    () -> assertEquals("item successfully added", service.getAddSuccessMessage()),
+                    () -> assertEquals(1, overloadedStudentResponseSizes.size()),
+                    () -> assertEquals(1, regularStudentResponseSizes.size())
+            );
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private Response addEntity(ScheduleEntryDTO dto) {
+        ScheduleEntryDTO requestDTO = mapper.entityToDto(mapper.dtoToEntity(dto));
+        return service.addEntity(requestDTO, new BeanPropertyBindingResult(requestDTO, "requestDTO")).getBody();
+    }
+
+    private int serializedSizeWithoutTimeStamp(ObjectMapper objectMapper, Response response) throws IOException {
+        response.setTimeStamp(0);
+        return objectMapper.writeValueAsBytes(response).length;
+    }
+
     @Test
     public void testUpdateCorrectEntity() {
         bindingResult = new BeanPropertyBindingResult(sampleScheduleEntryDTO, "sampleScheduleEntryDTO");
@@ -204,6 +610,24 @@ public class ScheduleEntryServiceTest {
         assertEquals(result.getStatusCode(), HttpStatus.OK);
     }
 
+    @Test
+    public void testDeleteEntityPublishesSeatReleasedEvent() {
+        ApplicationEventPublisher eventPublisher = Mockito.mock(ApplicationEventPublisher.class);
+        ((ScheduleEntryServiceImpl) service).setEventPublisher(eventPublisher);
+        Mockito.when(dao.findRecordProjection("1")).thenReturn(Optional.of(DTOTuple.of(sampleScheduleEntryDTO)));
+        Mockito.when(dao.deleteRecord("1")).thenReturn(1);
+
+        ResponseEntity<Response> result = service.deleteEntity("1");
+
+        ArgumentCaptor<SeatReleasedEvent> eventCaptor = ArgumentCaptor.forClass(SeatReleasedEvent.class);
+        Mockito.verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertAll(
+                () -> assertEquals(HttpStatus.OK, result.getStatusCode()),
+                () -> assertEquals(sampleScheduleEntryDTO.getCourseId(), eventCaptor.getValue().getCourseId()),
+                () -> assertEquals(sampleScheduleEntryDTO.getSemesterId(), eventCaptor.getValue().getSemesterId())
+        );
+    }
+
     @Test
     public void testDeleteEntityNotFound() {
         Mockito.when(dao.deleteRecord("3")).thenReturn(0);
@@ -214,7 +638,7 @@ public class ScheduleEntryServiceTest {
 
     @Test
     public void testSearchEntities() {
-        Mockito.when(dao.searchRecords("FAL2020")).thenReturn(Arrays.asList(sampleScheduleEntry));
+        Mockito.when(dao.searchRecordProjections("FAL2020")).thenReturn(Arrays.asList(DTOTuple.of(sampleScheduleEntryDTO)));
 
         ResponseEntity<Response> result = service.searchForEntities("FAL2020");
 
@@ -0,0 +1,119 @@
+package unit.universityregistrar.service.implementation;
+
+import com.rdlab.universityregistrar.controller.response.Response;
+import com.rdlab.universityregistrar.model.dao.DAO;
+import com.rdlab.universityregistrar.model.dao.SearchDAO;
+import com.rdlab.universityregistrar.model.entity.Course;
+import com.rdlab.universityregistrar.model.entity.Lecturer;
+import com.rdlab.universityregistrar.model.entity.Semester;
+import com.rdlab.universityregistrar.model.entity.Student;
+import com.rdlab.universityregistrar.service.dto.LecturerDTO;
+import com.rdlab.universityregistrar.service.dto.SearchHitDTO;
+import com.rdlab.universityregistrar.service.dto.StudentDTO;
+import com.rdlab.universityregistrar.service.implementation.SearchServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchServiceTest {
+    private SearchServiceImpl service;
+    private SearchDAO searchDAO;
+    private DAO<Student> studentDAO;
+    private DAO<Lecturer> lecturerDAO;
+    private DAO<Course> courseDAO;
+    private DAO<Semester> semesterDAO;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setupData() {
+        searchDAO = Mockito.mock(SearchDAO.class);
+        studentDAO = Mockito.mock(DAO.class);
+        lecturerDAO = Mockito.mock(DAO.class);
+        courseDAO = Mockito.mock(DAO.class);
+        semesterDAO = Mockito.mock(DAO.class);
+        service = new SearchServiceImpl(searchDAO, studentDAO, lecturerDAO, courseDAO, semesterDAO);
+    }
+
+    @Test
+    public void testSearchAllEntitiesByFullTextQuery() {
+        service.setFullTextSearchEnabled(true);
+        Mockito.when(searchDAO.searchAllRecords("john:* & do:*", 20)).thenReturn(Collections.singletonList(DTOTuple.of(SearchHitDTO.builder()
+                .entityType("lecturer")
+                .entityId("1")
+                .title("John Doe")
+                .rank(0.6f)
+                .build())));
+
+        ResponseEntity<Response> result = service.searchAllEntities("John, Do", null);
+        List<SearchHitDTO> hits = (List<SearchHitDTO>) Objects.requireNonNull(result.getBody()).getResponseBody();
+
+        assertAll(
+                () -> assertEquals(HttpStatus.OK, result.getStatusCode()),
+                () -> assertEquals(1, hits.size()),
+                () -> assertEquals("lecturer", hits.get(0).getEntityType()),
+                () -> assertEquals(Float.valueOf(0.6f), hits.get(0).getRank())
+        );
+    }
+
+    @Test
+    public void testSearchAllEntitiesByEntityDAOs() {
+        Mockito.when(studentDAO.searchRecordProjections("John")).thenReturn(Collections.singletonList(DTOTuple.of(StudentDTO.builder()
+                .studentId(3)
+                .studentName("John Smith")
+                .build())));
+        Mockito.when(lecturerDAO.searchRecordProjections("John")).thenReturn(Collections.singletonList(DTOTuple.of(LecturerDTO.builder()
+                .lecturerId(1)
+                .lecturerName("John Doe")
+                .build())));
+
+        ResponseEntity<Response> result = service.searchAllEntities("John", null);
+        List<SearchHitDTO> hits = (List<SearchHitDTO>) Objects.requireNonNull(result.getBody()).getResponseBody();
+
+        assertAll(
+                () -> assertEquals(HttpStatus.OK, result.getStatusCode()),
+                () -> assertEquals(2, hits.size()),
+                () -> assertEquals("student", hits.get(0).getEntityType()),
+                () -> assertEquals("3", hits.get(0).getEntityId()),
+                () -> assertEquals("lecturer", hits.get(1).getEntityType()),
+                () -> assertEquals("John Doe", hits.get(1).getTitle())
+        );
+    }
+
+    @Test
+    public void testSearchAllEntitiesRespectsLimit() {
+        Mockito.when(studentDAO.searchRecordProjections("John")).thenReturn(Arrays.asList(
+                DTOTuple.of(StudentDTO.builder().studentId(3).studentName("John Smith").build()),
+                DTOTuple.of(StudentDTO.builder().studentId(4).studentName("John Brown").build())));
+
+        ResponseEntity<Response> result = service.searchAllEntities("John", 1);
+
+        assertEquals(1, ((List<SearchHitDTO>) Objects.requireNonNull(result.getBody()).getResponseBody()).size());
+    }
+
+    @Test
+    public void testSearchAllEntitiesWithoutWords() {
+        ResponseEntity<Response> result = service.searchAllEntities(" ,.! ", null);
+
+        assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        service = null;
+        searchDAO = null;
+        studentDAO = null;
+        lecturerDAO = null;
+        courseDAO = null;
+        semesterDAO = null;
+    }
+}
@@ -1,7 +1,9 @@
 package unit.universityregistrar.service.implementation;
 
+import com.rdlab.universityregistrar.controller.response.BatchRowReport;
 import com.rdlab.universityregistrar.controller.response.Response;
 import com.rdlab.universityregistrar.model.dao.DAO;
+import com.rdlab.universityregistrar.model.dao.SchedulePartitionDAO;
 import com.rdlab.universityregistrar.model.dao.implementation.SemesterDAOImpl;
 import com.rdlab.universityregistrar.model.entity.Semester;
 import com.rdlab.universityregistrar.service.AbstractService;
@@ -18,6 +20,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validation;
 
 import java.util.*;
 
@@ -28,6 +33,7 @@ import static org.junit.jupiter.api.Assertions.*;
 public class SemesterServiceTest {
     private AbstractService<Semester, SemesterDTO> service;
     private DAO<Semester> dao;
+    private SchedulePartitionDAO schedulePartitionDAO;
     private DTOEntityMapper<Semester, SemesterDTO> mapper;
     private Semester sampleSemester;
     private SemesterDTO sampleSemesterDTO;
@@ -37,8 +43,12 @@ public class SemesterServiceTest {
     public void setupData() {
         dao = Mockito.mock(SemesterDAOImpl.class);
         mapper = Mappers.getMapper(SemesterDTOEntityMapper.class);
-        service = new SemesterServiceImpl(dao);
+        schedulePartitionDAO = Mockito.mock(SchedulePartitionDAO.class);
+        SemesterServiceImpl semesterService = new SemesterServiceImpl(dao);
+        semesterService.setSchedulePartitionDAO(schedulePartitionDAO);
+        service = semesterService;
         service.setMapper(mapper);
+        service.setValidator(new SpringValidatorAdapter(Validation.buildDefaultValidatorFactory().getValidator()));
         sampleSemester = Semester.builder()
                 .semesterId("FAL2020")
                 .semesterName("Fall semester of 2020")
@@ -52,7 +62,7 @@ public class SemesterServiceTest {
 
     @Test
     public void testGetAllEntities() {
-        Mockito.when(dao.getAllRecords()).thenReturn(Arrays.asList(sampleSemester));
+        Mockito.when(dao.getAllRecordProjections()).thenReturn(Arrays.asList(DTOTuple.of(sampleSemesterDTO)));
 
         ResponseEntity<Response> result = service.getAllEntities();
 
@@ -64,7 +74,7 @@ public class SemesterServiceTest {
 
     @Test
     public void testGetEntity() {
-        Mockito.when(dao.getRecord("FAL2020")).thenReturn(sampleSemester);
+        Mockito.when(dao.findRecordProjection("FAL2020")).thenReturn(Optional.of(DTOTuple.of(sampleSemesterDTO)));
 
         ResponseEntity<Response> result = service.getEntity("FAL2020");
 
@@ -81,10 +91,34 @@ public class SemesterServiceTest {
 
         assertAll(
                 () -> assertEquals(result.getStatusCode(), HttpStatus.CREATED),
-                () -> assertThat(Objects.requireNonNull(result.getBody()).getResponseBody(), samePropertyValuesAs(sampleSemesterDTO))
+                () -> assertThat(Objects.requireNonNull(result.getBody()).getResponseBody(), samePropertyValuesAs(sampleSemesterDTO)),
+                () -> Mockito.verify(schedulePartitionDAO).createSchedulePartition("FAL2020")
         );
     }
 
+    @Test
+    public void testAddEntityRetriesSchedulePartitionCreation() {
+        Mockito.doThrow(new RuntimeException("lock timeout")).doNothing()
+                .when(schedulePartitionDAO).createSchedulePartition("FAL2020");
+        Mockito.when(dao.addRecord(mapper.dtoToEntity(sampleSemesterDTO))).thenReturn(1);
+
+        ResponseEntity<Response> result = service.addEntity(sampleSemesterDTO, bindingResult);
+
+        assertAll(
+                () -> assertEquals(HttpStatus.CREATED, result.getStatusCode()),
+                () -> Mockito.verify(schedulePartitionDAO, Mockito.times(2)).createSchedulePartition("FAL2020")
+        );
+    }
+
+    @Test
+    public void testSemesterIsNotAddedWithoutSchedulePartition() {
+        Mockito.doThrow(new RuntimeException("lock timeout"))
+                .when(schedulePartitionDAO).createSchedulePartition("FAL2020");
+
+        assertThrows(RuntimeException.class, () -> service.addEntity(sampleSemesterDTO, bindingResult));
+        Mockito.verify(dao, Mockito.never()).addRecord(Mockito.any());
+    }
+
     @Test
     public void testAddCorrectEntityDBFailure() {
         bindingResult = new BeanPropertyBindingResult(sampleSemesterDTO, "sampleSemesterDTO");
@@ -183,7 +217,7 @@ public class SemesterServiceTest {
 
     @Test
     public void testSearchEntities() {
-        Mockito.when(dao.searchRecords("FAL2020")).thenReturn(Arrays.asList(sampleSemester));
+        Mockito.when(dao.searchRecordProjections("FAL2020")).thenReturn(Arrays.asList(DTOTuple.of(sampleSemesterDTO)));
 
         ResponseEntity<Response> result = service.searchForEntities("FAL2020");
 
@@ -193,6 +227,59 @@ public class SemesterServiceTest {
         );
     }
 
+    @Test
+    public void testAddEntitiesCreatesSchedulePartitionsOfAddedSemesters() {
+        Mockito.when(dao.addRecords(Mockito.anyList())).thenReturn(Arrays.asList(1, 2));
+
+        ResponseEntity<Response> result = service.addEntities(Arrays.asList(futureSemesterDTO("FAL2040"), futureSemesterDTO("SPR2041")));
+
+        assertAll(
+                () -> assertEquals(HttpStatus.CREATED, result.getStatusCode()),
+                () -> Mockito.verify(schedulePartitionDAO).createSchedulePartition("FAL2040"),
+                () -> Mockito.verify(schedulePartitionDAO).createSchedulePartition("SPR2041")
+        );
+    }
+
+    @Test
+    public void testAddEntitiesWithInvalidEntityCreatesNoSchedulePartition() {
+        SemesterDTO invalidDTO = futureSemesterDTO("FAL-2040 malformed");
+
+        ResponseEntity<Response> result = service.addEntities(Arrays.asList(futureSemesterDTO("SPR2041"), invalidDTO));
+
+        assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+        Mockito.verifyNoInteractions(schedulePartitionDAO);
+        Mockito.verify(dao, Mockito.never()).addRecords(Mockito.anyList());
+    }
+
+    @Test
+    public void testAddEntitiesWithSemesterEndingBeforeItBeginsIsRejected() {
+        SemesterDTO endingBeforeBeginningDTO = futureSemesterDTO("FAL2040");
+        endingBeforeBeginningDTO.setSemesterStartTime(new Date(endingBeforeBeginningDTO.getSemesterEndTime().getTime() + 86400000L));
+
+        ResponseEntity<Response> result = service.addEntities(Arrays.asList(futureSemesterDTO("SPR2041"), endingBeforeBeginningDTO));
+        List<BatchRowReport> rowReports = (List<BatchRowReport>) Objects.requireNonNull(result.getBody()).getResponseBody();
+
+        assertAll(
+                () -> assertEquals(HttpStatus.CONFLICT, result.getStatusCode()),
+                () -> assertEquals(BatchRowReport.Status.SKIPPED, rowReports.get(0).getStatus()),
+                () -> assertEquals(BatchRowReport.Status.REJECTED, rowReports.get(1).getStatus()),
+                () -> assertEquals(Collections.singletonList("semester end time cannot be before semester begin time"), rowReports.get(1).getErrors())
+        );
+        Mockito.verifyNoInteractions(schedulePartitionDAO);
+        Mockito.verify(dao, Mockito.never()).addRecords(Mockito.anyList());
+    }
+
+    private static SemesterDTO futureSemesterDTO(String semesterId) {
+        long now = System.currentTimeMillis();
+        return SemesterDTO.builder()
+                .semesterId(semesterId)
+                .semesterName("Batch semester")
+                .semesterYear(2040)
+                .semesterStartTime(new Date(now + 86400000L))
+                .semesterEndTime(new Date(now + 100 * 86400000L))
+                .build();
+    }
+
     @AfterEach
     public void cleanUp() {
         dao = null;
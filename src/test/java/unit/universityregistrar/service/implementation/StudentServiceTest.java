@@ -50,7 +50,7 @@ public class StudentServiceTest {
 
     @Test
     public void testGetAllEntities() {
-        Mockito.when(dao.getAllRecords()).thenReturn(Arrays.asList(sampleStudent));
+        Mockito.when(dao.getAllRecordProjections()).thenReturn(Arrays.asList(DTOTuple.of(sampleStudentDTO)));
 
         ResponseEntity<Response> result = service.getAllEntities();
 
@@ -62,13 +62,23 @@ public class StudentServiceTest {
 
     @Test
     public void testGetEntity() {
-        Mockito.when(dao.getRecord("3")).thenReturn(sampleStudent);
+        Mockito.when(dao.findRecordProjection("3")).thenReturn(Optional.of(DTOTuple.of(sampleStudentDTO)));
 
         ResponseEntity<Response> result = service.getEntity("3");
 
         assertThat((Objects.requireNonNull(result.getBody()).getResponseBody()), samePropertyValuesAs(sampleStudentDTO));
     }
 
+    @Test
+    public void testGetNonExistingEntity() {
+        Mockito.when(dao.findRecordProjection("100")).thenReturn(Optional.empty());
+
+        ResponseEntity<Response> result = service.getEntity("100");
+
+        assertEquals(HttpStatus.NOT_FOUND, result.getStatusCode());
+        Mockito.verify(dao, Mockito.never()).getRecordProjection(Mockito.anyString());
+    }
+
     @Test
     public void testAddCorrectEntity() {
         bindingResult = new BeanPropertyBindingResult(sampleStudentDTO, "sampleStudentDTO");
@@ -170,7 +180,7 @@ public class StudentServiceTest {
 
     @Test
     public void testSearchEntities() {
-        Mockito.when(dao.searchRecords("John")).thenReturn(Arrays.asList(sampleStudent));
+        Mockito.when(dao.searchRecordProjections("John")).thenReturn(Arrays.asList(DTOTuple.of(sampleStudentDTO)));
 
         ResponseEntity<Response> result = service.searchForEntities("John");
 
@@ -0,0 +1,165 @@
+package unit.universityregistrar.service.implementation;
+
+import com.rdlab.universityregistrar.model.dao.ScheduleEntryDAO;
+import com.rdlab.universityregistrar.model.dao.implementation.ScheduleEntryDAOImpl;
+import com.rdlab.universityregistrar.service.dto.ScheduleConflictDTO;
+import com.rdlab.universityregistrar.service.dto.ScheduleEntryDTO;
+import com.rdlab.universityregistrar.service.implementation.TimetableConflictDetector;
+import com.rdlab.universityregistrar.service.mapper.ScheduleEntryDTOEntityMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimetableConflictDetectorTest {
+    private static final long CLASS_BEGINNING = 1661078700000L;
+    private static final long MINUTE = 60000L;
+
+    private TimetableConflictDetector conflictDetector;
+    private ScheduleEntryDAO scheduleEntryDAO;
+
+    @BeforeEach
+    public void setupData() {
+        scheduleEntryDAO = Mockito.mock(ScheduleEntryDAOImpl.class);
+        conflictDetector = new TimetableConflictDetector(scheduleEntryDAO);
+        conflictDetector.setScheduleEntryMapper(Mappers.getMapper(ScheduleEntryDTOEntityMapper.class));
+        conflictDetector.setClassDuration(90 * MINUTE);
+        Mockito.when(scheduleEntryDAO.getSemesterRecordProjections("FAL2020")).thenReturn(Stream.of(
+                entry(1, 1, 1, 1, 0, "Room A1"),
+                entry(2, 2, 1, 1, 0, "Room A1"),
+                entry(3, 3, 2, 2, 120, "Room B1"))
+                .map(DTOTuple::of)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testStudentOfSameClassDoesNotConflict() {
+        List<ScheduleConflictDTO> conflicts = conflictDetector.findConflicts(entry(null, 4, 1, 1, 0, "room a1 "));
+
+        assertTrue(conflicts.isEmpty());
+    }
+
+    @Test
+    public void testCoTeachingLecturerOfSameClassDoesNotConflict() {
+        List<ScheduleConflictDTO> conflicts = conflictDetector.findConflicts(entry(null, 4, 5, 1, 0, "Room A1"));
+
+        assertTrue(conflicts.isEmpty());
+    }
+
+    @Test
+    public void testOverlappingClassesConflictOncePerClass() {
+        List<ScheduleConflictDTO> conflicts = conflictDetector.findConflicts(entry(null, 1, 1, 3, 60, "Room A1"));
+
+        assertEquals(Arrays.asList(
+                conflict(ScheduleConflictDTO.Type.LECTURER, null, 1),
+                conflict(ScheduleConflictDTO.Type.LOCATION, null, 1),
+                conflict(ScheduleConflictDTO.Type.STUDENT, null, 1)),
+                conflicts);
+    }
+
+    @Test
+    public void testClassEndingWhenOtherBeginsDoesNotConflict() {
+        List<ScheduleConflictDTO> conflicts = conflictDetector.findConflicts(entry(null, 3, 2, 3, 30, "Room C1"));
+
+        assertTrue(conflicts.isEmpty());
+    }
+
+    @Test
+    public void testUpdatedEntryDoesNotConflictWithItself() {
+        List<ScheduleConflictDTO> conflicts = conflictDetector.findConflicts(entry(3, 3, 2, 2, 150, "Room B1"));
+
+        assertTrue(conflicts.isEmpty());
+    }
+
+    @Test
+    public void testSemesterIsLoadedOnceAndKeptUpToDate() {
+        conflictDetector.findConflicts(entry(null, 5, 3, 3, 0, "Room C1"));
+        conflictDetector.entrySaved(entry(5, 5, 3, 3, 0, "Room C1"));
+        List<ScheduleConflictDTO> conflictsWithSavedEntry = conflictDetector.findConflicts(entry(null, 6, 3, 4, 30, "Room D1"));
+        conflictDetector.entryDeleted(5);
+        List<ScheduleConflictDTO> conflictsWithDeletedEntry = conflictDetector.findConflicts(entry(null, 6, 3, 4, 30, "Room D1"));
+
+        assertAll(
+                () -> assertEquals(Collections.singletonList(conflict(ScheduleConflictDTO.Type.LECTURER, null, 5)), conflictsWithSavedEntry),
+                () -> assertTrue(conflictsWithDeletedEntry.isEmpty()),
+                () -> Mockito.verify(scheduleEntryDAO).getSemesterRecordProjections("FAL2020")
+        );
+    }
+
+    @Test
+    public void testStudentEntryCommittedConcurrentlyConflicts() {
+        Mockito.when(scheduleEntryDAO.lockStudentRecordProjections(1, "FAL2020")).thenReturn(Stream.of(
+                entry(1, 1, 1, 1, 0, "Room A1"),
+                entry(7, 1, 4, 5, 120, "Room E1"))
+                .map(DTOTuple::of)
+                .collect(Collectors.toList()));
+
+        List<ScheduleConflictDTO> conflicts = conflictDetector.findConflicts(entry(null, 1, 5, 6, 60, "Room F1"));
+
+        assertEquals(Arrays.asList(
+                conflict(ScheduleConflictDTO.Type.STUDENT, null, 1),
+                conflict(ScheduleConflictDTO.Type.STUDENT, null, 7)),
+                conflicts);
+    }
+
+    @Test
+    public void testConflictTypesOfUnsavedEntries() {
+        List<ScheduleConflictDTO.Type> overlappingClasses = conflictDetector.findConflictTypes(entry(null, 1, 1, 3, 60, "Room A1"), entry(null, 1, 1, 1, 0, "room a1"));
+        List<ScheduleConflictDTO.Type> sameClass = conflictDetector.findConflictTypes(entry(null, 4, 1, 1, 0, "Room A1"), entry(null, 5, 2, 1, 0, "Room A1"));
+        List<ScheduleConflictDTO.Type> consecutiveClasses = conflictDetector.findConflictTypes(entry(null, 1, 1, 3, 90, "Room A1"), entry(null, 1, 1, 1, 0, "Room A1"));
+
+        assertAll(
+                () -> assertEquals(Arrays.asList(ScheduleConflictDTO.Type.LECTURER, ScheduleConflictDTO.Type.LOCATION, ScheduleConflictDTO.Type.STUDENT), overlappingClasses),
+                () -> assertTrue(sameClass.isEmpty()),
+                () -> assertTrue(consecutiveClasses.isEmpty())
+        );
+    }
+
+    @Test
+    public void testSemesterConflictsAreReportedOncePerPair() {
+        Mockito.when(scheduleEntryDAO.getSemesterRecordProjections("SPR2021")).thenReturn(Stream.of(
+                entry(1, 1, 1, 1, 0, "Room A1"),
+                entry(2, 2, 1, 1, 0, "Room A1"),
+                entry(3, 1, 1, 2, 60, "Room B1"),
+                entry(4, 3, 2, 3, 60, "Room A1"))
+                .map(DTOTuple::of)
+                .collect(Collectors.toList()));
+
+        List<ScheduleConflictDTO> conflicts = conflictDetector.findSemesterConflicts("SPR2021");
+
+        assertEquals(Arrays.asList(
+                conflict(ScheduleConflictDTO.Type.LECTURER, 1, 3),
+                conflict(ScheduleConflictDTO.Type.STUDENT, 1, 3),
+                conflict(ScheduleConflictDTO.Type.LOCATION, 1, 4)),
+                conflicts);
+    }
+
+    private static ScheduleEntryDTO entry(Integer entryId, int studentId, int lecturerId, int courseId, int minutesAfterBeginning, String location) {
+        return ScheduleEntryDTO.builder()
+                .entryId(entryId)
+                .studentId(studentId)
+                .lecturerId(lecturerId)
+                .courseId(courseId)
+                .time(new Date(CLASS_BEGINNING + minutesAfterBeginning * MINUTE))
+                .location(location)
+                .semesterId("FAL2020")
+                .build();
+    }
+
+    private static ScheduleConflictDTO conflict(ScheduleConflictDTO.Type type, Integer entryId, Integer conflictingEntryId) {
+        return ScheduleConflictDTO.builder()
+                .conflictType(type)
+                .entryId(entryId)
+                .conflictingEntryId(conflictingEntryId)
+                .build();
+    }
+}
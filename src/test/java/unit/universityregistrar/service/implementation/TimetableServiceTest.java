@@ -0,0 +1,105 @@
+package unit.universityregistrar.service.implementation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rdlab.universityregistrar.controller.response.Response;
+import com.rdlab.universityregistrar.model.dao.ScheduleEntryDAO;
+import com.rdlab.universityregistrar.model.dao.TimetableDAO;
+import com.rdlab.universityregistrar.model.dao.implementation.ScheduleEntryDAOImpl;
+import com.rdlab.universityregistrar.model.dao.implementation.TimetableDAOImpl;
+import com.rdlab.universityregistrar.model.entity.*;
+import com.rdlab.universityregistrar.service.dto.TimetableEntryDTO;
+import com.rdlab.universityregistrar.service.implementation.TimetableConflictDetector;
+import com.rdlab.universityregistrar.service.implementation.TimetableServiceImpl;
+import com.rdlab.universityregistrar.service.mapper.CourseDTOEntityMapper;
+import com.rdlab.universityregistrar.service.mapper.LecturerDTOEntityMapper;
+import com.rdlab.universityregistrar.service.mapper.ScheduleEntryDTOEntityMapper;
+import com.rdlab.universityregistrar.service.mapper.SemesterDTOEntityMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimetableServiceTest {
+    private TimetableServiceImpl service;
+    private TimetableDAO timetableDAO;
+
+    @BeforeEach
+    public void setupData() {
+        timetableDAO = Mockito.mock(TimetableDAOImpl.class);
+        ScheduleEntryDAO scheduleEntryDAO = Mockito.mock(ScheduleEntryDAOImpl.class);
+        service = new TimetableServiceImpl(Mockito.mock(TimetableConflictDetector.class), scheduleEntryDAO, timetableDAO);
+        service.setScheduleEntryMapper(Mappers.getMapper(ScheduleEntryDTOEntityMapper.class));
+        service.setCourseMapper(Mappers.getMapper(CourseDTOEntityMapper.class));
+        service.setLecturerMapper(Mappers.getMapper(LecturerDTOEntityMapper.class));
+        service.setSemesterMapper(Mappers.getMapper(SemesterDTOEntityMapper.class));
+        service.setObjectMapper(new ObjectMapper());
+    }
+
+    @Test
+    public void testGetStudentScheduleWithEntriesWithoutTime() {
+        mockStudentEntries(scheduleEntry(2, null, "Room H3"), scheduleEntry(1, 1661078705000L, "Room H3"));
+
+        ResponseEntity<Response> result = service.getStudentSchedule(1, null, null);
+
+        assertAll(
+                () -> assertEquals(HttpStatus.OK, result.getStatusCode()),
+                () -> assertEquals(Arrays.asList(1, 2), ((List<TimetableEntryDTO>) Objects.requireNonNull(result.getBody()).getResponseBody())
+                        .stream()
+                        .map(TimetableEntryDTO::getEntryId)
+                        .collect(Collectors.toList()))
+        );
+    }
+
+    @Test
+    public void testGetStudentScheduleETagChangesWithEntries() {
+        mockStudentEntries(scheduleEntry(1, 1661078705000L, "Room H3"));
+        String eTag = service.getStudentSchedule(1, null, null).getHeaders().getETag();
+        String sameETag = service.getStudentSchedule(1, null, null).getHeaders().getETag();
+
+        mockStudentEntries(scheduleEntry(1, 1661078705000L, "Room H4"));
+        String changedETag = service.getStudentSchedule(1, null, null).getHeaders().getETag();
+
+        assertAll(
+                () -> assertEquals(eTag, sameETag),
+                () -> assertNotEquals(eTag, changedETag),
+                () -> assertTrue(Objects.requireNonNull(eTag).matches("W/\"[A-Za-z0-9_-]{43}\""))
+        );
+    }
+
+    @Test
+    public void testGetStudentScheduleNotModified() {
+        mockStudentEntries(scheduleEntry(1, 1661078705000L, "Room H3"));
+        String eTag = service.getStudentSchedule(1, null, null).getHeaders().getETag();
+
+        ResponseEntity<Response> result = service.getStudentSchedule(1, null, eTag);
+
+        assertAll(
+                () -> assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode()),
+                () -> assertNull(result.getBody())
+        );
+    }
+
+    private ScheduleEntry scheduleEntry(Integer entryId, Long time, String location) {
+        return ScheduleEntry.builder()
+                .entryId(entryId)
+                .student(Student.builder().studentId(1).build())
+                .course(Course.builder().courseId(1).courseTitle("Programming").build())
+                .time(time)
+                .location(location)
+                .build();
+    }
+
+    private void mockStudentEntries(ScheduleEntry... entries) {
+        Mockito.when(timetableDAO.findStudentWithScheduleEntries(1)).thenReturn(Optional.of(Student.builder()
+                .studentId(1)
+                .scheduleEntries(new HashSet<>(Arrays.asList(entries)))
+                .build()));
+    }
+}
@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.samePropertyValuesAs;
@@ -56,7 +57,7 @@ public class UserServiceTest {
 
     @Test
     public void testGetAllEntities() {
-        Mockito.when(dao.getAllRecords()).thenReturn(Arrays.asList(sampleUser));
+        Mockito.when(dao.getAllRecordProjections()).thenReturn(Arrays.asList(DTOTuple.of(sampleUserDTO)));
         ResponseEntity<Response> result = service.getAllEntities();
 
         assertAll(
@@ -67,7 +68,7 @@ public class UserServiceTest {
 
     @Test
     public void testGetEntity() {
-        Mockito.when(dao.getRecord("sample_login")).thenReturn(sampleUser);
+        Mockito.when(dao.findRecordProjection("sample_login")).thenReturn(Optional.of(DTOTuple.of(sampleUserDTO)));
         ResponseEntity<Response> result = service.getEntity("sample_login");
 
         assertThat((Objects.requireNonNull(result.getBody()).getResponseBody()), samePropertyValuesAs(sampleUserDTO));
@@ -168,7 +169,7 @@ public class UserServiceTest {
 
     @Test
     public void testSearchEntities() {
-        Mockito.when(dao.searchRecords("FAL2020")).thenReturn(Arrays.asList(sampleUser));
+        Mockito.when(dao.searchRecordProjections("FAL2020")).thenReturn(Arrays.asList(DTOTuple.of(sampleUserDTO)));
 
         ResponseEntity<Response> result = service.searchForEntities("FAL2020");
 
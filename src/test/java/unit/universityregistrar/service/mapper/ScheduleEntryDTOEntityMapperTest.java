@@ -8,6 +8,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
+import unit.universityregistrar.service.implementation.DTOTuple;
 
 import java.util.Collections;
 import java.util.Date;
@@ -61,6 +62,13 @@ public class ScheduleEntryDTOEntityMapperTest {
         assertThat(resultDTO, samePropertyValuesAs(defaultScheduleEntryDTO));
     }
 
+    @Test
+    public void testTupleToDtoMapping() {
+        ScheduleEntryDTO resultDTO = mapper.tupleToDto(DTOTuple.of(defaultScheduleEntryDTO));
+
+        assertThat(resultDTO, samePropertyValuesAs(defaultScheduleEntryDTO));
+    }
+
     @Test
     public void testEntityListToDtoList() {
         List<ScheduleEntryDTO> dtoList = mapper.entityListToDtoList(academicRankList);
@@ -0,0 +1,101 @@
+package unit.universityregistrar.service.mapper;
+
+import com.rdlab.universityregistrar.service.mapper.ShapedTuple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.Tuple;
+import javax.persistence.TupleElement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ShapedTupleTest {
+    private Tuple tuple;
+
+    @BeforeEach
+    public void setUp() {
+        Map<String, Object> elements = new LinkedHashMap<>();
+        elements.put("scheduleEntryId", 1);
+        elements.put("course.courseId", 2);
+        elements.put("course.courseTitle", "Algebra");
+        tuple = new MapTuple(elements);
+    }
+
+    @Test
+    public void testElementsOfEmbeddedEntityAreReadWithoutPrefix() {
+        ShapedTuple courseTuple = new ShapedTuple(tuple, ShapedTuple.getAliases(tuple), "course.");
+        List<TupleElement<?>> elements = courseTuple.getElements();
+
+        assertAll(
+                () -> assertEquals(2, elements.size()),
+                () -> assertEquals("courseTitle", elements.get(1).getAlias()),
+                () -> assertEquals("Algebra", courseTuple.get(elements.get(1))),
+                () -> assertEquals(2, courseTuple.get(0)),
+                () -> assertEquals("Algebra", courseTuple.get(1, String.class)),
+                () -> assertArrayEquals(new Object[]{2, "Algebra"}, courseTuple.toArray()),
+                () -> assertNull(courseTuple.get("courseDescription"))
+        );
+    }
+
+    private static class MapTuple implements Tuple {
+        private final Map<String, Object> elements;
+
+        private MapTuple(Map<String, Object> elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public <X> X get(TupleElement<X> tupleElement) {
+            return get(tupleElement.getAlias(), tupleElement.getJavaType());
+        }
+
+        @Override
+        public <X> X get(String alias, Class<X> type) {
+            return type.cast(elements.get(alias));
+        }
+
+        @Override
+        public Object get(String alias) {
+            return elements.get(alias);
+        }
+
+        @Override
+        public <X> X get(int i, Class<X> type) {
+            return type.cast(get(i));
+        }
+
+        @Override
+        public Object get(int i) {
+            return toArray()[i];
+        }
+
+        @Override
+        public Object[] toArray() {
+            return elements.values().toArray();
+        }
+
+        @Override
+        public List<TupleElement<?>> getElements() {
+            List<TupleElement<?>> tupleElements = new ArrayList<>();
+            elements.forEach((alias, value) -> tupleElements.add(new TupleElement<Object>() {
+                @Override
+                public Class<?> getJavaType() {
+                    return value.getClass();
+                }
+
+                @Override
+                public String getAlias() {
+                    return alias;
+                }
+            }));
+            return tupleElements;
+        }
+    }
+}